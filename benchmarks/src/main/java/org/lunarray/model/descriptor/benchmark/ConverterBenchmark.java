@@ -0,0 +1,240 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.URI;
+import java.net.URL;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.CompositeName;
+import javax.naming.LinkRef;
+import javax.naming.ldap.LdapName;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Measures parsing and formatting a value with each of the default
+ * converters. The converter parameter is the name of the converter in the
+ * default converters package, without the <code>Converter</code> suffix.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+public class ConverterBenchmark {
+
+	/** The sample time, in milliseconds. */
+	private static final long SAMPLE_TIME = 1000000000000L;
+
+	/** The converter. */
+	@Param({ "AtomicBoolean", "AtomicInteger", "AtomicLong", "BigDecimal", "BigInteger", "Boolean", "Byte", "Calendar", "Character",
+			"Clazz", "CompositeName", "Currency", "DOM", "Date", "Double", "Float", "Idempotent", "InetAddress", "InetSocketAddress",
+			"Integer", "LdapName", "LinkRef", "Long", "NetworkInterface", "Short", "SqlDate", "SqlTime", "SqlTimestamp", "URI", "URL",
+			"UUID", "XMLDuration", "XMLGregorianCalendar" })
+	private String converter;
+
+	/** The converter tool. */
+	private ConverterTool converterTool;
+
+	/** The instance to format. */
+	private Object instance;
+
+	/** The string value to parse. */
+	private String stringValue;
+
+	/** The converted type. */
+	private Class<Object> type;
+
+	/**
+	 * Parses the string value.
+	 * 
+	 * @return The instance.
+	 * @throws ConverterException
+	 *             Thrown if the string value could not be parsed.
+	 */
+	@Benchmark
+	public Object convertToInstance() throws ConverterException {
+		return this.converterTool.convertToInstance(this.type, this.stringValue);
+	}
+
+	/**
+	 * Formats the instance.
+	 * 
+	 * @return The string value.
+	 * @throws ConverterException
+	 *             Thrown if the instance could not be formatted.
+	 */
+	@Benchmark
+	public String convertToString() throws ConverterException {
+		return this.converterTool.convertToString(this.type, this.instance);
+	}
+
+	/**
+	 * Sets up the sample for the converter.
+	 * 
+	 * @throws Exception
+	 *             Thrown if the sample could not be created.
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.converterTool = new DefaultConverterTool();
+		if ("AtomicBoolean".equals(this.converter)) {
+			this.sample(AtomicBoolean.class, new AtomicBoolean(true));
+		} else if ("AtomicInteger".equals(this.converter)) {
+			this.sample(AtomicInteger.class, new AtomicInteger(10));
+		} else if ("AtomicLong".equals(this.converter)) {
+			this.sample(AtomicLong.class, new AtomicLong(10));
+		} else if ("BigDecimal".equals(this.converter)) {
+			this.sample(BigDecimal.class, new BigDecimal("10.1"));
+		} else if ("BigInteger".equals(this.converter)) {
+			this.sample(BigInteger.class, BigInteger.TEN);
+		} else if ("Boolean".equals(this.converter)) {
+			this.sample(Boolean.class, Boolean.TRUE);
+		} else if ("Byte".equals(this.converter)) {
+			this.sample(Byte.class, Byte.valueOf((byte) 10));
+		} else if ("Calendar".equals(this.converter)) {
+			final Calendar calendar = Calendar.getInstance();
+			calendar.setTimeInMillis(ConverterBenchmark.SAMPLE_TIME);
+			this.sample(Calendar.class, calendar);
+		} else if ("Character".equals(this.converter)) {
+			this.sample(Character.class, Character.valueOf('t'));
+		} else if ("Clazz".equals(this.converter)) {
+			this.sample(Class.class, ConverterBenchmark.class);
+		} else if ("CompositeName".equals(this.converter)) {
+			this.sample(CompositeName.class, new CompositeName("test"));
+		} else if ("Currency".equals(this.converter)) {
+			this.sample(Currency.class, Currency.getInstance("EUR"));
+		} else if ("DOM".equals(this.converter)) {
+			final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+			document.appendChild(document.createElementNS(null, "document"));
+			this.sample(Node.class, document);
+		} else if ("Date".equals(this.converter)) {
+			this.sample(Date.class, new Date(ConverterBenchmark.SAMPLE_TIME));
+		} else if ("Double".equals(this.converter)) {
+			this.sample(Double.class, Double.valueOf(10.1));
+		} else if ("Float".equals(this.converter)) {
+			this.sample(Float.class, Float.valueOf(10.1f));
+		} else if ("Idempotent".equals(this.converter)) {
+			this.sample(String.class, "test");
+		} else if ("InetAddress".equals(this.converter)) {
+			this.sample(InetAddress.class, ConverterBenchmark.loopback());
+		} else if ("InetSocketAddress".equals(this.converter)) {
+			this.sample(InetSocketAddress.class, new InetSocketAddress(ConverterBenchmark.loopback(), 1000));
+		} else if ("Integer".equals(this.converter)) {
+			this.sample(Integer.class, Integer.valueOf(10));
+		} else if ("LdapName".equals(this.converter)) {
+			this.sample(LdapName.class, new LdapName("cn=test"));
+		} else if ("LinkRef".equals(this.converter)) {
+			this.sample(LinkRef.class, new LinkRef("cn=test"));
+		} else if ("Long".equals(this.converter)) {
+			this.sample(Long.class, Long.valueOf(10));
+		} else if ("NetworkInterface".equals(this.converter)) {
+			final Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+			this.sample(NetworkInterface.class, interfaces.nextElement());
+		} else if ("Short".equals(this.converter)) {
+			this.sample(Short.class, Short.valueOf((short) 10));
+		} else if ("SqlDate".equals(this.converter)) {
+			this.sample(java.sql.Date.class, new java.sql.Date(ConverterBenchmark.SAMPLE_TIME));
+		} else if ("SqlTime".equals(this.converter)) {
+			this.sample(Time.class, new Time(ConverterBenchmark.SAMPLE_TIME));
+		} else if ("SqlTimestamp".equals(this.converter)) {
+			this.sample(Timestamp.class, new Timestamp(ConverterBenchmark.SAMPLE_TIME));
+		} else if ("URI".equals(this.converter)) {
+			this.sample(URI.class, new URI("http://localhost"));
+		} else if ("URL".equals(this.converter)) {
+			this.sample(URL.class, new URL("http://localhost"));
+		} else if ("UUID".equals(this.converter)) {
+			this.sample(UUID.class, new UUID(ConverterBenchmark.SAMPLE_TIME, ConverterBenchmark.SAMPLE_TIME));
+		} else if ("XMLDuration".equals(this.converter)) {
+			this.sample(Duration.class, DatatypeFactory.newInstance().newDuration(ConverterBenchmark.SAMPLE_TIME));
+		} else if ("XMLGregorianCalendar".equals(this.converter)) {
+			this.sample(XMLGregorianCalendar.class,
+					DatatypeFactory.newInstance().newXMLGregorianCalendar("2013-01-16T01:50:00.000+00:01"));
+		} else {
+			throw new IllegalArgumentException(String.format("Unknown converter '%s'.", this.converter));
+		}
+	}
+
+	/**
+	 * Gets the loopback address without a name lookup.
+	 * 
+	 * @return The loopback address.
+	 * @throws Exception
+	 *             Thrown if the address could not be created.
+	 */
+	private static InetAddress loopback() throws Exception {
+		return InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 });
+	}
+
+	/**
+	 * Sets the sample and derives its string value.
+	 * 
+	 * @param sampleType
+	 *            The sample type.
+	 * @param sample
+	 *            The sample.
+	 * @param <T>
+	 *            The sample type.
+	 * @throws ConverterException
+	 *             Thrown if the sample could not be formatted.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> void sample(final Class<T> sampleType, final T sample) throws ConverterException {
+		this.type = (Class<Object>) sampleType;
+		this.instance = sample;
+		this.stringValue = this.converterTool.convertToString(sampleType, sample);
+	}
+}
@@ -0,0 +1,95 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.creational.CreationException;
+import org.lunarray.model.descriptor.creational.domain.CreationalEntity01;
+import org.lunarray.model.descriptor.creational.domain.CreationalEntity02;
+import org.lunarray.model.descriptor.creational.domain.CreationalEntity05;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating an entity through an entity descriptor, for each of the
+ * creational strategies.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+public class EntityCreationBenchmark {
+
+	/** The descriptor to create entities with. */
+	private EntityDescriptor<?> descriptor;
+
+	/** The creational strategy. */
+	@Param({ "constructor", "factoryMethod", "staticFactory" })
+	private String strategy;
+
+	/**
+	 * Creates an entity.
+	 * 
+	 * @return The entity.
+	 * @throws CreationException
+	 *             Thrown if the entity could not be created.
+	 */
+	@Benchmark
+	public Object createEntity() throws CreationException {
+		return this.descriptor.createEntity();
+	}
+
+	/**
+	 * Builds the model and selects the descriptor.
+	 * 
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() throws Exception {
+		final Model<Object> model = SimpleBuilder.createBuilder()
+				.resources(new SimpleClazzResource<Object>(CreationalEntity01.class, CreationalEntity02.class, CreationalEntity05.class))
+				.build();
+		if ("constructor".equals(this.strategy)) {
+			this.descriptor = model.getEntity(CreationalEntity01.class);
+		} else if ("factoryMethod".equals(this.strategy)) {
+			this.descriptor = model.getEntity(CreationalEntity02.class);
+		} else {
+			this.descriptor = model.getEntity(CreationalEntity05.class);
+		}
+	}
+}
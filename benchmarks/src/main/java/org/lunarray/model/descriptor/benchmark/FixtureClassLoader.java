@@ -0,0 +1,102 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lunarray.model.descriptor.test.domain.ModelMarker;
+import org.lunarray.model.descriptor.test.domain.SampleEntity01;
+import org.lunarray.model.descriptor.test.domain.SampleEntity02;
+import org.lunarray.model.descriptor.test.domain.SampleEntity07;
+import org.lunarray.model.descriptor.test.domain.SampleEntity08;
+import org.lunarray.model.descriptor.test.domain.SampleEntity09;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Defines any number of distinct entity types, each a subclass of one of the
+ * sample entities, so that models of arbitrary size can be built from the
+ * test domain.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class FixtureClassLoader
+		extends ClassLoader {
+
+	/** The sample entities to extend. */
+	private static final Class<?>[] BASES = { SampleEntity01.class, SampleEntity02.class, SampleEntity07.class, SampleEntity08.class,
+			SampleEntity09.class };
+
+	/** The package of the defined types. */
+	private static final String PACKAGE = "org/lunarray/model/descriptor/benchmark/fixture/";
+
+	/**
+	 * Default constructor.
+	 */
+	public FixtureClassLoader() {
+		super(SampleEntity01.class.getClassLoader());
+	}
+
+	/**
+	 * Gets entity types for a model. The first type is {@link SampleEntity07},
+	 * since the other sample entities relate to it, the remaining types are
+	 * defined by this loader.
+	 * 
+	 * @param count
+	 *            The number of types.
+	 * @return The types.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Class<? extends ModelMarker>> defineEntities(final int count) {
+		final List<Class<? extends ModelMarker>> entities = new ArrayList<Class<? extends ModelMarker>>(count);
+		entities.add(SampleEntity07.class);
+		for (int i = 1; i < count; i++) {
+			final Class<?> base = FixtureClassLoader.BASES[i % FixtureClassLoader.BASES.length];
+			final String name = String.format("%sEntity%04d", FixtureClassLoader.PACKAGE, Integer.valueOf(i));
+			final byte[] code = FixtureClassLoader.generate(name, Type.getInternalName(base));
+			entities.add((Class<? extends ModelMarker>) this.defineClass(name.replace('/', '.'), code, 0, code.length));
+		}
+		return entities;
+	}
+
+	/**
+	 * Generates an empty subclass.
+	 * 
+	 * @param name
+	 *            The internal name of the subclass.
+	 * @param superName
+	 *            The internal name of the super class.
+	 * @return The class file.
+	 */
+	private static byte[] generate(final String name, final String superName) {
+		final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, null);
+		final MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V");
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+}
@@ -0,0 +1,90 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.util.DictionaryUtil;
+
+/**
+ * A dictionary that resolves every key of an entity type to a single fixture
+ * instance, so lookups cost no more than a map access.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class FixtureDictionary
+		implements Dictionary {
+
+	/** The fixtures. */
+	private final transient Map<Class<?>, Object> fixtures;
+
+	/**
+	 * Default constructor.
+	 */
+	public FixtureDictionary() {
+		this.fixtures = new HashMap<Class<?>, Object>();
+	}
+
+	/**
+	 * Registers the fixture for an entity type.
+	 * 
+	 * @param type
+	 *            The entity type.
+	 * @param fixture
+	 *            The fixture.
+	 * @param <E>
+	 *            The entity type.
+	 * @return This dictionary.
+	 */
+	public <E> FixtureDictionary fixture(final Class<E> type, final E fixture) {
+		this.fixtures.put(type, fixture);
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> Collection<E> lookup(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
+		final E fixture = entityDescriptor.getEntityType().cast(this.fixtures.get(entityDescriptor.getEntityType()));
+		if (fixture == null) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(fixture);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, K extends Serializable> E lookup(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key)
+			throws DictionaryException {
+		return entityDescriptor.getEntityType().cast(this.fixtures.get(entityDescriptor.getEntityType()));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		return DictionaryUtil.lookupAll(this, entityDescriptor, keys);
+	}
+}
@@ -0,0 +1,238 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.serialization.ModelSnapshot;
+import org.lunarray.model.descriptor.test.domain.ModelMarker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a model with the simple builder and with the presentation
+ * builder, for models of different sizes. The resolve benchmarks only add the
+ * resources, which resolves the entities on the calling thread, the build
+ * benchmarks also build the descriptors. The difference is the build phase,
+ * the only phase the parallel benchmarks run in parallel. The snapshot
+ * benchmarks restore the model from a snapshot written during setup, the lazy
+ * one only reads the entities on request.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see FixtureClassLoader
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class ModelBuildBenchmark {
+
+	/**
+	 * Creates a snapshot in a temporary file.
+	 * 
+	 * @return The snapshot.
+	 * @throws IOException
+	 *             Thrown if the file could not be created.
+	 */
+	private static ModelSnapshot createSnapshot() throws IOException {
+		final File file = File.createTempFile("model", ".snapshot");
+		if (!file.delete()) {
+			throw new IOException(String.format("Could not delete '%s'.", file));
+		}
+		return ModelSnapshot.createBuilder().file(file).build();
+	}
+
+	/**
+	 * Removes a snapshot.
+	 * 
+	 * @param snapshot
+	 *            The snapshot.
+	 */
+	private static void delete(final ModelSnapshot snapshot) {
+		if (!snapshot.getFile().delete()) {
+			snapshot.getFile().deleteOnExit();
+		}
+	}
+
+	/** The number of entities. */
+	@Param({ "10", "100", "1000" })
+	private int entities;
+
+	/** The entity types. */
+	private List<Class<? extends ModelMarker>> entityTypes;
+	/** The presentation model snapshot. */
+	private ModelSnapshot presentationSnapshot;
+	/** The simple model snapshot. */
+	private ModelSnapshot simpleSnapshot;
+
+	/**
+	 * Builds a presentation model.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@Benchmark
+	public Model<ModelMarker> buildPresentation() throws Exception {
+		return PresQualBuilder.<ModelMarker> createBuilder().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes)).build();
+	}
+
+	/**
+	 * Builds a presentation model, building the descriptors in parallel.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@Benchmark
+	public Model<ModelMarker> buildPresentationParallel() throws Exception {
+		return PresQualBuilder.<ModelMarker> createBuilder().parallel().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes))
+				.build();
+	}
+
+	/**
+	 * Builds a simple model.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@Benchmark
+	public Model<ModelMarker> buildSimple() throws Exception {
+		return SimpleBuilder.<ModelMarker> createBuilder().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes)).build();
+	}
+
+	/**
+	 * Builds a simple model, building the descriptors in parallel.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@Benchmark
+	public Model<ModelMarker> buildSimpleParallel() throws Exception {
+		return SimpleBuilder.<ModelMarker> createBuilder().parallel().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes))
+				.build();
+	}
+
+	/**
+	 * Restores a presentation model from its snapshot.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be restored.
+	 */
+	@Benchmark
+	public Model<ModelMarker> loadSnapshotPresentation() throws Exception {
+		return PresQualBuilder.<ModelMarker> createBuilder().snapshot(this.presentationSnapshot)
+				.resources(new SimpleClazzResource<ModelMarker>(this.entityTypes)).build();
+	}
+
+	/**
+	 * Restores a lazy presentation model from its snapshot.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be restored.
+	 */
+	@Benchmark
+	public Model<ModelMarker> loadSnapshotPresentationLazy() throws Exception {
+		return PresQualBuilder.<ModelMarker> createBuilder().snapshot(this.presentationSnapshot).lazy()
+				.resources(new SimpleClazzResource<ModelMarker>(this.entityTypes)).build();
+	}
+
+	/**
+	 * Restores a simple model from its snapshot.
+	 * 
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the model could not be restored.
+	 */
+	@Benchmark
+	public Model<ModelMarker> loadSnapshotSimple() throws Exception {
+		return SimpleBuilder.<ModelMarker> createBuilder().snapshot(this.simpleSnapshot)
+				.resources(new SimpleClazzResource<ModelMarker>(this.entityTypes)).build();
+	}
+
+	/**
+	 * Resolves the entities of a presentation model without building it.
+	 * 
+	 * @return The builder.
+	 * @throws Exception
+	 *             Thrown if the resources could not be resolved.
+	 */
+	@Benchmark
+	public Object resolvePresentation() throws Exception {
+		return PresQualBuilder.<ModelMarker> createBuilder().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes));
+	}
+
+	/**
+	 * Resolves the entities of a simple model without building it.
+	 * 
+	 * @return The builder.
+	 * @throws Exception
+	 *             Thrown if the resources could not be resolved.
+	 */
+	@Benchmark
+	public Object resolveSimple() throws Exception {
+		return SimpleBuilder.<ModelMarker> createBuilder().resources(new SimpleClazzResource<ModelMarker>(this.entityTypes));
+	}
+
+	/**
+	 * Defines the entity types and writes the snapshots.
+	 * 
+	 * @throws Exception
+	 *             Thrown if the snapshots could not be written.
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.entityTypes = new FixtureClassLoader().defineEntities(this.entities);
+		this.presentationSnapshot = ModelBuildBenchmark.createSnapshot();
+		this.simpleSnapshot = ModelBuildBenchmark.createSnapshot();
+		this.loadSnapshotPresentation();
+		this.loadSnapshotSimple();
+	}
+
+	/**
+	 * Removes the snapshots.
+	 */
+	@TearDown
+	public void tearDown() {
+		ModelBuildBenchmark.delete(this.presentationSnapshot);
+		ModelBuildBenchmark.delete(this.simpleSnapshot);
+	}
+}
@@ -0,0 +1,134 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
+import org.lunarray.model.descriptor.mapping.ModelConversionTool;
+import org.lunarray.model.descriptor.mapping.builder.ModelConversionStrategyBuilder;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.objectfactory.simple.SimpleObjectFactory;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting entities between models with the model conversion tool.
+ * The copy strategy converts an entity with only plain properties, the deep
+ * copy strategy converts an entity with nested entities and the lookup assign
+ * strategy converts an entity with a reference that is resolved through the
+ * dictionary.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+public class ModelConversionBenchmark {
+
+	/** The conversion tool. */
+	private ModelConversionTool conversionTool;
+
+	/** The entity to convert. */
+	private Object source;
+
+	/** The conversion strategy. */
+	@Param({ "copy", "deepCopy", "lookupAssign" })
+	private String strategy;
+
+	/** The type to convert to. */
+	private Class<?> targetType;
+
+	/**
+	 * Converts the entity.
+	 * 
+	 * @return The converted entity.
+	 * @throws ConversionException
+	 *             Thrown if the entity could not be converted.
+	 */
+	@Benchmark
+	public Object convert() throws ConversionException {
+		return this.conversionTool.convert(this.source, this.targetType);
+	}
+
+	/**
+	 * Builds the models and the conversion tool.
+	 * 
+	 * @throws Exception
+	 *             Thrown if the models could not be built.
+	 */
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() throws Exception {
+		final FixtureDictionary dictionary = new FixtureDictionary();
+		final org.lunarray.model.descriptor.mapping.entities2.Entity03 reference = new org.lunarray.model.descriptor.mapping.entities2.Entity03();
+		reference.setValue01(org.lunarray.model.descriptor.mapping.entities1.Entity01.SAMPLE_01.getKey0301());
+		dictionary.fixture(org.lunarray.model.descriptor.mapping.entities2.Entity03.class, reference);
+		final Model<Object> model1 = PresQualBuilder
+				.createBuilder()
+				.extensions(new SimpleObjectFactory(), new DefaultConverterTool(), dictionary)
+				.resources(
+						new SimpleClazzResource<Object>(org.lunarray.model.descriptor.mapping.entities1.Entity01.class,
+								org.lunarray.model.descriptor.mapping.entities1.Entity02.class,
+								org.lunarray.model.descriptor.mapping.entities1.Entity03.class)).build();
+		final Model<Object> model2 = PresQualBuilder
+				.createBuilder()
+				.extensions(new SimpleObjectFactory(), new DefaultConverterTool(), dictionary)
+				.resources(
+						new SimpleClazzResource<Object>(org.lunarray.model.descriptor.mapping.entities2.Entity01.class,
+								org.lunarray.model.descriptor.mapping.entities2.Entity02.class,
+								org.lunarray.model.descriptor.mapping.entities2.Entity03.class)).build();
+		final Model<Object> model3 = PresQualBuilder
+				.createBuilder()
+				.extensions(new SimpleObjectFactory(), new DefaultConverterTool(), dictionary)
+				.resources(
+						new SimpleClazzResource<Object>(org.lunarray.model.descriptor.mapping.entities3.Entity01.class,
+								org.lunarray.model.descriptor.mapping.entities3.Entity02.class,
+								org.lunarray.model.descriptor.mapping.entities3.Entity03.class)).build();
+		this.conversionTool = ModelConversionStrategyBuilder.create().preferCopy().addModel(model1).addModel(model2).addModel(model3)
+				.build();
+		final org.lunarray.model.descriptor.mapping.entities2.Entity01 converted = this.conversionTool.convert(
+				org.lunarray.model.descriptor.mapping.entities1.Entity01.SAMPLE_01,
+				org.lunarray.model.descriptor.mapping.entities2.Entity01.class);
+		if ("copy".equals(this.strategy)) {
+			this.source = converted.getValue03();
+			this.targetType = org.lunarray.model.descriptor.mapping.entities3.Entity02.class;
+		} else if ("deepCopy".equals(this.strategy)) {
+			this.source = converted;
+			this.targetType = org.lunarray.model.descriptor.mapping.entities3.Entity01.class;
+		} else {
+			this.source = org.lunarray.model.descriptor.mapping.entities1.Entity01.SAMPLE_01;
+			this.targetType = org.lunarray.model.descriptor.mapping.entities2.Entity01.class;
+		}
+	}
+}
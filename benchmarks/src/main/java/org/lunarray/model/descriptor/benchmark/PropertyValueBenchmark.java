@@ -0,0 +1,181 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
+import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.context.DefaultConfiguration;
+import org.lunarray.model.descriptor.builder.annotation.simple.ModelImpl;
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.lunarray.model.descriptor.resource.Resource;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.test.domain.ModelMarker;
+import org.lunarray.model.descriptor.test.domain.SampleEntity07;
+import org.lunarray.model.descriptor.test.domain.SampleEntity08;
+import org.lunarray.model.descriptor.test.domain.SampleEntity09;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing a property value through a property
+ * descriptor, for accessor, field and embedded properties. Run with the
+ * <code>-prof gc</code> profiler, the normalized allocation rate of the read
+ * benchmarks is expected to be zero with debug logging disabled.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5)
+public class PropertyValueBenchmark {
+
+	/** The value to write. */
+	private static final String VALUE = "value";
+
+	/** The embedded property. */
+	private PropertyDescriptor<String, SampleEntity09> embeddedProperty;
+
+	/** The entity instance. */
+	private SampleEntity08 entity;
+
+	/** The entity instance with an embedded entity. */
+	private SampleEntity09 entityWithEmbedded;
+
+	/** The field backed property. */
+	private PropertyDescriptor<String, SampleEntity08> fieldProperty;
+
+	/** The accessor backed property. */
+	private PropertyDescriptor<String, SampleEntity08> methodProperty;
+
+	/** The accessor mode. */
+	@Param({ "REFLECTION", "COMPILED", "GENERATED" })
+	private AccessorMode mode;
+
+	/**
+	 * Reads an embedded property.
+	 * 
+	 * @return The value.
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public String getEmbeddedValue() throws ValueAccessException {
+		return this.embeddedProperty.getValue(this.entityWithEmbedded);
+	}
+
+	/**
+	 * Reads a field backed property.
+	 * 
+	 * @return The value.
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public String getFieldValue() throws ValueAccessException {
+		return this.fieldProperty.getValue(this.entity);
+	}
+
+	/**
+	 * Reads an accessor backed property.
+	 * 
+	 * @return The value.
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public String getMethodValue() throws ValueAccessException {
+		return this.methodProperty.getValue(this.entity);
+	}
+
+	/**
+	 * Writes an embedded property.
+	 * 
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public void setEmbeddedValue() throws ValueAccessException {
+		this.embeddedProperty.setValue(this.entityWithEmbedded, PropertyValueBenchmark.VALUE);
+	}
+
+	/**
+	 * Writes a field backed property.
+	 * 
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public void setFieldValue() throws ValueAccessException {
+		this.fieldProperty.setValue(this.entity, PropertyValueBenchmark.VALUE);
+	}
+
+	/**
+	 * Writes an accessor backed property.
+	 * 
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 */
+	@Benchmark
+	public void setMethodValue() throws ValueAccessException {
+		this.methodProperty.setValue(this.entity, PropertyValueBenchmark.VALUE);
+	}
+
+	/**
+	 * Builds the model in the configured mode.
+	 * 
+	 * @throws Exception
+	 *             Thrown if the model could not be built.
+	 */
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() throws Exception {
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity07.class,
+				SampleEntity08.class, SampleEntity09.class);
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+		builder.configuration(DefaultConfiguration.createBuilder().accessorMode(this.mode).build());
+		final Model<ModelMarker> model = builder.resources(resource).build();
+		final EntityDescriptor<SampleEntity08> descriptor = model.getEntity(SampleEntity08.class);
+		this.fieldProperty = (PropertyDescriptor<String, SampleEntity08>) descriptor.getProperty("field4");
+		this.methodProperty = (PropertyDescriptor<String, SampleEntity08>) descriptor.getProperty("field2");
+		this.embeddedProperty = model.getEntity(SampleEntity09.class).getProperty("sampleEntity07.testField", String.class);
+		this.entity = new SampleEntity08();
+		this.methodProperty.setValue(this.entity, PropertyValueBenchmark.VALUE);
+		this.fieldProperty.setValue(this.entity, PropertyValueBenchmark.VALUE);
+		this.entityWithEmbedded = new SampleEntity09();
+		this.entityWithEmbedded.setSampleEntity07(new SampleEntity07());
+		this.embeddedProperty.setValue(this.entityWithEmbedded, PropertyValueBenchmark.VALUE);
+	}
+}
@@ -0,0 +1,434 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.JavaFileObject;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+
+/**
+ * Writes the compiled accessor of an entity. The accessor is written in the
+ * package of the entity, it reads all accessible fields and parameterless
+ * methods, and writes all accessible non-final fields and single parameter
+ * methods, without reflection. The accessor carries the compiled metadata of
+ * the entity.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledAccessorWriter {
+
+	/** Indentation. */
+	private static final String INDENT = "\t\t\t";
+	/** Line prefix for the set method. */
+	private static final String INSTANCE = "instance.";
+	/** The metadata method. */
+	private static final String METADATA = "metadata";
+	/** Line prefix for returning. */
+	private static final String RETURN = "return instance.";
+
+	/** The processing environment. */
+	private final transient ProcessingEnvironment environment;
+	/** The metadata writer. */
+	private final transient CompiledMetadataWriter metadataWriter;
+
+	/**
+	 * Constructs the writer.
+	 * 
+	 * @param environment
+	 *            The processing environment. May not be null.
+	 */
+	public CompiledAccessorWriter(final ProcessingEnvironment environment) {
+		Validate.notNull(environment, "Environment may not be null.");
+		this.environment = environment;
+		this.metadataWriter = new CompiledMetadataWriter(environment);
+	}
+
+	/**
+	 * Gets the binary name of the accessor of an entity.
+	 * 
+	 * @param entity
+	 *            The entity. May not be null.
+	 * @return The accessor name.
+	 */
+	public String getAccessorName(final TypeElement entity) {
+		Validate.notNull(entity, "Entity may not be null.");
+		return this.environment.getElementUtils().getBinaryName(entity).toString().concat(CompiledEntityAccessor.SUFFIX);
+	}
+
+	/**
+	 * Tests if an accessor may be written for an entity.
+	 * 
+	 * @param entity
+	 *            The entity. May not be null.
+	 * @return True if and only if the entity is a class that may be referenced
+	 *         from its package.
+	 */
+	public boolean isWritable(final TypeElement entity) {
+		Validate.notNull(entity, "Entity may not be null.");
+		boolean result = entity.getKind() == ElementKind.CLASS;
+		Element current = entity;
+		while (result && current instanceof TypeElement) {
+			final TypeElement type = (TypeElement) current;
+			result = !type.getModifiers().contains(Modifier.PRIVATE)
+					&& (type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER);
+			current = type.getEnclosingElement();
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the accessor of an entity.
+	 * 
+	 * @param entity
+	 *            The entity. May not be null.
+	 * @throws IOException
+	 *             Thrown if the source could not be written.
+	 */
+	public void write(final TypeElement entity) throws IOException {
+		Validate.notNull(entity, "Entity may not be null.");
+		final List<Element> reads = new ArrayList<Element>();
+		final List<Element> writes = new ArrayList<Element>();
+		this.collect(entity, reads, writes);
+		final String name = this.getAccessorName(entity);
+		final String packageName = this.environment.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+		final String simpleName;
+		if (packageName.isEmpty()) {
+			simpleName = name;
+		} else {
+			simpleName = name.substring(packageName.length() + 1);
+		}
+		final String entityName = entity.getQualifiedName().toString();
+		final JavaFileObject file = this.environment.getFiler().createSourceFile(name, entity);
+		final PrintWriter writer = new PrintWriter(file.openWriter());
+		try {
+			if (!packageName.isEmpty()) {
+				writer.append("package ").append(packageName).println(';');
+				writer.println();
+			}
+			writer.println("/**");
+			writer.append(" * The compiled accessor for {@link ").append(entityName).println("}.");
+			writer.println(" */");
+			writer.println("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })");
+			writer.append("public final class ").append(simpleName).println();
+			writer.append("\t\textends ").append(CompiledEntityAccessor.class.getName()).println(" {");
+			writer.println();
+			this.writeKeys(writer, "READ_KEYS", reads);
+			this.writeKeys(writer, "WRITE_KEYS", writes);
+			writer.println();
+			writer.append("\tpublic ").append(simpleName).println("() {");
+			writer.append("\t\tsuper(").append(entityName).append(".class, ").append(simpleName).append(".READ_KEYS, ").append(simpleName)
+					.append(".WRITE_KEYS, ").append(simpleName).append('.').append(CompiledAccessorWriter.METADATA).println("());");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\t@Override");
+			writer.println("\tpublic Object get(final Object entity, final int index) {");
+			this.writeSwitch(writer, entityName);
+			for (int i = 0; i < reads.size(); i++) {
+				this.writeCase(writer, i);
+				this.writeRead(writer, reads.get(i));
+			}
+			this.writeDefault(writer);
+			writer.println();
+			writer.println("\t@Override");
+			writer.println("\tpublic void set(final Object entity, final int index, final Object value) {");
+			this.writeSwitch(writer, entityName);
+			for (int i = 0; i < writes.size(); i++) {
+				this.writeCase(writer, i);
+				this.writeWrite(writer, writes.get(i));
+			}
+			this.writeDefault(writer);
+			writer.println();
+			this.metadataWriter.write(writer, entity, CompiledAccessorWriter.METADATA);
+			writer.println('}');
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Collects the readable and writable members of an entity.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param reads
+	 *            The readable members.
+	 * @param writes
+	 *            The writable members.
+	 */
+	private void collect(final TypeElement entity, final List<Element> reads, final List<Element> writes) {
+		final List<? extends Element> members = this.environment.getElementUtils().getAllMembers(entity);
+		for (final VariableElement field : ElementFilter.fieldsIn(members)) {
+			if (this.isAccessible(entity, field)) {
+				reads.add(field);
+				if (!field.getModifiers().contains(Modifier.FINAL) && this.isVisible(entity, field.asType())) {
+					writes.add(field);
+				}
+			}
+		}
+		final Set<String> mutators = new HashSet<String>();
+		final Set<String> ambiguous = new HashSet<String>();
+		final List<ExecutableElement> candidates = new ArrayList<ExecutableElement>();
+		for (final ExecutableElement method : ElementFilter.methodsIn(members)) {
+			final boolean declaredByObject = ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals(
+					Object.class.getName());
+			if (!declaredByObject && this.isAccessible(entity, method) && method.getTypeParameters().isEmpty()) {
+				final int parameters = method.getParameters().size();
+				if (parameters == 0 && method.getReturnType().getKind() != TypeKind.VOID) {
+					reads.add(method);
+				} else if (parameters == 1) {
+					final String methodName = method.getSimpleName().toString();
+					if (!mutators.add(methodName)) {
+						ambiguous.add(methodName);
+					}
+					candidates.add(method);
+				}
+			}
+		}
+		for (final ExecutableElement method : candidates) {
+			if (!ambiguous.contains(method.getSimpleName().toString()) && this.isVisible(entity, method.getParameters().get(0).asType())) {
+				writes.add(method);
+			}
+		}
+	}
+
+	/**
+	 * Gets the source name of a type, erasing it.
+	 * 
+	 * @param type
+	 *            The type.
+	 * @return The name.
+	 */
+	private String erasedName(final TypeMirror type) {
+		return this.environment.getTypeUtils().erasure(type).toString();
+	}
+
+	/**
+	 * Tests if a member may be accessed from the package of an entity.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param member
+	 *            The member.
+	 * @return True if and only if the member is accessible.
+	 */
+	private boolean isAccessible(final TypeElement entity, final Element member) {
+		final Set<Modifier> modifiers = member.getModifiers();
+		final boolean result;
+		if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+			result = false;
+		} else if (modifiers.contains(Modifier.PUBLIC)) {
+			result = true;
+		} else {
+			result = this.isSamePackage(entity, member);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if two elements are in the same package.
+	 * 
+	 * @param element
+	 *            The first element.
+	 * @param otherElement
+	 *            The second element.
+	 * @return True if and only if the elements share a package.
+	 */
+	private boolean isSamePackage(final Element element, final Element otherElement) {
+		return this.environment.getElementUtils().getPackageOf(element).equals(this.environment.getElementUtils().getPackageOf(otherElement));
+	}
+
+	/**
+	 * Tests if a type may be referenced from the package of an entity.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param type
+	 *            The type.
+	 * @return True if and only if the type is visible.
+	 */
+	private boolean isVisible(final TypeElement entity, final TypeMirror type) {
+		TypeMirror componentType = this.environment.getTypeUtils().erasure(type);
+		while (componentType.getKind() == TypeKind.ARRAY) {
+			componentType = ((ArrayType) componentType).getComponentType();
+		}
+		boolean result = componentType.getKind().isPrimitive();
+		if (componentType.getKind() == TypeKind.DECLARED) {
+			result = true;
+			Element current = ((DeclaredType) componentType).asElement();
+			while (result && current instanceof TypeElement) {
+				final Set<Modifier> modifiers = current.getModifiers();
+				result = modifiers.contains(Modifier.PUBLIC) || !modifiers.contains(Modifier.PRIVATE) && this.isSamePackage(entity, current);
+				current = current.getEnclosingElement();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the key of a member.
+	 * 
+	 * @param member
+	 *            The member.
+	 * @return The key.
+	 */
+	private String key(final Element member) {
+		final String prefix;
+		if (member.getKind() == ElementKind.FIELD) {
+			prefix = CompiledEntityAccessor.FIELD_PREFIX;
+		} else {
+			prefix = CompiledEntityAccessor.METHOD_PREFIX;
+		}
+		return prefix.concat(member.getSimpleName().toString());
+	}
+
+	/**
+	 * Writes a switch case.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param index
+	 *            The index.
+	 */
+	private void writeCase(final PrintWriter writer, final int index) {
+		writer.append("\t\tcase ").append(String.valueOf(index)).println(':');
+	}
+
+	/**
+	 * Writes the switch default and closes the method.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 */
+	private void writeDefault(final PrintWriter writer) {
+		writer.println("\t\tdefault:");
+		writer.append(CompiledAccessorWriter.INDENT).println("throw new IndexOutOfBoundsException(String.valueOf(index));");
+		writer.println("\t\t}");
+		writer.println("\t}");
+	}
+
+	/**
+	 * Writes the keys of members.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param name
+	 *            The constant name.
+	 * @param members
+	 *            The members.
+	 */
+	private void writeKeys(final PrintWriter writer, final String name, final List<Element> members) {
+		writer.append("\tprivate static final String[] ").append(name).append(" = {");
+		for (int i = 0; i < members.size(); i++) {
+			if (i > 0) {
+				writer.append(',');
+			}
+			writer.append(" \"").append(this.key(members.get(i))).append('"');
+		}
+		writer.println(" };");
+	}
+
+	/**
+	 * Writes reading a member.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param member
+	 *            The member.
+	 */
+	private void writeRead(final PrintWriter writer, final Element member) {
+		writer.append(CompiledAccessorWriter.INDENT).append(CompiledAccessorWriter.RETURN).append(member.getSimpleName());
+		if (member.getKind() == ElementKind.METHOD) {
+			writer.append("()");
+		}
+		writer.println(';');
+	}
+
+	/**
+	 * Writes the cast of the entity and opens the switch.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param entityName
+	 *            The entity name.
+	 */
+	private void writeSwitch(final PrintWriter writer, final String entityName) {
+		writer.append("\t\tfinal ").append(entityName).append(" instance = (").append(entityName).println(") entity;");
+		writer.println("\t\tswitch (index) {");
+	}
+
+	/**
+	 * Writes the conversion of the value to a type.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param type
+	 *            The type.
+	 */
+	private void writeValue(final PrintWriter writer, final TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			final TypeElement boxed = this.environment.getTypeUtils().boxedClass((PrimitiveType) type);
+			writer.append("((").append(boxed.getQualifiedName()).append(") value).").append(type.toString()).append("Value()");
+		} else {
+			writer.append('(').append(this.erasedName(type)).append(") value");
+		}
+	}
+
+	/**
+	 * Writes writing a member.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param member
+	 *            The member.
+	 */
+	private void writeWrite(final PrintWriter writer, final Element member) {
+		writer.append(CompiledAccessorWriter.INDENT).append(CompiledAccessorWriter.INSTANCE).append(member.getSimpleName());
+		if (member.getKind() == ElementKind.METHOD) {
+			writer.append('(');
+			this.writeValue(writer, ((ExecutableElement) member).getParameters().get(0).asType());
+			writer.append(')');
+		} else {
+			writer.append(" = ");
+			this.writeValue(writer, member.asType());
+		}
+		writer.println(';');
+		writer.append(CompiledAccessorWriter.INDENT).println("return;");
+	}
+}
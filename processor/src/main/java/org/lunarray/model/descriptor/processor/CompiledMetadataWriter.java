@@ -0,0 +1,727 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor;
+
+import java.io.PrintWriter;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.model.annotations.Alias;
+import org.lunarray.model.descriptor.model.annotations.Embedded;
+import org.lunarray.model.descriptor.model.annotations.EntityName;
+import org.lunarray.model.descriptor.model.annotations.Ignore;
+import org.lunarray.model.descriptor.model.annotations.Key;
+import org.lunarray.model.descriptor.model.annotations.MemberName;
+import org.lunarray.model.descriptor.model.annotations.Reference;
+import org.lunarray.model.descriptor.presentation.RenderType;
+import org.lunarray.model.descriptor.presentation.annotations.EntityPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHints;
+import org.lunarray.model.descriptor.presentation.annotations.PresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHints;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.CompiledHint;
+import org.lunarray.model.descriptor.resource.generated.CompiledPropertyMetadata;
+import org.lunarray.model.descriptor.util.BooleanInherit;
+
+/**
+ * Writes the compiled metadata of an entity. The entity and property
+ * attributes are resolved the way the default resolvers would at runtime: entity
+ * annotations are read from the type hierarchy, property annotations from the
+ * field, its accessor and its mutator, in that order.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledMetadataWriter {
+
+	/** The accessor prefixes, in matching order. */
+	private static final String[] ACCESSOR_PREFIXES = { "is", "get" };
+	/** Line prefix for chained calls. */
+	private static final String CHAIN = "\t\t\t\t.";
+	/** The entity enum type. */
+	private static final String ENUM = Enum.class.getName();
+	/** Line prefix for hint calls. */
+	private static final String HINT = "hint(";
+	/** The package excluded from method resolution. */
+	private static final String JAVA_LANG = "java.lang";
+	/** The mutator prefix. */
+	private static final String MUTATOR_PREFIX = "set";
+	/** Line prefix for qualifier calls. */
+	private static final String QUALIFIER = "qualifier(";
+
+	/**
+	 * Collects the annotations of elements.
+	 * 
+	 * @param elements
+	 *            The elements, in order.
+	 * @param annotationType
+	 *            The annotation type.
+	 * @param <A>
+	 *            The annotation type.
+	 * @return The annotations present.
+	 */
+	private static <A extends Annotation> List<A> annotations(final List<? extends Element> elements, final Class<A> annotationType) {
+		final List<A> result = new ArrayList<A>();
+		for (final Element element : elements) {
+			final A annotation = element.getAnnotation(annotationType);
+			if (!CheckUtil.isNull(annotation)) {
+				result.add(annotation);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Quotes a string as a Java literal.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @return The literal.
+	 */
+	private static String literal(final String value) {
+		final StringBuilder builder = new StringBuilder("\"");
+		for (final char character : value.toCharArray()) {
+			if (character == '"' || character == '\\') {
+				builder.append('\\').append(character);
+			} else if (character < ' ' || character > '~') {
+				builder.append(String.format("\\u%04x", Integer.valueOf(character)));
+			} else {
+				builder.append(character);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Extracts a property name from a member name, the way the default
+	 * matchers would.
+	 * 
+	 * @param memberName
+	 *            The member name.
+	 * @param prefix
+	 *            The matched prefix.
+	 * @return The property name.
+	 */
+	private static String propertyName(final String memberName, final String prefix) {
+		final String name = memberName.substring(prefix.length());
+		String result = name;
+		if (!name.isEmpty()) {
+			result = name.substring(0, 1).toLowerCase(Locale.getDefault()).concat(name.substring(1));
+		}
+		return result;
+	}
+
+	/** The processing environment. */
+	private final transient ProcessingEnvironment environment;
+
+	/**
+	 * Constructs the writer.
+	 * 
+	 * @param environment
+	 *            The processing environment. May not be null.
+	 */
+	public CompiledMetadataWriter(final ProcessingEnvironment environment) {
+		Validate.notNull(environment, "Environment may not be null.");
+		this.environment = environment;
+	}
+
+	/**
+	 * Writes the metadata method of an entity.
+	 * 
+	 * @param writer
+	 *            The writer. May not be null.
+	 * @param entity
+	 *            The entity. May not be null.
+	 * @param method
+	 *            The method name. May not be null.
+	 */
+	public void write(final PrintWriter writer, final TypeElement entity, final String method) {
+		Validate.notNull(writer, "Writer may not be null.");
+		Validate.notNull(entity, "Entity may not be null.");
+		Validate.notNull(method, "Method may not be null.");
+		final List<TypeElement> hierarchy = this.hierarchy(entity);
+		writer.append("\tprivate static ").append(CompiledEntityMetadata.class.getName()).append(' ').append(method).println("() {");
+		writer.append("\t\treturn ").append(CompiledEntityMetadata.class.getName()).append(".createBuilder(")
+				.append(entity.getQualifiedName()).println(".class)");
+		String name = null;
+		for (final EntityName candidate : CompiledMetadataWriter.annotations(hierarchy, EntityName.class)) {
+			if (CheckUtil.isNull(name) || name.isEmpty()) {
+				name = candidate.value();
+			}
+		}
+		if (!CheckUtil.isNull(name)) {
+			writer.append(CompiledMetadataWriter.CHAIN).append("name(").append(CompiledMetadataWriter.literal(name)).println(')');
+		}
+		final HintBuilder hint = new HintBuilder();
+		for (final EntityPresentationHint candidate : CompiledMetadataWriter.annotations(hierarchy, EntityPresentationHint.class)) {
+			hint.fold(candidate);
+		}
+		if (!hint.isEmpty()) {
+			writer.append(CompiledMetadataWriter.CHAIN).append(CompiledMetadataWriter.HINT).append(hint.toString()).println(')');
+		}
+		this.writeEntityQualifiers(writer, hierarchy);
+		for (final PropertyMembers property : this.properties(entity)) {
+			writer.append(CompiledMetadataWriter.CHAIN).append("property(").append(this.property(property)).println(')');
+		}
+		writer.append(CompiledMetadataWriter.CHAIN).println("build();");
+		writer.println("\t}");
+	}
+
+	/**
+	 * Gets the binary name of a class valued annotation member.
+	 * 
+	 * @param exception
+	 *            The exception thrown reading the member.
+	 * @return The binary name.
+	 */
+	private String className(final MirroredTypeException exception) {
+		final TypeMirror type = exception.getTypeMirror();
+		final String result;
+		if (type.getKind() == TypeKind.DECLARED) {
+			result = this.environment.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+		} else {
+			result = this.environment.getTypeUtils().erasure(type).toString();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the qualifier of a qualified entity hint.
+	 * 
+	 * @param hint
+	 *            The hint.
+	 * @return The binary name of the qualifier.
+	 */
+	private String className(final EntityQualifierPresentationHint hint) {
+		String result;
+		try {
+			result = hint.name().getName();
+		} catch (final MirroredTypeException e) {
+			result = this.className(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the qualifier of a qualified property hint.
+	 * 
+	 * @param hint
+	 *            The hint.
+	 * @return The binary name of the qualifier.
+	 */
+	private String className(final QualifierPresentationHint hint) {
+		String result;
+		try {
+			result = hint.name().getName();
+		} catch (final MirroredTypeException e) {
+			result = this.className(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the related type of a reference.
+	 * 
+	 * @param reference
+	 *            The reference.
+	 * @return The binary name of the related type.
+	 */
+	private String className(final Reference reference) {
+		String result;
+		try {
+			result = reference.value().getName();
+		} catch (final MirroredTypeException e) {
+			result = this.className(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the type hierarchy of an entity, the way the default entity resolver
+	 * walks it.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @return The hierarchy, breadth first.
+	 */
+	private List<TypeElement> hierarchy(final TypeElement entity) {
+		final List<TypeElement> result = new ArrayList<TypeElement>();
+		final Deque<TypeElement> types = new LinkedList<TypeElement>();
+		final Set<TypeElement> processed = new HashSet<TypeElement>();
+		types.add(entity);
+		while (!types.isEmpty()) {
+			final TypeElement next = types.pop();
+			result.add(next);
+			final TypeElement superType = this.typeOf(next.getSuperclass());
+			if (!CheckUtil.isNull(superType) && !processed.contains(superType)) {
+				types.add(superType);
+			}
+			for (final TypeMirror interfaceType : next.getInterfaces()) {
+				final TypeElement interfaceElement = this.typeOf(interfaceType);
+				if (!CheckUtil.isNull(interfaceElement) && !processed.contains(interfaceElement)) {
+					types.add(interfaceElement);
+				}
+			}
+			processed.add(next);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if two types erase to the same type.
+	 * 
+	 * @param type
+	 *            The first type.
+	 * @param otherType
+	 *            The second type.
+	 * @return True if and only if the erasures are the same.
+	 */
+	private boolean isSameErasure(final TypeMirror type, final TypeMirror otherType) {
+		return this.environment.getTypeUtils().isSameType(this.environment.getTypeUtils().erasure(type),
+				this.environment.getTypeUtils().erasure(otherType));
+	}
+
+	/**
+	 * Gets the public instance methods of an entity, excluding those declared
+	 * in {@value #JAVA_LANG}.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @return The methods.
+	 */
+	private List<ExecutableElement> methods(final TypeElement entity) {
+		final List<ExecutableElement> result = new ArrayList<ExecutableElement>();
+		for (final ExecutableElement method : ElementFilter.methodsIn(this.environment.getElementUtils().getAllMembers(entity))) {
+			final Set<Modifier> modifiers = method.getModifiers();
+			final String packageName = this.environment.getElementUtils().getPackageOf(method).getQualifiedName().toString();
+			if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+					&& !CompiledMetadataWriter.JAVA_LANG.equals(packageName)) {
+				result.add(method);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the properties of an entity, the way the default field property
+	 * resolver matches them.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @return The properties.
+	 */
+	private List<PropertyMembers> properties(final TypeElement entity) {
+		final List<ExecutableElement> methods = this.methods(entity);
+		final List<PropertyMembers> result = new ArrayList<PropertyMembers>();
+		TypeElement current = entity;
+		while (!CheckUtil.isNull(current)) {
+			final boolean enumType = current.getQualifiedName().contentEquals(CompiledMetadataWriter.ENUM);
+			for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				final String fieldName = field.getSimpleName().toString();
+				if (!field.getModifiers().contains(Modifier.STATIC) && (!enumType || "name".equals(fieldName))) {
+					final PropertyMembers property = new PropertyMembers(CompiledMetadataWriter.propertyName(fieldName, ""));
+					property.members.add(field);
+					this.resolveMembers(property, field.asType(), methods);
+					result.add(property);
+				}
+			}
+			current = this.typeOf(current.getSuperclass());
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the metadata builder of a property.
+	 * 
+	 * @param property
+	 *            The property.
+	 * @return The builder source.
+	 */
+	private String property(final PropertyMembers property) {
+		final List<Element> members = property.members;
+		final StringBuilder builder = new StringBuilder(CompiledPropertyMetadata.class.getName());
+		builder.append(".createBuilder(").append(CompiledMetadataWriter.literal(property.name)).append(')');
+		final List<MemberName> names = CompiledMetadataWriter.annotations(members, MemberName.class);
+		if (!names.isEmpty()) {
+			builder.append(".name(").append(CompiledMetadataWriter.literal(names.get(0).value())).append(')');
+		}
+		String alias = null;
+		for (final Alias candidate : CompiledMetadataWriter.annotations(members, Alias.class)) {
+			if (CheckUtil.isNull(alias) || alias.isEmpty()) {
+				alias = candidate.value();
+			}
+		}
+		if (!CheckUtil.isNull(alias)) {
+			builder.append(".alias(").append(CompiledMetadataWriter.literal(alias)).append(')');
+		}
+		final List<Reference> references = CompiledMetadataWriter.annotations(members, Reference.class);
+		if (!references.isEmpty()) {
+			builder.append(".reference(").append(CompiledMetadataWriter.literal(this.className(references.get(0)))).append(')');
+		}
+		if (!CompiledMetadataWriter.annotations(members, Embedded.class).isEmpty()) {
+			builder.append(".embedded()");
+		}
+		if (!CompiledMetadataWriter.annotations(members, Ignore.class).isEmpty()) {
+			builder.append(".ignore()");
+		}
+		if (!CompiledMetadataWriter.annotations(members, Key.class).isEmpty()) {
+			builder.append(".key()");
+		}
+		final HintBuilder hint = new HintBuilder();
+		for (final PresentationHint candidate : CompiledMetadataWriter.annotations(members, PresentationHint.class)) {
+			hint.fold(candidate);
+		}
+		if (!hint.isEmpty()) {
+			builder.append('.').append(CompiledMetadataWriter.HINT).append(hint.toString()).append(')');
+		}
+		final List<String> qualifiers = new ArrayList<String>();
+		final Map<String, HintBuilder> hints = new LinkedHashMap<String, HintBuilder>();
+		for (final QualifierPresentationHints candidates : CompiledMetadataWriter.annotations(members, QualifierPresentationHints.class)) {
+			for (final QualifierPresentationHint candidate : candidates.value()) {
+				this.qualify(qualifiers, hints, this.className(candidate)).fold(candidate.hint());
+			}
+		}
+		for (final QualifierPresentationHint candidate : CompiledMetadataWriter.annotations(members, QualifierPresentationHint.class)) {
+			this.qualify(qualifiers, hints, this.className(candidate)).fold(candidate.hint());
+		}
+		for (final String qualifier : qualifiers) {
+			builder.append('.').append(CompiledMetadataWriter.QUALIFIER).append(CompiledMetadataWriter.literal(qualifier)).append(", ")
+					.append(hints.get(qualifier).toString()).append(')');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Registers a qualifier occurrence.
+	 * 
+	 * @param qualifiers
+	 *            The qualifier occurrences.
+	 * @param hints
+	 *            The hints, per qualifier.
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint of the qualifier.
+	 */
+	private HintBuilder qualify(final List<String> qualifiers, final Map<String, HintBuilder> hints, final String qualifier) {
+		qualifiers.add(qualifier);
+		if (!hints.containsKey(qualifier)) {
+			hints.put(qualifier, new HintBuilder());
+		}
+		return hints.get(qualifier);
+	}
+
+	/**
+	 * Resolves the accessors and mutators of a property.
+	 * 
+	 * @param property
+	 *            The property.
+	 * @param type
+	 *            The property type.
+	 * @param methods
+	 *            The candidate methods.
+	 */
+	private void resolveMembers(final PropertyMembers property, final TypeMirror type, final List<ExecutableElement> methods) {
+		final List<Element> mutators = new ArrayList<Element>();
+		for (final ExecutableElement method : methods) {
+			final String methodName = method.getSimpleName().toString();
+			final int parameters = method.getParameters().size();
+			String prefix = null;
+			for (final String candidate : CompiledMetadataWriter.ACCESSOR_PREFIXES) {
+				if (methodName.startsWith(candidate)) {
+					prefix = candidate;
+				}
+			}
+			if (!CheckUtil.isNull(prefix) && parameters == 0 && method.getReturnType().getKind() != TypeKind.VOID
+					&& property.name.equals(CompiledMetadataWriter.propertyName(methodName, prefix))
+					&& this.isSameErasure(type, method.getReturnType())) {
+				property.members.add(method);
+			} else if (methodName.startsWith(CompiledMetadataWriter.MUTATOR_PREFIX) && parameters == 1
+					&& property.name.equals(CompiledMetadataWriter.propertyName(methodName, CompiledMetadataWriter.MUTATOR_PREFIX))
+					&& this.isSameErasure(type, method.getParameters().get(0).asType())) {
+				mutators.add(method);
+			}
+		}
+		property.members.addAll(mutators);
+	}
+
+	/**
+	 * Gets the element of a declared type.
+	 * 
+	 * @param type
+	 *            The type.
+	 * @return The element, or null if the type isn't declared.
+	 */
+	private TypeElement typeOf(final TypeMirror type) {
+		TypeElement result = null;
+		if (type.getKind() == TypeKind.DECLARED) {
+			result = (TypeElement) ((DeclaredType) type).asElement();
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the qualified hints of an entity.
+	 * 
+	 * @param writer
+	 *            The writer.
+	 * @param hierarchy
+	 *            The entity hierarchy.
+	 */
+	private void writeEntityQualifiers(final PrintWriter writer, final List<TypeElement> hierarchy) {
+		final List<String> qualifiers = new ArrayList<String>();
+		final Map<String, HintBuilder> hints = new LinkedHashMap<String, HintBuilder>();
+		for (final EntityQualifierPresentationHints candidates : CompiledMetadataWriter.annotations(hierarchy,
+				EntityQualifierPresentationHints.class)) {
+			for (final EntityQualifierPresentationHint candidate : candidates.value()) {
+				this.qualify(qualifiers, hints, this.className(candidate)).fold(candidate.hint());
+			}
+		}
+		for (final EntityQualifierPresentationHint candidate : CompiledMetadataWriter.annotations(hierarchy,
+				EntityQualifierPresentationHint.class)) {
+			this.qualify(qualifiers, hints, this.className(candidate)).fold(candidate.hint());
+		}
+		for (final String qualifier : qualifiers) {
+			writer.append(CompiledMetadataWriter.CHAIN).append(CompiledMetadataWriter.QUALIFIER)
+					.append(CompiledMetadataWriter.literal(qualifier)).append(", ").append(hints.get(qualifier).toString()).println(')');
+		}
+	}
+
+	/**
+	 * Folds presentation hints, keeping the first value that differs from the
+	 * default, and writes the result.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class HintBuilder {
+
+		/**
+		 * Appends a hint value, if it isn't inherited.
+		 * 
+		 * @param builder
+		 *            The source builder.
+		 * @param method
+		 *            The builder method.
+		 * @param value
+		 *            The value.
+		 */
+		private static void append(final StringBuilder builder, final String method, final BooleanInherit value) {
+			if (value != BooleanInherit.INHERIT) {
+				builder.append('.').append(method).append('(').append(BooleanInherit.class.getName()).append('.').append(value.name())
+						.append(')');
+			}
+		}
+
+		/**
+		 * Appends a hint value, if it isn't empty.
+		 * 
+		 * @param builder
+		 *            The source builder.
+		 * @param method
+		 *            The builder method.
+		 * @param value
+		 *            The value.
+		 */
+		private static void append(final StringBuilder builder, final String method, final String value) {
+			if (!value.isEmpty()) {
+				builder.append('.').append(method).append('(').append(CompiledMetadataWriter.literal(value)).append(')');
+			}
+		}
+
+		/**
+		 * Folds a value.
+		 * 
+		 * @param current
+		 *            The current value.
+		 * @param value
+		 *            The next value.
+		 * @return The current value, or the next value if the current value is
+		 *         inherited.
+		 */
+		private static BooleanInherit fold(final BooleanInherit current, final BooleanInherit value) {
+			return current == BooleanInherit.INHERIT ? value : current;
+		}
+
+		/**
+		 * Folds a value.
+		 * 
+		 * @param current
+		 *            The current value.
+		 * @param value
+		 *            The next value.
+		 * @return The current value, or the next value if the current value is
+		 *         empty.
+		 */
+		private static String fold(final String current, final String value) {
+			return current.isEmpty() ? value : current;
+		}
+
+		/** The format. */
+		private transient String format;
+		/** The immutable hint. */
+		private transient BooleanInherit immutable;
+		/** The in line hint. */
+		private transient BooleanInherit inLine;
+		/** The label key. */
+		private transient String labelKey;
+		/** The name hint. */
+		private transient BooleanInherit name;
+		/** The order. */
+		private transient int order;
+		/** The render type. */
+		private transient RenderType render;
+		/** The required hint. */
+		private transient BooleanInherit required;
+		/** The resource bundle. */
+		private transient String resourceBundle;
+		/** The visible hint. */
+		private transient BooleanInherit visible;
+
+		/**
+		 * Default constructor.
+		 */
+		protected HintBuilder() {
+			this.format = "";
+			this.immutable = BooleanInherit.INHERIT;
+			this.inLine = BooleanInherit.INHERIT;
+			this.labelKey = "";
+			this.name = BooleanInherit.INHERIT;
+			this.order = Integer.MIN_VALUE;
+			this.render = RenderType.DEFAULT;
+			this.required = BooleanInherit.INHERIT;
+			this.resourceBundle = "";
+			this.visible = BooleanInherit.INHERIT;
+		}
+
+		/**
+		 * Folds an entity hint.
+		 * 
+		 * @param hint
+		 *            The hint.
+		 */
+		public void fold(final EntityPresentationHint hint) {
+			this.labelKey = HintBuilder.fold(this.labelKey, hint.descriptionKey());
+			this.resourceBundle = HintBuilder.fold(this.resourceBundle, hint.resourceBundle());
+			this.visible = HintBuilder.fold(this.visible, hint.visible());
+		}
+
+		/**
+		 * Folds a property hint.
+		 * 
+		 * @param hint
+		 *            The hint.
+		 */
+		public void fold(final PresentationHint hint) {
+			this.format = HintBuilder.fold(this.format, hint.format());
+			this.immutable = HintBuilder.fold(this.immutable, hint.immutable());
+			this.inLine = HintBuilder.fold(this.inLine, hint.inLine());
+			this.labelKey = HintBuilder.fold(this.labelKey, hint.labelKey());
+			this.name = HintBuilder.fold(this.name, hint.name());
+			if (this.order == Integer.MIN_VALUE) {
+				this.order = hint.order();
+			}
+			if (this.render == RenderType.DEFAULT) {
+				this.render = hint.render();
+			}
+			this.required = HintBuilder.fold(this.required, hint.required());
+			this.visible = HintBuilder.fold(this.visible, hint.visible());
+		}
+
+		/**
+		 * Tests if the hint has only default values.
+		 * 
+		 * @return True if and only if the hint is empty.
+		 */
+		public boolean isEmpty() {
+			return CompiledHint.class.getName().concat(".EMPTY").equals(this.toString());
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			HintBuilder.append(builder, "format", this.format);
+			HintBuilder.append(builder, "immutable", this.immutable);
+			HintBuilder.append(builder, "inLine", this.inLine);
+			HintBuilder.append(builder, "labelKey", this.labelKey);
+			HintBuilder.append(builder, "name", this.name);
+			if (this.order != Integer.MIN_VALUE) {
+				builder.append(".order(").append(this.order).append(')');
+			}
+			if (this.render != RenderType.DEFAULT) {
+				builder.append(".render(").append(RenderType.class.getName()).append('.').append(this.render.name()).append(')');
+			}
+			HintBuilder.append(builder, "required", this.required);
+			HintBuilder.append(builder, "resourceBundle", this.resourceBundle);
+			HintBuilder.append(builder, "visible", this.visible);
+			final String result;
+			if (builder.length() == 0) {
+				result = CompiledHint.class.getName().concat(".EMPTY");
+			} else {
+				result = CompiledHint.class.getName().concat(".createBuilder()").concat(builder.toString()).concat(".build()");
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The members of a property, in annotation order.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class PropertyMembers {
+
+		/** The members. */
+		private final transient List<Element> members;
+		/** The property name. */
+		private final transient String name;
+
+		/**
+		 * Constructs the property.
+		 * 
+		 * @param name
+		 *            The property name.
+		 */
+		protected PropertyMembers(final String name) {
+			this.members = new ArrayList<Element>();
+			this.name = name;
+		}
+	}
+}
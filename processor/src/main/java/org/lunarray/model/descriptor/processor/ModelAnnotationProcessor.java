@@ -0,0 +1,188 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.annotations.DictionaryKey;
+import org.lunarray.model.descriptor.model.annotations.Alias;
+import org.lunarray.model.descriptor.model.annotations.Embedded;
+import org.lunarray.model.descriptor.model.annotations.EntityName;
+import org.lunarray.model.descriptor.model.annotations.Ignore;
+import org.lunarray.model.descriptor.model.annotations.Key;
+import org.lunarray.model.descriptor.model.annotations.MemberName;
+import org.lunarray.model.descriptor.model.annotations.Reference;
+import org.lunarray.model.descriptor.presentation.annotations.EntityPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHints;
+import org.lunarray.model.descriptor.presentation.annotations.PresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHints;
+import org.lunarray.model.descriptor.resource.generated.GeneratedModel;
+
+/**
+ * Processes the model annotations at compile time. Every class carrying a model
+ * annotation, on itself or on one of its members, is an entity. A compiled
+ * accessor is written for every entity, and all accessors are registered as
+ * generated models, so the entities may be resolved through the service loader.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ModelAnnotationProcessor
+		extends AbstractProcessor {
+
+	/** The supported annotations. */
+	private static final Set<String> ANNOTATIONS = ModelAnnotationProcessor.names(Alias.class, DictionaryKey.class, Embedded.class,
+			EntityName.class, EntityPresentationHint.class, EntityQualifierPresentationHint.class,
+			EntityQualifierPresentationHints.class, Ignore.class, Key.class, MemberName.class, PresentationHint.class,
+			QualifierPresentationHint.class, QualifierPresentationHints.class, Reference.class);
+	/** The service registration. */
+	private static final String SERVICE = "META-INF/services/".concat(GeneratedModel.class.getName());
+
+	/**
+	 * Gets the entity an element belongs to.
+	 * 
+	 * @param element
+	 *            The element.
+	 * @return The entity, or null if the element isn't in a type.
+	 */
+	private static TypeElement entityOf(final Element element) {
+		Element current = element;
+		while (!CheckUtil.isNull(current) && !(current instanceof TypeElement)) {
+			current = current.getEnclosingElement();
+		}
+		return (TypeElement) current;
+	}
+
+	/**
+	 * Gets the names of annotations.
+	 * 
+	 * @param annotations
+	 *            The annotations.
+	 * @return The names.
+	 */
+	private static Set<String> names(final Class<?>... annotations) {
+		final Set<String> result = new HashSet<String>();
+		for (final Class<?> annotation : annotations) {
+			result.add(annotation.getName());
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/** The accessors written. */
+	private final transient Set<String> accessors;
+	/** The processed entities. */
+	private final transient Set<String> entities;
+
+	/**
+	 * Default constructor.
+	 */
+	public ModelAnnotationProcessor() {
+		super();
+		this.accessors = new TreeSet<String>();
+		this.entities = new HashSet<String>();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return ModelAnnotationProcessor.ANNOTATIONS;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			if (!this.accessors.isEmpty()) {
+				this.writeServices();
+			}
+		} else {
+			final CompiledAccessorWriter writer = new CompiledAccessorWriter(this.processingEnv);
+			for (final TypeElement annotation : annotations) {
+				for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+					final TypeElement entity = ModelAnnotationProcessor.entityOf(element);
+					if (!CheckUtil.isNull(entity) && this.entities.add(entity.getQualifiedName().toString())) {
+						this.process(writer, entity);
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the accessor of an entity.
+	 * 
+	 * @param writer
+	 *            The accessor writer.
+	 * @param entity
+	 *            The entity.
+	 */
+	private void process(final CompiledAccessorWriter writer, final TypeElement entity) {
+		if (writer.isWritable(entity)) {
+			try {
+				writer.write(entity);
+				this.accessors.add(writer.getAccessorName(entity));
+			} catch (final IOException e) {
+				this.processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write accessor: ".concat(e.getMessage()), entity);
+			}
+		} else {
+			this.processingEnv.getMessager().printMessage(Kind.NOTE, "Entity is not accessible, resolving it at runtime.", entity);
+		}
+	}
+
+	/**
+	 * Writes the service registration of all accessors.
+	 */
+	private void writeServices() {
+		try {
+			final FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ModelAnnotationProcessor.SERVICE);
+			final PrintWriter writer = new PrintWriter(file.openWriter());
+			try {
+				for (final String accessor : this.accessors) {
+					writer.println(accessor);
+				}
+			} finally {
+				writer.close();
+			}
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR, "Could not register generated models: ".concat(e.getMessage()));
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
+import org.lunarray.model.descriptor.accessor.property.AbstractProperty;
+import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.EntityAccessor;
+import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.context.DefaultConfiguration;
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.builder.annotation.resolver.ResolverFactory;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.compiled.CompiledEntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.compiled.CompiledPropertyAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.simple.ModelImpl;
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.lunarray.model.descriptor.presentation.PresentationEntityDescriptor;
+import org.lunarray.model.descriptor.presentation.PresentationPropertyDescriptor;
+import org.lunarray.model.descriptor.processor.domain.SampleEntity;
+import org.lunarray.model.descriptor.processor.domain.SampleMarker;
+import org.lunarray.model.descriptor.processor.domain.SampleQualifier;
+import org.lunarray.model.descriptor.qualifier.QualifierEntityDescriptor;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.CompiledPropertyMetadata;
+import org.lunarray.model.descriptor.resource.generated.GeneratedModelResource;
+
+public class CompiledEntityAccessorTest {
+
+	@Test
+	public void testMetadata() throws Exception {
+		final CompiledEntityMetadata metadata = CompiledEntityAccessor.findMetadata(SampleEntity.class);
+		Assert.assertNotNull(metadata);
+		Assert.assertEquals("sample", metadata.getName());
+		Assert.assertEquals("sample.key", metadata.getHint().getLabelKey());
+		Assert.assertEquals(Collections.<Class<?>> singletonList(SampleQualifier.class), metadata.getQualifiers());
+		Assert.assertEquals("sample.qualified", metadata.getHint(SampleQualifier.class).getLabelKey());
+		final CompiledPropertyMetadata name = metadata.getProperty("name");
+		Assert.assertTrue(name.isKey());
+		Assert.assertEquals("name", name.getName());
+		Assert.assertEquals("name.key", name.getHint().getLabelKey());
+		Assert.assertEquals(1, name.getHint().getOrder());
+		Assert.assertEquals("name.qualified", name.getHint(SampleQualifier.class).getLabelKey());
+		Assert.assertEquals("label", metadata.getProperty("description").getName());
+		Assert.assertFalse(metadata.getProperty("count").isKey());
+		Assert.assertNull(CompiledEntityAccessor.findMetadata(String.class));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testModel() throws Exception {
+		final Builder<Class<? extends SampleMarker>, SampleMarker, ModelImpl<SampleMarker>, ?> builder = SimpleBuilder.createBuilder();
+		builder.configuration(DefaultConfiguration.createBuilder().accessorMode(AccessorMode.GENERATED).build());
+		final Model<SampleMarker> model = builder.resources(new GeneratedModelResource<SampleMarker>(SampleMarker.class)).build();
+		final EntityDescriptor<SampleEntity> entity = model.getEntity(SampleEntity.class);
+		Assert.assertEquals("sample", entity.getName());
+		Assert.assertNotNull(entity.getProperty("label"));
+		Assert.assertEquals("name", entity.adapt(KeyedEntityDescriptor.class).getKeyProperty().getName());
+		final SampleEntity instance = new SampleEntity();
+		final PropertyDescriptor<String, SampleEntity> name = (PropertyDescriptor<String, SampleEntity>) entity.getProperty("name");
+		name.setValue(instance, "value");
+		Assert.assertEquals("value", instance.getName());
+		Assert.assertEquals("value", name.getValue(instance));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPresentation() throws Exception {
+		final Builder<Class<? extends SampleMarker>, SampleMarker, org.lunarray.model.descriptor.builder.annotation.presentation.builder.model.ModelImpl<SampleMarker>, ?> builder = PresQualBuilder
+				.createBuilder();
+		final Model<SampleMarker> model = builder.resources(new GeneratedModelResource<SampleMarker>(SampleMarker.class)).build();
+		final EntityDescriptor<SampleEntity> entity = model.getEntity(SampleEntity.class);
+		Assert.assertEquals("sample.key", entity.adapt(PresentationEntityDescriptor.class).getDescriptionKey());
+		final PresentationPropertyDescriptor<?, SampleEntity> name = entity.getProperty("name").adapt(PresentationPropertyDescriptor.class);
+		Assert.assertEquals("name.key", name.getDescriptionKey());
+		Assert.assertEquals(1, name.getOrder());
+		Assert.assertTrue(name.isRequiredIndication());
+		final QualifierEntityDescriptor<SampleEntity> qualifiers = entity.adapt(QualifierEntityDescriptor.class);
+		Assert.assertTrue(qualifiers.getQualifiers().contains(SampleQualifier.class));
+		final EntityDescriptor<SampleEntity> qualified = qualifiers.getQualifierEntity(SampleQualifier.class);
+		Assert.assertEquals("sample.qualified", qualified.adapt(PresentationEntityDescriptor.class).getDescriptionKey());
+		Assert.assertEquals("name.qualified", qualified.getProperty("name").adapt(PresentationPropertyDescriptor.class).getDescriptionKey());
+	}
+
+	@Test
+	public void testRemap() throws Exception {
+		final List<PersistentProperty<?>> properties = new ArrayList<PersistentProperty<?>>();
+		final PersistentProperty<String> name = new PersistentProperty<String>();
+		name.setName("name");
+		name.setRaw(SampleEntity.class.getDeclaredField("name"));
+		name.setAccessor(SampleEntity.class.getMethod("getName"));
+		name.setMutator(SampleEntity.class.getMethod("setName", String.class));
+		final PersistentProperty<Integer> count = new PersistentProperty<Integer>();
+		count.setName("count");
+		count.setRaw(SampleEntity.class.getDeclaredField("count"));
+		properties.add(name);
+		properties.add(count);
+		final EntityAccessor accessor = CompiledEntityAccessor.remap(SampleEntity.class, properties);
+		Assert.assertNotNull(accessor);
+		final SampleEntity instance = new SampleEntity();
+		accessor.set(instance, 0, "value");
+		accessor.set(instance, 1, Integer.valueOf(3));
+		Assert.assertEquals("value", accessor.get(instance, 0));
+		Assert.assertEquals(Integer.valueOf(3), accessor.get(instance, 1));
+		Assert.assertNull(CompiledEntityAccessor.find(SampleQualifier.class));
+		Assert.assertNull(CompiledEntityAccessor.remap(SampleQualifier.class, properties));
+	}
+
+	@Test
+	public void testResource() throws Exception {
+		final Collection<Class<? extends SampleMarker>> resources = new GeneratedModelResource<SampleMarker>(SampleMarker.class)
+				.getResources();
+		Assert.assertEquals(1, resources.size());
+		Assert.assertTrue(resources.contains(SampleEntity.class));
+		Assert.assertTrue(new GeneratedModelResource<String>(String.class, this.getClass().getClassLoader()).getResources().isEmpty());
+	}
+
+	@Test
+	public void testStrategies() throws Exception {
+		final DescribedEntity<SampleEntity> entity = DescribedEntity.<SampleEntity> createBuilder().entityType(SampleEntity.class).build();
+		final CompiledEntityAttributeResolverStrategy entityStrategy = ResolverFactory
+				.compiledEntityAttributeResolver(ResolverFactory.defaultEntityAttributeResolver());
+		Assert.assertEquals("sample", entityStrategy.getName(entity));
+		Assert.assertEquals("SampleEntity", ResolverFactory.defaultEntityAttributeResolver().getName(entity));
+		final DescribedProperty<String> name = AbstractProperty.<String> createBuilder().name("name").type(String.class)
+				.genericType(String.class).entityType(entity).buildDescribed();
+		final CompiledPropertyAttributeResolverStrategy propertyStrategy = ResolverFactory
+				.compiledPropertyAttributeResolver(ResolverFactory.defaultPropertyAttributeResolver());
+		Assert.assertTrue(propertyStrategy.isKey(name));
+		Assert.assertFalse(ResolverFactory.defaultPropertyAttributeResolver().isKey(name));
+		Assert.assertFalse(propertyStrategy.isAlias(name));
+		Assert.assertNull(propertyStrategy.getReferenceRelation(name));
+	}
+}
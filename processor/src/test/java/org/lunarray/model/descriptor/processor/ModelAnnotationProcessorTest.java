@@ -0,0 +1,185 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.CompiledPropertyMetadata;
+import org.lunarray.model.descriptor.resource.generated.GeneratedModel;
+
+public class ModelAnnotationProcessorTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static void delete(final File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				ModelAnnotationProcessorTest.delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private static String read(final File file) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final Reader reader = new InputStreamReader(new FileInputStream(file), ModelAnnotationProcessorTest.UTF8);
+		try {
+			final char[] buffer = new char[1024];
+			int read = reader.read(buffer);
+			while (read >= 0) {
+				builder.append(buffer, 0, read);
+				read = reader.read(buffer);
+			}
+		} finally {
+			reader.close();
+		}
+		return builder.toString();
+	}
+
+	private File classes;
+	private File root;
+	private File sources;
+
+	@After
+	public void cleanup() {
+		ModelAnnotationProcessorTest.delete(this.root);
+	}
+
+	@Before
+	public void init() throws Exception {
+		this.root = File.createTempFile("processor", "");
+		Assert.assertTrue(this.root.delete());
+		this.classes = new File(this.root, "classes");
+		this.sources = new File(this.root, "sources");
+		Assert.assertTrue(this.classes.mkdirs());
+		Assert.assertTrue(this.sources.mkdirs());
+	}
+
+	@Test
+	public void testAccessor() throws Exception {
+		Assert.assertTrue(this.compile("sample/Entity.java", "package sample;",
+				"public class Entity { int count; @org.lunarray.model.descriptor.model.annotations.Key private String name;",
+				"public String getName() { return this.name; } public void setName(final String name) { this.name = name; } }"));
+		final String accessor = ModelAnnotationProcessorTest.read(new File(this.sources, "sample/Entity"
+				.concat(CompiledEntityAccessor.SUFFIX).concat(".java")));
+		Assert.assertTrue(accessor.contains("package sample;"));
+		Assert.assertTrue(accessor.contains("extends ".concat(CompiledEntityAccessor.class.getName())));
+		Assert.assertTrue(accessor.contains("READ_KEYS = { \"f:count\", \"m:getName\" }"));
+		Assert.assertTrue(accessor.contains("WRITE_KEYS = { \"f:count\", \"m:setName\" }"));
+		Assert.assertTrue(accessor.contains(".WRITE_KEYS, Entity".concat(CompiledEntityAccessor.SUFFIX).concat(".metadata());")));
+		Assert.assertTrue(accessor.contains(CompiledPropertyMetadata.class.getName().concat(".createBuilder(\"name\").key()")));
+		Assert.assertTrue(new File(this.classes, "sample/Entity".concat(CompiledEntityAccessor.SUFFIX).concat(".class")).isFile());
+		final String services = ModelAnnotationProcessorTest.read(new File(this.classes, "META-INF/services/".concat(GeneratedModel.class
+				.getName())));
+		Assert.assertEquals("sample.Entity".concat(CompiledEntityAccessor.SUFFIX), services.trim());
+	}
+
+	@Test
+	public void testMetadata() throws Exception {
+		Assert.assertTrue(this.compile("sample/Named.java", "package sample;",
+				"@org.lunarray.model.descriptor.model.annotations.EntityName(\"named\\\"\")",
+				"@org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHint(name = Named.class,",
+				"hint = @org.lunarray.model.descriptor.presentation.annotations.EntityPresentationHint(descriptionKey = \"qualified\"))",
+				"public class Named { @org.lunarray.model.descriptor.model.annotations.Alias(\"other\") String value;",
+				"@org.lunarray.model.descriptor.model.annotations.Reference(Named.class) Named parent;",
+				"@org.lunarray.model.descriptor.model.annotations.MemberName(\"renamed\") public String getValue() { return this.value; } }"));
+		final URLClassLoader loader = new URLClassLoader(new URL[] { this.classes.toURI().toURL() }, this.getClass().getClassLoader());
+		try {
+			final Class<?> named = loader.loadClass("sample.Named");
+			final CompiledEntityMetadata metadata = CompiledEntityAccessor.findMetadata(named);
+			Assert.assertEquals("named\"", metadata.getName());
+			Assert.assertEquals(Collections.<Class<?>> singletonList(named), metadata.getQualifiers());
+			Assert.assertEquals("qualified", metadata.getHint(named).getLabelKey());
+			Assert.assertEquals("", metadata.getHint(String.class).getLabelKey());
+			final CompiledPropertyMetadata value = metadata.getProperty("value");
+			Assert.assertEquals("other", value.getAlias());
+			Assert.assertEquals("renamed", value.getName());
+			Assert.assertNull(value.getReference());
+			Assert.assertEquals(named, metadata.getProperty("parent").getReference());
+		} finally {
+			loader.close();
+		}
+	}
+
+	@Test
+	public void testPrivate() throws Exception {
+		Assert.assertTrue(this.compile("sample/Outer.java", "package sample;",
+				"public class Outer { private static class Entity { @org.lunarray.model.descriptor.model.annotations.Key String name; } }"));
+		Assert.assertFalse(new File(this.sources, "sample/Outer$Entity".concat(CompiledEntityAccessor.SUFFIX).concat(".java")).exists());
+		Assert.assertFalse(new File(this.classes, "META-INF/services/".concat(GeneratedModel.class.getName())).exists());
+	}
+
+	@Test
+	public void testUnannotated() throws Exception {
+		Assert.assertTrue(this.compile("sample/Plain.java", "package sample;", "public class Plain { String name; }"));
+		Assert.assertFalse(new File(this.sources, "sample/Plain".concat(CompiledEntityAccessor.SUFFIX).concat(".java")).exists());
+		Assert.assertFalse(new File(this.classes, "META-INF/services/".concat(GeneratedModel.class.getName())).exists());
+	}
+
+	private boolean compile(final String name, final String... lines) throws IOException {
+		final File source = new File(this.root, name);
+		Assert.assertTrue(source.getParentFile().mkdirs());
+		final StringBuilder builder = new StringBuilder();
+		for (final String line : lines) {
+			builder.append(line).append('\n');
+		}
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(source), ModelAnnotationProcessorTest.UTF8);
+		try {
+			writer.write(builder.toString());
+		} finally {
+			writer.close();
+		}
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, ModelAnnotationProcessorTest.UTF8);
+		try {
+			final Iterable<? extends JavaFileObject> units = manager.getJavaFileObjects(source);
+			final CompilationTask task = compiler.getTask(null, manager, null, Arrays.asList("-classpath",
+					System.getProperty("java.class.path"), "-d", this.classes.getPath(), "-s", this.sources.getPath()), null, units);
+			task.setProcessors(Collections.singletonList(new ModelAnnotationProcessor()));
+			return task.call().booleanValue();
+		} finally {
+			manager.close();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.processor.domain;
+
+import org.lunarray.model.descriptor.model.annotations.EntityName;
+import org.lunarray.model.descriptor.model.annotations.Key;
+import org.lunarray.model.descriptor.model.annotations.MemberName;
+import org.lunarray.model.descriptor.presentation.annotations.EntityPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.PresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHint;
+import org.lunarray.model.descriptor.util.BooleanInherit;
+
+@EntityName("sample")
+@EntityPresentationHint(descriptionKey = "sample.key")
+@EntityQualifierPresentationHint(name = SampleQualifier.class, hint = @EntityPresentationHint(descriptionKey = "sample.qualified"))
+public class SampleEntity
+		implements SampleMarker {
+
+	int count;
+
+	@MemberName("label")
+	private String description;
+
+	@Key
+	@PresentationHint(labelKey = "name.key", order = 1)
+	@QualifierPresentationHint(name = SampleQualifier.class, hint = @PresentationHint(labelKey = "name.qualified"))
+	private String name;
+
+	/**
+	 * Gets the value for the description field.
+	 * 
+	 * @return The value for the description field.
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Gets the value for the name field.
+	 * 
+	 * @return The value for the name field.
+	 */
+	@PresentationHint(labelKey = "ignored", required = BooleanInherit.TRUE)
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Sets a new value for the description field.
+	 * 
+	 * @param description
+	 *            The new value for the description field.
+	 */
+	public void setDescription(final String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Sets a new value for the name field.
+	 * 
+	 * @param name
+	 *            The new value for the name field.
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+}
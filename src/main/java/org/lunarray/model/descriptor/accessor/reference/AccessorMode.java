@@ -0,0 +1,39 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference;
+
+/**
+ * Describes how property values are accessed.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public enum AccessorMode {
+	/**
+	 * Accessors and mutators are resolved to method handles when the model is
+	 * built. Falls back to reflection if a handle could not be resolved.
+	 */
+	COMPILED,
+	/**
+	 * One accessor class is generated per entity, accessing all properties by
+	 * index. Falls back to method handles and reflection for anything the
+	 * generated accessor can't reach.
+	 */
+	GENERATED,
+	/** Accessors, mutators and fields are invoked reflectively. */
+	REFLECTION;
+}
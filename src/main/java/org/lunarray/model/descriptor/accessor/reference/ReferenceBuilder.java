@@ -18,10 +18,13 @@
 package org.lunarray.model.descriptor.accessor.reference;
 
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.operation.DescribedOperation;
 import org.lunarray.model.descriptor.accessor.operation.PersistentOperation;
 import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
@@ -32,6 +35,8 @@ import org.lunarray.model.descriptor.accessor.reference.operation.OperationRefer
 import org.lunarray.model.descriptor.accessor.reference.operation.impl.DirectOperationReference;
 import org.lunarray.model.descriptor.accessor.reference.operation.impl.PropertyOperationReference;
 import org.lunarray.model.descriptor.accessor.reference.property.PropertyValueReference;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.EntityAccessorFactory;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.GeneratedPropertyAccess;
 import org.lunarray.model.descriptor.accessor.reference.property.impl.DeferredPropertyValueReference;
 import org.lunarray.model.descriptor.accessor.reference.property.impl.DirectPropertyValueReference;
 import org.lunarray.model.descriptor.accessor.reference.property.impl.PropertyReference;
@@ -57,6 +62,8 @@ public final class ReferenceBuilder<T, F> {
 	private final transient Configuration configuration;
 	/** The embedding deque. */
 	private final transient Deque<String> embedded;
+	/** Generated accessor factories, by entity type. */
+	private final transient Map<Class<?>, EntityAccessorFactory> entityAccessors;
 	/** Optional object factory. */
 	private transient ExtensionRef<ObjectFactory> objectFactory;
 	/** The properties deque. */
@@ -72,6 +79,7 @@ public final class ReferenceBuilder<T, F> {
 		this.configuration = configuration;
 		this.accessors = new LinkedList<PropertyReference<T, F>>();
 		this.embedded = new LinkedList<String>();
+		this.entityAccessors = new HashMap<Class<?>, EntityAccessorFactory>();
 		this.properties = new LinkedList<PropertyBuilder<?>>();
 	}
 
@@ -179,7 +187,11 @@ public final class ReferenceBuilder<T, F> {
 		Validate.notNull(propertyBuilder, "Property may not be null.");
 		final PersistentProperty<T> property = (PersistentProperty<T>) propertyBuilder.build();
 		final Builder<T> builder = PropertyReference.createBuilder();
-		builder.property(property);
+		final AccessorMode mode = this.configuration.accessorMode();
+		builder.property(property).mode(mode);
+		if (AccessorMode.GENERATED == mode && !CheckUtil.isNull(property.getEntityType())) {
+			builder.access(GeneratedPropertyAccess.<T, F> create(this.getEntityAccessorFactory(property.getEntityType()), property));
+		}
 		final PropertyReference<T, F> accessor = builder.build();
 		this.accessors.push(accessor);
 		this.embedded.push(name);
@@ -213,6 +225,22 @@ public final class ReferenceBuilder<T, F> {
 		return nameBuilder.toString();
 	}
 
+	/**
+	 * Gets the accessor factory for an entity type.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @return The factory.
+	 */
+	private EntityAccessorFactory getEntityAccessorFactory(final Class<?> entityType) {
+		EntityAccessorFactory factory = this.entityAccessors.get(entityType);
+		if (CheckUtil.isNull(factory)) {
+			factory = new EntityAccessorFactory(entityType);
+			this.entityAccessors.put(entityType, factory);
+		}
+		return factory;
+	}
+
 	/**
 	 * Resolves the name and returns the builder.
 	 * 
@@ -66,8 +66,10 @@ public final class DirectOperationReference<C>
 		}
 		Object result;
 		try {
-			DirectOperationReference.LOGGER.debug("Invoking operation {} on entity {} with parameters {}", this.operation, parentType,
-					Arrays.toString(parameters));
+			if (DirectOperationReference.LOGGER.isDebugEnabled()) {
+				DirectOperationReference.LOGGER.debug("Invoking operation {} on entity {} with parameters {}", this.operation, parentType,
+						Arrays.toString(parameters));
+			}
 			result = this.operation.getOperation().invoke(parentType, params);
 		} catch (final IllegalArgumentException e) {
 			throw new ValueAccessException(e);
@@ -0,0 +1,323 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.generated;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.GeneratedModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An entity accessor compiled ahead of time by the model annotation processor. Its members
+ * are indexed by key, a field key is {@value #FIELD_PREFIX} followed by the
+ * field name, a method key is {@value #METHOD_PREFIX} followed by the method
+ * name. Reads and writes have separate indices. A compiled accessor is found by
+ * appending {@value #SUFFIX} to the name of the entity type. Compiled
+ * accessors are registered as generated models, describing their entity, and
+ * may carry the metadata the processor resolved for it.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public abstract class CompiledEntityAccessor
+		extends EntityAccessor
+		implements GeneratedModel {
+
+	/** The field key prefix. */
+	public static final String FIELD_PREFIX = "f:";
+	/** The method key prefix. */
+	public static final String METHOD_PREFIX = "m:";
+	/** The class name suffix. */
+	public static final String SUFFIX = "$$CompiledAccessor";
+	/** The compiled accessors, per entity type. */
+	private static final ClassValue<CompiledEntityAccessor> COMPILED = new ClassValue<CompiledEntityAccessor>() {
+
+		/** {@inheritDoc} */
+		@Override
+		protected CompiledEntityAccessor computeValue(final Class<?> type) {
+			return CompiledEntityAccessor.load(type);
+		}
+	};
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CompiledEntityAccessor.class);
+
+	/**
+	 * Finds the compiled accessor of an entity.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @return The accessor, or null if none was compiled.
+	 */
+	public static CompiledEntityAccessor find(final Class<?> entityType) {
+		Validate.notNull(entityType, "Entity type may not be null.");
+		return CompiledEntityAccessor.COMPILED.get(entityType);
+	}
+
+	/**
+	 * Finds the compiled metadata of an entity.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @return The metadata, or null if none was compiled.
+	 */
+	public static CompiledEntityMetadata findMetadata(final Class<?> entityType) {
+		final CompiledEntityAccessor compiled = CompiledEntityAccessor.find(entityType);
+		CompiledEntityMetadata result = null;
+		if (!CheckUtil.isNull(compiled)) {
+			result = compiled.metadata;
+		}
+		return result;
+	}
+
+	/**
+	 * Maps the compiled accessor of an entity onto the given property indices.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param properties
+	 *            The properties, in index order. May not be null.
+	 * @return The accessor, or null if none was compiled or it does not cover
+	 *         all properties a generated accessor would.
+	 */
+	public static EntityAccessor remap(final Class<?> entityType, final List<PersistentProperty<?>> properties) {
+		Validate.notNull(properties, "Properties may not be null.");
+		final CompiledEntityAccessor compiled = CompiledEntityAccessor.find(entityType);
+		EntityAccessor result = null;
+		if (!CheckUtil.isNull(compiled) && !properties.isEmpty()) {
+			final int[] reads = new int[properties.size()];
+			final int[] writes = new int[properties.size()];
+			boolean covered = true;
+			for (int i = 0; covered && i < reads.length; i++) {
+				final PersistentProperty<?> property = properties.get(i);
+				reads[i] = -1;
+				writes[i] = -1;
+				if (EntityAccessorGenerator.isReadable(entityType, property)) {
+					reads[i] = compiled.getReadIndex(CompiledEntityAccessor.key(property.getAccessor(), property.getRaw()));
+					covered = reads[i] >= 0;
+				}
+				if (covered && EntityAccessorGenerator.isWritable(entityType, property)) {
+					writes[i] = compiled.getWriteIndex(CompiledEntityAccessor.key(property.getMutator(), property.getRaw()));
+					covered = writes[i] >= 0;
+				}
+			}
+			if (covered) {
+				result = new RemappedAccessor(compiled, reads, writes);
+			} else {
+				CompiledEntityAccessor.LOGGER.debug("Compiled accessor for {} does not cover all properties.", entityType);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Indexes keys.
+	 * 
+	 * @param keys
+	 *            The keys.
+	 * @return The index per key.
+	 */
+	private static Map<String, Integer> index(final String[] keys) {
+		final Map<String, Integer> result = new HashMap<String, Integer>();
+		for (int i = 0; i < keys.length; i++) {
+			result.put(keys[i], Integer.valueOf(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the key of a member.
+	 * 
+	 * @param method
+	 *            The method, preferred if not null.
+	 * @param field
+	 *            The field.
+	 * @return The key.
+	 */
+	private static String key(final Method method, final Field field) {
+		final String result;
+		if (CheckUtil.isNull(method)) {
+			result = CompiledEntityAccessor.FIELD_PREFIX.concat(field.getName());
+		} else {
+			result = CompiledEntityAccessor.METHOD_PREFIX.concat(method.getName());
+		}
+		return result;
+	}
+
+	/**
+	 * Loads the compiled accessor of an entity.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @return The accessor, or null if none was compiled.
+	 */
+	private static CompiledEntityAccessor load(final Class<?> entityType) {
+		final ClassLoader loader = entityType.getClassLoader();
+		CompiledEntityAccessor result = null;
+		if (!CheckUtil.isNull(loader)) {
+			try {
+				final Class<?> accessorType = Class.forName(entityType.getName().concat(CompiledEntityAccessor.SUFFIX), true, loader);
+				result = accessorType.asSubclass(CompiledEntityAccessor.class).newInstance();
+			} catch (final ClassNotFoundException e) {
+				CompiledEntityAccessor.LOGGER.trace("No compiled accessor for {}.", entityType, e);
+			} catch (final ClassCastException e) {
+				CompiledEntityAccessor.LOGGER.warn("Compiled accessor for {} is not visible, ignoring.", entityType, e);
+			} catch (final InstantiationException e) {
+				CompiledEntityAccessor.LOGGER.warn("Could not instantiate compiled accessor for {}.", entityType, e);
+			} catch (final IllegalAccessException e) {
+				CompiledEntityAccessor.LOGGER.warn("Could not access compiled accessor for {}.", entityType, e);
+			}
+		}
+		return result;
+	}
+
+	/** The entity type. */
+	private final transient Class<?> entityType;
+	/** The compiled metadata. */
+	private final transient CompiledEntityMetadata metadata;
+	/** The read indices. */
+	private final transient Map<String, Integer> readIndices;
+	/** The write indices. */
+	private final transient Map<String, Integer> writeIndices;
+
+	/**
+	 * Constructs the accessor.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param readKeys
+	 *            The keys of the readable members, in read index order. May
+	 *            not be null.
+	 * @param writeKeys
+	 *            The keys of the writable members, in write index order. May
+	 *            not be null.
+	 */
+	protected CompiledEntityAccessor(final Class<?> entityType, final String[] readKeys, final String[] writeKeys) {
+		this(entityType, readKeys, writeKeys, null);
+	}
+
+	/**
+	 * Constructs the accessor.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param readKeys
+	 *            The keys of the readable members, in read index order. May
+	 *            not be null.
+	 * @param writeKeys
+	 *            The keys of the writable members, in write index order. May
+	 *            not be null.
+	 * @param metadata
+	 *            The compiled metadata of the entity, may be null.
+	 */
+	protected CompiledEntityAccessor(final Class<?> entityType, final String[] readKeys, final String[] writeKeys,
+			final CompiledEntityMetadata metadata) {
+		super();
+		Validate.notNull(entityType, "Entity type may not be null.");
+		Validate.notNull(readKeys, "Read keys may not be null.");
+		Validate.notNull(writeKeys, "Write keys may not be null.");
+		this.entityType = entityType;
+		this.metadata = metadata;
+		this.readIndices = CompiledEntityAccessor.index(readKeys);
+		this.writeIndices = CompiledEntityAccessor.index(writeKeys);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final Collection<Class<?>> getEntityTypes() {
+		return Collections.<Class<?>> singletonList(this.entityType);
+	}
+
+	/**
+	 * Gets the read index of a member.
+	 * 
+	 * @param key
+	 *            The member key.
+	 * @return The index, or -1 if the member may not be read.
+	 */
+	public final int getReadIndex(final String key) {
+		final Integer index = this.readIndices.get(key);
+		return CheckUtil.isNull(index) ? -1 : index.intValue();
+	}
+
+	/**
+	 * Gets the write index of a member.
+	 * 
+	 * @param key
+	 *            The member key.
+	 * @return The index, or -1 if the member may not be written.
+	 */
+	public final int getWriteIndex(final String key) {
+		final Integer index = this.writeIndices.get(key);
+		return CheckUtil.isNull(index) ? -1 : index.intValue();
+	}
+
+	/**
+	 * A compiled accessor, mapped onto the property indices of a factory.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class RemappedAccessor
+			extends EntityAccessor {
+
+		/** The compiled accessor. */
+		private final transient CompiledEntityAccessor compiled;
+		/** The read indices, per property. */
+		private final transient int[] reads;
+		/** The write indices, per property. */
+		private final transient int[] writes;
+
+		/**
+		 * Constructs the accessor.
+		 * 
+		 * @param compiled
+		 *            The compiled accessor.
+		 * @param reads
+		 *            The read indices.
+		 * @param writes
+		 *            The write indices.
+		 */
+		protected RemappedAccessor(final CompiledEntityAccessor compiled, final int[] reads, final int[] writes) {
+			super();
+			this.compiled = compiled;
+			this.reads = reads;
+			this.writes = writes;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Object get(final Object entity, final int index) {
+			return this.compiled.get(entity, this.reads[index]);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void set(final Object entity, final int index, final Object value) {
+			this.compiled.set(entity, this.writes[index], value);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.generated;
+
+/**
+ * An accessor for all properties of an entity. Implementations are generated,
+ * properties are accessed by their index.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public abstract class EntityAccessor {
+
+	/**
+	 * Default constructor.
+	 */
+	protected EntityAccessor() {
+		// Default constructor.
+	}
+
+	/**
+	 * Gets a property value.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param index
+	 *            The property index.
+	 * @return The value.
+	 */
+	public abstract Object get(Object entity, int index);
+
+	/**
+	 * Sets a property value.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param index
+	 *            The property index.
+	 * @param value
+	 *            The value.
+	 */
+	public abstract void set(Object entity, int index, Object value);
+}
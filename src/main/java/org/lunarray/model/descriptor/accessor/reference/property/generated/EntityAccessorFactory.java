@@ -0,0 +1,100 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.generated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+
+/**
+ * Collects the properties of an entity and lazily generates the accessor for
+ * them. Indices are stable, registering a property after the accessor has been
+ * generated causes it to be regenerated. An accessor compiled by the model
+ * processor is preferred over generating one.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class EntityAccessorFactory {
+
+	/** The current accessor. */
+	private transient EntityAccessor accessor;
+	/** The entity type. */
+	private final transient Class<?> entityType;
+	/** Whether generation failed. */
+	private transient boolean failed;
+	/** The number of properties the accessor covers. */
+	private transient int generated;
+	/** The properties, in index order. */
+	private final transient List<PersistentProperty<?>> properties;
+
+	/**
+	 * Constructs the factory.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 */
+	public EntityAccessorFactory(final Class<?> entityType) {
+		Validate.notNull(entityType, "Entity type may not be null.");
+		this.entityType = entityType;
+		this.properties = new ArrayList<PersistentProperty<?>>();
+	}
+
+	/**
+	 * Gets an accessor covering the given index.
+	 * 
+	 * @param index
+	 *            The index.
+	 * @return The accessor, or null if it could not be generated.
+	 */
+	public synchronized EntityAccessor getAccessor(final int index) {
+		if (!this.failed && (CheckUtil.isNull(this.accessor) || index >= this.generated)) {
+			this.accessor = CompiledEntityAccessor.remap(this.entityType, this.properties);
+			if (CheckUtil.isNull(this.accessor)) {
+				this.accessor = EntityAccessorGenerator.generate(this.entityType, this.properties);
+			}
+			this.generated = this.properties.size();
+			this.failed = CheckUtil.isNull(this.accessor);
+		}
+		return this.accessor;
+	}
+
+	/**
+	 * Gets the value for the entityType field.
+	 * 
+	 * @return The value for the entityType field.
+	 */
+	public Class<?> getEntityType() {
+		return this.entityType;
+	}
+
+	/**
+	 * Registers a property.
+	 * 
+	 * @param property
+	 *            The property. May not be null.
+	 * @return The property index.
+	 */
+	public synchronized int register(final PersistentProperty<?> property) {
+		Validate.notNull(property, "Property may not be null.");
+		this.properties.add(property);
+		return this.properties.size() - 1;
+	}
+}
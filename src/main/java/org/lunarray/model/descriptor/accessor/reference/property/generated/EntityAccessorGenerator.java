@@ -0,0 +1,630 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.generated;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.security.ProtectionDomain;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+import org.lunarray.model.descriptor.util.PrimitiveUtil;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates entity accessors. Where the runtime supports defining classes
+ * through a private lookup, an accessor is defined in the class loader and
+ * package of the entity, so it may access all non-private members. Otherwise
+ * it is defined in a child class loader of the entity's, and only generated if
+ * it accesses public members only.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public enum EntityAccessorGenerator {
+
+	/** Instance. */
+	INSTANCE;
+
+	/** The accessor internal name. */
+	private static final String ACCESSOR_NAME = Type.getInternalName(EntityAccessor.class);
+	/** Constructor name. */
+	private static final String CONSTRUCTOR = "<init>";
+	/** Counter for unique class names. */
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+	/** Lookup.defineClass, if available. */
+	private static final Method DEFINE_CLASS = EntityAccessorGenerator.findMethod(MethodHandles.Lookup.class, "defineClass",
+			byte[].class);
+	/** Whether a fallback has been logged. */
+	private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean();
+	/** The getter descriptor. */
+	private static final String GET_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object.class),
+			Type.INT_TYPE);
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(EntityAccessorGenerator.class);
+	/** Out of bounds exception name. */
+	private static final String OUT_OF_BOUNDS = Type.getInternalName(IndexOutOfBoundsException.class);
+	/** MethodHandles.privateLookupIn, if available. */
+	private static final Method PRIVATE_LOOKUP_IN = EntityAccessorGenerator.findMethod(MethodHandles.class, "privateLookupIn",
+			Class.class, MethodHandles.Lookup.class);
+	/** Validation message. */
+	private static final String PROPERTY_NULL = "Property may not be null.";
+	/** The setter descriptor. */
+	private static final String SET_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.INT_TYPE,
+			Type.getType(Object.class));
+	/** Class name suffix. */
+	private static final String SUFFIX = "$$EntityAccessor$";
+	/** Validation message. */
+	private static final String TYPE_NULL = "Entity type may not be null.";
+	/** Void descriptor. */
+	private static final String VOID_DESCRIPTOR = "()V";
+
+	/**
+	 * Generates and instantiates an accessor.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param properties
+	 *            The properties, in index order. May not be null.
+	 * @return The accessor, or null if it could not be generated or defined.
+	 */
+	public static EntityAccessor generate(final Class<?> entityType, final List<PersistentProperty<?>> properties) {
+		Validate.notNull(entityType, EntityAccessorGenerator.TYPE_NULL);
+		Validate.notNull(properties, "Properties may not be null.");
+		EntityAccessor accessor = null;
+		if (EntityAccessorGenerator.isGeneratable(entityType) && !properties.isEmpty()) {
+			final String name = entityType.getName().concat(EntityAccessorGenerator.SUFFIX)
+					.concat(String.valueOf(EntityAccessorGenerator.COUNTER.incrementAndGet()));
+			final byte[] bytes = EntityAccessorGenerator.generateBytes(entityType, name.replace('.', '/'), properties);
+			try {
+				accessor = EntityAccessorGenerator.define(entityType, name, bytes, properties);
+				if (CheckUtil.isNull(accessor)) {
+					EntityAccessorGenerator.logFallback(entityType, null);
+				}
+			} catch (final PrivilegedActionException e) {
+				EntityAccessorGenerator.logFallback(entityType, e.getCause());
+			} catch (final LinkageError e) {
+				EntityAccessorGenerator.logFallback(entityType, e);
+			} catch (final RuntimeException e) {
+				EntityAccessorGenerator.logFallback(entityType, e);
+			}
+		}
+		return accessor;
+	}
+
+	/**
+	 * Tests if a generated accessor may read a property.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param property
+	 *            The property. May not be null.
+	 * @return True if and only if the property may be read.
+	 */
+	public static boolean isReadable(final Class<?> entityType, final PersistentProperty<?> property) {
+		Validate.notNull(entityType, EntityAccessorGenerator.TYPE_NULL);
+		Validate.notNull(property, EntityAccessorGenerator.PROPERTY_NULL);
+		final boolean result;
+		final Method accessor = property.getAccessor();
+		final Field raw = property.getRaw();
+		if (!CheckUtil.isNull(accessor)) {
+			result = !Void.TYPE.equals(accessor.getReturnType()) && EntityAccessorGenerator.isAccessible(entityType, accessor)
+					&& EntityAccessorGenerator.isVisible(entityType, accessor.getReturnType());
+		} else if (!CheckUtil.isNull(raw)) {
+			result = EntityAccessorGenerator.isAccessible(entityType, raw) && EntityAccessorGenerator.isVisible(entityType, raw.getType());
+		} else {
+			result = false;
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if a generated accessor may write a property.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @param property
+	 *            The property. May not be null.
+	 * @return True if and only if the property may be written.
+	 */
+	public static boolean isWritable(final Class<?> entityType, final PersistentProperty<?> property) {
+		Validate.notNull(entityType, EntityAccessorGenerator.TYPE_NULL);
+		Validate.notNull(property, EntityAccessorGenerator.PROPERTY_NULL);
+		final boolean result;
+		final Method mutator = property.getMutator();
+		final Field raw = property.getRaw();
+		if (!CheckUtil.isNull(mutator)) {
+			result = mutator.getParameterTypes().length == 1 && EntityAccessorGenerator.isAccessible(entityType, mutator)
+					&& EntityAccessorGenerator.isVisible(entityType, mutator.getParameterTypes()[0]);
+		} else if (!CheckUtil.isNull(raw)) {
+			result = !Modifier.isFinal(raw.getModifiers()) && EntityAccessorGenerator.isAccessible(entityType, raw)
+					&& EntityAccessorGenerator.isVisible(entityType, raw.getType());
+		} else {
+			result = false;
+		}
+		return result;
+	}
+
+	/**
+	 * Boxes a value on the stack.
+	 * 
+	 * @param visitor
+	 *            The visitor.
+	 * @param type
+	 *            The value type.
+	 */
+	private static void box(final MethodVisitor visitor, final Class<?> type) {
+		if (type.isPrimitive()) {
+			final Class<?> objectType = PrimitiveUtil.getObjectType(type);
+			final String owner = Type.getInternalName(objectType);
+			visitor.visitMethodInsn(Opcodes.INVOKESTATIC, owner, "valueOf",
+					Type.getMethodDescriptor(Type.getType(objectType), Type.getType(type)));
+		}
+	}
+
+	/**
+	 * Defines the accessor. The accessor is defined in the package of the
+	 * entity through a private lookup if available, otherwise in a child class
+	 * loader if it only accesses public members.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param name
+	 *            The accessor name.
+	 * @param bytes
+	 *            The class bytes.
+	 * @param properties
+	 *            The properties.
+	 * @return The accessor, or null if it could not be defined.
+	 * @throws PrivilegedActionException
+	 *             Thrown if the accessor could not be defined.
+	 */
+	private static EntityAccessor define(final Class<?> entityType, final String name, final byte[] bytes,
+			final List<PersistentProperty<?>> properties) throws PrivilegedActionException {
+		return AccessController.doPrivileged(new PrivilegedExceptionAction<EntityAccessor>() {
+			/** {@inheritDoc} */
+			@Override
+			public EntityAccessor run() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+				Class<?> accessorType = null;
+				if (!CheckUtil.isNull(EntityAccessorGenerator.DEFINE_CLASS) && !CheckUtil.isNull(EntityAccessorGenerator.PRIVATE_LOOKUP_IN)) {
+					final Object lookup = EntityAccessorGenerator.PRIVATE_LOOKUP_IN.invoke(null, entityType, MethodHandles.lookup());
+					accessorType = (Class<?>) EntityAccessorGenerator.DEFINE_CLASS.invoke(lookup, bytes);
+				} else if (EntityAccessorGenerator.isPublic(entityType, properties)) {
+					accessorType = new AccessorClassLoader(entityType.getClassLoader()).define(name, bytes, entityType.getProtectionDomain());
+				}
+				EntityAccessor result = null;
+				if (!CheckUtil.isNull(accessorType)) {
+					result = accessorType.asSubclass(EntityAccessor.class).newInstance();
+				}
+				return result;
+			}
+		});
+	}
+
+	/**
+	 * Finds a public method.
+	 * 
+	 * @param type
+	 *            The declaring type.
+	 * @param name
+	 *            The method name.
+	 * @param parameterTypes
+	 *            The parameter types.
+	 * @return The method, or null if the runtime doesn't provide it.
+	 */
+	private static Method findMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+		Method result;
+		try {
+			result = type.getMethod(name, parameterTypes);
+		} catch (final NoSuchMethodException e) {
+			result = null;
+		}
+		return result;
+	}
+
+	/**
+	 * Generates the accessor class.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param internalName
+	 *            The accessor internal name.
+	 * @param properties
+	 *            The properties.
+	 * @return The class bytes.
+	 */
+	private static byte[] generateBytes(final Class<?> entityType, final String internalName,
+			final List<PersistentProperty<?>> properties) {
+		final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, internalName, null,
+				EntityAccessorGenerator.ACCESSOR_NAME, null);
+		final MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, EntityAccessorGenerator.CONSTRUCTOR,
+				EntityAccessorGenerator.VOID_DESCRIPTOR, null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, EntityAccessorGenerator.ACCESSOR_NAME, EntityAccessorGenerator.CONSTRUCTOR,
+				EntityAccessorGenerator.VOID_DESCRIPTOR);
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+		EntityAccessorGenerator.generateGet(writer, entityType, properties);
+		EntityAccessorGenerator.generateSet(writer, entityType, properties);
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Generates the get method.
+	 * 
+	 * @param writer
+	 *            The class writer.
+	 * @param entityType
+	 *            The entity type.
+	 * @param properties
+	 *            The properties.
+	 */
+	private static void generateGet(final ClassWriter writer, final Class<?> entityType, final List<PersistentProperty<?>> properties) {
+		final String owner = Type.getInternalName(entityType);
+		final MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "get", EntityAccessorGenerator.GET_DESCRIPTOR, null, null);
+		visitor.visitCode();
+		final Label outOfBounds = new Label();
+		final Label[] labels = new Label[properties.size()];
+		final boolean[] readable = new boolean[properties.size()];
+		for (int i = 0; i < labels.length; i++) {
+			readable[i] = EntityAccessorGenerator.isReadable(entityType, properties.get(i));
+			labels[i] = readable[i] ? new Label() : outOfBounds;
+		}
+		visitor.visitVarInsn(Opcodes.ILOAD, 2);
+		visitor.visitTableSwitchInsn(0, labels.length - 1, outOfBounds, labels);
+		for (int i = 0; i < labels.length; i++) {
+			if (readable[i]) {
+				final PersistentProperty<?> property = properties.get(i);
+				visitor.visitLabel(labels[i]);
+				visitor.visitVarInsn(Opcodes.ALOAD, 1);
+				visitor.visitTypeInsn(Opcodes.CHECKCAST, owner);
+				final Method accessor = property.getAccessor();
+				final Class<?> type;
+				if (CheckUtil.isNull(accessor)) {
+					final Field raw = property.getRaw();
+					type = raw.getType();
+					visitor.visitFieldInsn(Opcodes.GETFIELD, owner, raw.getName(), Type.getDescriptor(type));
+				} else {
+					type = accessor.getReturnType();
+					visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, accessor.getName(), Type.getMethodDescriptor(accessor));
+				}
+				EntityAccessorGenerator.box(visitor, type);
+				visitor.visitInsn(Opcodes.ARETURN);
+			}
+		}
+		EntityAccessorGenerator.generateOutOfBounds(visitor);
+		visitor.visitMaxs(0, 0);
+		visitor.visitEnd();
+	}
+
+	/**
+	 * Generates throwing an out of bounds exception.
+	 * 
+	 * @param visitor
+	 *            The visitor.
+	 */
+	private static void generateOutOfBounds(final MethodVisitor visitor) {
+		visitor.visitTypeInsn(Opcodes.NEW, EntityAccessorGenerator.OUT_OF_BOUNDS);
+		visitor.visitInsn(Opcodes.DUP);
+		visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, EntityAccessorGenerator.OUT_OF_BOUNDS, EntityAccessorGenerator.CONSTRUCTOR,
+				EntityAccessorGenerator.VOID_DESCRIPTOR);
+		visitor.visitInsn(Opcodes.ATHROW);
+	}
+
+	/**
+	 * Generates the set method.
+	 * 
+	 * @param writer
+	 *            The class writer.
+	 * @param entityType
+	 *            The entity type.
+	 * @param properties
+	 *            The properties.
+	 */
+	private static void generateSet(final ClassWriter writer, final Class<?> entityType, final List<PersistentProperty<?>> properties) {
+		final String owner = Type.getInternalName(entityType);
+		final MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC, "set", EntityAccessorGenerator.SET_DESCRIPTOR, null, null);
+		visitor.visitCode();
+		final Label outOfBounds = new Label();
+		final Label[] labels = new Label[properties.size()];
+		final boolean[] writable = new boolean[properties.size()];
+		for (int i = 0; i < labels.length; i++) {
+			writable[i] = EntityAccessorGenerator.isWritable(entityType, properties.get(i));
+			labels[i] = writable[i] ? new Label() : outOfBounds;
+		}
+		visitor.visitVarInsn(Opcodes.ILOAD, 2);
+		visitor.visitTableSwitchInsn(0, labels.length - 1, outOfBounds, labels);
+		for (int i = 0; i < labels.length; i++) {
+			if (writable[i]) {
+				final PersistentProperty<?> property = properties.get(i);
+				visitor.visitLabel(labels[i]);
+				visitor.visitVarInsn(Opcodes.ALOAD, 1);
+				visitor.visitTypeInsn(Opcodes.CHECKCAST, owner);
+				visitor.visitVarInsn(Opcodes.ALOAD, 3);
+				final Method mutator = property.getMutator();
+				if (CheckUtil.isNull(mutator)) {
+					final Field raw = property.getRaw();
+					EntityAccessorGenerator.unbox(visitor, raw.getType());
+					visitor.visitFieldInsn(Opcodes.PUTFIELD, owner, raw.getName(), Type.getDescriptor(raw.getType()));
+				} else {
+					EntityAccessorGenerator.unbox(visitor, mutator.getParameterTypes()[0]);
+					visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, mutator.getName(), Type.getMethodDescriptor(mutator));
+					final Class<?> returnType = mutator.getReturnType();
+					if (Long.TYPE.equals(returnType) || Double.TYPE.equals(returnType)) {
+						visitor.visitInsn(Opcodes.POP2);
+					} else if (!Void.TYPE.equals(returnType)) {
+						visitor.visitInsn(Opcodes.POP);
+					}
+				}
+				visitor.visitInsn(Opcodes.RETURN);
+			}
+		}
+		EntityAccessorGenerator.generateOutOfBounds(visitor);
+		visitor.visitMaxs(0, 0);
+		visitor.visitEnd();
+	}
+
+	/**
+	 * Tests if a member may be accessed from an accessor in the package of the
+	 * entity.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param member
+	 *            The member.
+	 * @return True if and only if the member is accessible.
+	 */
+	private static boolean isAccessible(final Class<?> entityType, final Member member) {
+		final int modifiers = member.getModifiers();
+		final boolean result;
+		if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)) {
+			result = false;
+		} else if (Modifier.isPublic(modifiers)) {
+			result = true;
+		} else {
+			result = EntityAccessorGenerator.isSamePackage(entityType, member.getDeclaringClass());
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if an accessor may be generated for an entity.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @return True if and only if the accessor may be generated.
+	 */
+	private static boolean isGeneratable(final Class<?> entityType) {
+		final ClassLoader loader = entityType.getClassLoader();
+		boolean result = !CheckUtil.isNull(loader) && !entityType.isInterface() && !entityType.isArray() && !entityType.isPrimitive();
+		if (result) {
+			try {
+				result = EntityAccessor.class.equals(Class.forName(EntityAccessor.class.getName(), false, loader));
+			} catch (final ClassNotFoundException e) {
+				EntityAccessorGenerator.LOGGER.debug("Accessor not visible from {}.", loader, e);
+				result = false;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if a generated accessor only accesses public members and types, so
+	 * it may be defined outside of the package of the entity.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param properties
+	 *            The properties.
+	 * @return True if and only if everything accessed is public.
+	 */
+	private static boolean isPublic(final Class<?> entityType, final List<PersistentProperty<?>> properties) {
+		boolean result = EntityAccessorGenerator.isPublicType(entityType);
+		for (int i = 0; result && i < properties.size(); i++) {
+			final PersistentProperty<?> property = properties.get(i);
+			final Method accessor = property.getAccessor();
+			final Method mutator = property.getMutator();
+			final Field raw = property.getRaw();
+			if (EntityAccessorGenerator.isReadable(entityType, property)) {
+				if (CheckUtil.isNull(accessor)) {
+					result = Modifier.isPublic(raw.getModifiers()) && EntityAccessorGenerator.isPublicType(raw.getType());
+				} else {
+					result = Modifier.isPublic(accessor.getModifiers()) && EntityAccessorGenerator.isPublicType(accessor.getReturnType());
+				}
+			}
+			if (result && EntityAccessorGenerator.isWritable(entityType, property)) {
+				if (CheckUtil.isNull(mutator)) {
+					result = Modifier.isPublic(raw.getModifiers()) && EntityAccessorGenerator.isPublicType(raw.getType());
+				} else {
+					result = Modifier.isPublic(mutator.getModifiers())
+							&& EntityAccessorGenerator.isPublicType(mutator.getParameterTypes()[0]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if a type, and all types enclosing it, are public.
+	 * 
+	 * @param type
+	 *            The type.
+	 * @return True if and only if the type may be referenced from any package.
+	 */
+	private static boolean isPublicType(final Class<?> type) {
+		Class<?> current = type;
+		while (current.isArray()) {
+			current = current.getComponentType();
+		}
+		boolean result = true;
+		while (result && !CheckUtil.isNull(current) && !current.isPrimitive()) {
+			result = Modifier.isPublic(current.getModifiers());
+			current = current.getEnclosingClass();
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if two types are in the same runtime package.
+	 * 
+	 * @param type
+	 *            The first type.
+	 * @param otherType
+	 *            The second type.
+	 * @return True if and only if the types share a runtime package.
+	 */
+	private static boolean isSamePackage(final Class<?> type, final Class<?> otherType) {
+		return type.getClassLoader() == otherType.getClassLoader()
+				&& EntityAccessorGenerator.packageName(type).equals(EntityAccessorGenerator.packageName(otherType));
+	}
+
+	/**
+	 * Tests if a type may be referenced from an accessor in the package of the
+	 * entity.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param type
+	 *            The type.
+	 * @return True if and only if the type is visible.
+	 */
+	private static boolean isVisible(final Class<?> entityType, final Class<?> type) {
+		Class<?> componentType = type;
+		while (componentType.isArray()) {
+			componentType = componentType.getComponentType();
+		}
+		return componentType.isPrimitive() || Modifier.isPublic(componentType.getModifiers())
+				|| EntityAccessorGenerator.isSamePackage(entityType, componentType);
+	}
+
+	/**
+	 * Logs that an accessor could not be generated. Only the first fallback is
+	 * logged as a warning, as it usually applies to all entities.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @param cause
+	 *            The cause, may be null.
+	 */
+	private static void logFallback(final Class<?> entityType, final Throwable cause) {
+		if (EntityAccessorGenerator.FALLBACK_LOGGED.compareAndSet(false, true)) {
+			if (CheckUtil.isNull(cause)) {
+				EntityAccessorGenerator.LOGGER.warn(
+						"Could not define accessor for {}, it accesses non-public members. Falling back for this and similar entities.",
+						entityType);
+			} else {
+				EntityAccessorGenerator.LOGGER.warn("Could not define accessor for {}, falling back for this and similar entities.",
+						entityType, cause);
+			}
+		} else {
+			EntityAccessorGenerator.LOGGER.debug("Could not define accessor for {}, falling back.", entityType);
+		}
+	}
+
+	/**
+	 * Gets the package name of a type.
+	 * 
+	 * @param type
+	 *            The type.
+	 * @return The package name.
+	 */
+	private static String packageName(final Class<?> type) {
+		final String name = type.getName();
+		final int index = name.lastIndexOf('.');
+		String result = "";
+		if (index >= 0) {
+			result = name.substring(0, index);
+		}
+		return result;
+	}
+
+	/**
+	 * Unboxes or casts a value on the stack.
+	 * 
+	 * @param visitor
+	 *            The visitor.
+	 * @param type
+	 *            The target type.
+	 */
+	private static void unbox(final MethodVisitor visitor, final Class<?> type) {
+		if (type.isPrimitive()) {
+			final Class<?> objectType = PrimitiveUtil.getObjectType(type);
+			final String owner = Type.getInternalName(objectType);
+			visitor.visitTypeInsn(Opcodes.CHECKCAST, owner);
+			visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, type.getName().concat("Value"),
+					Type.getMethodDescriptor(Type.getType(type)));
+		} else if (!Object.class.equals(type)) {
+			visitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	/**
+	 * A class loader for accessors that can't be defined in the package of
+	 * their entity.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class AccessorClassLoader
+			extends ClassLoader {
+
+		/**
+		 * Constructs the class loader.
+		 * 
+		 * @param parent
+		 *            The class loader of the entity.
+		 */
+		public AccessorClassLoader(final ClassLoader parent) {
+			super(parent);
+		}
+
+		/**
+		 * Defines an accessor.
+		 * 
+		 * @param name
+		 *            The accessor name.
+		 * @param bytes
+		 *            The class bytes.
+		 * @param domain
+		 *            The protection domain of the entity.
+		 * @return The accessor type.
+		 */
+		public Class<?> define(final String name, final byte[] bytes, final ProtectionDomain domain) {
+			return this.defineClass(name, bytes, 0, bytes.length, domain);
+		}
+	}
+}
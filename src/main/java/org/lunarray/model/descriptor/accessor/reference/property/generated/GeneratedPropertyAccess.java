@@ -0,0 +1,182 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.generated;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+import org.lunarray.model.descriptor.accessor.reference.property.impl.MethodHandlePropertyAccess;
+import org.lunarray.model.descriptor.accessor.reference.property.impl.PropertyAccess;
+
+/**
+ * Property access through a generated entity accessor. Anything the accessor
+ * can't reach is accessed through method handles.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <P>
+ *            The property type.
+ * @param <O>
+ *            The containing type.
+ */
+public final class GeneratedPropertyAccess<P, O>
+		implements PropertyAccess<P, O> {
+
+	/**
+	 * Creates the access, registering the property with the factory.
+	 * 
+	 * @param factory
+	 *            The accessor factory. May not be null.
+	 * @param property
+	 *            The property. May not be null.
+	 * @param <P>
+	 *            The property type.
+	 * @param <O>
+	 *            The containing type.
+	 * @return The access.
+	 */
+	public static <P, O> GeneratedPropertyAccess<P, O> create(final EntityAccessorFactory factory, final PersistentProperty<P> property) {
+		Validate.notNull(factory, "Factory may not be null.");
+		Validate.notNull(property, "Property may not be null.");
+		return new GeneratedPropertyAccess<P, O>(factory, property);
+	}
+
+	/** The resolved accessor, published before resolved is set. */
+	private transient volatile EntityAccessor accessor;
+	/** The factory. */
+	private final transient EntityAccessorFactory factory;
+	/** The fallback access. */
+	private final transient PropertyAccess<P, O> fallback;
+	/** The property index. */
+	private final transient int index;
+	/** Whether the generated accessor may read. */
+	private final transient boolean readable;
+	/** Whether the accessor has been resolved. */
+	private transient volatile boolean resolved;
+	/** Whether the generated accessor may write. */
+	private final transient boolean writable;
+
+	/**
+	 * Constructs the access.
+	 * 
+	 * @param factory
+	 *            The factory.
+	 * @param property
+	 *            The property.
+	 */
+	private GeneratedPropertyAccess(final EntityAccessorFactory factory, final PersistentProperty<P> property) {
+		this.factory = factory;
+		this.index = factory.register(property);
+		this.readable = EntityAccessorGenerator.isReadable(factory.getEntityType(), property);
+		this.writable = EntityAccessorGenerator.isWritable(factory.getEntityType(), property);
+		this.fallback = MethodHandlePropertyAccess.compile(property);
+	}
+
+	/**
+	 * Gets the entity accessor, to access several properties of an entity at
+	 * once.
+	 * 
+	 * @return The accessor, or null if it could not be generated.
+	 */
+	public EntityAccessor getEntityAccessor() {
+		if (!this.resolved) {
+			this.accessor = this.factory.getAccessor(this.index);
+			this.resolved = true;
+		}
+		return this.accessor;
+	}
+
+	/**
+	 * Gets the value for the index field.
+	 * 
+	 * @return The value for the index field.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	/* Deduced value. */
+	@Override
+	public P getValue(final O containingType) throws ValueAccessException {
+		final EntityAccessor entityAccessor;
+		if (this.readable) {
+			entityAccessor = this.getEntityAccessor();
+		} else {
+			entityAccessor = null;
+		}
+		P result;
+		if (CheckUtil.isNull(entityAccessor)) {
+			result = this.fallback().getValue(containingType);
+		} else {
+			try {
+				result = (P) entityAccessor.get(containingType, this.index);
+			} catch (final RuntimeException e) {
+				throw new ValueAccessException(e);
+			}
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isReadable() {
+		return this.readable || !CheckUtil.isNull(this.fallback) && this.fallback.isReadable();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isWritable() {
+		return this.writable || !CheckUtil.isNull(this.fallback) && this.fallback.isWritable();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setValue(final P value, final O containingType) throws ValueAccessException {
+		final EntityAccessor entityAccessor;
+		if (this.writable) {
+			entityAccessor = this.getEntityAccessor();
+		} else {
+			entityAccessor = null;
+		}
+		if (CheckUtil.isNull(entityAccessor)) {
+			this.fallback().setValue(value, containingType);
+		} else {
+			try {
+				entityAccessor.set(containingType, this.index, value);
+			} catch (final RuntimeException e) {
+				throw new ValueAccessException(e);
+			}
+		}
+	}
+
+	/**
+	 * Gets the fallback access.
+	 * 
+	 * @return The fallback.
+	 * @throws ValueAccessException
+	 *             Thrown if there is no fallback.
+	 */
+	private PropertyAccess<P, O> fallback() throws ValueAccessException {
+		if (CheckUtil.isNull(this.fallback)) {
+			throw new ValueAccessException("Property could not be accessed through a generated accessor.");
+		}
+		return this.fallback;
+	}
+}
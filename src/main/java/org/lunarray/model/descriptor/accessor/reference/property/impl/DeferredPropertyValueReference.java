@@ -181,8 +181,10 @@ public final class DeferredPropertyValueReference<P, C, D>
 		if (CheckUtil.isNull(deferredValue) && !CheckUtil.isNull(this.objectFactoryReference)) {
 			D instance = deferredValue;
 			try {
-				DeferredPropertyValueReference.LOGGER.debug("Creating deferred value for property {} and entity {}", parentType,
-						this.propertyAccessor);
+				if (DeferredPropertyValueReference.LOGGER.isDebugEnabled()) {
+					DeferredPropertyValueReference.LOGGER.debug("Creating deferred value for property {} and entity {}", parentType,
+							this.propertyAccessor);
+				}
 				instance = this.objectFactoryReference.get().getInstance(this.propertyAccessor.getType());
 				this.propertyAccessor.setValue(instance, parentType);
 			} catch (final InstanceException e) {
@@ -0,0 +1,284 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Property access through method handles. The handles are resolved once, when
+ * the access is compiled, and access checks are suppressed at that time only.
+ * Members that can't be made accessible, such as those of a module that isn't
+ * open, are left to reflective access.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <P>
+ *            The property type.
+ * @param <O>
+ *            The containing type.
+ */
+public final class MethodHandlePropertyAccess<P, O>
+		implements PropertyAccess<P, O> {
+
+	/** The getter type. */
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandlePropertyAccess.class);
+	/** The setter type. */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+	/**
+	 * Compiles the access for a property.
+	 * 
+	 * @param property
+	 *            The property. May not be null.
+	 * @param <P>
+	 *            The property type.
+	 * @param <O>
+	 *            The containing type.
+	 * @return The access, or null if neither a getter nor a setter could be
+	 *         compiled.
+	 */
+	public static <P, O> MethodHandlePropertyAccess<P, O> compile(final PersistentProperty<P> property) {
+		Validate.notNull(property, "Property may not be null.");
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle getter = null;
+		MethodHandle setter = null;
+		try {
+			getter = MethodHandlePropertyAccess.resolveGetter(lookup, property);
+		} catch (final IllegalAccessException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile getter, falling back to reflection.", e);
+		} catch (final NoSuchMethodException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile getter, falling back to reflection.", e);
+		} catch (final PrivilegedActionException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile getter, falling back to reflection.", e);
+		} catch (final RuntimeException e) {
+			// Covers members the module system or a security manager keep closed.
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile getter, falling back to reflection.", e);
+		}
+		try {
+			setter = MethodHandlePropertyAccess.resolveSetter(lookup, property);
+		} catch (final IllegalAccessException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile setter, falling back to reflection.", e);
+		} catch (final NoSuchMethodException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile setter, falling back to reflection.", e);
+		} catch (final PrivilegedActionException e) {
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile setter, falling back to reflection.", e);
+		} catch (final RuntimeException e) {
+			// Covers members the module system or a security manager keep closed.
+			MethodHandlePropertyAccess.LOGGER.debug("Could not compile setter, falling back to reflection.", e);
+		}
+		MethodHandlePropertyAccess<P, O> access = null;
+		if (!CheckUtil.isNull(getter) || !CheckUtil.isNull(setter)) {
+			access = new MethodHandlePropertyAccess<P, O>(getter, setter);
+		}
+		return access;
+	}
+
+	/**
+	 * Creates an accessible copy of a field.
+	 * 
+	 * @param field
+	 *            The field.
+	 * @return The accessible copy.
+	 * @throws PrivilegedActionException
+	 *             Thrown if the field could not be made accessible.
+	 */
+	private static Field accessibleCopy(final Field field) throws PrivilegedActionException {
+		return AccessController.doPrivileged(new PrivilegedExceptionAction<Field>() {
+			/** {@inheritDoc} */
+			@Override
+			public Field run() throws NoSuchFieldException {
+				final Field copy = field.getDeclaringClass().getDeclaredField(field.getName());
+				copy.setAccessible(true);
+				return copy;
+			}
+		});
+	}
+
+	/**
+	 * Creates an accessible copy of a method.
+	 * 
+	 * @param method
+	 *            The method.
+	 * @return The accessible copy.
+	 * @throws PrivilegedActionException
+	 *             Thrown if the method could not be made accessible.
+	 */
+	private static Method accessibleCopy(final Method method) throws PrivilegedActionException {
+		return AccessController.doPrivileged(new PrivilegedExceptionAction<Method>() {
+			/** {@inheritDoc} */
+			@Override
+			public Method run() throws NoSuchMethodException {
+				final Method copy = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+				copy.setAccessible(true);
+				return copy;
+			}
+		});
+	}
+
+	/**
+	 * Resolves the getter.
+	 * 
+	 * @param lookup
+	 *            The lookup.
+	 * @param property
+	 *            The property.
+	 * @return The getter, or null.
+	 * @throws IllegalAccessException
+	 *             Thrown if the member could not be accessed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if the member could not be found.
+	 * @throws PrivilegedActionException
+	 *             Thrown if the member could not be made accessible.
+	 */
+	private static MethodHandle resolveGetter(final MethodHandles.Lookup lookup, final PersistentProperty<?> property)
+			throws IllegalAccessException, NoSuchMethodException, PrivilegedActionException {
+		MethodHandle getter = null;
+		if (!CheckUtil.isNull(property.getAccessor())) {
+			getter = lookup.unreflect(MethodHandlePropertyAccess.accessibleCopy(property.getAccessor()));
+		} else if (!CheckUtil.isNull(property.getRaw())) {
+			getter = lookup.unreflectGetter(MethodHandlePropertyAccess.accessibleCopy(property.getRaw()));
+		}
+		if (!CheckUtil.isNull(getter)) {
+			getter = getter.asType(MethodHandlePropertyAccess.GETTER_TYPE);
+		}
+		return getter;
+	}
+
+	/**
+	 * Resolves the setter.
+	 * 
+	 * @param lookup
+	 *            The lookup.
+	 * @param property
+	 *            The property.
+	 * @return The setter, or null.
+	 * @throws IllegalAccessException
+	 *             Thrown if the member could not be accessed.
+	 * @throws NoSuchMethodException
+	 *             Thrown if the member could not be found.
+	 * @throws PrivilegedActionException
+	 *             Thrown if the member could not be made accessible.
+	 */
+	private static MethodHandle resolveSetter(final MethodHandles.Lookup lookup, final PersistentProperty<?> property)
+			throws IllegalAccessException, NoSuchMethodException, PrivilegedActionException {
+		MethodHandle setter = null;
+		if (!CheckUtil.isNull(property.getMutator())) {
+			// Any value returned by the mutator is discarded by the type adaption.
+			setter = lookup.unreflect(MethodHandlePropertyAccess.accessibleCopy(property.getMutator()));
+		} else if (!CheckUtil.isNull(property.getRaw())) {
+			setter = lookup.unreflectSetter(MethodHandlePropertyAccess.accessibleCopy(property.getRaw()));
+		}
+		if (!CheckUtil.isNull(setter)) {
+			setter = setter.asType(MethodHandlePropertyAccess.SETTER_TYPE);
+		}
+		return setter;
+	}
+
+	/**
+	 * Wraps a failure of a handle invocation.
+	 * 
+	 * @param throwable
+	 *            The failure.
+	 * @return The exception.
+	 */
+	private static ValueAccessException wrap(final Throwable throwable) {
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		final ValueAccessException result;
+		if (throwable instanceof Exception) {
+			result = new ValueAccessException((Exception) throwable);
+		} else {
+			result = new ValueAccessException(throwable.getMessage());
+		}
+		return result;
+	}
+
+	/** The getter, may be null. */
+	private final transient MethodHandle getter;
+	/** The setter, may be null. */
+	private final transient MethodHandle setter;
+
+	/**
+	 * Constructs the access.
+	 * 
+	 * @param getter
+	 *            The getter.
+	 * @param setter
+	 *            The setter.
+	 */
+	private MethodHandlePropertyAccess(final MethodHandle getter, final MethodHandle setter) {
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	/* Deduced value. */
+	@Override
+	public P getValue(final O containingType) throws ValueAccessException {
+		if (CheckUtil.isNull(this.getter)) {
+			throw new ValueAccessException("No compiled getter.");
+		}
+		try {
+			return (P) (Object) this.getter.invokeExact((Object) containingType);
+		} catch (final Throwable e) {
+			throw MethodHandlePropertyAccess.wrap(e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isReadable() {
+		return !CheckUtil.isNull(this.getter);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isWritable() {
+		return !CheckUtil.isNull(this.setter);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setValue(final P value, final O containingType) throws ValueAccessException {
+		if (CheckUtil.isNull(this.setter)) {
+			throw new ValueAccessException("No compiled setter.");
+		}
+		try {
+			this.setter.invokeExact((Object) containingType, (Object) value);
+		} catch (final Throwable e) {
+			throw MethodHandlePropertyAccess.wrap(e);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.accessor.reference.property.impl;
+
+import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+
+/**
+ * Compiled access to a property, an alternative to reflective access.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <P>
+ *            The property type.
+ * @param <O>
+ *            The containing type.
+ */
+public interface PropertyAccess<P, O> {
+
+	/**
+	 * Gets the value for the containing type.
+	 * 
+	 * @param containingType
+	 *            The containing type.
+	 * @return The value.
+	 * @throws ValueAccessException
+	 *             If the value could not be accessed.
+	 */
+	P getValue(O containingType) throws ValueAccessException;
+
+	/**
+	 * Tests if a value may be read through this access.
+	 * 
+	 * @return True if and only if values may be read.
+	 */
+	boolean isReadable();
+
+	/**
+	 * Tests if a value may be written through this access.
+	 * 
+	 * @return True if and only if values may be written.
+	 */
+	boolean isWritable();
+
+	/**
+	 * Sets the value for the containing type.
+	 * 
+	 * @param value
+	 *            The value to set.
+	 * @param containingType
+	 *            The containing type.
+	 * @throws ValueAccessException
+	 *             If the value could not be accessed.
+	 */
+	void setValue(P value, O containingType) throws ValueAccessException;
+}
@@ -17,6 +17,8 @@
  */
 package org.lunarray.model.descriptor.accessor.reference.property.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -30,6 +32,7 @@ import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
 import org.lunarray.model.descriptor.accessor.property.PersistentProperty;
 import org.lunarray.model.descriptor.accessor.property.Property;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +50,8 @@ public final class PropertyReference<P, O>
 
 	/** The logger. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyReference.class);
+	/** No arguments, avoids allocating a varargs array per access. */
+	private static final Object[] NO_ARGUMENTS = new Object[0];
 	/** Serial id. */
 	private static final long serialVersionUID = 5739750458043910642L;
 
@@ -61,8 +66,16 @@ public final class PropertyReference<P, O>
 		return new Builder<P>();
 	}
 
+	/** The compiled access, if any. */
+	private transient PropertyAccess<P, O> access;
+	/** The access mode. */
+	private AccessorMode mode;
 	/** The property field. */
 	private PersistentProperty<P> property;
+	/** Whether reading goes through the compiled access. */
+	private transient boolean readCompiled;
+	/** Whether writing goes through the compiled access. */
+	private transient boolean writeCompiled;
 
 	/**
 	 * Constructs the accessor.
@@ -70,8 +83,31 @@ public final class PropertyReference<P, O>
 	 * @param builder
 	 *            The builder.
 	 */
+	@SuppressWarnings("unchecked")
+	/* Access is built for the containing type. */
 	protected PropertyReference(final Builder<P> builder) {
 		this.property = builder.propertyBuilder;
+		this.mode = builder.modeBuilder;
+		this.access = (PropertyAccess<P, O>) builder.accessBuilder;
+		this.compile();
+	}
+
+	/**
+	 * Gets the compiled access.
+	 * 
+	 * @return The access, or null if values are accessed reflectively.
+	 */
+	public PropertyAccess<P, O> getAccess() {
+		return this.access;
+	}
+
+	/**
+	 * Gets the value for the mode field.
+	 * 
+	 * @return The value for the mode field.
+	 */
+	public AccessorMode getMode() {
+		return this.mode;
 	}
 
 	/**
@@ -95,9 +131,13 @@ public final class PropertyReference<P, O>
 	@SuppressWarnings("unchecked")
 	/* Deduced value. */
 	public P getValue(final O containingType) throws ValueAccessException {
-		PropertyReference.LOGGER.debug("Getting property value for {}", containingType);
+		if (PropertyReference.LOGGER.isDebugEnabled()) {
+			PropertyReference.LOGGER.debug("Getting property value for {}", containingType);
+		}
 		P result;
-		if (CheckUtil.isNull(this.property.getAccessor())) {
+		if (this.readCompiled) {
+			result = this.access.getValue(containingType);
+		} else if (CheckUtil.isNull(this.property.getAccessor())) {
 			try {
 				result = AccessController.doPrivileged(new Access(containingType));
 			} catch (final PrivilegedActionException e) {
@@ -106,8 +146,10 @@ public final class PropertyReference<P, O>
 		} else {
 			try {
 				final Method accessor = this.property.getAccessor();
-				PropertyReference.LOGGER.debug("Accessing accessor {} for entity {}", accessor, containingType);
-				result = (P) accessor.invoke(containingType);
+				if (PropertyReference.LOGGER.isDebugEnabled()) {
+					PropertyReference.LOGGER.debug("Accessing accessor {} for entity {}", accessor, containingType);
+				}
+				result = (P) accessor.invoke(containingType, PropertyReference.NO_ARGUMENTS);
 			} catch (final IllegalArgumentException e) {
 				throw new ValueAccessException(e);
 			} catch (final IllegalAccessException e) {
@@ -145,6 +187,8 @@ public final class PropertyReference<P, O>
 	 */
 	public void setProperty(final PersistentProperty<P> property) {
 		this.property = property;
+		this.access = null;
+		this.compile();
 	}
 
 	/**
@@ -158,8 +202,12 @@ public final class PropertyReference<P, O>
 	 *             If the value could not be accessed.
 	 */
 	public void setValue(final P value, final O containingType) throws ValueAccessException {
-		PropertyReference.LOGGER.debug("Setting property value for {}", containingType);
-		if (CheckUtil.isNull(this.property.getMutator())) {
+		if (PropertyReference.LOGGER.isDebugEnabled()) {
+			PropertyReference.LOGGER.debug("Setting property value for {}", containingType);
+		}
+		if (this.writeCompiled) {
+			this.access.setValue(value, containingType);
+		} else if (CheckUtil.isNull(this.property.getMutator())) {
 			try {
 				AccessController.doPrivileged(new Mutate(value, containingType));
 			} catch (final PrivilegedActionException e) {
@@ -168,7 +216,9 @@ public final class PropertyReference<P, O>
 		} else {
 			try {
 				final Method mutator = this.property.getMutator();
-				PropertyReference.LOGGER.debug("Accessing mutator {} for entity {} with value {}", mutator, containingType, value);
+				if (PropertyReference.LOGGER.isDebugEnabled()) {
+					PropertyReference.LOGGER.debug("Accessing mutator {} for entity {} with value {}", mutator, containingType, value);
+				}
 				mutator.invoke(containingType, value);
 			} catch (final IllegalArgumentException e) {
 				throw new ValueAccessException(e);
@@ -189,6 +239,35 @@ public final class PropertyReference<P, O>
 		return this.property.getType();
 	}
 
+	/**
+	 * Compiles the access, if so configured and not already given. Falls back
+	 * to reflection for anything that could not be compiled.
+	 */
+	private void compile() {
+		if (AccessorMode.REFLECTION == this.mode) {
+			this.access = null;
+		} else if (CheckUtil.isNull(this.access)) {
+			this.access = MethodHandlePropertyAccess.compile(this.property);
+		}
+		this.readCompiled = !CheckUtil.isNull(this.access) && this.access.isReadable();
+		this.writeCompiled = !CheckUtil.isNull(this.access) && this.access.isWritable();
+	}
+
+	/**
+	 * Recompiles the access after deserialization.
+	 * 
+	 * @param input
+	 *            The input stream.
+	 * @throws IOException
+	 *             Thrown if the reference could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class could not be resolved.
+	 */
+	private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+		input.defaultReadObject();
+		this.compile();
+	}
+
 	/**
 	 * A builder.
 	 * 
@@ -197,6 +276,10 @@ public final class PropertyReference<P, O>
 	 *            The property type.
 	 */
 	public static final class Builder<P> {
+		/** The compiled access. */
+		private transient PropertyAccess<P, ?> accessBuilder;
+		/** The access mode. */
+		private transient AccessorMode modeBuilder;
 		/** The property field. */
 		private transient PersistentProperty<P> propertyBuilder;
 
@@ -204,7 +287,19 @@ public final class PropertyReference<P, O>
 		 * Default constructor.
 		 */
 		protected Builder() {
-			// Default constructor.
+			this.modeBuilder = AccessorMode.REFLECTION;
+		}
+
+		/**
+		 * Sets a pre-compiled access, used if the mode isn't reflective.
+		 * 
+		 * @param access
+		 *            The new value.
+		 * @return The builder
+		 */
+		public Builder<P> access(final PropertyAccess<P, ?> access) {
+			this.accessBuilder = access;
+			return this;
 		}
 
 		/**
@@ -219,6 +314,19 @@ public final class PropertyReference<P, O>
 			return new PropertyReference<P, O>(this);
 		}
 
+		/**
+		 * Sets the access mode.
+		 * 
+		 * @param mode
+		 *            The new value. May not be null.
+		 * @return The builder
+		 */
+		public Builder<P> mode(final AccessorMode mode) {
+			Validate.notNull(mode, "Mode may not be null.");
+			this.modeBuilder = mode;
+			return this;
+		}
+
 		/**
 		 * Sets the property field.
 		 * 
@@ -259,7 +367,9 @@ public final class PropertyReference<P, O>
 		@Override
 		public P run() throws ValueAccessException {
 			final Field accessorField = PropertyReference.this.property.getRaw();
-			PropertyReference.LOGGER.debug("Accessing field {} for {}", accessorField, this.containingType);
+			if (PropertyReference.LOGGER.isDebugEnabled()) {
+				PropertyReference.LOGGER.debug("Accessing field {} for {}", accessorField, this.containingType);
+			}
 			final boolean accessible = accessorField.isAccessible();
 			accessorField.setAccessible(true);
 			P value = null;
@@ -305,7 +415,9 @@ public final class PropertyReference<P, O>
 		@Override
 		public Void run() throws ValueAccessException {
 			final Field accessorField = PropertyReference.this.property.getRaw();
-			PropertyReference.LOGGER.debug("Mutating field {} for {}, setting {}", accessorField, this.containingType, this.value);
+			if (PropertyReference.LOGGER.isDebugEnabled()) {
+				PropertyReference.LOGGER.debug("Mutating field {} for {}, setting {}", accessorField, this.containingType, this.value);
+			}
 			final boolean accessible = accessorField.isAccessible();
 			accessorField.setAccessible(true);
 			try {
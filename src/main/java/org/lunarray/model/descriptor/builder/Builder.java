@@ -17,11 +17,14 @@
  */
 package org.lunarray.model.descriptor.builder;
 
+import java.util.concurrent.Executor;
+
 import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.ModelProcessor;
 import org.lunarray.model.descriptor.model.extension.Extension;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.ResourceException;
+import org.lunarray.model.descriptor.serialization.ModelSnapshot;
 
 /**
  * Describes a builder.
@@ -64,6 +67,33 @@ public interface Builder<R, S, M extends Model<S>, B extends Builder<R, S, M, B>
 	 */
 	B extensions(Extension... extensions);
 
+	/**
+	 * Builds every entity the first time it is requested from the model,
+	 * instead of building all entities up front.
+	 * 
+	 * @return The builder.
+	 */
+	B lazy();
+
+	/**
+	 * Builds the entities in parallel on a shared pool sized to the number of
+	 * processors. Resources are still resolved on the calling thread, only
+	 * building the descriptors of the resolved entities runs in parallel.
+	 * 
+	 * @return The builder.
+	 */
+	B parallel();
+
+	/**
+	 * Builds the entities in parallel on the given executor. Resources are
+	 * still resolved on the calling thread.
+	 * 
+	 * @param executor
+	 *            The executor. May not be null.
+	 * @return The builder.
+	 */
+	B parallel(Executor executor);
+
 	/**
 	 * Add post processors.
 	 * 
@@ -83,4 +113,39 @@ public interface Builder<R, S, M extends Model<S>, B extends Builder<R, S, M, B>
 	 *             Thrown if the resources could not be resolved.
 	 */
 	B resources(Resource<R> resource) throws ResourceException;
+
+	/**
+	 * Loads the model from a snapshot if it is current, otherwise builds the
+	 * model and writes the snapshot. Must be set before adding resources.
+	 * 
+	 * @param snapshot
+	 *            The snapshot. May not be null.
+	 * @return The builder.
+	 */
+	B snapshot(ModelSnapshot snapshot);
+
+	/**
+	 * Builds the entities sequentially on the calling thread, the default.
+	 * 
+	 * @return The builder.
+	 */
+	B sequential();
+
+	/**
+	 * Builds entities on request, and builds the remaining entities in the
+	 * background on a shared low priority thread.
+	 * 
+	 * @return The builder.
+	 */
+	B warmUp();
+
+	/**
+	 * Builds entities on request, and builds the remaining entities in the
+	 * background on the given executor.
+	 * 
+	 * @param executor
+	 *            The executor. May not be null.
+	 * @return The builder.
+	 */
+	B warmUp(Executor executor);
 }
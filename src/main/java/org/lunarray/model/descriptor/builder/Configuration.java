@@ -17,6 +17,8 @@
  */
 package org.lunarray.model.descriptor.builder;
 
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
+
 /**
  * The builder.
  * 
@@ -24,6 +26,13 @@ package org.lunarray.model.descriptor.builder;
  */
 public interface Configuration {
 
+	/**
+	 * The way property values are accessed.
+	 * 
+	 * @return The accessor mode.
+	 */
+	AccessorMode accessorMode();
+
 	/**
 	 * The char used to separate.
 	 * 
@@ -17,6 +17,9 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.build.model;
 
+import java.util.Collection;
+import java.util.concurrent.Executor;
+
 import org.lunarray.model.descriptor.builder.Configuration;
 import org.lunarray.model.descriptor.builder.annotation.base.build.AnnotationBuilder;
 import org.lunarray.model.descriptor.builder.annotation.base.build.context.AnnotationBuilderContext;
@@ -25,6 +28,7 @@ import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.ModelProcessor;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.ResourceException;
+import org.lunarray.model.descriptor.serialization.EntityRecord;
 
 /**
  * Describes an annotation model builder.
@@ -65,6 +69,31 @@ public interface AnnotationModelBuilder<S, M extends Model<S>, B extends Annotat
 	 */
 	AnnotationModelBuilder<S, M, B> configuration(Configuration configuration);
 
+	/**
+	 * Builds every entity the first time it is requested from the model,
+	 * instead of building all entities up front.
+	 * 
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> lazy();
+
+	/**
+	 * Builds the entities in parallel on a shared pool sized to the number of
+	 * processors.
+	 * 
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> parallel();
+
+	/**
+	 * Builds the entities in parallel on the given executor.
+	 * 
+	 * @param executor
+	 *            The executor. May not be null.
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> parallel(Executor executor);
+
 	/**
 	 * Adds post processors.
 	 * 
@@ -84,4 +113,40 @@ public interface AnnotationModelBuilder<S, M extends Model<S>, B extends Annotat
 	 *             Thrown if the resource could not be resolved.
 	 */
 	AnnotationModelBuilder<S, M, B> resource(final Resource<Class<? extends S>> resource) throws ResourceException;
+
+	/**
+	 * Restores the model from snapshot records instead of building it. A lazy
+	 * model reads every entity the first time it is requested, otherwise all
+	 * entities are read up front.
+	 * 
+	 * @param records
+	 *            The records. May not be null.
+	 * @return The model.
+	 */
+	M restore(final Collection<? extends EntityRecord> records);
+
+	/**
+	 * Builds the entities sequentially on the calling thread.
+	 * 
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> sequential();
+
+	/**
+	 * Builds entities on request, and builds the remaining entities in the
+	 * background on a shared low priority thread.
+	 * 
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> warmUp();
+
+	/**
+	 * Builds entities on request, and builds the remaining entities in the
+	 * background on the given executor.
+	 * 
+	 * @param executor
+	 *            The executor. May not be null.
+	 * @return The builder.
+	 */
+	AnnotationModelBuilder<S, M, B> warmUp(Executor executor);
 }
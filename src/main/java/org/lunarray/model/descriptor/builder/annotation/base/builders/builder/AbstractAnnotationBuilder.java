@@ -17,12 +17,21 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.builder;
 
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.builder.Configuration;
 import org.lunarray.model.descriptor.builder.ExtensionReferenceBuilder;
 import org.lunarray.model.descriptor.builder.annotation.base.build.context.AnnotationBuilderContext;
 import org.lunarray.model.descriptor.builder.annotation.base.build.model.AnnotationModelBuilder;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.AbstractBuilder;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.context.DefaultConfiguration;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.model.AbstractModel;
 import org.lunarray.model.descriptor.builder.annotation.base.listener.model.EntityNameCacheListener;
 import org.lunarray.model.descriptor.builder.annotation.base.listener.model.ProcessResourceListener;
@@ -35,6 +44,10 @@ import org.lunarray.model.descriptor.model.extension.Extension;
 import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.ResourceException;
+import org.lunarray.model.descriptor.serialization.EntityRecord;
+import org.lunarray.model.descriptor.serialization.ModelSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * 
@@ -54,8 +67,34 @@ public abstract class AbstractAnnotationBuilder<S, M extends AbstractModel<S>, C
 		extends AbstractBuilder<C>
 		implements ExtensionReferenceBuilder<Class<? extends S>, S, M, B> {
 
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAnnotationBuilder.class);
+	/** The snapshot key separator. */
+	private static final char SEPARATOR = ';';
+
+	/**
+	 * Appends the type of a component to a snapshot key.
+	 * 
+	 * @param key
+	 *            The key.
+	 * @param component
+	 *            The component, may be null.
+	 */
+	private static void appendType(final StringBuilder key, final Object component) {
+		key.append(AbstractAnnotationBuilder.SEPARATOR);
+		if (!CheckUtil.isNull(component)) {
+			key.append(component.getClass().getName());
+		}
+	}
+
 	/** The model builder. */
 	private final transient AnnotationModelBuilder<S, M, C> modelBuilder;
+	/** The model snapshot, or null. */
+	private transient ModelSnapshot snapshot;
+	/** The resources, processed only if the snapshot is stale. */
+	private final transient List<Resource<Class<? extends S>>> snapshotResources;
+	/** The entity types of the snapshot resources. */
+	private final transient List<Class<?>> snapshotTypes;
 
 	/**
 	 * Constructs the annotation builder.
@@ -66,6 +105,8 @@ public abstract class AbstractAnnotationBuilder<S, M extends AbstractModel<S>, C
 	protected AbstractAnnotationBuilder(final C builderContext) {
 		super(builderContext);
 		this.modelBuilder = this.createModelBuilder();
+		this.snapshotResources = new LinkedList<Resource<Class<? extends S>>>();
+		this.snapshotTypes = new LinkedList<Class<?>>();
 		this.getBuilderContext().getBus().addListener(new EntityNameCacheListener<S, C>());
 		this.getBuilderContext().getBus().addListener(new ProcessResourceListener<S, C>());
 	}
@@ -109,7 +150,13 @@ public abstract class AbstractAnnotationBuilder<S, M extends AbstractModel<S>, C
 	/** {@inheritDoc} */
 	@Override
 	public final M build() {
-		return this.modelBuilder.build();
+		M model;
+		if (CheckUtil.isNull(this.snapshot)) {
+			model = this.modelBuilder.build();
+		} else {
+			model = this.buildSnapshot();
+		}
+		return model;
 	}
 
 	/** {@inheritDoc} */
@@ -137,6 +184,27 @@ public abstract class AbstractAnnotationBuilder<S, M extends AbstractModel<S>, C
 		return this.getBuilder();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final B lazy() {
+		this.modelBuilder.lazy();
+		return this.getBuilder();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final B parallel() {
+		this.modelBuilder.parallel();
+		return this.getBuilder();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final B parallel(final Executor executor) {
+		this.modelBuilder.parallel(executor);
+		return this.getBuilder();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final B postProcessors(final ModelProcessor<S>... postProcessors) {
@@ -161,10 +229,122 @@ public abstract class AbstractAnnotationBuilder<S, M extends AbstractModel<S>, C
 	/** {@inheritDoc} */
 	@Override
 	public final B resources(final Resource<Class<? extends S>> resource) throws ResourceException {
-		this.modelBuilder.resource(resource);
+		if (CheckUtil.isNull(this.snapshot)) {
+			this.modelBuilder.resource(resource);
+		} else {
+			Validate.notNull(resource, "Resource may not be null.");
+			this.snapshotTypes.addAll(resource.getResources());
+			this.snapshotResources.add(resource);
+		}
 		return this.getBuilder();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final B sequential() {
+		this.modelBuilder.sequential();
+		return this.getBuilder();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final B snapshot(final ModelSnapshot snapshot) {
+		Validate.notNull(snapshot, "Snapshot may not be null.");
+		this.snapshot = snapshot;
+		return this.getBuilder();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final B warmUp() {
+		this.modelBuilder.warmUp();
+		return this.getBuilder();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final B warmUp(final Executor executor) {
+		this.modelBuilder.warmUp(executor);
+		return this.getBuilder();
+	}
+
+	/**
+	 * Restores the model from the snapshot, or builds it and writes the
+	 * snapshot if the snapshot is missing or stale. Restored entities are
+	 * bound to the extensions of this builder.
+	 * 
+	 * @return The model.
+	 */
+	private M buildSnapshot() {
+		final String key = this.snapshotKey();
+		ClassLoader loader = this.getClass().getClassLoader();
+		if (!this.snapshotTypes.isEmpty() && !CheckUtil.isNull(this.snapshotTypes.get(0).getClassLoader())) {
+			loader = this.snapshotTypes.get(0).getClassLoader();
+		}
+		final List<EntityRecord> records = this.snapshot.load(key, this.snapshotTypes, loader, this.getBuilderContext()
+				.getExtensionContainer());
+		M model;
+		if (CheckUtil.isNull(records)) {
+			for (final Resource<Class<? extends S>> resource : this.snapshotResources) {
+				try {
+					this.modelBuilder.resource(resource);
+				} catch (final ResourceException e) {
+					throw new IllegalStateException("Could not process resource.", e);
+				}
+			}
+			model = this.modelBuilder.build();
+			try {
+				this.snapshot.write(key, this.snapshotTypes, model);
+			} catch (final IOException e) {
+				AbstractAnnotationBuilder.LOGGER.warn("Could not write model snapshot.", e);
+			}
+		} else {
+			model = this.modelBuilder.restore(records);
+		}
+		return model;
+	}
+
+	/**
+	 * Gets the snapshot key, it describes everything that determines the
+	 * model besides the entity types. That is the builder, its configuration,
+	 * the resolver strategies, the extensions and the post processors. The key
+	 * is taken before any resource is processed, so defaults are not filled in
+	 * yet.
+	 * 
+	 * @return The key.
+	 */
+	private String snapshotKey() {
+		final C ctx = this.getBuilderContext();
+		Configuration configuration = ctx.getConfiguration();
+		if (CheckUtil.isNull(configuration)) {
+			configuration = DefaultConfiguration.createDefault();
+		}
+		final StringBuilder key = new StringBuilder(this.getClass().getName());
+		key.append(AbstractAnnotationBuilder.SEPARATOR).append(configuration.accessorMode());
+		key.append(AbstractAnnotationBuilder.SEPARATOR).append(configuration.embeddedIndicator());
+		key.append(AbstractAnnotationBuilder.SEPARATOR).append(configuration.nameRegexp());
+		AbstractAnnotationBuilder.appendType(key, ctx.getEntityResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getEntityAttributeResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getOperationResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getOperationAttributeResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getParameterResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getParameterAttributeResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getPropertyResolverStrategy());
+		AbstractAnnotationBuilder.appendType(key, ctx.getPropertyAttributeResolverStrategy());
+		final Map<String, Object> extensions = new TreeMap<String, Object>();
+		for (final Map.Entry<Class<? extends Extension>, ExtensionRef<? extends Extension>> extension : ctx.getExtensionRef().entrySet()) {
+			extensions.put(extension.getKey().getName(), extension.getValue().get());
+		}
+		for (final Map.Entry<String, Object> extension : extensions.entrySet()) {
+			key.append(AbstractAnnotationBuilder.SEPARATOR).append(extension.getKey());
+			AbstractAnnotationBuilder.appendType(key, extension.getValue());
+		}
+		for (final ModelProcessor<?> processor : ctx.getPostProcessors()) {
+			AbstractAnnotationBuilder.appendType(key, processor);
+		}
+		return key.toString();
+	}
+
 	/**
 	 * Create a model builder.
 	 * 
@@ -18,10 +18,10 @@
 package org.lunarray.model.descriptor.builder.annotation.base.builders.context;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
@@ -92,13 +92,13 @@ public abstract class AbstractBuilderContext
 	private transient PropertyResolverStrategy propertyResolverContext;
 
 	/**
-	 * Builds the context.
-	 * 
+	 * Builds the context. Shared state is concurrent, as entities may be
+	 * built in parallel.
 	 */
 	public AbstractBuilderContext() {
-		this.extensionRef = new HashMap<Class<? extends Extension>, ExtensionRef<? extends Extension>>();
-		this.processors = new LinkedList<ModelProcessor<?>>();
-		this.entityNameCache = new HashMap<Class<?>, String>();
+		this.extensionRef = new ConcurrentHashMap<Class<? extends Extension>, ExtensionRef<? extends Extension>>();
+		this.processors = new CopyOnWriteArrayList<ModelProcessor<?>>();
+		this.entityNameCache = new ConcurrentHashMap<Class<?>, String>();
 		this.bus = new Bus();
 	}
 
@@ -315,11 +315,11 @@ public abstract class AbstractBuilderContext
 				final NamedResource<Class<? extends S>> namedResource = (NamedResource<Class<? extends S>>) resource;
 				attributeEntityResolver.entityNames(namedResource.resourceNames());
 			}
-			this.attributeEntityResolverStrategy(attributeEntityResolver);
+			this.attributeEntityResolverStrategy(ResolverFactory.compiledEntityAttributeResolver(attributeEntityResolver));
 		}
 		if (CheckUtil.isNull(this.attributeProperty)) {
 			final DefaultPropertyAttributeResolverStrategy attributePropertyResolver = ResolverFactory.defaultPropertyAttributeResolver();
-			this.attributePropertyResolverStrategy(attributePropertyResolver);
+			this.attributePropertyResolverStrategy(ResolverFactory.compiledPropertyAttributeResolver(attributePropertyResolver));
 		}
 		if (CheckUtil.isNull(this.attributeOperation)) {
 			final DefaultOperationAttributeResolverStrategy attributeOperationResolver = ResolverFactory.defaultOperationAttributeResolver();
@@ -17,6 +17,8 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.context;
 
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
 import org.lunarray.model.descriptor.builder.Configuration;
 
 /**
@@ -27,20 +29,41 @@ import org.lunarray.model.descriptor.builder.Configuration;
 public final class DefaultConfiguration
 		implements Configuration {
 
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
 	/**
 	 * Creates a default configuration.
 	 * 
 	 * @return The configuration.
 	 */
 	public static Configuration createDefault() {
-		return new DefaultConfiguration();
+		return new DefaultConfiguration(new Builder());
 	}
 
+	/** The accessor mode. */
+	private final transient AccessorMode accessorMode;
+
 	/**
-	 * Default constructor.
+	 * Constructs the configuration.
+	 * 
+	 * @param builder
+	 *            The builder.
 	 */
-	private DefaultConfiguration() {
-		// Default constructor.
+	private DefaultConfiguration(final Builder builder) {
+		this.accessorMode = builder.accessorModeBuilder;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public AccessorMode accessorMode() {
+		return this.accessorMode;
 	}
 
 	/** {@inheritDoc} */
@@ -54,4 +77,44 @@ public final class DefaultConfiguration
 	public String nameRegexp() {
 		return "^[\\w\\.\\$-]+$";
 	}
+
+	/**
+	 * The configuration builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The accessor mode. */
+		private transient AccessorMode accessorModeBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.accessorModeBuilder = AccessorMode.REFLECTION;
+		}
+
+		/**
+		 * Sets the accessor mode.
+		 * 
+		 * @param accessorMode
+		 *            The accessor mode. May not be null.
+		 * @return The builder.
+		 */
+		public Builder accessorMode(final AccessorMode accessorMode) {
+			Validate.notNull(accessorMode, "Accessor mode may not be null.");
+			this.accessorModeBuilder = accessorMode;
+			return this;
+		}
+
+		/**
+		 * Builds the configuration.
+		 * 
+		 * @return The configuration.
+		 */
+		public Configuration build() {
+			return new DefaultConfiguration(this);
+		}
+	}
 }
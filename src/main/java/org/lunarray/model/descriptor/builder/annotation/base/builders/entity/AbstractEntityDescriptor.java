@@ -17,10 +17,15 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.entity;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +40,7 @@ import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
 import org.lunarray.model.descriptor.model.member.MemberDescriptor;
 import org.lunarray.model.descriptor.model.operation.OperationDescriptor;
 import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.lunarray.model.descriptor.util.ExtensionSlotUtil;
 import org.lunarray.model.descriptor.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,16 +67,26 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	private List<CreationalStrategy<E>> creationalStrategiesDesc;
 	/** The extensions. */
 	private Map<Class<?>, EntityExtension<E>> extensions;
+	/** The extensions, indexed by extension slot. */
+	private transient Object[] extensionTable;
+	/** The properties, indexed by ordinal. */
+	private List<PropertyDescriptor<?, E>> indexedProperties;
 	/** The key property. */
 	private PropertyDescriptor<K, E> keyProperty;
 	/** The members. */
 	private Map<String, MemberDescriptor<E>> members;
+	/** The members view. */
+	private Set<MemberDescriptor<E>> memberView;
 	/** The name. */
 	private String name;
 	/** The operations. */
 	private Map<String, OperationDescriptor<E>> operations;
+	/** The operations view. */
+	private Set<OperationDescriptor<E>> operationView;
 	/** The properties. */
 	private Map<String, PropertyDescriptor<?, E>> properties;
+	/** The properties view. */
+	private Set<PropertyDescriptor<?, E>> propertyView;
 	/** The type. */
 	private Class<E> type;
 
@@ -84,13 +100,13 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 		super();
 		Validate.notNull(builder, "Builder may not be null.");
 		this.type = builder.getEntityType().getEntityType();
-		this.properties = builder.getProperties();
+		this.setProperties(builder.getProperties());
 		this.keyProperty = builder.getKeyProperty();
 		this.name = builder.getName();
-		this.extensions = builder.getExtensions();
+		this.setExtensions(builder.getExtensions());
 		this.aliases = builder.getAliases();
-		this.members = builder.getMembers();
-		this.operations = builder.getOperations();
+		this.setMembers(builder.getMembers());
+		this.setOperations(builder.getOperations());
 		this.creationalStrategiesDesc = builder.getCreationalStrategies();
 	}
 
@@ -125,11 +141,7 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public final <X extends EntityExtension<E>> X extension(final Class<X> extensionClazz) {
-		X extension = null;
-		if (this.extensions.containsKey(extensionClazz)) {
-			extension = extensionClazz.cast(this.extensions.get(extensionClazz));
-		}
-		return extension;
+		return extensionClazz.cast(ExtensionSlotUtil.lookup(this.extensionTable, extensionClazz));
 	}
 
 	/**
@@ -189,7 +201,7 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public final Set<MemberDescriptor<E>> getMembers() {
-		return new HashSet<MemberDescriptor<E>>(this.members.values());
+		return this.memberView;
 	}
 
 	/** {@inheritDoc} */
@@ -207,13 +219,19 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public final Set<OperationDescriptor<E>> getOperations() {
-		return new HashSet<OperationDescriptor<E>>(this.operations.values());
+		return this.operationView;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final Set<PropertyDescriptor<?, E>> getProperties() {
-		return new HashSet<PropertyDescriptor<?, E>>(this.properties.values());
+		return this.propertyView;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final PropertyDescriptor<?, E> getProperty(final int index) {
+		return this.indexedProperties.get(index);
 	}
 
 	/** {@inheritDoc} */
@@ -243,6 +261,12 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 		return result;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final int getPropertyCount() {
+		return this.indexedProperties.size();
+	}
+
 	/**
 	 * Gets the value for the type field.
 	 * 
@@ -290,6 +314,7 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	 */
 	public final void setExtensions(final Map<Class<?>, EntityExtension<E>> extensions) {
 		this.extensions = extensions;
+		this.extensionTable = ExtensionSlotUtil.createTable(extensions);
 	}
 
 	/**
@@ -310,6 +335,7 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	 */
 	public final void setMembers(final Map<String, MemberDescriptor<E>> members) {
 		this.members = members;
+		this.memberView = Collections.unmodifiableSet(new LinkedHashSet<MemberDescriptor<E>>(members.values()));
 	}
 
 	/**
@@ -330,6 +356,7 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	 */
 	public final void setOperations(final Map<String, OperationDescriptor<E>> operations) {
 		this.operations = operations;
+		this.operationView = Collections.unmodifiableSet(new LinkedHashSet<OperationDescriptor<E>>(operations.values()));
 	}
 
 	/**
@@ -340,6 +367,10 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 	 */
 	public final void setProperties(final Map<String, PropertyDescriptor<?, E>> properties) {
 		this.properties = properties;
+		final List<PropertyDescriptor<?, E>> indexed = new ArrayList<PropertyDescriptor<?, E>>(properties.values());
+		Collections.sort(indexed, PropertyNameComparator.INSTANCE);
+		this.indexedProperties = Collections.unmodifiableList(indexed);
+		this.propertyView = Collections.unmodifiableSet(new LinkedHashSet<PropertyDescriptor<?, E>>(indexed));
 	}
 
 	/**
@@ -431,4 +462,39 @@ public abstract class AbstractEntityDescriptor<E, K extends Serializable>
 		}
 		return result;
 	}
+
+	/**
+	 * Reads the object and recreates the extension table, as slots are not
+	 * stable across virtual machines.
+	 * 
+	 * @param input
+	 *            The input stream.
+	 * @throws IOException
+	 *             Thrown if the operation could not be completed.
+	 * @throws ClassNotFoundException
+	 *             Thrown if the operation could not be completed.
+	 */
+	private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+		input.defaultReadObject();
+		this.extensionTable = ExtensionSlotUtil.createTable(this.extensions);
+	}
+
+	/**
+	 * Orders properties by name, which makes ordinals independent of the
+	 * order in which properties were resolved.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private enum PropertyNameComparator
+			implements Comparator<PropertyDescriptor<?, ?>> {
+
+		/** The instance. */
+		INSTANCE;
+
+		/** {@inheritDoc} */
+		@Override
+		public int compare(final PropertyDescriptor<?, ?> first, final PropertyDescriptor<?, ?> second) {
+			return first.getName().compareTo(second.getName());
+		}
+	}
 }
@@ -17,11 +17,14 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 import org.lunarray.model.descriptor.model.extension.Extension;
@@ -31,7 +34,8 @@ import org.lunarray.model.descriptor.model.extension.impl.ExtensionContainerImpl
 import org.lunarray.model.descriptor.util.StringUtil;
 
 /**
- * Describes the model.
+ * Describes the model. A lazy model builds every entity the first time it is
+ * requested, listing or serializing the model builds all entities.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  * @param <S>
@@ -46,6 +50,8 @@ public abstract class AbstractModel<S>
 	private static final long serialVersionUID = 2516016330740160979L;
 	/** The extension references. */
 	private ExtensionContainer extensionContainer;
+	/** The entities built on request, null if built up front. */
+	private final transient LazyEntities<S> lazyEntities;
 	/** The entity descriptors by name. */
 	private Map<String, EntityDescriptor<? extends S>> nameMap;
 	/** The entity descriptors by type. */
@@ -62,6 +68,7 @@ public abstract class AbstractModel<S>
 		this.nameMap = builder.getEntitiesByName();
 		this.typeMap = builder.getEntitiesByType();
 		this.extensionContainer = builder.getBuilderContext().getExtensionContainer();
+		this.lazyEntities = builder.getLazyEntities();
 	}
 
 	/** {@inheritDoc} */
@@ -81,6 +88,7 @@ public abstract class AbstractModel<S>
 	/** {@inheritDoc} */
 	@Override
 	public final List<EntityDescriptor<? extends S>> getEntities() {
+		this.complete();
 		return new ArrayList<EntityDescriptor<? extends S>>(this.typeMap.values());
 	}
 
@@ -89,13 +97,21 @@ public abstract class AbstractModel<S>
 	/* The map key always matches the entry type. */
 	@Override
 	public final <E extends S> EntityDescriptor<E> getEntity(final Class<E> entityType) {
-		return (EntityDescriptor<E>) this.typeMap.get(entityType);
+		EntityDescriptor<? extends S> entity = this.typeMap.get(entityType);
+		if (CheckUtil.isNull(entity) && !CheckUtil.isNull(this.lazyEntities)) {
+			entity = this.lazyEntities.get(entityType);
+		}
+		return (EntityDescriptor<E>) entity;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final EntityDescriptor<?> getEntity(final String name) {
-		return this.nameMap.get(name);
+		EntityDescriptor<?> entity = this.nameMap.get(name);
+		if (CheckUtil.isNull(entity) && !CheckUtil.isNull(this.lazyEntities)) {
+			entity = this.lazyEntities.get(name);
+		}
+		return entity;
 	}
 
 	/** {@inheritDoc} */
@@ -139,6 +155,7 @@ public abstract class AbstractModel<S>
 	 * @return The value for the nameMap field.
 	 */
 	public final Map<String, EntityDescriptor<? extends S>> getNameMap() {
+		this.complete();
 		return this.nameMap;
 	}
 
@@ -148,6 +165,7 @@ public abstract class AbstractModel<S>
 	 * @return The value for the typeMap field.
 	 */
 	public final Map<Class<?>, EntityDescriptor<? extends S>> getTypeMap() {
+		this.complete();
 		return this.typeMap;
 	}
 
@@ -216,6 +234,7 @@ public abstract class AbstractModel<S>
 	 *            The builder.
 	 */
 	protected final void modelToString(final StringBuilder builder) {
+		this.complete();
 		builder.append("\tExtensions: {\n\t\t");
 		StringUtil.commaSeparated(this.extensionContainer.getExtensionTypes(), StringUtil.DOUBLE_TAB_NEWLINE_COMMA, builder);
 		builder.append("\n\t}\n\tEntity names: {\n\t\t");
@@ -224,4 +243,26 @@ public abstract class AbstractModel<S>
 		StringUtil.commaSeparated(this.typeMap.keySet(), StringUtil.DOUBLE_TAB_NEWLINE_COMMA, builder);
 		builder.append("\n\t}");
 	}
+
+	/**
+	 * Builds all entities not yet built.
+	 */
+	private void complete() {
+		if (!CheckUtil.isNull(this.lazyEntities)) {
+			this.lazyEntities.complete();
+		}
+	}
+
+	/**
+	 * Writes the model, building all entities first.
+	 * 
+	 * @param out
+	 *            The output stream.
+	 * @throws IOException
+	 *             Thrown if the model could not be written.
+	 */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		this.complete();
+		out.defaultWriteObject();
+	}
 }
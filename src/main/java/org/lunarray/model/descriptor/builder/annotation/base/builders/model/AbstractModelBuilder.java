@@ -17,11 +17,23 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.model;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.common.event.EventException;
 import org.lunarray.common.event.Listener;
@@ -38,11 +50,25 @@ import org.lunarray.model.descriptor.model.extension.Extension;
 import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.ResourceException;
+import org.lunarray.model.descriptor.serialization.EntityRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A model builder.
+ * A model builder. Entities are built in two phases. Adding a resource
+ * resolves the properties, operations and creational strategies of its
+ * entities. This phase registers listeners and uses the accessor context of
+ * the builder context, so it always runs on the calling thread. Building turns
+ * the resolved entities into descriptors, this phase may run in parallel.
+ * Building only dispatches on listeners registered during resolution, the
+ * executor hand off publishes them to the building threads. Every build event
+ * has the builder of its entity or member as source, so a listener owned by a
+ * builder only sees its own entity. The listeners without an owner only write
+ * to concurrent maps. A lazy model builds its entities later, on the thread
+ * requesting them or on the warm up executor. These builds run one at a time
+ * under the lock of the builder context, adding a resource holds the same
+ * lock. A model restored from a snapshot reads its entities from their records
+ * in the same way.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  * @param <S>
@@ -64,6 +90,14 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 	private final transient Map<String, EntityDescriptor<? extends S>> entityByName;
 	/** Entities by type. */
 	private final transient Map<Class<?>, EntityDescriptor<? extends S>> entityByType;
+	/** The executor to build entities on, null to build sequentially. */
+	private transient Executor executor;
+	/** Whether entities are built on request. */
+	private transient boolean lazy;
+	/** The entities built on request, null if built up front. */
+	private transient LazyEntities<S> lazyEntities;
+	/** The executor to warm up lazy entities on, null for no warm up. */
+	private transient Executor warmUpExecutor;
 
 	/**
 	 * Constructs the builder.
@@ -75,8 +109,8 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 		super(builderContext);
 		builderContext.getBus().addListener(new CachedListener());
 		this.entityBuilders = new LinkedList<AnnotationEntityDescriptorBuilder<? extends S, ?, B>>();
-		this.entityByName = new HashMap<String, EntityDescriptor<? extends S>>();
-		this.entityByType = new HashMap<Class<?>, EntityDescriptor<? extends S>>();
+		this.entityByName = new ConcurrentHashMap<String, EntityDescriptor<? extends S>>();
+		this.entityByType = new ConcurrentHashMap<Class<?>, EntityDescriptor<? extends S>>();
 	}
 
 	/** {@inheritDoc} */
@@ -90,8 +124,18 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 	/** {@inheritDoc} */
 	@Override
 	public final M build() {
-		this.buildEntities();
-		return this.createModel();
+		final M model;
+		if (this.lazy) {
+			this.lazyEntities = new LazyEntities<S>(this.getBuilderContext(), this.entityBuilders);
+			model = this.createModel();
+			if (!CheckUtil.isNull(this.warmUpExecutor)) {
+				this.lazyEntities.warmUp(this.warmUpExecutor);
+			}
+		} else {
+			this.buildEntities();
+			model = this.createModel();
+		}
+		return model;
 	}
 
 	/** {@inheritDoc} */
@@ -101,6 +145,29 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 		return this;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> lazy() {
+		this.lazy = true;
+		this.warmUpExecutor = null;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> parallel() {
+		this.executor = SharedPool.POOL;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> parallel(final Executor executor) {
+		Validate.notNull(executor, "Executor may not be null.");
+		this.executor = executor;
+		return this;
+	}
+
 	/**
 	 * Adds post processors.
 	 * 
@@ -125,12 +192,52 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 	@Override
 	public final AnnotationModelBuilder<S, M, B> resource(final Resource<Class<? extends S>> resource) throws ResourceException {
 		final B ctx = this.getBuilderContext();
-		ctx.registeredResources(resource);
-		try {
-			ctx.getBus().handleEvent(new ResourceAddedEvent<S, B>(resource, this));
-		} catch (final EventException e) {
-			AbstractModelBuilder.LOGGER.warn("Could not process resource event.", e);
+		synchronized (ctx) {
+			ctx.registeredResources(resource);
+			try {
+				ctx.getBus().handleEvent(new ResourceAddedEvent<S, B>(resource, this));
+			} catch (final EventException e) {
+				AbstractModelBuilder.LOGGER.warn("Could not process resource event.", e);
+			}
+		}
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final M restore(final Collection<? extends EntityRecord> records) {
+		Validate.notNull(records, "Records may not be null.");
+		this.lazyEntities = new LazyEntities<S>(this.getBuilderContext(), records, this.entityByName, this.entityByType);
+		final M model = this.createModel();
+		if (!this.lazy) {
+			this.lazyEntities.complete();
+		} else if (!CheckUtil.isNull(this.warmUpExecutor)) {
+			this.lazyEntities.warmUp(this.warmUpExecutor);
 		}
+		return model;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> sequential() {
+		this.executor = null;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> warmUp() {
+		this.lazy = true;
+		this.warmUpExecutor = WarmUpPool.EXECUTOR;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final AnnotationModelBuilder<S, M, B> warmUp(final Executor executor) {
+		Validate.notNull(executor, "Executor may not be null.");
+		this.lazy = true;
+		this.warmUpExecutor = executor;
 		return this;
 	}
 
@@ -138,8 +245,54 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 	 * Build entities.
 	 */
 	private void buildEntities() {
+		if (CheckUtil.isNull(this.executor) || this.entityBuilders.size() < 2) {
+			for (final AnnotationEntityDescriptorBuilder<? extends S, ?, B> entityBuilder : this.entityBuilders) {
+				entityBuilder.build();
+			}
+		} else {
+			this.buildEntitiesParallel();
+		}
+	}
+
+	/**
+	 * Build entities on the executor. Every entity is built as a separate
+	 * task, the first failure is rethrown once all tasks have been waited
+	 * for. Only the build phase runs here, the resources have been resolved
+	 * before on the calling thread.
+	 */
+	private void buildEntitiesParallel() {
+		final List<FutureTask<EntityDescriptor<?>>> tasks = new ArrayList<FutureTask<EntityDescriptor<?>>>(this.entityBuilders.size());
 		for (final AnnotationEntityDescriptorBuilder<? extends S, ?, B> entityBuilder : this.entityBuilders) {
-			entityBuilder.build();
+			final FutureTask<EntityDescriptor<?>> task = new FutureTask<EntityDescriptor<?>>(new BuildEntityTask(entityBuilder));
+			tasks.add(task);
+			this.executor.execute(task);
+		}
+		RuntimeException failure = null;
+		for (final FutureTask<EntityDescriptor<?>> task : tasks) {
+			try {
+				task.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (final FutureTask<EntityDescriptor<?>> remaining : tasks) {
+					remaining.cancel(true);
+				}
+				throw new IllegalStateException("Interrupted while building entities.", e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				if (CheckUtil.isNull(failure)) {
+					if (cause instanceof RuntimeException) {
+						failure = (RuntimeException) cause;
+					} else {
+						failure = new IllegalStateException("Could not build entity.", cause);
+					}
+				}
+			}
+		}
+		if (!CheckUtil.isNull(failure)) {
+			throw failure;
 		}
 	}
 
@@ -186,6 +339,43 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 		return this.getBuilderContext().getExtensionRef();
 	}
 
+	/**
+	 * Gets the entities built on request.
+	 * 
+	 * @return The entities, or null if all entities were built up front.
+	 */
+	final LazyEntities<S> getLazyEntities() {
+		return this.lazyEntities;
+	}
+
+	/**
+	 * Builds a single entity.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private class BuildEntityTask
+			implements Callable<EntityDescriptor<?>> {
+
+		/** The entity builder. */
+		private final transient AnnotationEntityDescriptorBuilder<? extends S, ?, B> entityBuilder;
+
+		/**
+		 * Constructs the task.
+		 * 
+		 * @param entityBuilder
+		 *            The entity builder.
+		 */
+		public BuildEntityTask(final AnnotationEntityDescriptorBuilder<? extends S, ?, B> entityBuilder) {
+			this.entityBuilder = entityBuilder;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public EntityDescriptor<?> call() {
+			return this.entityBuilder.build();
+		}
+	}
+
 	/**
 	 * A cache listener.
 	 * 
@@ -208,4 +398,52 @@ public abstract class AbstractModelBuilder<S, M extends AbstractModel<S>, B exte
 			AbstractModelBuilder.this.entityByType.put(entity.getEntityType(), entity);
 		}
 	}
+
+	/**
+	 * Holds the shared pool, created on first use.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class SharedPool {
+
+		/** The pool. */
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+
+		/**
+		 * Default constructor.
+		 */
+		private SharedPool() {
+			// Holder.
+		}
+	}
+
+	/**
+	 * Holds the shared warm up executor, created on first use. It runs a
+	 * single low priority daemon thread that stops when idle.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class WarmUpPool
+			implements ThreadFactory {
+
+		/** The executor. */
+		private static final Executor EXECUTOR = new ThreadPoolExecutor(0, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
+				new WarmUpPool());
+
+		/**
+		 * Default constructor.
+		 */
+		private WarmUpPool() {
+			// Holder.
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "model-warm-up");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		}
+	}
 }
@@ -0,0 +1,339 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.base.builders.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.builder.annotation.base.build.entity.AnnotationEntityDescriptorBuilder;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.serialization.EntityRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds entities on request. Every entity is built at most once, the first
+ * request builds and publishes it while concurrent requests for the same entity
+ * wait for it. Entities restored from a snapshot are read from their record
+ * instead. Requests and the warm up may come from any thread, building
+ * dispatches build events on the bus of the builder context. Entities are
+ * therefore built one at a time under the lock of the builder, which adding
+ * resources also holds, so the bus never sees two threads at once.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <S>
+ *            The entity super type.
+ */
+final class LazyEntities<S> {
+
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(LazyEntities.class);
+	/** The entities, in registration order. */
+	private final transient List<LazyEntity> entities;
+	/** The entities by name. */
+	private final transient Map<String, LazyEntity> entitiesByName;
+	/** The entities by type. */
+	private final transient Map<Class<?>, LazyEntity> entitiesByType;
+	/** The lock to build under. */
+	private final transient Object lock;
+	/** The restored entities by name, null if the entities are built. */
+	private final transient Map<String, EntityDescriptor<? extends S>> nameMap;
+	/** The number of entities not yet built. */
+	private final transient AtomicInteger remaining;
+	/** The restored entities by type, null if the entities are built. */
+	private final transient Map<Class<?>, EntityDescriptor<? extends S>> typeMap;
+
+	/**
+	 * Constructs the entities.
+	 * 
+	 * @param lock
+	 *            The lock to build under.
+	 * @param entityBuilders
+	 *            The entity builders.
+	 */
+	public LazyEntities(final Object lock, final Collection<? extends AnnotationEntityDescriptorBuilder<? extends S, ?, ?>> entityBuilders) {
+		this.lock = lock;
+		this.entities = new ArrayList<LazyEntity>(entityBuilders.size());
+		this.entitiesByName = new HashMap<String, LazyEntity>();
+		this.entitiesByType = new HashMap<Class<?>, LazyEntity>();
+		this.nameMap = null;
+		this.typeMap = null;
+		for (final AnnotationEntityDescriptorBuilder<? extends S, ?, ?> entityBuilder : entityBuilders) {
+			this.add(new BuiltEntity(entityBuilder), entityBuilder.getName(), entityBuilder.getEntityType().getEntityType());
+		}
+		this.remaining = new AtomicInteger(this.entities.size());
+	}
+
+	/**
+	 * Constructs the entities from snapshot records.
+	 * 
+	 * @param lock
+	 *            The lock to read under.
+	 * @param records
+	 *            The records.
+	 * @param nameMap
+	 *            The map to publish read entities in by name.
+	 * @param typeMap
+	 *            The map to publish read entities in by type.
+	 */
+	public LazyEntities(final Object lock, final Collection<? extends EntityRecord> records,
+			final Map<String, EntityDescriptor<? extends S>> nameMap, final Map<Class<?>, EntityDescriptor<? extends S>> typeMap) {
+		this.lock = lock;
+		this.entities = new ArrayList<LazyEntity>(records.size());
+		this.entitiesByName = new HashMap<String, LazyEntity>();
+		this.entitiesByType = new HashMap<Class<?>, LazyEntity>();
+		this.nameMap = nameMap;
+		this.typeMap = typeMap;
+		for (final EntityRecord record : records) {
+			this.add(new RestoredEntity(record), record.getName(), record.getEntityType());
+		}
+		this.remaining = new AtomicInteger(this.entities.size());
+	}
+
+	/**
+	 * Builds all entities not yet built.
+	 */
+	public void complete() {
+		if (!this.isComplete()) {
+			for (final LazyEntity entity : this.entities) {
+				entity.get();
+			}
+		}
+	}
+
+	/**
+	 * Gets an entity, building it if needed.
+	 * 
+	 * @param entityType
+	 *            The entity type.
+	 * @return The entity, or null if no such entity is registered.
+	 */
+	public EntityDescriptor<? extends S> get(final Class<?> entityType) {
+		return this.resolve(this.entitiesByType.get(entityType));
+	}
+
+	/**
+	 * Gets an entity, building it if needed.
+	 * 
+	 * @param name
+	 *            The entity name.
+	 * @return The entity, or null if no such entity is registered.
+	 */
+	public EntityDescriptor<? extends S> get(final String name) {
+		return this.resolve(this.entitiesByName.get(name));
+	}
+
+	/**
+	 * Tests if all entities have been built.
+	 * 
+	 * @return True if and only if all entities have been built.
+	 */
+	public boolean isComplete() {
+		return this.remaining.get() == 0;
+	}
+
+	/**
+	 * Builds the remaining entities in the background.
+	 * 
+	 * @param executor
+	 *            The executor to build on.
+	 */
+	public void warmUp(final Executor executor) {
+		if (!this.isComplete()) {
+			executor.execute(new WarmUpTask());
+		}
+	}
+
+	/**
+	 * Registers an entity.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param name
+	 *            The entity name.
+	 * @param entityType
+	 *            The entity type.
+	 */
+	private void add(final LazyEntity entity, final String name, final Class<?> entityType) {
+		this.entities.add(entity);
+		this.entitiesByName.put(name, entity);
+		this.entitiesByType.put(entityType, entity);
+	}
+
+	/**
+	 * Gets an entity, building it if needed.
+	 * 
+	 * @param entity
+	 *            The entity, may be null.
+	 * @return The entity descriptor, or null if the entity is null.
+	 */
+	private EntityDescriptor<? extends S> resolve(final LazyEntity entity) {
+		EntityDescriptor<? extends S> result = null;
+		if (!CheckUtil.isNull(entity)) {
+			result = entity.get();
+		}
+		return result;
+	}
+
+	/**
+	 * An entity built from its builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private final class BuiltEntity
+			extends LazyEntity {
+
+		/** The builder, released once built. */
+		private transient AnnotationEntityDescriptorBuilder<? extends S, ?, ?> builder;
+
+		/**
+		 * Constructs the entity.
+		 * 
+		 * @param builder
+		 *            The builder.
+		 */
+		public BuiltEntity(final AnnotationEntityDescriptorBuilder<? extends S, ?, ?> builder) {
+			super();
+			this.builder = builder;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected EntityDescriptor<? extends S> create() {
+			final EntityDescriptor<? extends S> result = this.builder.build();
+			this.builder = null;
+			return result;
+		}
+	}
+
+	/**
+	 * An entity that is built on request.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private abstract class LazyEntity {
+
+		/** The descriptor, null until built. */
+		private volatile transient EntityDescriptor<? extends S> descriptor;
+
+		/**
+		 * Default constructor.
+		 */
+		public LazyEntity() {
+			// Default constructor.
+		}
+
+		/**
+		 * Gets the descriptor, building it if needed.
+		 * 
+		 * @return The descriptor.
+		 */
+		public final EntityDescriptor<? extends S> get() {
+			EntityDescriptor<? extends S> result = this.descriptor;
+			if (CheckUtil.isNull(result)) {
+				synchronized (LazyEntities.this.lock) {
+					result = this.descriptor;
+					if (CheckUtil.isNull(result)) {
+						result = this.create();
+						this.descriptor = result;
+						LazyEntities.this.remaining.decrementAndGet();
+					}
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Creates the descriptor, called once under the lock.
+		 * 
+		 * @return The descriptor.
+		 */
+		protected abstract EntityDescriptor<? extends S> create();
+	}
+
+	/**
+	 * An entity read from its snapshot record.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private final class RestoredEntity
+			extends LazyEntity {
+
+		/** The record, released once read. */
+		private transient EntityRecord record;
+
+		/**
+		 * Constructs the entity.
+		 * 
+		 * @param record
+		 *            The record.
+		 */
+		public RestoredEntity(final EntityRecord record) {
+			super();
+			this.record = record;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected EntityDescriptor<? extends S> create() {
+			@SuppressWarnings("unchecked")
+			// The snapshot key guarantees the entity super type.
+			final EntityDescriptor<? extends S> result = (EntityDescriptor<? extends S>) this.record.read();
+			this.record = null;
+			LazyEntities.this.nameMap.put(result.getName(), result);
+			LazyEntities.this.typeMap.put(result.getEntityType(), result);
+			return result;
+		}
+	}
+
+	/**
+	 * Builds the remaining entities, stops when interrupted.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private final class WarmUpTask
+			implements Runnable {
+
+		/** Default constructor. */
+		public WarmUpTask() {
+			// Default constructor.
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void run() {
+			for (final LazyEntity entity : LazyEntities.this.entities) {
+				if (Thread.currentThread().isInterrupted()) {
+					break;
+				}
+				try {
+					entity.get();
+				} catch (final RuntimeException e) {
+					LazyEntities.LOGGER.warn("Could not warm up entity.", e);
+				}
+			}
+			LazyEntities.LOGGER.debug("Warmed up entities, {} remaining.", Integer.valueOf(LazyEntities.this.remaining.get()));
+		}
+	}
+}
@@ -17,6 +17,8 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.operation;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +29,7 @@ import org.lunarray.model.descriptor.model.operation.OperationDescriptor;
 import org.lunarray.model.descriptor.model.operation.OperationExtension;
 import org.lunarray.model.descriptor.model.operation.parameters.ParameterDescriptor;
 import org.lunarray.model.descriptor.model.operation.result.ResultDescriptor;
+import org.lunarray.model.descriptor.util.ExtensionSlotUtil;
 import org.lunarray.model.descriptor.util.StringUtil;
 
 /**
@@ -47,6 +50,8 @@ public abstract class AbstractOperationDescriptor<R, E>
 	private Class<E> entityType;
 	/** The property extensions. */
 	private Map<Class<?>, OperationExtension<E>> extensions;
+	/** The extensions, indexed by extension slot. */
+	private transient Object[] extensionTable;
 	/** The name. */
 	private String name;
 	/** Commancd reference. */
@@ -65,7 +70,7 @@ public abstract class AbstractOperationDescriptor<R, E>
 	protected AbstractOperationDescriptor(final AbstractOperationDescriptorBuilder<E, ?> builder) {
 		Validate.notNull(builder, "Builder may not be null.");
 		this.name = builder.getName();
-		this.extensions = builder.getExtensions();
+		this.setExtensions(builder.getExtensions());
 		this.entityType = builder.getEntityType().getEntityType();
 		this.operationReference = builder.getOperationReference();
 		this.resultDescriptor = builder.getResultDescriptor();
@@ -75,11 +80,7 @@ public abstract class AbstractOperationDescriptor<R, E>
 	/** {@inheritDoc} */
 	@Override
 	public final <X extends OperationExtension<E>> X extension(final Class<X> extensionClazz) {
-		X extension = null;
-		if (this.extensions.containsKey(extensionClazz)) {
-			extension = extensionClazz.cast(this.extensions.get(extensionClazz));
-		}
-		return extension;
+		return extensionClazz.cast(ExtensionSlotUtil.lookup(this.extensionTable, extensionClazz));
 	}
 
 	/** {@inheritDoc} */
@@ -190,6 +191,7 @@ public abstract class AbstractOperationDescriptor<R, E>
 	 */
 	public final void setExtensions(final Map<Class<?>, OperationExtension<E>> extensions) {
 		this.extensions = extensions;
+		this.extensionTable = ExtensionSlotUtil.createTable(extensions);
 	}
 
 	/**
@@ -274,4 +276,20 @@ public abstract class AbstractOperationDescriptor<R, E>
 		StringUtil.commaSeparated(this.extensions.keySet(), StringUtil.DOUBLE_TAB_NEWLINE_COMMA, builder);
 		builder.append("\n\t}\n");
 	}
+
+	/**
+	 * Reads the object and recreates the extension table, as slots are not
+	 * stable across virtual machines.
+	 * 
+	 * @param input
+	 *            The input stream.
+	 * @throws IOException
+	 *             Thrown if the operation could not be completed.
+	 * @throws ClassNotFoundException
+	 *             Thrown if the operation could not be completed.
+	 */
+	private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+		input.defaultReadObject();
+		this.extensionTable = ExtensionSlotUtil.createTable(this.extensions);
+	}
 }
@@ -17,6 +17,8 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.base.builders.property;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Map;
 
 import org.apache.commons.lang.Validate;
@@ -28,6 +30,7 @@ import org.lunarray.model.descriptor.model.member.Cardinality;
 import org.lunarray.model.descriptor.model.property.PropertyExtension;
 import org.lunarray.model.descriptor.model.relation.RelationDescriptor;
 import org.lunarray.model.descriptor.model.relation.RelationType;
+import org.lunarray.model.descriptor.util.ExtensionSlotUtil;
 import org.lunarray.model.descriptor.util.PrimitiveUtil;
 import org.lunarray.model.descriptor.util.StringUtil;
 
@@ -51,6 +54,8 @@ public abstract class AbstractPropertyDescriptor<P, E>
 	private Class<E> entityType;
 	/** The property extensions. */
 	private Map<Class<?>, PropertyExtension<P, E>> extensions;
+	/** The extensions, indexed by extension slot. */
+	private transient Object[] extensionTable;
 	/** Immutable indication. */
 	private boolean immutable;
 	/** The key. */
@@ -82,18 +87,14 @@ public abstract class AbstractPropertyDescriptor<P, E>
 		this.relationType = builder.getRelationType();
 		this.immutable = builder.isImmutable();
 		this.keyProperty = builder.isKey();
-		this.extensions = builder.getExtensions();
+		this.setExtensions(builder.getExtensions());
 		this.entityType = builder.getEntityType().getEntityType();
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <X extends PropertyExtension<P, E>> X extension(final Class<X> extensionClazz) {
-		X extension = null;
-		if (this.extensions.containsKey(extensionClazz)) {
-			extension = extensionClazz.cast(this.extensions.get(extensionClazz));
-		}
-		return extension;
+		return extensionClazz.cast(ExtensionSlotUtil.lookup(this.extensionTable, extensionClazz));
 	}
 
 	/** {@inheritDoc} */
@@ -221,6 +222,7 @@ public abstract class AbstractPropertyDescriptor<P, E>
 	 */
 	public final void setExtensions(final Map<Class<?>, PropertyExtension<P, E>> extensions) {
 		this.extensions = extensions;
+		this.extensionTable = ExtensionSlotUtil.createTable(extensions);
 	}
 
 	/**
@@ -375,4 +377,20 @@ public abstract class AbstractPropertyDescriptor<P, E>
 		StringUtil.commaSeparated(this.extensions.keySet(), StringUtil.DOUBLE_TAB_NEWLINE_COMMA, builder);
 		builder.append("\n\t}\n");
 	}
+
+	/**
+	 * Reads the object and recreates the extension table, as slots are not
+	 * stable across virtual machines.
+	 * 
+	 * @param input
+	 *            The input stream.
+	 * @throws IOException
+	 *             Thrown if the operation could not be completed.
+	 * @throws ClassNotFoundException
+	 *             Thrown if the operation could not be completed.
+	 */
+	private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+		input.defaultReadObject();
+		this.extensionTable = ExtensionSlotUtil.createTable(this.extensions);
+	}
 }
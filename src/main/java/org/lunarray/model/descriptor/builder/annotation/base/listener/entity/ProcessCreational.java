@@ -25,7 +25,6 @@ import java.lang.reflect.Type;
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.common.event.EventException;
-import org.lunarray.common.generics.GenericsUtil;
 import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
 import org.lunarray.model.descriptor.builder.annotation.base.build.context.AnnotationBuilderContext;
 import org.lunarray.model.descriptor.builder.annotation.base.build.entity.AnnotationEntityDescriptorBuilder;
@@ -42,6 +41,7 @@ import org.lunarray.model.descriptor.model.extension.ExtensionContainer;
 import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.objectfactory.ObjectFactory;
 import org.lunarray.model.descriptor.registry.Registry;
+import org.lunarray.model.descriptor.util.ReflectionUtil;
 import org.lunarray.model.descriptor.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,7 +104,7 @@ public final class ProcessCreational<E, K extends Serializable, B extends Annota
 		}
 		if (!CheckUtil.isNull(registry)) {
 			final Registry<N> registryInstance = registry.get();
-			final Type registryTypeTmp = GenericsUtil.getEntityGenericType(registryInstance.getClass(), 0, Registry.class);
+			final Type registryTypeTmp = ReflectionUtil.getEntityGenericType(registryInstance.getClass(), 0, Registry.class);
 			if (registryTypeTmp instanceof Class) {
 				ctx.setRegistryType((Class<N>) registryTypeTmp);
 			}
@@ -17,10 +17,12 @@
  */
 package org.lunarray.model.descriptor.builder.annotation.presentation.builder.context;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
@@ -50,11 +52,11 @@ public final class BuilderContext
 		return new BuilderContext();
 	}
 	/** The bundles. */
-	private final transient Map<Class<?>, String> bundles;
+	private final transient ConcurrentMap<Class<?>, String> bundles;
 	/** The entity qualifiers. */
-	private final transient Map<Class<?>, Set<Class<?>>> entityQualifiers;
+	private final transient ConcurrentMap<Class<?>, Set<Class<?>>> entityQualifiers;
 	/** The qualifier bundles. */
-	private final transient Map<Class<?>, Map<Class<?>, String>> qualifierBundles;
+	private final transient ConcurrentMap<Class<?>, Map<Class<?>, String>> qualifierBundles;
 	/** The presentation attribute resolver. */
 	private transient PresentationEntityAttributeResolverStrategy resolverEntityStrategy;
 	/** The presentation attribute resolver. */
@@ -70,9 +72,9 @@ public final class BuilderContext
 	 */
 	private BuilderContext() {
 		super();
-		this.bundles = new HashMap<Class<?>, String>();
-		this.qualifierBundles = new HashMap<Class<?>, Map<Class<?>, String>>();
-		this.entityQualifiers = new HashMap<Class<?>, Set<Class<?>>>();
+		this.bundles = new ConcurrentHashMap<Class<?>, String>();
+		this.qualifierBundles = new ConcurrentHashMap<Class<?>, Map<Class<?>, String>>();
+		this.entityQualifiers = new ConcurrentHashMap<Class<?>, Set<Class<?>>>();
 	}
 
 	/** {@inheritDoc} */
@@ -90,7 +92,8 @@ public final class BuilderContext
 	@Override
 	public PresentationEntityAttributeResolverStrategy getPresentationEntityAttributeResolverStrategy() {
 		if (CheckUtil.isNull(this.resolverEntityStrategy)) {
-			this.resolverEntityStrategy = ResolverFactory.defaultEntityPresentationAttributeResolver();
+			this.resolverEntityStrategy = ResolverFactory.compiledEntityPresentationAttributeResolver(ResolverFactory
+					.defaultEntityPresentationAttributeResolver());
 		}
 		return this.resolverEntityStrategy;
 	}
@@ -117,7 +120,8 @@ public final class BuilderContext
 	@Override
 	public PresentationPropertyAttributeResolverStrategy getPresentationPropertyAttributeResolverStrategy() {
 		if (CheckUtil.isNull(this.resolverPropertyStrategy)) {
-			this.resolverPropertyStrategy = ResolverFactory.defaultPropertyPresentationAttributeResolver();
+			this.resolverPropertyStrategy = ResolverFactory.compiledPropertyPresentationAttributeResolver(ResolverFactory
+					.defaultPropertyPresentationAttributeResolver());
 		}
 		return this.resolverPropertyStrategy;
 	}
@@ -178,7 +182,7 @@ public final class BuilderContext
 		final Class<?> entityType = described.getEntityType();
 		if (!CheckUtil.isNull(bundle)) {
 			if (!this.qualifierBundles.containsKey(entityType)) {
-				this.qualifierBundles.put(entityType, new HashMap<Class<?>, String>());
+				this.qualifierBundles.putIfAbsent(entityType, new ConcurrentHashMap<Class<?>, String>());
 			}
 			this.qualifierBundles.get(entityType).put(qualifier, bundle);
 		}
@@ -198,7 +202,7 @@ public final class BuilderContext
 	public void putQualifier(final DescribedEntity<?> described, final Class<?> qualifier) {
 		final Class<?> entityType = described.getEntityType();
 		if (!this.entityQualifiers.containsKey(entityType)) {
-			this.entityQualifiers.put(entityType, new HashSet<Class<?>>());
+			this.entityQualifiers.putIfAbsent(entityType, Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>()));
 		}
 		this.entityQualifiers.get(entityType).add(qualifier);
 	}
@@ -19,7 +19,9 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.builder.en
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -63,14 +65,22 @@ public final class EntityDescriptor<E, K extends Serializable>
 	private List<MemberDescriptor<E>> orderedMembers;
 	/** The ordered operations. */
 	private List<PresentationOperationDescriptor<E>> orderedOperations;
+	/** The ordered operations view. */
+	private List<OperationDescriptor<E>> orderedOperationView;
 	/** The ordered properties. */
 	private List<PresentationPropertyDescriptor<?, E>> orderedProperties;
+	/** The ordered properties view. */
+	private List<PropertyDescriptor<?, E>> orderedPropertyView;
 	/** The qualifier entity references. */
 	private Map<Class<?>, QualifierEntityDescriptor<E>> qualifierEntityReferences;
 	/** The operations by qualifier. */
 	private Map<Class<?>, Map<String, PresentationOperationDescriptor<E>>> qualifierOperations;
+	/** The operations views by qualifier. */
+	private Map<Class<?>, Set<OperationDescriptor<E>>> qualifierOperationViews;
 	/** The properties by qualifier. */
 	private Map<Class<?>, Map<String, PresentationPropertyDescriptor<?, E>>> qualifierProperties;
+	/** The properties views by qualifier. */
+	private Map<Class<?>, Set<PropertyDescriptor<?, E>>> qualifierPropertyViews;
 	/** The qualifiers. */
 	private Set<Class<?>> qualifiers;
 
@@ -82,14 +92,14 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 */
 	protected EntityDescriptor(final EntityDescriptorBuilderImpl<E, K> builder) {
 		super(builder);
-		this.qualifiers = builder.getQualifiers();
+		this.setQualifiers(builder.getQualifiers());
 		this.entityDetail = builder.getDetail();
 		this.qualifierEntityReferences = builder.getEntityReferences();
-		this.qualifierProperties = builder.getPropertiesByQualifier();
-		this.orderedProperties = builder.getOrderedProperties();
-		this.qualifierOperations = builder.getOperationsByQualifier();
-		this.orderedOperations = builder.getOrderedOperations();
-		this.orderedMembers = builder.getOrderedMembers();
+		this.setQualifierProperties(builder.getPropertiesByQualifier());
+		this.setOrderedProperties(builder.getOrderedProperties());
+		this.setQualifierOperations(builder.getOperationsByQualifier());
+		this.setOrderedOperations(builder.getOrderedOperations());
+		this.setOrderedMembers(builder.getOrderedMembers());
 	}
 
 	/** {@inheritDoc} */
@@ -147,10 +157,8 @@ public final class EntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public Set<OperationDescriptor<E>> getOperations(final Class<?> qualifier) {
-		Set<OperationDescriptor<E>> result;
-		if (this.qualifierOperations.containsKey(qualifier)) {
-			result = new HashSet<OperationDescriptor<E>>(this.qualifierOperations.get(qualifier).values());
-		} else {
+		Set<OperationDescriptor<E>> result = this.qualifierOperationViews.get(qualifier);
+		if (CheckUtil.isNull(result)) {
 			result = this.getOperations();
 		}
 		return result;
@@ -166,22 +174,20 @@ public final class EntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public List<OperationDescriptor<E>> getOrderedOperations() {
-		return new ArrayList<OperationDescriptor<E>>(this.orderedOperations);
+		return this.orderedOperationView;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public List<PropertyDescriptor<?, E>> getOrderedProperties() {
-		return new ArrayList<PropertyDescriptor<?, E>>(this.orderedProperties);
+		return this.orderedPropertyView;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Set<PropertyDescriptor<?, E>> getProperties(final Class<?> qualifier) {
-		Set<PropertyDescriptor<?, E>> result;
-		if (this.qualifierProperties.containsKey(qualifier)) {
-			result = new HashSet<PropertyDescriptor<?, E>>(this.qualifierProperties.get(qualifier).values());
-		} else {
+		Set<PropertyDescriptor<?, E>> result = this.qualifierPropertyViews.get(qualifier);
+		if (CheckUtil.isNull(result)) {
 			result = this.getProperties();
 		}
 		return result;
@@ -273,7 +279,7 @@ public final class EntityDescriptor<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public Set<Class<?>> getQualifiers() {
-		return new HashSet<Class<?>>(this.qualifiers);
+		return this.qualifiers;
 	}
 
 	/** {@inheritDoc} */
@@ -311,7 +317,7 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 *            The new value for the orderedMembers field.
 	 */
 	public void setOrderedMembers(final List<MemberDescriptor<E>> orderedMembers) {
-		this.orderedMembers = orderedMembers;
+		this.orderedMembers = Collections.unmodifiableList(new ArrayList<MemberDescriptor<E>>(orderedMembers));
 	}
 
 	/**
@@ -321,7 +327,8 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 *            The new value for the orderedOperations field.
 	 */
 	public void setOrderedOperations(final List<PresentationOperationDescriptor<E>> orderedOperations) {
-		this.orderedOperations = orderedOperations;
+		this.orderedOperations = Collections.unmodifiableList(new ArrayList<PresentationOperationDescriptor<E>>(orderedOperations));
+		this.orderedOperationView = Collections.<OperationDescriptor<E>> unmodifiableList(this.orderedOperations);
 	}
 
 	/**
@@ -331,7 +338,8 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 *            The new value for the orderedProperties field.
 	 */
 	public void setOrderedProperties(final List<PresentationPropertyDescriptor<?, E>> orderedProperties) {
-		this.orderedProperties = orderedProperties;
+		this.orderedProperties = Collections.unmodifiableList(new ArrayList<PresentationPropertyDescriptor<?, E>>(orderedProperties));
+		this.orderedPropertyView = Collections.<PropertyDescriptor<?, E>> unmodifiableList(this.orderedProperties);
 	}
 
 	/**
@@ -352,6 +360,11 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 */
 	public void setQualifierOperations(final Map<Class<?>, Map<String, PresentationOperationDescriptor<E>>> qualifierOperations) {
 		this.qualifierOperations = qualifierOperations;
+		this.qualifierOperationViews = new HashMap<Class<?>, Set<OperationDescriptor<E>>>();
+		for (final Map.Entry<Class<?>, Map<String, PresentationOperationDescriptor<E>>> entry : qualifierOperations.entrySet()) {
+			this.qualifierOperationViews.put(entry.getKey(),
+					Collections.unmodifiableSet(new LinkedHashSet<OperationDescriptor<E>>(entry.getValue().values())));
+		}
 	}
 
 	/**
@@ -362,6 +375,11 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 */
 	public void setQualifierProperties(final Map<Class<?>, Map<String, PresentationPropertyDescriptor<?, E>>> qualifierProperties) {
 		this.qualifierProperties = qualifierProperties;
+		this.qualifierPropertyViews = new HashMap<Class<?>, Set<PropertyDescriptor<?, E>>>();
+		for (final Map.Entry<Class<?>, Map<String, PresentationPropertyDescriptor<?, E>>> entry : qualifierProperties.entrySet()) {
+			this.qualifierPropertyViews.put(entry.getKey(),
+					Collections.unmodifiableSet(new LinkedHashSet<PropertyDescriptor<?, E>>(entry.getValue().values())));
+		}
 	}
 
 	/**
@@ -371,7 +389,7 @@ public final class EntityDescriptor<E, K extends Serializable>
 	 *            The new value for the qualifiers field.
 	 */
 	public void setQualifiers(final Set<Class<?>> qualifiers) {
-		this.qualifiers = qualifiers;
+		this.qualifiers = Collections.unmodifiableSet(qualifiers);
 	}
 
 	/** {@inheritDoc} */
@@ -20,7 +20,8 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.builder.en
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -65,18 +66,30 @@ public final class EntityReference<E, K extends Serializable>
 	private EntityDescriptor<E, K> delegate;
 	/** The entity detail. */
 	private EntityDetail entityDetail;
+	/** The properties, in the order of the delegate's ordinals. */
+	private List<PropertyDescriptor<?, E>> indexedProperties;
 	/** The property references. */
 	private Map<String, MemberDescriptor<E>> memberReferences;
+	/** The members view. */
+	private Set<MemberDescriptor<E>> memberView;
 	/** The property references. */
 	private Map<String, PresentationOperationDescriptor<E>> operationReferences;
+	/** The operations view. */
+	private Set<OperationDescriptor<E>> operationView;
 	/** The ordered properties. */
 	private List<MemberDescriptor<E>> orderedMembers;
 	/** The ordered properties. */
 	private List<PresentationOperationDescriptor<E>> orderedOperations;
+	/** The ordered operations view. */
+	private List<OperationDescriptor<E>> orderedOperationView;
 	/** The ordered properties. */
 	private List<PresentationPropertyDescriptor<?, E>> orderedProperties;
+	/** The ordered properties view. */
+	private List<PropertyDescriptor<?, E>> orderedPropertyView;
 	/** The property references. */
 	private Map<String, PresentationPropertyDescriptor<?, E>> propertyReferences;
+	/** The properties view. */
+	private Set<PropertyDescriptor<?, E>> propertyView;
 	/** The qualifier. */
 	private Class<?> qualifier;
 
@@ -93,13 +106,13 @@ public final class EntityReference<E, K extends Serializable>
 		Validate.notNull(qualifier, "Qualifier may not be null.");
 		this.entityDetail = builder.getDetail(qualifier);
 		this.delegate = builder.getDelegate();
-		this.propertyReferences = builder.getProperties(qualifier);
-		this.orderedProperties = builder.getOrderedProperties(qualifier);
+		this.setPropertyReferences(builder.getProperties(qualifier));
+		this.setOrderedProperties(builder.getOrderedProperties(qualifier));
 		this.qualifier = qualifier;
-		this.memberReferences = builder.getMembers(qualifier);
-		this.orderedMembers = builder.getOrderedMembers(qualifier);
-		this.operationReferences = builder.getOperations(qualifier);
-		this.orderedOperations = builder.getOrderedOperations(qualifier);
+		this.setMemberReferences(builder.getMembers(qualifier));
+		this.setOrderedMembers(builder.getOrderedMembers(qualifier));
+		this.setOperationReferences(builder.getOperations(qualifier));
+		this.setOrderedOperations(builder.getOrderedOperations(qualifier));
 	}
 
 	/** {@inheritDoc} */
@@ -214,7 +227,7 @@ public final class EntityReference<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public Set<MemberDescriptor<E>> getMembers() {
-		return new HashSet<MemberDescriptor<E>>(this.memberReferences.values());
+		return this.memberView;
 	}
 
 	/** {@inheritDoc} */
@@ -247,7 +260,7 @@ public final class EntityReference<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public Set<OperationDescriptor<E>> getOperations() {
-		return new HashSet<OperationDescriptor<E>>(this.operationReferences.values());
+		return this.operationView;
 	}
 
 	/** {@inheritDoc} */
@@ -265,19 +278,19 @@ public final class EntityReference<E, K extends Serializable>
 	/** {@inheritDoc} */
 	@Override
 	public List<OperationDescriptor<E>> getOrderedOperations() {
-		return new ArrayList<OperationDescriptor<E>>(this.orderedOperations);
+		return this.orderedOperationView;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public List<PropertyDescriptor<?, E>> getOrderedProperties() {
-		return new ArrayList<PropertyDescriptor<?, E>>(this.orderedProperties);
+		return this.orderedPropertyView;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Set<PropertyDescriptor<?, E>> getProperties() {
-		return new HashSet<PropertyDescriptor<?, E>>(this.propertyReferences.values());
+		return this.propertyView;
 	}
 
 	/** {@inheritDoc} */
@@ -286,6 +299,12 @@ public final class EntityReference<E, K extends Serializable>
 		return this.delegate.getProperties(qualifier);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public PropertyDescriptor<?, E> getProperty(final int index) {
+		return this.indexedProperties.get(index);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public PropertyDescriptor<?, E> getProperty(final String name) {
@@ -306,6 +325,12 @@ public final class EntityReference<E, K extends Serializable>
 		return result;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public int getPropertyCount() {
+		return this.indexedProperties.size();
+	}
+
 	/**
 	 * Gets the value for the propertyReferences field.
 	 * 
@@ -389,6 +414,7 @@ public final class EntityReference<E, K extends Serializable>
 	 */
 	public void setDelegate(final EntityDescriptor<E, K> delegate) {
 		this.delegate = delegate;
+		this.indexProperties();
 	}
 
 	/**
@@ -409,6 +435,7 @@ public final class EntityReference<E, K extends Serializable>
 	 */
 	public void setMemberReferences(final Map<String, MemberDescriptor<E>> memberReferences) {
 		this.memberReferences = memberReferences;
+		this.memberView = Collections.unmodifiableSet(new LinkedHashSet<MemberDescriptor<E>>(memberReferences.values()));
 	}
 
 	/**
@@ -419,6 +446,7 @@ public final class EntityReference<E, K extends Serializable>
 	 */
 	public void setOperationReferences(final Map<String, PresentationOperationDescriptor<E>> operationReferences) {
 		this.operationReferences = operationReferences;
+		this.operationView = Collections.unmodifiableSet(new LinkedHashSet<OperationDescriptor<E>>(operationReferences.values()));
 	}
 
 	/**
@@ -428,7 +456,7 @@ public final class EntityReference<E, K extends Serializable>
 	 *            The new value for the orderedMembers field.
 	 */
 	public void setOrderedMembers(final List<MemberDescriptor<E>> orderedMembers) {
-		this.orderedMembers = orderedMembers;
+		this.orderedMembers = Collections.unmodifiableList(new ArrayList<MemberDescriptor<E>>(orderedMembers));
 	}
 
 	/**
@@ -438,7 +466,8 @@ public final class EntityReference<E, K extends Serializable>
 	 *            The new value for the orderedOperations field.
 	 */
 	public void setOrderedOperations(final List<PresentationOperationDescriptor<E>> orderedOperations) {
-		this.orderedOperations = orderedOperations;
+		this.orderedOperations = Collections.unmodifiableList(new ArrayList<PresentationOperationDescriptor<E>>(orderedOperations));
+		this.orderedOperationView = Collections.<OperationDescriptor<E>> unmodifiableList(this.orderedOperations);
 	}
 
 	/**
@@ -448,7 +477,8 @@ public final class EntityReference<E, K extends Serializable>
 	 *            The new value for the orderedProperties field.
 	 */
 	public void setOrderedProperties(final List<PresentationPropertyDescriptor<?, E>> orderedProperties) {
-		this.orderedProperties = orderedProperties;
+		this.orderedProperties = Collections.unmodifiableList(new ArrayList<PresentationPropertyDescriptor<?, E>>(orderedProperties));
+		this.orderedPropertyView = Collections.<PropertyDescriptor<?, E>> unmodifiableList(this.orderedProperties);
 	}
 
 	/**
@@ -459,6 +489,7 @@ public final class EntityReference<E, K extends Serializable>
 	 */
 	public void setPropertyReferences(final Map<String, PresentationPropertyDescriptor<?, E>> propertyReferences) {
 		this.propertyReferences = propertyReferences;
+		this.indexProperties();
 	}
 
 	/**
@@ -488,4 +519,22 @@ public final class EntityReference<E, K extends Serializable>
 		builder.append("\n\t}\n]");
 		return builder.toString();
 	}
+
+	/**
+	 * Indexes the qualified properties in the order of the ordinals of the
+	 * delegate, the index holds the same properties as the properties view.
+	 */
+	private void indexProperties() {
+		final int count = this.delegate.getPropertyCount();
+		final Set<PropertyDescriptor<?, E>> view = new LinkedHashSet<PropertyDescriptor<?, E>>(count);
+		for (int i = 0; i < count; i++) {
+			final PropertyDescriptor<?, E> reference = this.propertyReferences.get(this.delegate.getProperty(i).getName());
+			if (!CheckUtil.isNull(reference)) {
+				view.add(reference);
+			}
+		}
+		view.addAll(this.propertyReferences.values());
+		this.indexedProperties = Collections.unmodifiableList(new ArrayList<PropertyDescriptor<?, E>>(view));
+		this.propertyView = Collections.unmodifiableSet(view);
+	}
 }
@@ -20,9 +20,11 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.builder.op
 import java.util.Locale;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.reference.AbstractReference;
 import org.lunarray.model.descriptor.builder.annotation.presentation.operation.parameter.PresQualParameterDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.member.Cardinality;
 import org.lunarray.model.descriptor.model.relation.RelationType;
 import org.lunarray.model.descriptor.presentation.RenderType;
@@ -44,6 +46,8 @@ public abstract class AbstractParameterReference<P>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = -744842093381723665L;
+	/** The converter binding. */
+	private transient ConverterBinding<P> converterBinding;
 	/** The delegate. */
 	private PresQualParameterDescriptor<P> delegate;
 	/** The detail. */
@@ -111,6 +115,17 @@ public abstract class AbstractParameterReference<P>
 		return this.delegate;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final ConverterBinding<P> getConverterBinding() {
+		ConverterBinding<P> result = this.converterBinding;
+		if (CheckUtil.isNull(result)) {
+			result = this.delegate.getConverterBinding().withFormat(this.getFormat());
+			this.converterBinding = result;
+		}
+		return result;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final String getDescription() {
@@ -222,6 +237,7 @@ public abstract class AbstractParameterReference<P>
 	 */
 	public final void setDelegate(final PresQualParameterDescriptor<P> delegate) {
 		this.delegate = delegate;
+		this.converterBinding = null;
 	}
 
 	/**
@@ -232,6 +248,7 @@ public abstract class AbstractParameterReference<P>
 	 */
 	public final void setParameterDetail(final ParameterDetail parameterDetail) {
 		this.parameterDetail = parameterDetail;
+		this.converterBinding = null;
 	}
 
 	/**
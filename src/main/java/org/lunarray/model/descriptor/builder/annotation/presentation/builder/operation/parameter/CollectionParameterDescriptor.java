@@ -24,6 +24,9 @@ import org.apache.commons.lang.Validate;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.operation.AbstractCollectionParameterDescriptor;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.operation.parameter.PresQualCollectionParameterDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.presentation.RenderType;
 import org.lunarray.model.descriptor.util.StringUtil;
 
@@ -44,6 +47,10 @@ public final class CollectionParameterDescriptor<C, P extends Collection<C>>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = -2248993058399788115L;
+	/** The converter binding. */
+	private ConverterBinding<P> converterBinding;
+	/** The element converter binding. */
+	private ConverterBinding<C> elementConverterBinding;
 	/** The entity name. */
 	private String entityName;
 	/** The operation name. */
@@ -65,6 +72,10 @@ public final class CollectionParameterDescriptor<C, P extends Collection<C>>
 			final String operationName) {
 		super(builder);
 		this.parameterDetail = builder.getDetail();
+		final ExtensionRef<ConverterTool> converterToolRef = builder.getBuilderContext().getExtensionContainer()
+				.<ConverterTool> getExtensionRef(ConverterTool.class);
+		this.converterBinding = ConverterBinding.bind(converterToolRef, this.getParameterType(), this.parameterDetail.getFormat());
+		this.elementConverterBinding = ConverterBinding.bind(converterToolRef, this.getCollectionType(), this.parameterDetail.getFormat());
 		this.entityName = entityName;
 		this.operationName = operationName;
 	}
@@ -83,6 +94,12 @@ public final class CollectionParameterDescriptor<C, P extends Collection<C>>
 		return this.parameterAdaptable(adapterType);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<P> getConverterBinding() {
+		return this.converterBinding;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public String getDescription() {
@@ -109,6 +126,12 @@ public final class CollectionParameterDescriptor<C, P extends Collection<C>>
 		return key;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<C> getElementConverterBinding() {
+		return this.elementConverterBinding;
+	}
+
 	/**
 	 * Gets the value for the entityName field.
 	 * 
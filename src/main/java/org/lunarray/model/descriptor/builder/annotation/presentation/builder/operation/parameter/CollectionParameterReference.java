@@ -19,7 +19,9 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.builder.op
 
 import java.util.Collection;
 
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.operation.parameter.PresQualCollectionParameterDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 
 /**
  * A collection parameter reference.
@@ -36,6 +38,8 @@ public final class CollectionParameterReference<C, P extends Collection<C>>
 
 	/** Serial id. */
 	private static final long serialVersionUID = 2147568589718828414L;
+	/** The element converter binding, derived from the descriptor. */
+	private transient ConverterBinding<C> elementConverterBinding;
 	/** The parameter descriptor. */
 	private PresQualCollectionParameterDescriptor<C, P> parameterDescriptor;
 
@@ -61,6 +65,18 @@ public final class CollectionParameterReference<C, P extends Collection<C>>
 		return this.parameterDescriptor.getCollectionType();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<C> getElementConverterBinding() {
+		ConverterBinding<C> result = this.elementConverterBinding;
+		// The format is compared by reference, a new detail rebinds.
+		if (CheckUtil.isNull(result) || (result.getFormat() != this.getFormat())) {
+			result = this.parameterDescriptor.getElementConverterBinding().withFormat(this.getFormat());
+			this.elementConverterBinding = result;
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the value for the parameterDescriptor field.
 	 * 
@@ -78,6 +94,7 @@ public final class CollectionParameterReference<C, P extends Collection<C>>
 	 */
 	public void setParameterDescriptor(final PresQualCollectionParameterDescriptor<C, P> parameterDescriptor) {
 		this.parameterDescriptor = parameterDescriptor;
+		this.elementConverterBinding = null;
 	}
 
 	/** {@inheritDoc} */
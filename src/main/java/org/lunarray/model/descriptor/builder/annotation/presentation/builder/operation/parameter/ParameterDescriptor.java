@@ -23,6 +23,8 @@ import org.apache.commons.lang.Validate;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.operation.AbstractParameterDescriptor;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.operation.parameter.PresQualParameterDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
+import org.lunarray.model.descriptor.converter.ConverterTool;
 import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor;
 import org.lunarray.model.descriptor.presentation.RenderType;
 import org.lunarray.model.descriptor.util.StringUtil;
@@ -42,6 +44,8 @@ public final class ParameterDescriptor<P>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = 7045674822808877610L;
+	/** The converter binding. */
+	private ConverterBinding<P> converterBinding;
 	/** The entity name. */
 	private String entityName;
 	/** The operation name. */
@@ -62,6 +66,8 @@ public final class ParameterDescriptor<P>
 	protected ParameterDescriptor(final ParameterBuilder<P> builder, final String entityName, final String operationName) {
 		super(builder);
 		this.parameterDetail = builder.getDetail();
+		this.converterBinding = ConverterBinding.bind(builder.getBuilderContext().getExtensionContainer()
+				.<ConverterTool> getExtensionRef(ConverterTool.class), this.getParameterType(), this.parameterDetail.getFormat());
 		this.entityName = entityName;
 		this.operationName = operationName;
 	}
@@ -94,6 +100,12 @@ public final class ParameterDescriptor<P>
 		return result;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<P> getConverterBinding() {
+		return this.converterBinding;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public String getDescription() {
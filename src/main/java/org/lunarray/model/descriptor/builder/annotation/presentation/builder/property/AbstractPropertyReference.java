@@ -20,10 +20,12 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.builder.pr
 import java.util.Locale;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.reference.AbstractReference;
 import org.lunarray.model.descriptor.builder.annotation.presentation.property.PresQualPropertyDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.member.Cardinality;
 import org.lunarray.model.descriptor.model.property.PropertyExtension;
 import org.lunarray.model.descriptor.model.relation.RelationType;
@@ -47,6 +49,8 @@ public abstract class AbstractPropertyReference<P, E>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = -744842093381723665L;
+	/** The converter binding. */
+	private transient ConverterBinding<P> converterBinding;
 	/** The delegate. */
 	private PresQualPropertyDescriptor<P, E> delegate;
 	/** The detail. */
@@ -120,6 +124,17 @@ public abstract class AbstractPropertyReference<P, E>
 		return this.delegate;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final ConverterBinding<P> getConverterBinding() {
+		ConverterBinding<P> result = this.converterBinding;
+		if (CheckUtil.isNull(result)) {
+			result = this.delegate.getConverterBinding().withFormat(this.getFormat());
+			this.converterBinding = result;
+		}
+		return result;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final String getDescription() {
@@ -255,6 +270,7 @@ public abstract class AbstractPropertyReference<P, E>
 	 */
 	public final void setDelegate(final PresQualPropertyDescriptor<P, E> delegate) {
 		this.delegate = delegate;
+		this.converterBinding = null;
 	}
 
 	/**
@@ -265,6 +281,7 @@ public abstract class AbstractPropertyReference<P, E>
 	 */
 	public final void setPropertyDetail(final PropertyDetail propertyDetail) {
 		this.propertyDetail = propertyDetail;
+		this.converterBinding = null;
 	}
 
 	/** {@inheritDoc} */
@@ -24,6 +24,9 @@ import org.apache.commons.lang.Validate;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.property.AbstractCollectionPropertyDescriptor;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.property.PresQualCollectionPropertyDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.presentation.RenderType;
 import org.lunarray.model.descriptor.util.StringUtil;
 
@@ -46,6 +49,10 @@ public final class CollectionPropertyDescriptor<C, P extends Collection<C>, E>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = -2248993058399788115L;
+	/** The converter binding. */
+	private ConverterBinding<P> converterBinding;
+	/** The element converter binding. */
+	private ConverterBinding<C> elementConverterBinding;
 	/** The entity name. */
 	private String entityName;
 	/** The property detail. */
@@ -62,6 +69,10 @@ public final class CollectionPropertyDescriptor<C, P extends Collection<C>, E>
 	protected CollectionPropertyDescriptor(final CollectionPropertyBuilder<C, P, E> builder, final String entityName) {
 		super(builder);
 		this.propertyDetail = builder.getDetail();
+		final ExtensionRef<ConverterTool> converterToolRef = builder.getBuilderContext().getExtensionContainer()
+				.<ConverterTool> getExtensionRef(ConverterTool.class);
+		this.converterBinding = ConverterBinding.bind(converterToolRef, this.getPropertyType(), this.propertyDetail.getFormat());
+		this.elementConverterBinding = ConverterBinding.bind(converterToolRef, this.getCollectionType(), this.propertyDetail.getFormat());
 		this.entityName = entityName;
 	}
 
@@ -79,6 +90,12 @@ public final class CollectionPropertyDescriptor<C, P extends Collection<C>, E>
 		return this.propertyAdaptable(adapterType);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<P> getConverterBinding() {
+		return this.converterBinding;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public String getDescription() {
@@ -103,6 +120,12 @@ public final class CollectionPropertyDescriptor<C, P extends Collection<C>, E>
 		return key;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<C> getElementConverterBinding() {
+		return this.elementConverterBinding;
+	}
+
 	/**
 	 * Gets the value for the entityName field.
 	 * 
@@ -21,7 +21,9 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.property.PresQualCollectionPropertyDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 
 /**
  * A collection property reference.
@@ -40,6 +42,8 @@ public final class CollectionPropertyReference<C, P extends Collection<C>, E>
 
 	/** Serial id. */
 	private static final long serialVersionUID = 2147568589718828414L;
+	/** The element converter binding, derived from the descriptor. */
+	private transient ConverterBinding<C> elementConverterBinding;
 	/** The property descriptor. */
 	private PresQualCollectionPropertyDescriptor<C, P, E> propertyDescriptor;
 
@@ -95,6 +99,18 @@ public final class CollectionPropertyReference<C, P extends Collection<C>, E>
 		return this.propertyDescriptor.getCollectionType();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<C> getElementConverterBinding() {
+		ConverterBinding<C> result = this.elementConverterBinding;
+		// The format is compared by reference, a new detail rebinds.
+		if (CheckUtil.isNull(result) || (result.getFormat() != this.getFormat())) {
+			result = this.propertyDescriptor.getElementConverterBinding().withFormat(this.getFormat());
+			this.elementConverterBinding = result;
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the value for the propertyDescriptor field.
 	 * 
@@ -148,6 +164,7 @@ public final class CollectionPropertyReference<C, P extends Collection<C>, E>
 	 */
 	public void setPropertyDescriptor(final PresQualCollectionPropertyDescriptor<C, P, E> propertyDescriptor) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.elementConverterBinding = null;
 	}
 
 	/** {@inheritDoc} */
@@ -23,6 +23,8 @@ import org.apache.commons.lang.Validate;
 import org.lunarray.model.descriptor.builder.annotation.base.builders.property.AbstractPropertyDescriptor;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.detail.DescribedUtil;
 import org.lunarray.model.descriptor.builder.annotation.presentation.property.PresQualPropertyDescriptor;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
+import org.lunarray.model.descriptor.converter.ConverterTool;
 import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor;
 import org.lunarray.model.descriptor.presentation.RenderType;
 import org.lunarray.model.descriptor.util.StringUtil;
@@ -44,6 +46,8 @@ public final class PropertyDescriptor<P, E>
 	private static final String ADAPTER_TYPE_NULL = "Adapter type may not be null.";
 	/** Serial id. */
 	private static final long serialVersionUID = 7045674822808877610L;
+	/** The converter binding. */
+	private ConverterBinding<P> converterBinding;
 	/** The entity name. */
 	private String entityName;
 	/** The property detail. */
@@ -60,6 +64,8 @@ public final class PropertyDescriptor<P, E>
 	protected PropertyDescriptor(final PropertyBuilder<P, E> builder, final String entityName) {
 		super(builder);
 		this.propertyDetail = builder.getDetail();
+		this.converterBinding = ConverterBinding.bind(builder.getBuilderContext().getExtensionContainer()
+				.<ConverterTool> getExtensionRef(ConverterTool.class), this.getPropertyType(), this.propertyDetail.getFormat());
 		this.entityName = entityName;
 	}
 
@@ -91,6 +97,12 @@ public final class PropertyDescriptor<P, E>
 		return result;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public ConverterBinding<P> getConverterBinding() {
+		return this.converterBinding;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public String getDescription() {
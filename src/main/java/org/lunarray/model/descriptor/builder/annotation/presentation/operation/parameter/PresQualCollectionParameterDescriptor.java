@@ -19,6 +19,7 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.operation.
 
 import java.util.Collection;
 
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.operation.parameters.CollectionParameterDescriptor;
 import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor;
 
@@ -33,4 +34,11 @@ import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor
  */
 public interface PresQualCollectionParameterDescriptor<C, P extends Collection<C>>
 		extends PresQualParameterDescriptor<P>, CollectionParameterDescriptor<C, P>, RelationPresentationDescriptor {
+
+	/**
+	 * Gets the converter bound to the elements of this parameter and its format.
+	 * 
+	 * @return The element converter binding.
+	 */
+	ConverterBinding<C> getElementConverterBinding();
 }
@@ -19,6 +19,7 @@ package org.lunarray.model.descriptor.builder.annotation.presentation.property;
 
 import java.util.Collection;
 
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.property.CollectionPropertyDescriptor;
 import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor;
 
@@ -35,4 +36,11 @@ import org.lunarray.model.descriptor.presentation.RelationPresentationDescriptor
  */
 public interface PresQualCollectionPropertyDescriptor<C, P extends Collection<C>, E>
 		extends PresQualPropertyDescriptor<P, E>, CollectionPropertyDescriptor<C, P, E>, RelationPresentationDescriptor {
+
+	/**
+	 * Gets the converter bound to the elements of this property and its format.
+	 * 
+	 * @return The element converter binding.
+	 */
+	ConverterBinding<C> getElementConverterBinding();
 }
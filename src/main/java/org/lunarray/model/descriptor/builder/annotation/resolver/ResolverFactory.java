@@ -21,6 +21,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Locale;
 
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.EntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.PresentationEntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.compiled.CompiledEntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.compiled.CompiledEntityPresentationAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.entity.def.DefaultEntityAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.entity.def.DefaultEntityPresentationAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.entity.def.DefaultEntityResolver;
@@ -34,7 +38,11 @@ import org.lunarray.model.descriptor.builder.annotation.resolver.operation.def.D
 import org.lunarray.model.descriptor.builder.annotation.resolver.parameter.def.DefaultParameterAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.parameter.def.DefaultParameterPresentationAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.parameter.def.DefaultParameterResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.PresentationPropertyAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.PropertyAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.accessor.AccessorPropertyResolver;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.compiled.CompiledPropertyAttributeResolverStrategy;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.compiled.CompiledPropertyPresentationAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.def.DefaultPropertyAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.def.DefaultPropertyPresentationAttributeResolverStrategy;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.field.FieldPropertyResolver;
@@ -78,6 +86,52 @@ public enum ResolverFactory {
 				.fieldMatcher(ResolverFactory.defaultFieldMatcher(locale)).mutatorMatcher(ResolverFactory.defaultMutatorMatcher(locale));
 	}
 
+	/**
+	 * Constructs an attribute resolver reading compiled metadata.
+	 * 
+	 * @param delegate
+	 *            The resolver for entities that weren't compiled.
+	 * @return The attribute resolver.
+	 */
+	public static CompiledEntityAttributeResolverStrategy compiledEntityAttributeResolver(final EntityAttributeResolverStrategy delegate) {
+		return new CompiledEntityAttributeResolverStrategy(delegate);
+	}
+
+	/**
+	 * Constructs a presentation attribute resolver reading compiled metadata.
+	 * 
+	 * @param delegate
+	 *            The resolver for entities that weren't compiled.
+	 * @return The attribute resolver.
+	 */
+	public static CompiledEntityPresentationAttributeResolverStrategy compiledEntityPresentationAttributeResolver(
+			final PresentationEntityAttributeResolverStrategy delegate) {
+		return new CompiledEntityPresentationAttributeResolverStrategy(delegate);
+	}
+
+	/**
+	 * Constructs an attribute resolver reading compiled metadata.
+	 * 
+	 * @param delegate
+	 *            The resolver for properties that weren't compiled.
+	 * @return The attribute resolver.
+	 */
+	public static CompiledPropertyAttributeResolverStrategy compiledPropertyAttributeResolver(final PropertyAttributeResolverStrategy delegate) {
+		return new CompiledPropertyAttributeResolverStrategy(delegate);
+	}
+
+	/**
+	 * Constructs a presentation attribute resolver reading compiled metadata.
+	 * 
+	 * @param delegate
+	 *            The resolver for properties that weren't compiled.
+	 * @return The attribute resolver.
+	 */
+	public static CompiledPropertyPresentationAttributeResolverStrategy compiledPropertyPresentationAttributeResolver(
+			final PresentationPropertyAttributeResolverStrategy delegate) {
+		return new CompiledPropertyPresentationAttributeResolverStrategy(delegate);
+	}
+
 	/**
 	 * Gets the default accessor matcher.
 	 * 
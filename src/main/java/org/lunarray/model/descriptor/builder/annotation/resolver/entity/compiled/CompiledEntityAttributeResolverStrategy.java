@@ -0,0 +1,64 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.entity.compiled;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.EntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+
+/**
+ * An attribute resolver strategy that reads the entity name from the compiled
+ * metadata. Entities that weren't compiled, or aren't named, are resolved by
+ * the delegate.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledEntityAttributeResolverStrategy
+		implements EntityAttributeResolverStrategy {
+
+	/** The delegate. */
+	private final transient EntityAttributeResolverStrategy delegate;
+
+	/**
+	 * Constructs the strategy.
+	 * 
+	 * @param delegate
+	 *            The delegate. May not be null.
+	 */
+	public CompiledEntityAttributeResolverStrategy(final EntityAttributeResolverStrategy delegate) {
+		Validate.notNull(delegate, "Delegate may not be null.");
+		this.delegate = delegate;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getName(final DescribedEntity<?> entityType) {
+		Validate.notNull(entityType, "Entity may not be null.");
+		final CompiledEntityMetadata metadata = CompiledEntityAccessor.findMetadata(entityType.getEntityType());
+		final String result;
+		if (CheckUtil.isNull(metadata) || CheckUtil.isNull(metadata.getName())) {
+			result = this.delegate.getName(entityType);
+		} else {
+			result = metadata.getName();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,178 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.entity.compiled;
+
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+import org.lunarray.model.descriptor.builder.annotation.resolver.entity.PresentationEntityAttributeResolverStrategy;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.CompiledHint;
+import org.lunarray.model.descriptor.util.BooleanInherit;
+
+/**
+ * A presentation attribute resolver strategy that reads the hints from the
+ * compiled metadata. Entities that weren't compiled are resolved by the
+ * delegate.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledEntityPresentationAttributeResolverStrategy
+		implements PresentationEntityAttributeResolverStrategy {
+
+	/** Validation message. */
+	private static final String ENTITY_NULL = "Entity may not be null.";
+
+	/**
+	 * Finds the compiled hint of an entity for a qualifier.
+	 * 
+	 * @param entityType
+	 *            The entity.
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint, or null if the entity wasn't compiled.
+	 */
+	private static CompiledHint hint(final DescribedEntity<?> entityType, final Class<?> qualifier) {
+		final CompiledEntityMetadata metadata = CompiledEntityPresentationAttributeResolverStrategy.metadata(entityType);
+		CompiledHint result = null;
+		if (!CheckUtil.isNull(metadata)) {
+			result = metadata.getHint(qualifier);
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the compiled metadata of an entity.
+	 * 
+	 * @param entityType
+	 *            The entity.
+	 * @return The metadata, or null.
+	 */
+	private static CompiledEntityMetadata metadata(final DescribedEntity<?> entityType) {
+		Validate.notNull(entityType, CompiledEntityPresentationAttributeResolverStrategy.ENTITY_NULL);
+		return CompiledEntityAccessor.findMetadata(entityType.getEntityType());
+	}
+
+	/** The delegate. */
+	private final transient PresentationEntityAttributeResolverStrategy delegate;
+
+	/**
+	 * Constructs the strategy.
+	 * 
+	 * @param delegate
+	 *            The delegate. May not be null.
+	 */
+	public CompiledEntityPresentationAttributeResolverStrategy(final PresentationEntityAttributeResolverStrategy delegate) {
+		Validate.notNull(delegate, "Delegate may not be null.");
+		this.delegate = delegate;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String labelKey(final DescribedEntity<?> entityType) {
+		final CompiledEntityMetadata metadata = CompiledEntityPresentationAttributeResolverStrategy.metadata(entityType);
+		final String result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.labelKey(entityType);
+		} else {
+			result = metadata.getHint().getLabelKey();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String labelKey(final DescribedEntity<?> entityType, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledEntityPresentationAttributeResolverStrategy.hint(entityType, qualifier);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.labelKey(entityType, qualifier);
+		} else {
+			result = hint.getLabelKey();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<Class<?>> qualifiers(final DescribedEntity<?> entityType) {
+		final CompiledEntityMetadata metadata = CompiledEntityPresentationAttributeResolverStrategy.metadata(entityType);
+		final List<Class<?>> result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.qualifiers(entityType);
+		} else {
+			result = metadata.getQualifiers();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String resourceBundle(final DescribedEntity<?> entityType) {
+		final CompiledEntityMetadata metadata = CompiledEntityPresentationAttributeResolverStrategy.metadata(entityType);
+		final String result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.resourceBundle(entityType);
+		} else {
+			result = metadata.getHint().getResourceBundle();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String resourceBundle(final DescribedEntity<?> entityType, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledEntityPresentationAttributeResolverStrategy.hint(entityType, qualifier);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.resourceBundle(entityType, qualifier);
+		} else {
+			result = hint.getResourceBundle();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit visible(final DescribedEntity<?> entityType) {
+		final CompiledEntityMetadata metadata = CompiledEntityPresentationAttributeResolverStrategy.metadata(entityType);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.visible(entityType);
+		} else {
+			result = metadata.getHint().getVisible();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit visible(final DescribedEntity<?> entityType, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledEntityPresentationAttributeResolverStrategy.hint(entityType, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.visible(entityType, qualifier);
+		} else {
+			result = hint.getVisible();
+		}
+		return result;
+	}
+}
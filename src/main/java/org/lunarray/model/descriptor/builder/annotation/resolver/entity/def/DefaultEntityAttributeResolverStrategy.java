@@ -77,7 +77,9 @@ public final class DefaultEntityAttributeResolverStrategy<S>
 		} else {
 			name = type.getSimpleName();
 		}
-		DefaultEntityAttributeResolverStrategy.LOGGER.debug("Resolved name for entity {}: {}", entityType, name);
+		if (DefaultEntityAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityAttributeResolverStrategy.LOGGER.debug("Resolved name for entity {}: {}", entityType, name);
+		}
 		return name;
 	}
 
@@ -60,7 +60,9 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().descriptionKey();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for entity {}: {}", entityType, result);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for entity {}: {}", entityType, result);
+		}
 		return result;
 	}
 
@@ -73,8 +75,10 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().descriptionKey();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved laber key for entity {} with qualifier: {}", entityType,
-				qualifier, result);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved laber key for entity {} with qualifier: {}", entityType,
+					qualifier, result);
+		}
 		return result;
 	}
 
@@ -97,7 +101,9 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 				qualifiers.add(hint.name());
 			}
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for entity {}: {}", entityType, qualifiers);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for entity {}: {}", entityType, qualifiers);
+		}
 		return qualifiers;
 	}
 
@@ -110,7 +116,9 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().resourceBundle();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved resource bundle for entity {}: {}", entityType, result);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved resource bundle for entity {}: {}", entityType, result);
+		}
 		return result;
 	}
 
@@ -123,8 +131,10 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().resourceBundle();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved resource bundle for entity {} with qualifier: {}",
-				entityType, qualifier, result);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved resource bundle for entity {} with qualifier: {}",
+					entityType, qualifier, result);
+		}
 		return result;
 	}
 
@@ -137,7 +147,9 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for entity {}: {}", entityType, bool);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for entity {}: {}", entityType, bool);
+		}
 		return bool;
 	}
 
@@ -150,8 +162,10 @@ public final class DefaultEntityPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for entity {} with qualifier {}: {}",
-				entityType, qualifier, bool);
+		if (DefaultEntityPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultEntityPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for entity {} with qualifier {}: {}",
+					entityType, qualifier, bool);
+		}
 		return bool;
 	}
 
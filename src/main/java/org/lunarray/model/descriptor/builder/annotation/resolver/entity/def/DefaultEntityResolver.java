@@ -29,6 +29,7 @@ import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
 import org.lunarray.model.descriptor.accessor.entity.EntityBuilder;
 import org.lunarray.model.descriptor.builder.annotation.resolver.entity.EntityResolverStrategy;
+import org.lunarray.model.descriptor.util.ReflectionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,7 +56,9 @@ public final class DefaultEntityResolver
 	/** {@inheritDoc} */
 	@Override
 	public DescribedEntity<?> resolveEntity(final Class<?> entityType) {
-		DefaultEntityResolver.LOGGER.debug("Resolving entity {}", entityType);
+		if (DefaultEntityResolver.LOGGER.isDebugEnabled()) {
+			DefaultEntityResolver.LOGGER.debug("Resolving entity {}", entityType);
+		}
 		Validate.notNull(entityType, "Entity type may not be null.");
 		@SuppressWarnings("unchecked")
 		final EntityBuilder<?> builder = DescribedEntity.createBuilder().entityType((Class<Object>) entityType);
@@ -82,12 +85,14 @@ public final class DefaultEntityResolver
 			hierarchy.add(entityType);
 		}
 		for (final Class<?> type : hierarchy) {
-			for (final Annotation a : type.getAnnotations()) {
+			for (final Annotation a : ReflectionUtil.getAnnotations(type)) {
 				builder.addAnnotation(a);
 			}
 		}
 		final DescribedEntity<?> result = builder.build();
-		DefaultEntityResolver.LOGGER.debug("Resolved entity {} for type {}", result, entityType);
+		if (DefaultEntityResolver.LOGGER.isDebugEnabled()) {
+			DefaultEntityResolver.LOGGER.debug("Resolved entity {} for type {}", result, entityType);
+		}
 		return result;
 	}
 
@@ -92,6 +92,12 @@ public abstract class AbstractMatcher<M extends Member>
 		return name;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final MemberIndex<M> index(final Iterable<? extends M> members) {
+		return new MemberIndex<M>(this, members);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final PropertyMatcher<M> locale(final Locale locale) {
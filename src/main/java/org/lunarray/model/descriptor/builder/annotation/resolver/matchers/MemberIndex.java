@@ -0,0 +1,102 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.matchers;
+
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * A member table, indexed by the property name a matcher extracts. Members
+ * the matcher does not match are left out. Built once per entity, it
+ * replaces scanning all members for every property.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <M>
+ *            The member type.
+ */
+public final class MemberIndex<M extends Member> {
+
+	/** Validation message. */
+	private static final String NAME_NULL = "Name may not be null.";
+	/** The matcher. */
+	private final transient PropertyMatcher<M> matcher;
+	/** The matching members by extracted name. */
+	private final transient Map<String, List<M>> members;
+
+	/**
+	 * Constructs the index.
+	 * 
+	 * @param matcher
+	 *            The matcher. May not be null.
+	 * @param members
+	 *            The members to index. May not be null.
+	 */
+	public MemberIndex(final PropertyMatcher<M> matcher, final Iterable<? extends M> members) {
+		Validate.notNull(matcher, "Matcher may not be null.");
+		Validate.notNull(members, "Members may not be null.");
+		this.matcher = matcher;
+		this.members = new HashMap<String, List<M>>();
+		for (final M member : members) {
+			if (matcher.matches(member)) {
+				final String name = matcher.extractName(member);
+				List<M> named = this.members.get(name);
+				if (CheckUtil.isNull(named)) {
+					named = new LinkedList<M>();
+					this.members.put(name, named);
+				}
+				named.add(member);
+			}
+		}
+	}
+
+	/**
+	 * Looks up the members for a property, in the order they were indexed.
+	 * Equivalent to filtering all members on
+	 * {@link PropertyMatcher#matches(Member, String, Class)}.
+	 * 
+	 * @param name
+	 *            The property name. May not be null.
+	 * @param type
+	 *            The property type. May not be null.
+	 * @return The matching members, may be empty.
+	 */
+	public List<M> lookup(final String name, final Class<?> type) {
+		Validate.notNull(name, MemberIndex.NAME_NULL);
+		Validate.notNull(type, "Type may not be null.");
+		List<M> result;
+		final List<M> named = this.members.get(name);
+		if (CheckUtil.isNull(named)) {
+			result = Collections.emptyList();
+		} else {
+			result = new LinkedList<M>();
+			for (final M member : named) {
+				if (type.equals(this.matcher.extractType(member))) {
+					result.add(member);
+				}
+			}
+		}
+		return result;
+	}
+}
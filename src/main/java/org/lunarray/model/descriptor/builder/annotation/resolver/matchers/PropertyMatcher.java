@@ -84,6 +84,15 @@ public interface PropertyMatcher<M extends Member> {
 	 */
 	Class<?> extractType(M type);
 
+	/**
+	 * Indexes the members this matcher matches by their extracted name.
+	 * 
+	 * @param members
+	 *            The members. May not be null.
+	 * @return The index.
+	 */
+	MemberIndex<M> index(Iterable<? extends M> members);
+
 	/**
 	 * Sets a new value for the locale field.
 	 * 
@@ -61,7 +61,9 @@ public final class DefaultOperationAttributeResolverStrategy
 		if (CheckUtil.isNull(result)) {
 			result = operation.getName();
 		}
-		DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved name for operation {}: {}", operation, result);
+		if (DefaultOperationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved name for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -76,7 +78,9 @@ public final class DefaultOperationAttributeResolverStrategy
 				result = candidates.next().value();
 			}
 		}
-		DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved reference relation for operation {}: {}", operation, result);
+		if (DefaultOperationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved reference relation for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -85,7 +89,9 @@ public final class DefaultOperationAttributeResolverStrategy
 	public boolean isIgnore(final DescribedOperation operation) {
 		Validate.notNull(operation, DefaultOperationAttributeResolverStrategy.COMMAND_NULL);
 		final boolean result = operation.isAnnotationPresent(Ignore.class);
-		DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved is ignore for operation {}: {}", operation, result);
+		if (DefaultOperationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved is ignore for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -94,7 +100,9 @@ public final class DefaultOperationAttributeResolverStrategy
 	public boolean isReference(final DescribedOperation operation) {
 		Validate.notNull(operation, DefaultOperationAttributeResolverStrategy.COMMAND_NULL);
 		final boolean result = operation.isAnnotationPresent(Reference.class);
-		DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved is reference for operation {}: {}", operation, result);
+		if (DefaultOperationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationAttributeResolverStrategy.LOGGER.debug("Resolved is reference for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 }
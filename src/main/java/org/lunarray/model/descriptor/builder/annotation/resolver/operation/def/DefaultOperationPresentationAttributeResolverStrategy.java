@@ -60,7 +60,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().buttonKey();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved button key for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved button key for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -73,8 +75,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().buttonKey();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved button key for operation {} with qualifier {}: {}",
-				operation, qualifier, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved button key for operation {} with qualifier {}: {}",
+					operation, qualifier, result);
+		}
 		return result;
 	}
 
@@ -87,7 +91,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -100,8 +106,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for operation {} with qualifier {}: {}",
-				operation, qualifier, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for operation {} with qualifier {}: {}",
+					operation, qualifier, result);
+		}
 		return result;
 	}
 
@@ -114,7 +122,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for operation {}: {}", operation, bool);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for operation {}: {}", operation, bool);
+		}
 		return bool;
 	}
 
@@ -127,8 +137,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for operation {} with qualifier {}: {}",
-				operation, qualifier, bool);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for operation {} with qualifier {}: {}",
+					operation, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -140,7 +152,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -152,8 +166,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for operation {} with qualifier {}: {}",
-				operation, qualifier, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for operation {} with qualifier {}: {}",
+					operation, qualifier, result);
+		}
 		return result;
 	}
 
@@ -165,7 +181,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -177,8 +195,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for operation {} with qualifier {}: {}",
-				operation, qualifier, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for operation {} with qualifier {}: {}",
+					operation, qualifier, result);
+		}
 		return result;
 	}
 
@@ -194,7 +214,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 				}
 			}
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -207,7 +229,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render for operation {}: {}", operation, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render for operation {}: {}", operation, result);
+		}
 		return result;
 	}
 
@@ -220,8 +244,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render for operation {} with qualifier {}: {}",
-				operation, qualifier, result);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render for operation {} with qualifier {}: {}",
+					operation, qualifier, result);
+		}
 		return result;
 	}
 
@@ -234,7 +260,9 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for operation {}: {}", operation, bool);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for operation {}: {}", operation, bool);
+		}
 		return bool;
 	}
 
@@ -247,8 +275,10 @@ public final class DefaultOperationPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for operation {} with qualifier {}: {}",
-				operation, qualifier, bool);
+		if (DefaultOperationPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for operation {} with qualifier {}: {}",
+					operation, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -84,7 +84,9 @@ public final class DefaultOperationResolverStrategy
 	/** {@inheritDoc} */
 	@Override
 	public List<DescribedOperation> resolveOperations(final DescribedEntity<?> entityType) {
-		DefaultOperationResolverStrategy.LOGGER.debug("Resolving operations for entity {}", entityType);
+		if (DefaultOperationResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationResolverStrategy.LOGGER.debug("Resolving operations for entity {}", entityType);
+		}
 		Validate.notNull(entityType, "Entity may not be null.");
 		final List<DescribedOperation> operations = new LinkedList<DescribedOperation>();
 		final List<Method> methods = new LinkedList<Method>();
@@ -109,7 +111,9 @@ public final class DefaultOperationResolverStrategy
 				operations.add(this.processOperation(entityType, names, process, method, originalName));
 			}
 		}
-		DefaultOperationResolverStrategy.LOGGER.debug("Resolved operations {} for entity {}", operations, entityType);
+		if (DefaultOperationResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultOperationResolverStrategy.LOGGER.debug("Resolved operations {} for entity {}", operations, entityType);
+		}
 		return operations;
 	}
 
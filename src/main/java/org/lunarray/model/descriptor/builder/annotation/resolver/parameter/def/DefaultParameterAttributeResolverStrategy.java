@@ -56,7 +56,9 @@ public final class DefaultParameterAttributeResolverStrategy
 				result = candidates.next().value();
 			}
 		}
-		DefaultParameterAttributeResolverStrategy.LOGGER.debug("Resolve reference relation for parameter {}: {}", parameter, result);
+		if (DefaultParameterAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterAttributeResolverStrategy.LOGGER.debug("Resolve reference relation for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -65,7 +67,9 @@ public final class DefaultParameterAttributeResolverStrategy
 	public boolean isReference(final DescribedParameter<?> parameter) {
 		Validate.notNull(parameter, DefaultParameterAttributeResolverStrategy.PARAMETER_NULL);
 		final boolean result = parameter.isAnnotationPresent(Reference.class);
-		DefaultParameterAttributeResolverStrategy.LOGGER.debug("Resolve is reference for parameter {}: {}", parameter, result);
+		if (DefaultParameterAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterAttributeResolverStrategy.LOGGER.debug("Resolve is reference for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 }
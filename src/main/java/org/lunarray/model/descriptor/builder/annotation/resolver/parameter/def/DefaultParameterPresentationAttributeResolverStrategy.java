@@ -61,7 +61,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for parameter {}: {}", parameter, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -74,8 +76,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for parameter {} with qualifier {}: {}",
-				parameter, qualifier, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for parameter {} with qualifier {}: {}",
+					parameter, qualifier, result);
+		}
 		return result;
 	}
 
@@ -88,7 +92,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for parameter {}: {}", parameter, bool);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for parameter {}: {}", parameter, bool);
+		}
 		return bool;
 	}
 
@@ -101,8 +107,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for parameter {} with qualifier {}: {}",
-				parameter, qualifier, bool);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is inline for parameter {} with qualifier {}: {}",
+					parameter, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -115,7 +123,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for parameter {}: {}", parameter, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -128,8 +138,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for parameter {} with qualifier {}: {}",
-				parameter, qualifier, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for parameter {} with qualifier {}: {}",
+					parameter, qualifier, result);
+		}
 		return result;
 	}
 
@@ -142,7 +154,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for parameter {}: {}", parameter, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -155,8 +169,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for parameter {} with qualifier {}: {}",
-				parameter, qualifier, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for parameter {} with qualifier {}: {}",
+					parameter, qualifier, result);
+		}
 		return result;
 	}
 
@@ -173,7 +189,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 				}
 			}
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for parameter {}: {}", parameter, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -186,7 +204,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for parameter {}: {}", parameter, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for parameter {}: {}", parameter, result);
+		}
 		return result;
 	}
 
@@ -199,8 +219,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for parameter {} with qualifier {}: {}",
-				parameter, qualifier, result);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for parameter {} with qualifier {}: {}",
+					parameter, qualifier, result);
+		}
 		return result;
 	}
 
@@ -213,7 +235,9 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().required();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for parameter {}: {}", parameter, bool);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for parameter {}: {}", parameter, bool);
+		}
 		return bool;
 	}
 
@@ -226,8 +250,10 @@ public final class DefaultParameterPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().required();
 		}
-		DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for parameter {} with qualifier {}: {}",
-				parameter, qualifier, bool);
+		if (DefaultParameterPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for parameter {} with qualifier {}: {}",
+					parameter, qualifier, bool);
+		}
 		return bool;
 	}
 
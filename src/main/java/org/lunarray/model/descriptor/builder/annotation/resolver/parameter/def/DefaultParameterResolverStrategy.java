@@ -51,7 +51,9 @@ public final class DefaultParameterResolverStrategy
 	/** {@inheritDoc} */
 	@Override
 	public List<DescribedParameter<?>> resolveParameters(final DescribedOperation operation) {
-		DefaultParameterResolverStrategy.LOGGER.debug("Resolving parameters for operation {}", operation);
+		if (DefaultParameterResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterResolverStrategy.LOGGER.debug("Resolving parameters for operation {}", operation);
+		}
 		Validate.notNull(operation, "Operation may not be null.");
 		final Method method = operation.getOperation();
 		final Class<?>[] parameterTypes = method.getParameterTypes();
@@ -61,7 +63,9 @@ public final class DefaultParameterResolverStrategy
 			parameters.add(iterator, this.process(iterator, type, method, operation));
 			iterator = iterator + 1;
 		}
-		DefaultParameterResolverStrategy.LOGGER.debug("Resolved parameters {} for operation {}", parameters, operation);
+		if (DefaultParameterResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultParameterResolverStrategy.LOGGER.debug("Resolved parameters {} for operation {}", parameters, operation);
+		}
 		return parameters;
 	}
 
@@ -30,6 +30,7 @@ import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
 import org.lunarray.model.descriptor.accessor.property.AbstractProperty;
 import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
 import org.lunarray.model.descriptor.accessor.property.PropertyBuilder;
+import org.lunarray.model.descriptor.builder.annotation.resolver.matchers.MemberIndex;
 import org.lunarray.model.descriptor.builder.annotation.resolver.matchers.PropertyMatcher;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.AbstractPropertyResolver;
 import org.lunarray.model.descriptor.util.ReflectionUtil;
@@ -57,7 +58,9 @@ public final class AccessorPropertyResolver
 	/** {@inheritDoc} */
 	@Override
 	public List<DescribedProperty<?>> resolveProperties(final DescribedEntity<?> entityType) {
-		AccessorPropertyResolver.LOGGER.debug("Resolving properties for {}", entityType);
+		if (AccessorPropertyResolver.LOGGER.isDebugEnabled()) {
+			AccessorPropertyResolver.LOGGER.debug("Resolving properties for {}", entityType);
+		}
 		Validate.notNull(entityType, "Entity may not be null.");
 		final List<DescribedProperty<?>> properties = new LinkedList<DescribedProperty<?>>();
 		final Class<?> type = entityType.getEntityType();
@@ -65,12 +68,16 @@ public final class AccessorPropertyResolver
 		ReflectionUtil.getMethods(methods, type, false, true);
 		final List<Field> fields = new LinkedList<Field>();
 		ReflectionUtil.getFields(fields, type);
+		final MemberIndex<Field> fieldIndex = this.getFieldMatcherResolver().index(fields);
+		final MemberIndex<Method> mutatorIndex = this.getMutatorMatcherResolver().index(methods);
 		for (final Method method : methods) {
 			if (this.getAccessorMatcherResolver().matches(method)) {
-				properties.add(this.processProperty(entityType, methods, fields, method));
+				properties.add(this.processProperty(entityType, mutatorIndex, fieldIndex, method));
 			}
 		}
-		AccessorPropertyResolver.LOGGER.debug("Resolved properties {} for entity {}", properties, entityType);
+		if (AccessorPropertyResolver.LOGGER.isDebugEnabled()) {
+			AccessorPropertyResolver.LOGGER.debug("Resolved properties {} for entity {}", properties, entityType);
+		}
 		return properties;
 	}
 
@@ -79,18 +86,18 @@ public final class AccessorPropertyResolver
 	 * 
 	 * @param entityType
 	 *            The entity type.
-	 * @param methods
-	 *            The methods.
+	 * @param mutators
+	 *            The mutator candidates.
 	 * @param fields
-	 *            The fields.
+	 *            The field candidates.
 	 * @param method
 	 *            The accessor method.
 	 * @param <P>
 	 *            The property type.
 	 * @return The property.
 	 */
-	private <P> DescribedProperty<P> processProperty(final DescribedEntity<?> entityType, final List<Method> methods,
-			final List<Field> fields, final Method method) {
+	private <P> DescribedProperty<P> processProperty(final DescribedEntity<?> entityType, final MemberIndex<Method> mutators,
+			final MemberIndex<Field> fields, final Method method) {
 		final PropertyBuilder<P> builder = AbstractProperty.createBuilder();
 		for (final Annotation a : method.getAnnotations()) {
 			builder.addAnnotation(a);
@@ -103,23 +110,19 @@ public final class AccessorPropertyResolver
 		final String name = resolver.extractName(method);
 		builder.name(name).type(type).entityType(entityType);
 		// Resolve field.
-		for (final Field field : fields) {
-			if (this.getFieldMatcherResolver().matches(field, name, type)) {
-				for (final Annotation a : field.getAnnotations()) {
-					builder.addAnnotation(a);
-				}
-				builder.raw(field);
+		for (final Field field : fields.lookup(name, type)) {
+			for (final Annotation a : field.getAnnotations()) {
+				builder.addAnnotation(a);
 			}
+			builder.raw(field);
 		}
 		// Resolve mutator.
 		Method mutator = null;
-		for (final Method mutatorCandidate : methods) {
-			if (this.getMutatorMatcherResolver().matches(mutatorCandidate, name, type)) {
-				for (final Annotation a : mutatorCandidate.getAnnotations()) {
-					builder.addAnnotation(a);
-				}
-				mutator = mutatorCandidate;
+		for (final Method mutatorCandidate : mutators.lookup(name, type)) {
+			for (final Annotation a : mutatorCandidate.getAnnotations()) {
+				builder.addAnnotation(a);
 			}
+			mutator = mutatorCandidate;
 		}
 		if (CheckUtil.isNull(mutator)) {
 			builder.addModifier(Modifier.FINAL);
@@ -0,0 +1,173 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.property.compiled;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
+import org.lunarray.model.descriptor.accessor.reference.property.generated.CompiledEntityAccessor;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.PropertyAttributeResolverStrategy;
+import org.lunarray.model.descriptor.resource.generated.CompiledEntityMetadata;
+import org.lunarray.model.descriptor.resource.generated.CompiledPropertyMetadata;
+
+/**
+ * An attribute resolver strategy that reads the property attributes from the
+ * compiled metadata. Properties that weren't compiled are resolved by the
+ * delegate.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledPropertyAttributeResolverStrategy
+		implements PropertyAttributeResolverStrategy {
+
+	/**
+	 * Finds the compiled metadata of a property.
+	 * 
+	 * @param property
+	 *            The property. May not be null.
+	 * @return The metadata, or null if the property wasn't compiled.
+	 */
+	public static CompiledPropertyMetadata metadata(final DescribedProperty<?> property) {
+		Validate.notNull(property, "Property may not be null.");
+		final CompiledEntityMetadata entity = CompiledEntityAccessor.findMetadata(property.getEntityType().getEntityType());
+		CompiledPropertyMetadata result = null;
+		if (!CheckUtil.isNull(entity)) {
+			result = entity.getProperty(property.getName());
+		}
+		return result;
+	}
+
+	/** The delegate. */
+	private final transient PropertyAttributeResolverStrategy delegate;
+
+	/**
+	 * Constructs the strategy.
+	 * 
+	 * @param delegate
+	 *            The delegate. May not be null.
+	 */
+	public CompiledPropertyAttributeResolverStrategy(final PropertyAttributeResolverStrategy delegate) {
+		Validate.notNull(delegate, "Delegate may not be null.");
+		this.delegate = delegate;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getAlias(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final String result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.getAlias(property);
+		} else {
+			result = metadata.getAlias();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getName(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final String result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.getName(property);
+		} else {
+			result = metadata.getName();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Class<?> getReferenceRelation(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final Class<?> result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.getReferenceRelation(property);
+		} else {
+			result = metadata.getReference();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isAlias(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final boolean result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.isAlias(property);
+		} else {
+			result = !CheckUtil.isNull(metadata.getAlias());
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isEmbedded(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final boolean result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.isEmbedded(property);
+		} else {
+			result = metadata.isEmbedded();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isIgnore(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final boolean result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.isIgnore(property);
+		} else {
+			result = metadata.isIgnore();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isKey(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final boolean result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.isKey(property);
+		} else {
+			result = metadata.isKey()
+					|| (Enum.class.isAssignableFrom(property.getEntityType().getEntityType()) && "name".equals(property.getName()));
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isReference(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final boolean result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.isReference(property);
+		} else {
+			result = !CheckUtil.isNull(metadata.getReference());
+		}
+		return result;
+	}
+}
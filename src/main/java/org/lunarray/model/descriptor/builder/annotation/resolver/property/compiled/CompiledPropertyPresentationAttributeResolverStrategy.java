@@ -0,0 +1,335 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.property.compiled;
+
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
+import org.lunarray.model.descriptor.builder.annotation.resolver.property.PresentationPropertyAttributeResolverStrategy;
+import org.lunarray.model.descriptor.presentation.RenderType;
+import org.lunarray.model.descriptor.resource.generated.CompiledHint;
+import org.lunarray.model.descriptor.resource.generated.CompiledPropertyMetadata;
+import org.lunarray.model.descriptor.util.BooleanInherit;
+
+/**
+ * A presentation attribute resolver strategy that reads the hints from the
+ * compiled metadata. Properties that weren't compiled are resolved by the
+ * delegate.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledPropertyPresentationAttributeResolverStrategy
+		implements PresentationPropertyAttributeResolverStrategy {
+
+	/**
+	 * Finds the compiled hint of a property.
+	 * 
+	 * @param property
+	 *            The property.
+	 * @return The hint, or null if the property wasn't compiled.
+	 */
+	private static CompiledHint hint(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		CompiledHint result = null;
+		if (!CheckUtil.isNull(metadata)) {
+			result = metadata.getHint();
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the compiled hint of a property for a qualifier.
+	 * 
+	 * @param property
+	 *            The property.
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint, or null if the property wasn't compiled.
+	 */
+	private static CompiledHint hint(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		CompiledHint result = null;
+		if (!CheckUtil.isNull(metadata)) {
+			result = metadata.getHint(qualifier);
+		}
+		return result;
+	}
+
+	/** The delegate. */
+	private final transient PresentationPropertyAttributeResolverStrategy delegate;
+
+	/**
+	 * Constructs the strategy.
+	 * 
+	 * @param delegate
+	 *            The delegate. May not be null.
+	 */
+	public CompiledPropertyPresentationAttributeResolverStrategy(final PresentationPropertyAttributeResolverStrategy delegate) {
+		Validate.notNull(delegate, "Delegate may not be null.");
+		this.delegate = delegate;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String format(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.format(property);
+		} else {
+			result = hint.getFormat();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String format(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.format(property, qualifier);
+		} else {
+			result = hint.getFormat();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit immutable(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.immutable(property);
+		} else {
+			result = hint.getImmutable();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit immutable(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.immutable(property, qualifier);
+		} else {
+			result = hint.getImmutable();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit inLine(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.inLine(property);
+		} else {
+			result = hint.getInLine();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit inLine(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.inLine(property, qualifier);
+		} else {
+			result = hint.getInLine();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String labelKey(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.labelKey(property);
+		} else {
+			result = hint.getLabelKey();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String labelKey(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final String result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.labelKey(property, qualifier);
+		} else {
+			result = hint.getLabelKey();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit name(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.name(property);
+		} else {
+			result = hint.getName();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit name(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.name(property, qualifier);
+		} else {
+			result = hint.getName();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int order(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final int result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.order(property);
+		} else {
+			result = hint.getOrder();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int order(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final int result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.order(property, qualifier);
+		} else {
+			result = hint.getOrder();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<Class<?>> qualifiers(final DescribedProperty<?> property) {
+		final CompiledPropertyMetadata metadata = CompiledPropertyAttributeResolverStrategy.metadata(property);
+		final List<Class<?>> result;
+		if (CheckUtil.isNull(metadata)) {
+			result = this.delegate.qualifiers(property);
+		} else {
+			result = metadata.getQualifiers();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public RenderType render(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final RenderType result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.render(property);
+		} else {
+			result = hint.getRender();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public RenderType render(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final RenderType result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.render(property, qualifier);
+		} else {
+			result = hint.getRender();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit required(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.required(property);
+		} else {
+			result = hint.getRequired();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit required(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.required(property, qualifier);
+		} else {
+			result = hint.getRequired();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit visible(final DescribedProperty<?> property) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.visible(property);
+		} else {
+			result = hint.getVisible();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BooleanInherit visible(final DescribedProperty<?> property, final Class<?> qualifier) {
+		final CompiledHint hint = CompiledPropertyPresentationAttributeResolverStrategy.hint(property, qualifier);
+		final BooleanInherit result;
+		if (CheckUtil.isNull(hint)) {
+			result = this.delegate.visible(property, qualifier);
+		} else {
+			result = hint.getVisible();
+		}
+		return result;
+	}
+}
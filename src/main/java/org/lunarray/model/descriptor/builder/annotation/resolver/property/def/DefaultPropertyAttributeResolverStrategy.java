@@ -62,7 +62,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 				alias = candidates.next().value();
 			}
 		}
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved alias for property {}: {}", property, alias);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved alias for property {}: {}", property, alias);
+		}
 		return alias;
 	}
 
@@ -80,7 +82,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 		if (CheckUtil.isNull(result)) {
 			result = property.getName();
 		}
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved name for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved name for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -95,7 +99,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 				result = candidates.next().value();
 			}
 		}
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved reference relation for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved reference relation for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -104,7 +110,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 	public boolean isAlias(final DescribedProperty<?> property) {
 		Validate.notNull(property, DefaultPropertyAttributeResolverStrategy.PROPERTY_NULL);
 		final boolean result = property.isAnnotationPresent(Alias.class);
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is alias for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is alias for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -113,7 +121,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 	public boolean isEmbedded(final DescribedProperty<?> property) {
 		Validate.notNull(property, DefaultPropertyAttributeResolverStrategy.PROPERTY_NULL);
 		final boolean result = property.isAnnotationPresent(Embedded.class);
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is embedded for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is embedded for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -122,7 +132,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 	public boolean isIgnore(final DescribedProperty<?> property) {
 		Validate.notNull(property, DefaultPropertyAttributeResolverStrategy.PROPERTY_NULL);
 		final boolean result = property.isAnnotationPresent(Ignore.class);
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is ignore for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is ignore for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -133,7 +145,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 		boolean identifier = false;
 		identifier |= property.isAnnotationPresent(Key.class);
 		identifier |= (Enum.class.isAssignableFrom(property.getEntityType().getEntityType()) && "name".equals(property.getName()));
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is key for property {}: {}", property, identifier);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is key for property {}: {}", property, identifier);
+		}
 		return identifier;
 	}
 
@@ -142,7 +156,9 @@ public final class DefaultPropertyAttributeResolverStrategy
 	public boolean isReference(final DescribedProperty<?> property) {
 		Validate.notNull(property, DefaultPropertyAttributeResolverStrategy.PROPERTY_NULL);
 		final boolean result = property.isAnnotationPresent(Reference.class);
-		DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is reference for property {}: {}", property, result);
+		if (DefaultPropertyAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyAttributeResolverStrategy.LOGGER.debug("Resolved is reference for property {}: {}", property, result);
+		}
 		return result;
 	}
 }
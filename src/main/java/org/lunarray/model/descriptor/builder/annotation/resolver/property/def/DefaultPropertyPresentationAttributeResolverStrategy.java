@@ -60,7 +60,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for property {}: {}", property, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -73,8 +75,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().format();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for property {} with qualifier {}: {}",
-				property, qualifier, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved format for property {} with qualifier {}: {}",
+					property, qualifier, result);
+		}
 		return result;
 	}
 
@@ -87,7 +91,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().immutable();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is immutable for property {}: {}", property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is immutable for property {}: {}", property, bool);
+		}
 		return bool;
 	}
 
@@ -100,8 +106,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().immutable();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is immutable for property {} with qualifier {}: {}",
-				property, qualifier, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is immutable for property {} with qualifier {}: {}",
+					property, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -114,7 +122,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is in line for property {}: {}", property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is in line for property {}: {}", property, bool);
+		}
 		return bool;
 	}
 
@@ -127,8 +137,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().inLine();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is in line for property {} with qualifier {}: {}",
-				property, qualifier, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is in line for property {} with qualifier {}: {}",
+					property, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -141,7 +153,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for property {}: {}", property, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -154,8 +168,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while (("".equals(result)) && hint.hasNext()) {
 			result = hint.next().labelKey();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for property {} with qualifier {}: {}",
-				property, qualifier, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved label key for property {} with qualifier {}: {}",
+					property, qualifier, result);
+		}
 		return result;
 	}
 
@@ -168,7 +184,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().name();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is name for property {}: {}", property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is name for property {}: {}", property, bool);
+		}
 		return bool;
 	}
 
@@ -181,8 +199,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().name();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is name for property {} with qualifier {}: {}",
-				property, qualifier, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is name for property {} with qualifier {}: {}",
+					property, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -195,7 +215,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for property {}: {}", property, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -208,8 +230,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((result == Integer.MIN_VALUE) && hint.hasNext()) {
 			result = hint.next().order();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for property {} with qualifier {}: {}", property,
-				qualifier, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved order for property {} with qualifier {}: {}", property,
+					qualifier, result);
+		}
 		return result;
 	}
 
@@ -232,7 +256,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 				result.add(hint.name());
 			}
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for property {}: {}", property, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved qualifiers for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -245,7 +271,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for property {}: {}", property, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for property {}: {}", property, result);
+		}
 		return result;
 	}
 
@@ -258,8 +286,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((result == RenderType.DEFAULT) && hint.hasNext()) {
 			result = hint.next().render();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for property {} with qualifier {}: {}",
-				property, qualifier, result);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved render type for property {} with qualifier {}: {}",
+					property, qualifier, result);
+		}
 		return result;
 	}
 
@@ -272,7 +302,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().required();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for property {}: {}", property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for property {}: {}", property, bool);
+		}
 		return bool;
 	}
 
@@ -285,8 +317,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().required();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for property {} with qualifier {}: {}",
-				property, qualifier, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is required for property {} with qualifier {}: {}",
+					property, qualifier, bool);
+		}
 		return bool;
 	}
 
@@ -299,7 +333,9 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for property {}: {}", property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for property {}: {}", property, bool);
+		}
 		return bool;
 	}
 
@@ -312,8 +348,10 @@ public final class DefaultPropertyPresentationAttributeResolverStrategy
 		while ((BooleanInherit.INHERIT == bool) && hint.hasNext()) {
 			bool = hint.next().visible();
 		}
-		DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for property {} with qualifier, : {}",
-				property, bool);
+		if (DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.isDebugEnabled()) {
+			DefaultPropertyPresentationAttributeResolverStrategy.LOGGER.debug("Resolved is visible for property {} with qualifier, : {}",
+					property, bool);
+		}
 		return bool;
 	}
 
@@ -30,6 +30,7 @@ import org.lunarray.model.descriptor.accessor.entity.DescribedEntity;
 import org.lunarray.model.descriptor.accessor.property.AbstractProperty;
 import org.lunarray.model.descriptor.accessor.property.DescribedProperty;
 import org.lunarray.model.descriptor.accessor.property.PropertyBuilder;
+import org.lunarray.model.descriptor.builder.annotation.resolver.matchers.MemberIndex;
 import org.lunarray.model.descriptor.builder.annotation.resolver.matchers.PropertyMatcher;
 import org.lunarray.model.descriptor.builder.annotation.resolver.property.AbstractPropertyResolver;
 import org.lunarray.model.descriptor.util.ReflectionUtil;
@@ -57,7 +58,9 @@ public final class FieldPropertyResolver
 	/** {@inheritDoc} */
 	@Override
 	public List<DescribedProperty<?>> resolveProperties(final DescribedEntity<?> entityType) {
-		FieldPropertyResolver.LOGGER.debug("Resolving properties for {}", entityType);
+		if (FieldPropertyResolver.LOGGER.isDebugEnabled()) {
+			FieldPropertyResolver.LOGGER.debug("Resolving properties for {}", entityType);
+		}
 		Validate.notNull(entityType, "Entity may not be null.");
 		final Class<?> type = entityType.getEntityType();
 		final List<DescribedProperty<?>> properties = new LinkedList<DescribedProperty<?>>();
@@ -65,12 +68,16 @@ public final class FieldPropertyResolver
 		ReflectionUtil.getMethods(methods, type, false, true);
 		final List<Field> fields = new LinkedList<Field>();
 		ReflectionUtil.getFields(fields, type);
+		final MemberIndex<Method> accessorIndex = this.getAccessorMatcherResolver().index(methods);
+		final MemberIndex<Method> mutatorIndex = this.getMutatorMatcherResolver().index(methods);
 		for (final Field field : fields) {
 			if (this.getFieldMatcherResolver().matches(field)) {
-				properties.add(this.processProperty(entityType, methods, field));
+				properties.add(this.processProperty(entityType, accessorIndex, mutatorIndex, field));
 			}
 		}
-		FieldPropertyResolver.LOGGER.debug("Resolved properties {} for entity {}", properties, entityType);
+		if (FieldPropertyResolver.LOGGER.isDebugEnabled()) {
+			FieldPropertyResolver.LOGGER.debug("Resolved properties {} for entity {}", properties, entityType);
+		}
 		return properties;
 	}
 
@@ -79,15 +86,18 @@ public final class FieldPropertyResolver
 	 * 
 	 * @param entityType
 	 *            The entity type.
-	 * @param methods
-	 *            The method list.
+	 * @param accessors
+	 *            The accessor candidates.
+	 * @param mutators
+	 *            The mutator candidates.
 	 * @param field
 	 *            The property field.
 	 * @param <P>
 	 *            The property type.
 	 * @return The property.
 	 */
-	private <P> DescribedProperty<P> processProperty(final DescribedEntity<?> entityType, final List<Method> methods, final Field field) {
+	private <P> DescribedProperty<P> processProperty(final DescribedEntity<?> entityType, final MemberIndex<Method> accessors,
+			final MemberIndex<Method> mutators, final Field field) {
 		final PropertyBuilder<P> builder = AbstractProperty.createBuilder();
 		for (final Annotation a : field.getAnnotations()) {
 			builder.addAnnotation(a);
@@ -99,8 +109,8 @@ public final class FieldPropertyResolver
 		final String name = matcher.extractName(field);
 		builder.raw(field).genericType(matcher.extractGenericType(field));
 		builder.name(name).type(type).entityType(entityType);
-		this.resolveAccessor(methods, builder, type, name);
-		this.resolveMutator(methods, builder, type, name);
+		this.resolveAccessor(accessors, builder, type, name);
+		this.resolveMutator(mutators, builder, type, name);
 		return builder.buildDescribed();
 	}
 
@@ -108,7 +118,7 @@ public final class FieldPropertyResolver
 	 * Resolves the accessor.
 	 * 
 	 * @param methods
-	 *            Candidate methods.
+	 *            The candidate methods.
 	 * @param builder
 	 *            The builder.
 	 * @param type
@@ -118,15 +128,14 @@ public final class FieldPropertyResolver
 	 * @param <P>
 	 *            The property type.
 	 */
-	private <P> void resolveAccessor(final List<Method> methods, final PropertyBuilder<P> builder, final Class<P> type, final String name) {
+	private <P> void resolveAccessor(final MemberIndex<Method> methods, final PropertyBuilder<P> builder, final Class<P> type,
+			final String name) {
 		Method accessor = null;
-		for (final Method method : methods) {
-			if (this.getAccessorMatcherResolver().matches(method, name, type)) {
-				for (final Annotation a : method.getAnnotations()) {
-					builder.addAnnotation(a);
-				}
-				accessor = method;
+		for (final Method method : methods.lookup(name, type)) {
+			for (final Annotation a : method.getAnnotations()) {
+				builder.addAnnotation(a);
 			}
+			accessor = method;
 		}
 		if (!CheckUtil.isNull(accessor)) {
 			builder.accessor(accessor);
@@ -137,7 +146,7 @@ public final class FieldPropertyResolver
 	 * Resolves the mutator.
 	 * 
 	 * @param methods
-	 *            Candidate methods.
+	 *            The candidate methods.
 	 * @param builder
 	 *            The builder.
 	 * @param type
@@ -147,15 +156,14 @@ public final class FieldPropertyResolver
 	 * @param <P>
 	 *            The property type.
 	 */
-	private <P> void resolveMutator(final List<Method> methods, final PropertyBuilder<P> builder, final Class<P> type, final String name) {
+	private <P> void resolveMutator(final MemberIndex<Method> methods, final PropertyBuilder<P> builder, final Class<P> type,
+			final String name) {
 		Method mutator = null;
-		for (final Method method : methods) {
-			if (this.getMutatorMatcherResolver().matches(method, name, type)) {
-				for (final Annotation a : method.getAnnotations()) {
-					builder.addAnnotation(a);
-				}
-				mutator = method;
+		for (final Method method : methods.lookup(name, type)) {
+			for (final Annotation a : method.getAnnotations()) {
+				builder.addAnnotation(a);
 			}
+			mutator = method;
 		}
 		if (CheckUtil.isNull(mutator)) {
 			builder.addModifier(Modifier.FINAL);
@@ -0,0 +1,277 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Locale;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.converter.def.ToolDelegatingConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
+import org.lunarray.model.descriptor.util.StringUtil;
+
+/**
+ * A converter bound to a type and a format. The converter is resolved once,
+ * when the model is built, so conversions do not look it up again.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <T>
+ *            The converted type.
+ */
+public final class ConverterBinding<T>
+		implements Serializable {
+
+	/** Serial id. */
+	private static final long serialVersionUID = -3306021447815373346L;
+	/** The resolved converter. */
+	private transient volatile Converter<T> converter;
+	/** The converter tool reference. */
+	private final ExtensionRef<ConverterTool> converterToolRef;
+	/** The format, may be null. */
+	private final String format;
+	/** Whether a format is set. */
+	private transient boolean formatted;
+	/** The converted type. */
+	private final Class<T> type;
+
+	/**
+	 * Constructs the binding.
+	 * 
+	 * @param converterToolRef
+	 *            The converter tool reference. May be null.
+	 * @param type
+	 *            The converted type. May not be null.
+	 * @param format
+	 *            The format. May be null.
+	 * @param converter
+	 *            The resolved converter. May be null.
+	 */
+	private ConverterBinding(final ExtensionRef<ConverterTool> converterToolRef, final Class<T> type, final String format,
+			final Converter<T> converter) {
+		Validate.notNull(type, "Type may not be null.");
+		this.converterToolRef = converterToolRef;
+		this.type = type;
+		this.format = format;
+		this.formatted = !StringUtil.isEmptyString(format);
+		this.converter = converter;
+	}
+
+	/**
+	 * Binds a converter for a type. The converter is resolved eagerly, if the
+	 * converter tool is available and knows the type.
+	 * 
+	 * @param converterToolRef
+	 *            The converter tool reference. May be null.
+	 * @param type
+	 *            The converted type. May not be null.
+	 * @param format
+	 *            The format. May be null.
+	 * @param <T>
+	 *            The converted type.
+	 * @return The binding.
+	 */
+	public static <T> ConverterBinding<T> bind(final ExtensionRef<ConverterTool> converterToolRef, final Class<T> type,
+			final String format) {
+		final ConverterBinding<T> binding = new ConverterBinding<T>(converterToolRef, type, format, null);
+		try {
+			binding.getConverter();
+		} catch (final ConverterException e) {
+			// Resolved again on use, and reported there.
+			binding.converter = null;
+		}
+		return binding;
+	}
+
+	/**
+	 * Parses a value.
+	 * 
+	 * @param stringValue
+	 *            The string value.
+	 * @return The instance.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	public T convertToInstance(final String stringValue) throws ConverterException {
+		T result;
+		if (this.formatted) {
+			result = this.getConverter().convertToInstance(stringValue, this.format);
+		} else {
+			result = this.getConverter().convertToInstance(stringValue);
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a value for a locale.
+	 * 
+	 * @param stringValue
+	 *            The string value.
+	 * @param locale
+	 *            The locale.
+	 * @return The instance.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	public T convertToInstance(final String stringValue, final Locale locale) throws ConverterException {
+		T result;
+		if (this.formatted) {
+			result = this.getConverter().convertToInstance(stringValue, locale, this.format);
+		} else {
+			result = this.getConverter().convertToInstance(stringValue, locale);
+		}
+		return result;
+	}
+
+	/**
+	 * Formats a value.
+	 * 
+	 * @param instance
+	 *            The instance.
+	 * @return The string value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	public String convertToString(final T instance) throws ConverterException {
+		String result;
+		if (this.formatted) {
+			result = this.getConverter().convertToString(instance, this.format);
+		} else {
+			result = this.getConverter().convertToString(instance);
+		}
+		return result;
+	}
+
+	/**
+	 * Formats a value for a locale.
+	 * 
+	 * @param instance
+	 *            The instance.
+	 * @param locale
+	 *            The locale.
+	 * @return The string value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	public String convertToString(final T instance, final Locale locale) throws ConverterException {
+		String result;
+		if (this.formatted) {
+			result = this.getConverter().convertToString(instance, locale, this.format);
+		} else {
+			result = this.getConverter().convertToString(instance, locale);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the bound converter, resolving it if needed.
+	 * 
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if no converter could be resolved.
+	 */
+	public Converter<T> getConverter() throws ConverterException {
+		Converter<T> result = this.converter;
+		if (CheckUtil.isNull(result)) {
+			result = this.resolve();
+			this.converter = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the value for the format field.
+	 * 
+	 * @return The value for the format field.
+	 */
+	public String getFormat() {
+		return this.format;
+	}
+
+	/**
+	 * Gets the value for the type field.
+	 * 
+	 * @return The value for the type field.
+	 */
+	public Class<T> getType() {
+		return this.type;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("ConverterBinding[Type: ").append(this.type);
+		builder.append(" Format: ").append(this.format);
+		builder.append(" Converter: ").append(this.converter).append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * Binds the same converter with a different format.
+	 * 
+	 * @param otherFormat
+	 *            The format. May be null.
+	 * @return The binding.
+	 */
+	public ConverterBinding<T> withFormat(final String otherFormat) {
+		return new ConverterBinding<T>(this.converterToolRef, this.type, otherFormat, this.converter);
+	}
+
+	/**
+	 * Restores the format flag.
+	 * 
+	 * @param input
+	 *            The input.
+	 * @throws IOException
+	 *             Thrown if the object could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class could not be found.
+	 */
+	private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+		input.defaultReadObject();
+		this.formatted = !StringUtil.isEmptyString(this.format);
+	}
+
+	/**
+	 * Resolves the converter from the converter tool.
+	 * 
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if no converter could be resolved.
+	 */
+	private Converter<T> resolve() throws ConverterException {
+		ConverterTool converterTool = null;
+		if (!CheckUtil.isNull(this.converterToolRef)) {
+			converterTool = this.converterToolRef.get();
+		}
+		if (CheckUtil.isNull(converterTool)) {
+			throw new ConverterException(String.format("No converter tool available for '%s'.", this.type));
+		}
+		Converter<T> result;
+		if (converterTool instanceof ConverterResolver) {
+			result = ((ConverterResolver) converterTool).resolveConverter(this.type);
+		} else {
+			result = new ToolDelegatingConverter<T>(converterTool, this.type);
+		}
+		return result;
+	}
+}
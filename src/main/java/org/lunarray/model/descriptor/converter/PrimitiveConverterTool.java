@@ -0,0 +1,56 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter;
+
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * A converter tool that converts primitive numbers without boxing.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public interface PrimitiveConverterTool
+		extends ConverterTool {
+
+	/**
+	 * Gets the converter for {@code double} values.
+	 * 
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if no primitive converter is available.
+	 */
+	PrimitiveDoubleConverter getDoubleConverter() throws ConverterException;
+
+	/**
+	 * Gets the converter for {@code int} values.
+	 * 
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if no primitive converter is available.
+	 */
+	PrimitiveIntConverter getIntConverter() throws ConverterException;
+
+	/**
+	 * Gets the converter for {@code long} values.
+	 * 
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if no primitive converter is available.
+	 */
+	PrimitiveLongConverter getLongConverter() throws ConverterException;
+}
@@ -0,0 +1,94 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter;
+
+import java.util.Locale;
+
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * Converts {@code int} values without boxing them or creating
+ * intermediate strings. Character arrays may be parsed by wrapping them in a
+ * {@link java.nio.CharBuffer}.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public interface PrimitiveIntConverter {
+
+	/**
+	 * Formats a value and appends it.
+	 * 
+	 * @param builder
+	 *            The builder to append to. May not be null.
+	 * @param value
+	 *            The value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	void appendTo(StringBuilder builder, int value) throws ConverterException;
+
+	/**
+	 * Formats a value and appends it.
+	 * 
+	 * @param builder
+	 *            The builder to append to. May not be null.
+	 * @param value
+	 *            The value.
+	 * @param locale
+	 *            The locale. May be null.
+	 * @param format
+	 *            The format. May be null.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	void appendTo(StringBuilder builder, int value, Locale locale, String format) throws ConverterException;
+
+	/**
+	 * Parses a range of characters.
+	 * 
+	 * @param value
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	int parseInt(CharSequence value, int start, int end) throws ConverterException;
+
+	/**
+	 * Parses a range of characters.
+	 * 
+	 * @param value
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @param locale
+	 *            The locale. May be null.
+	 * @param format
+	 *            The format. May be null.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	int parseInt(CharSequence value, int start, int end, Locale locale, String format) throws ConverterException;
+}
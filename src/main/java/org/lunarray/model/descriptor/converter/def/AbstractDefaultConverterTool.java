@@ -18,14 +18,27 @@
 package org.lunarray.model.descriptor.converter.def;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.common.generics.GenericsUtil;
 import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.ConverterResolver;
 import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveDoubleConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveIntConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveLongConverter;
 import org.lunarray.model.descriptor.converter.def.converters.AtomicBooleanConverter;
 import org.lunarray.model.descriptor.converter.def.converters.AtomicIntegerConverter;
 import org.lunarray.model.descriptor.converter.def.converters.AtomicLongConverter;
@@ -60,29 +73,40 @@ import org.lunarray.model.descriptor.converter.def.converters.UUIDConverter;
 import org.lunarray.model.descriptor.converter.def.converters.XMLDurationConverter;
 import org.lunarray.model.descriptor.converter.def.converters.XMLGregorianCalendarConverter;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.util.ReflectionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Abstract converter tool with some default converters.
+ * Abstract converter tool with some default converters. Converters are held in
+ * a copy-on-write table, so converters may be added while other threads
+ * convert. Types without a converter of their own resolve to the converter of
+ * their nearest super class or interface. Resolutions, including failed ones,
+ * are cached per type until the next converter is added. The converters
+ * registered for the primitive number types back the primitive converters, if
+ * they support them. Extensions are registered by the interfaces a class
+ * implements directly, so both tool interfaces are declared.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public abstract class AbstractDefaultConverterTool
-		implements ConverterTool {
+		implements ConverterTool, PrimitiveConverterTool, ConverterResolver {
 
 	/** Validation message. */
 	private static final String CONVERTER_NULL = "Converter may not be null.";
 	/** The logger. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDefaultConverterTool.class);
-	/** The map of converters. */
-	private final transient Map<Class<?>, Converter<?>> converters;
+	/** The converter table. */
+	private transient volatile ConverterTable table;
+	/** Lock for adding converters. */
+	private final transient Object tableLock;
 
 	/**
 	 * Default constructor.
 	 */
 	public AbstractDefaultConverterTool() {
-		this.converters = new HashMap<Class<?>, Converter<?>>();
+		this.tableLock = new Object();
+		this.table = new ConverterTable(new HashMap<Class<?>, Converter<?>>());
 		this.populateDefaultConverters();
 	}
 
@@ -99,7 +123,7 @@ public abstract class AbstractDefaultConverterTool
 	public final <T> void addConverter(final Class<T> type, final Converter<T> converter) {
 		Validate.notNull(type, "Converter type may not be null.");
 		Validate.notNull(converter, AbstractDefaultConverterTool.CONVERTER_NULL);
-		this.converters.put(type, converter);
+		this.register(type, converter);
 	}
 
 	/**
@@ -110,21 +134,25 @@ public abstract class AbstractDefaultConverterTool
 	 */
 	public final void addConverter(final Converter<?> converter) {
 		Validate.notNull(converter, AbstractDefaultConverterTool.CONVERTER_NULL);
-		final Type converterType = GenericsUtil.getEntityGenericType(converter.getClass(), 0, Converter.class);
-		this.converters.put(GenericsUtil.guessClazz(converterType), converter);
+		final Type converterType = ReflectionUtil.getEntityGenericType(converter.getClass(), 0, Converter.class);
+		this.register(GenericsUtil.guessClazz(converterType), converter);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> T convertToInstance(final Class<T> type, final String stringValue) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with value: {}", type, stringValue);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with value: {}", type, stringValue);
+		}
 		return this.resolve(type).convertToInstance(stringValue);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> T convertToInstance(final Class<T> type, final String stringValue, final Locale locale) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with locale {} and value: {}", type, locale, stringValue);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with locale {} and value: {}", type, locale, stringValue);
+		}
 		return this.resolve(type).convertToInstance(stringValue, locale);
 	}
 
@@ -132,31 +160,39 @@ public abstract class AbstractDefaultConverterTool
 	@Override
 	public final <T> T convertToInstance(final Class<T> type, final String stringValue, final Locale locale, final String format)
 			throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with locale {}, format '{}' and value: {}", type, locale,
-				format, stringValue);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with locale {}, format '{}' and value: {}", type, locale,
+					format, stringValue);
+		}
 		return this.resolve(type).convertToInstance(stringValue, locale, format);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> T convertToInstance(final Class<T> type, final String stringValue, final String format) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with format '{}' and value: {}", type, format,
-				stringValue);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to instance type {} with format '{}' and value: {}", type, format,
+					stringValue);
+		}
 		return this.resolve(type).convertToInstance(stringValue, format);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> String convertToString(final Class<T> type, final T instance) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with value: {}", type, instance);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with value: {}", type, instance);
+		}
 		return this.resolve(type).convertToString(instance);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> String convertToString(final Class<T> type, final T instance, final Locale locale) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with locale {} and value: {}", type, locale,
-				instance);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with locale {} and value: {}", type, locale,
+					instance);
+		}
 		return this.resolve(type).convertToString(instance, locale);
 	}
 
@@ -164,19 +200,47 @@ public abstract class AbstractDefaultConverterTool
 	@Override
 	public final <T> String convertToString(final Class<T> type, final T instance, final Locale locale, final String format)
 			throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with locale {}, format '{}' and value: {}",
-				type, locale, format, instance);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with locale {}, format '{}' and value: {}",
+					type, locale, format, instance);
+		}
 		return this.resolve(type).convertToString(instance, locale, format);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final <T> String convertToString(final Class<T> type, final T instance, final String format) throws ConverterException {
-		AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with format '{}' and value: {}", type, format,
-				instance);
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
+			AbstractDefaultConverterTool.LOGGER.debug("Converting to string with value type {} with format '{}' and value: {}", type, format,
+					instance);
+		}
 		return this.resolve(type).convertToString(instance, format);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final PrimitiveDoubleConverter getDoubleConverter() throws ConverterException {
+		return this.resolvePrimitive(Double.TYPE, PrimitiveDoubleConverter.class);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final PrimitiveIntConverter getIntConverter() throws ConverterException {
+		return this.resolvePrimitive(Integer.TYPE, PrimitiveIntConverter.class);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final PrimitiveLongConverter getLongConverter() throws ConverterException {
+		return this.resolvePrimitive(Long.TYPE, PrimitiveLongConverter.class);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <T> Converter<T> resolveConverter(final Class<T> type) throws ConverterException {
+		return this.resolve(type);
+	}
+
 	/**
 	 * Add all default converters.
 	 */
@@ -214,14 +278,14 @@ public abstract class AbstractDefaultConverterTool
 	 */
 	private void populateSimpleConverters() {
 		// Primitives.
-		this.converters.put(Integer.TYPE, new IntegerConverter());
-		this.converters.put(Double.TYPE, new DoubleConverter());
-		this.converters.put(Float.TYPE, new FloatConverter());
-		this.converters.put(Long.TYPE, new LongConverter());
-		this.converters.put(Byte.TYPE, new ByteConverter());
-		this.converters.put(Short.TYPE, new ShortConverter());
-		this.converters.put(Character.TYPE, new CharacterConverter());
-		this.converters.put(Boolean.TYPE, new BooleanConverter());
+		this.register(Integer.TYPE, new IntegerConverter());
+		this.register(Double.TYPE, new DoubleConverter());
+		this.register(Float.TYPE, new FloatConverter());
+		this.register(Long.TYPE, new LongConverter());
+		this.register(Byte.TYPE, new ByteConverter());
+		this.register(Short.TYPE, new ShortConverter());
+		this.register(Character.TYPE, new CharacterConverter());
+		this.register(Boolean.TYPE, new BooleanConverter());
 		// Date types.
 		this.addConverter(new CalendarConverter());
 		this.addConverter(new DateConverter());
@@ -247,6 +311,45 @@ public abstract class AbstractDefaultConverterTool
 		this.addConverter(new BooleanConverter());
 	}
 
+	/**
+	 * Registers a converter, replacing the converter table.
+	 * 
+	 * @param type
+	 *            The converter type. May not be null.
+	 * @param converter
+	 *            The converter. May not be null.
+	 */
+	private void register(final Class<?> type, final Converter<?> converter) {
+		synchronized (this.tableLock) {
+			final Map<Class<?>, Converter<?>> converters = new HashMap<Class<?>, Converter<?>>(this.table.getConverters());
+			converters.put(type, converter);
+			this.table = new ConverterTable(converters);
+		}
+	}
+
+	/**
+	 * Resolves the primitive converter for a primitive type.
+	 * 
+	 * @param type
+	 *            The primitive type.
+	 * @param converterType
+	 *            The primitive converter type.
+	 * @param <C>
+	 *            The primitive converter type.
+	 * @return The converter.
+	 * @throws ConverterException
+	 *             Thrown if the converter for the type is not a primitive
+	 *             converter.
+	 */
+	private <C> C resolvePrimitive(final Class<?> type, final Class<C> converterType) throws ConverterException {
+		final Converter<?> converter = this.resolve(type);
+		if (!converterType.isInstance(converter)) {
+			throw new ConverterException(String.format("Converter %s for '%s' is not a %s.", converter, type,
+					converterType.getSimpleName()));
+		}
+		return converterType.cast(converter);
+	}
+
 	/**
 	 * Resolves a converter.
 	 * 
@@ -262,12 +365,128 @@ public abstract class AbstractDefaultConverterTool
 	// We filled it this way.
 	protected final <T> Converter<T> resolve(final Class<T> type) throws ConverterException {
 		Validate.notNull(type, "Type may not be null.");
-		if (this.converters.containsKey(type)) {
-			final Converter<T> result = (Converter<T>) this.converters.get(type);
+		final Converter<T> result = (Converter<T>) this.table.resolve(type);
+		if (CheckUtil.isNull(result)) {
+			throw new ConverterException(String.format("Could not find converter for '%s'.", type));
+		}
+		if (AbstractDefaultConverterTool.LOGGER.isDebugEnabled()) {
 			AbstractDefaultConverterTool.LOGGER.debug("Resolved converter {} for type {}", result, type);
+		}
+		return result;
+	}
+
+	/**
+	 * An immutable set of converters with a resolution cache.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class ConverterTable {
+
+		/** The registered converters, not modified after construction. */
+		private final Map<Class<?>, Converter<?>> converters;
+		/** The cached resolutions. */
+		private final ConcurrentMap<Class<?>, Resolution> resolutions;
+
+		/**
+		 * Constructs the table.
+		 * 
+		 * @param converters
+		 *            The converters. May not be null.
+		 */
+		public ConverterTable(final Map<Class<?>, Converter<?>> converters) {
+			this.converters = converters;
+			this.resolutions = new ConcurrentHashMap<Class<?>, Resolution>();
+		}
+
+		/**
+		 * Gets the value for the converters field.
+		 * 
+		 * @return The value for the converters field.
+		 */
+		public Map<Class<?>, Converter<?>> getConverters() {
+			return this.converters;
+		}
+
+		/**
+		 * Resolves the converter for a type.
+		 * 
+		 * @param type
+		 *            The type. May not be null.
+		 * @return The converter, or null if there is none.
+		 */
+		public Converter<?> resolve(final Class<?> type) {
+			Resolution resolution = this.resolutions.get(type);
+			if (CheckUtil.isNull(resolution)) {
+				resolution = new Resolution(this.lookup(type));
+				this.resolutions.putIfAbsent(type, resolution);
+			}
+			return resolution.getConverter();
+		}
+
+		/**
+		 * Looks up the converter for a type and its super types, nearest
+		 * first. Super classes precede interfaces.
+		 * 
+		 * @param type
+		 *            The type. May not be null.
+		 * @return The converter, or null if there is none.
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		// The super type converter accepts the type.
+		private Converter<?> lookup(final Class<?> type) {
+			Converter<?> result = this.converters.get(type);
+			if (CheckUtil.isNull(result) && !type.isPrimitive()) {
+				final Deque<Class<?>> candidates = new LinkedList<Class<?>>();
+				final Set<Class<?>> visited = new HashSet<Class<?>>();
+				for (Class<?> superType = type.getSuperclass(); !CheckUtil.isNull(superType); superType = superType.getSuperclass()) {
+					candidates.add(superType);
+				}
+				for (Class<?> current = type; !CheckUtil.isNull(current); current = current.getSuperclass()) {
+					candidates.addAll(Arrays.asList(current.getInterfaces()));
+				}
+				Converter<?> inherited = null;
+				while (CheckUtil.isNull(inherited) && !candidates.isEmpty()) {
+					final Class<?> candidate = candidates.removeFirst();
+					if (visited.add(candidate)) {
+						inherited = this.converters.get(candidate);
+						candidates.addAll(Arrays.asList(candidate.getInterfaces()));
+					}
+				}
+				if (!CheckUtil.isNull(inherited)) {
+					result = new InheritedConverter(type, inherited);
+				}
+			}
 			return result;
-		} else {
-			throw new ConverterException(String.format("Could not find converter for '%s'.", type));
+		}
+	}
+
+	/**
+	 * A cached resolution, which may hold no converter.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class Resolution {
+
+		/** The converter, may be null. */
+		private final Converter<?> converter;
+
+		/**
+		 * Constructs the resolution.
+		 * 
+		 * @param converter
+		 *            The converter. May be null.
+		 */
+		public Resolution(final Converter<?> converter) {
+			this.converter = converter;
+		}
+
+		/**
+		 * Gets the value for the converter field.
+		 * 
+		 * @return The value for the converter field.
+		 */
+		public Converter<?> getConverter() {
+			return this.converter;
 		}
 	}
 }
@@ -21,7 +21,13 @@ import java.util.Locale;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.ConverterResolver;
 import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveDoubleConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveIntConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveLongConverter;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
 import org.lunarray.model.descriptor.util.StringUtil;
 import org.slf4j.Logger;
@@ -33,7 +39,7 @@ import org.slf4j.LoggerFactory;
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public final class DelegatingEnumConverterTool
-		implements ConverterTool {
+		implements ConverterTool, PrimitiveConverterTool, ConverterResolver {
 
 	/** The logger. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(DelegatingEnumConverterTool.class);
@@ -60,7 +66,9 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		T result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with value: {}", type, stringValue);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with value: {}", type, stringValue);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -81,8 +89,10 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		T result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with locale {} and value: {}", type, locale,
-					stringValue);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with locale {} and value: {}", type, locale,
+						stringValue);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -104,8 +114,10 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		T result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with locale {}, format {} and value: {}", type,
-					locale, format, stringValue);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with locale {}, format {} and value: {}", type,
+						locale, format, stringValue);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -126,7 +138,9 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		T result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with format {} and value: {}", type, stringValue);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to instance type {} with format {} and value: {}", type, stringValue);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -147,7 +161,9 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		String result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with value: {}", type, instance);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with value: {}", type, instance);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -169,8 +185,10 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		String result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with locale {} and value: {}", type, locale,
-					instance);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with locale {} and value: {}", type, locale,
+						instance);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -193,8 +211,10 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		String result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with locale {}, format {} and value: {}", type,
-					locale, format, instance);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with locale {}, format {} and value: {}", type,
+						locale, format, instance);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -216,8 +236,10 @@ public final class DelegatingEnumConverterTool
 		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
 		String result = null;
 		if (type.isEnum()) {
-			DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with format {} and value: {}", type, format,
-					instance);
+			if (DelegatingEnumConverterTool.LOGGER.isDebugEnabled()) {
+				DelegatingEnumConverterTool.LOGGER.debug("Converting to string with type {} with format {} and value: {}", type, format,
+						instance);
+			}
 			@SuppressWarnings("rawtypes")
 			// No other way?
 			final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
@@ -230,4 +252,51 @@ public final class DelegatingEnumConverterTool
 		}
 		return result;
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public PrimitiveDoubleConverter getDoubleConverter() throws ConverterException {
+		return this.getPrimitiveDelegate().getDoubleConverter();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public PrimitiveIntConverter getIntConverter() throws ConverterException {
+		return this.getPrimitiveDelegate().getIntConverter();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public PrimitiveLongConverter getLongConverter() throws ConverterException {
+		return this.getPrimitiveDelegate().getLongConverter();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> Converter<T> resolveConverter(final Class<T> type) throws ConverterException {
+		Validate.notNull(type, DelegatingEnumConverterTool.TYPE_NULL);
+		Converter<T> result;
+		if (type.isEnum()) {
+			result = new EnumConverter<T>(type);
+		} else if (this.converterTool instanceof ConverterResolver) {
+			result = ((ConverterResolver) this.converterTool).resolveConverter(type);
+		} else {
+			result = new ToolDelegatingConverter<T>(this.converterTool, type);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the delegate as a primitive converter tool.
+	 * 
+	 * @return The delegate.
+	 * @throws ConverterException
+	 *             Thrown if the delegate does not convert primitives.
+	 */
+	private PrimitiveConverterTool getPrimitiveDelegate() throws ConverterException {
+		if (!(this.converterTool instanceof PrimitiveConverterTool)) {
+			throw new ConverterException(String.format("Converter tool %s does not convert primitives.", this.converterTool));
+		}
+		return (PrimitiveConverterTool) this.converterTool;
+	}
 }
@@ -0,0 +1,122 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def;
+
+import java.util.Locale;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.util.StringUtil;
+
+/**
+ * Converts enum values by their name. Locales and formats are ignored.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <T>
+ *            The enum type.
+ */
+public final class EnumConverter<T>
+		implements Converter<T> {
+
+	/** The enum type. */
+	@SuppressWarnings("rawtypes")
+	private final transient Class<? extends Enum> enumType;
+	/** The converted type. */
+	private final transient Class<T> type;
+
+	/**
+	 * Constructs the converter.
+	 * 
+	 * @param type
+	 *            The enum type. May not be null.
+	 */
+	@SuppressWarnings("unchecked")
+	// We're checking before the fact.
+	public EnumConverter(final Class<T> type) {
+		Validate.notNull(type, "Type may not be null.");
+		Validate.isTrue(type.isEnum(), "Type must be an enum.");
+		this.type = type;
+		this.enumType = (Class<? extends Enum<?>>) type;
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T convertToInstance(final String stringValue) throws ConverterException {
+		T result = null;
+		if (!StringUtil.isEmptyString(stringValue)) {
+			result = (T) Enum.valueOf(this.enumType, stringValue);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale) throws ConverterException {
+		return this.convertToInstance(stringValue);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale, final String format) throws ConverterException {
+		return this.convertToInstance(stringValue);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final String format) throws ConverterException {
+		return this.convertToInstance(stringValue);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance) throws ConverterException {
+		String result = null;
+		final Enum<?> enumInstance = this.enumType.cast(instance);
+		if (!CheckUtil.isNull(enumInstance)) {
+			result = enumInstance.name();
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale) throws ConverterException {
+		return this.convertToString(instance);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale, final String format) throws ConverterException {
+		return this.convertToString(instance);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final String format) throws ConverterException {
+		return this.convertToString(instance);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return String.format("EnumConverter[%s]", this.type);
+	}
+}
@@ -0,0 +1,138 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def;
+
+import java.util.Locale;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * A converter for a type that has no converter of its own, but inherits one
+ * from a super type. Parsed values are checked to be of the requested type.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <T>
+ *            The converted type.
+ */
+public final class InheritedConverter<T>
+		implements Converter<T> {
+
+	/** The super type converter. */
+	private final transient Converter<? super T> converter;
+	/** The converted type. */
+	private final transient Class<T> type;
+
+	/**
+	 * Constructs the converter.
+	 * 
+	 * @param type
+	 *            The converted type. May not be null.
+	 * @param converter
+	 *            The converter of a super type. May not be null.
+	 */
+	public InheritedConverter(final Class<T> type, final Converter<? super T> converter) {
+		Validate.notNull(type, "Type may not be null.");
+		Validate.notNull(converter, "Converter may not be null.");
+		this.type = type;
+		this.converter = converter;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue) throws ConverterException {
+		return this.check(this.converter.convertToInstance(stringValue));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale) throws ConverterException {
+		return this.check(this.converter.convertToInstance(stringValue, locale));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale, final String format) throws ConverterException {
+		return this.check(this.converter.convertToInstance(stringValue, locale, format));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final String format) throws ConverterException {
+		return this.check(this.converter.convertToInstance(stringValue, format));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance) throws ConverterException {
+		return this.converter.convertToString(instance);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale) throws ConverterException {
+		return this.converter.convertToString(instance, locale);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale, final String format) throws ConverterException {
+		return this.converter.convertToString(instance, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final String format) throws ConverterException {
+		return this.converter.convertToString(instance, format);
+	}
+
+	/**
+	 * Gets the value for the converter field.
+	 * 
+	 * @return The value for the converter field.
+	 */
+	public Converter<? super T> getConverter() {
+		return this.converter;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return String.format("InheritedConverter[%s from %s]", this.type, this.converter);
+	}
+
+	/**
+	 * Checks a parsed value is of the converted type.
+	 * 
+	 * @param value
+	 *            The parsed value.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the super type converter produced an instance
+	 *             that is not of the converted type.
+	 */
+	private T check(final Object value) throws ConverterException {
+		if (!CheckUtil.isNull(value) && !this.type.isInstance(value)) {
+			throw new ConverterException(String.format("Converter %s produced '%s' which is not a '%s'.", this.converter,
+					value.getClass(), this.type));
+		}
+		return this.type.cast(value);
+	}
+}
@@ -0,0 +1,105 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def;
+
+import java.util.Locale;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * A converter that delegates to a converter tool for a fixed type. Used when
+ * the tool cannot resolve its converters.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <T>
+ *            The converted type.
+ */
+public final class ToolDelegatingConverter<T>
+		implements Converter<T> {
+
+	/** The converter tool. */
+	private final transient ConverterTool converterTool;
+	/** The converted type. */
+	private final transient Class<T> type;
+
+	/**
+	 * Constructs the converter.
+	 * 
+	 * @param converterTool
+	 *            The converter tool. May not be null.
+	 * @param type
+	 *            The converted type. May not be null.
+	 */
+	public ToolDelegatingConverter(final ConverterTool converterTool, final Class<T> type) {
+		Validate.notNull(converterTool, "Converter tool may not be null.");
+		Validate.notNull(type, "Type may not be null.");
+		this.converterTool = converterTool;
+		this.type = type;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue) throws ConverterException {
+		return this.converterTool.convertToInstance(this.type, stringValue);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale) throws ConverterException {
+		return this.converterTool.convertToInstance(this.type, stringValue, locale);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final Locale locale, final String format) throws ConverterException {
+		return this.converterTool.convertToInstance(this.type, stringValue, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public T convertToInstance(final String stringValue, final String format) throws ConverterException {
+		return this.converterTool.convertToInstance(this.type, stringValue, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance) throws ConverterException {
+		return this.converterTool.convertToString(this.type, instance);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale) throws ConverterException {
+		return this.converterTool.convertToString(this.type, instance, locale);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final Locale locale, final String format) throws ConverterException {
+		return this.converterTool.convertToString(this.type, instance, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String convertToString(final T instance, final String format) throws ConverterException {
+		return this.converterTool.convertToString(this.type, instance, format);
+	}
+}
@@ -21,14 +21,19 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.converter.Converter;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
 import org.lunarray.model.descriptor.util.StringUtil;
 
 /**
- * Converter for numbers.
+ * Converter for numbers. Formats are resolved once per pattern and locale and
+ * pooled, see {@link NumberFormatPool}. The number of cached pools is bounded,
+ * once the cache is full new formats are no longer cached.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  * @param <T>
@@ -37,8 +42,14 @@ import org.lunarray.model.descriptor.util.StringUtil;
 public abstract class AbstractNumberConverter<T>
 		implements Converter<T> {
 
+	/** Validation message. */
+	private static final String BUILDER_NULL = "Builder may not be null.";
 	/** The error message. */
 	private static final String ERROR_MESSAGE = "Could not convert.";
+	/** The resolved formats. */
+	private static final ConcurrentMap<FormatKey, NumberFormatPool> FORMATS = new ConcurrentHashMap<FormatKey, NumberFormatPool>();
+	/** The maximum number of cached formats. */
+	private static final int MAX_FORMATS = 256;
 
 	/**
 	 * Default constructor.
@@ -96,47 +107,231 @@ public abstract class AbstractNumberConverter<T>
 	}
 
 	/**
-	 * Format a value.
+	 * Checks a range of characters.
 	 * 
 	 * @param value
-	 *            The value to format.
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 */
+	private static void checkRange(final CharSequence value, final int start, final int end) {
+		Validate.notNull(value, "Value may not be null.");
+		Validate.isTrue((start >= 0) && (start <= end) && (end <= value.length()), "Range out of bounds.");
+	}
+
+	/**
+	 * Resolves the pooled format.
+	 * 
+	 * @param format
+	 *            The number format, may be null.
+	 * @param locale
+	 *            The locale, may be null.
+	 * @return The format pool.
+	 */
+	private static NumberFormatPool getFormat(final String format, final Locale locale) {
+		Locale realLocale;
+		if (CheckUtil.isNull(locale)) {
+			realLocale = Locale.getDefault(Locale.Category.FORMAT);
+		} else {
+			realLocale = locale;
+		}
+		String pattern = null;
+		if (!StringUtil.isEmptyString(format)) {
+			pattern = format;
+		}
+		final FormatKey key = new FormatKey(pattern, realLocale, !CheckUtil.isNull(pattern) && !CheckUtil.isNull(locale));
+		NumberFormatPool result = AbstractNumberConverter.FORMATS.get(key);
+		if (CheckUtil.isNull(result)) {
+			final NumberFormat prototype = NumberFormat.getInstance(realLocale);
+			if ((prototype instanceof DecimalFormat) && !CheckUtil.isNull(pattern)) {
+				final DecimalFormat decimalFormat = (DecimalFormat) prototype;
+				if (CheckUtil.isNull(locale)) {
+					decimalFormat.applyPattern(pattern);
+				} else {
+					decimalFormat.applyLocalizedPattern(pattern);
+				}
+			}
+			result = new NumberFormatPool(prototype);
+			if (AbstractNumberConverter.FORMATS.size() < AbstractNumberConverter.MAX_FORMATS) {
+				final NumberFormatPool existing = AbstractNumberConverter.FORMATS.putIfAbsent(key, result);
+				if (!CheckUtil.isNull(existing)) {
+					result = existing;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a range of characters with a format.
+	 * 
+	 * @param pool
+	 *            The format pool.
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @return The number.
+	 * @throws ConverterException
+	 *             Thrown if the parsing fails.
+	 */
+	private static Number parse(final NumberFormatPool pool, final CharSequence value, final int start, final int end)
+			throws ConverterException {
+		if (start == end) {
+			throw new ConverterException(AbstractNumberConverter.ERROR_MESSAGE);
+		}
+		Number result;
+		try {
+			result = pool.parse(value.subSequence(start, end).toString());
+		} catch (final ParseException e) {
+			throw new ConverterException(AbstractNumberConverter.ERROR_MESSAGE, e);
+		}
+		return result;
+	}
+
+	/**
+	 * Formats a double and appends it.
+	 * 
+	 * @param builder
+	 *            The builder. May not be null.
+	 * @param value
+	 *            The value.
+	 * @param locale
+	 *            The locale, may be null.
 	 * @param format
 	 *            The format, may be null.
+	 */
+	protected final void appendDoubleValue(final StringBuilder builder, final double value, final Locale locale, final String format) {
+		Validate.notNull(builder, AbstractNumberConverter.BUILDER_NULL);
+		AbstractNumberConverter.getFormat(format, locale).appendTo(builder, value);
+	}
+
+	/**
+	 * Formats a long and appends it.
+	 * 
+	 * @param builder
+	 *            The builder. May not be null.
+	 * @param value
+	 *            The value.
 	 * @param locale
 	 *            The locale, may be null.
-	 * @return The formatted value.
+	 * @param format
+	 *            The format, may be null.
 	 */
-	private String format(final T value, final String format, final Locale locale) {
-		String result = null;
-		if (!CheckUtil.isNull(value)) {
-			result = this.getFormat(format, locale).format(this.toNumberType(value));
+	protected final void appendLongValue(final StringBuilder builder, final long value, final Locale locale, final String format) {
+		Validate.notNull(builder, AbstractNumberConverter.BUILDER_NULL);
+		AbstractNumberConverter.getFormat(format, locale).appendTo(builder, value);
+	}
+
+	/**
+	 * Parses a range of characters to a double.
+	 * 
+	 * @param value
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @param locale
+	 *            The locale, may be null.
+	 * @param format
+	 *            The format, may be null.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the parsing fails.
+	 */
+	protected final double parseDoubleValue(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		final NumberFormatPool pool = AbstractNumberConverter.getFormat(format, locale);
+		double result;
+		AbstractNumberConverter.checkRange(value, start, end);
+		if (pool.isPlain(value, start, end)) {
+			result = pool.parsePlain(value, start, end);
+		} else {
+			result = AbstractNumberConverter.parse(pool, value, start, end).doubleValue();
 		}
 		return result;
 	}
 
 	/**
-	 * Gets the number format.
+	 * Parses a range of characters to an int.
 	 * 
+	 * @param value
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @param locale
+	 *            The locale, may be null.
 	 * @param format
-	 *            The number format.
+	 *            The format, may be null.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the parsing fails.
+	 */
+	protected final int parseIntValue(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		final NumberFormatPool pool = AbstractNumberConverter.getFormat(format, locale);
+		int result;
+		AbstractNumberConverter.checkRange(value, start, end);
+		if (pool.isPlain(value, start, end)) {
+			result = (int) pool.parsePlain(value, start, end);
+		} else {
+			result = AbstractNumberConverter.parse(pool, value, start, end).intValue();
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a range of characters to a long.
+	 * 
+	 * @param value
+	 *            The characters. May not be null.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
 	 * @param locale
-	 *            The locale.
-	 * @return The number format.
+	 *            The locale, may be null.
+	 * @param format
+	 *            The format, may be null.
+	 * @return The value.
+	 * @throws ConverterException
+	 *             Thrown if the parsing fails.
 	 */
-	private NumberFormat getFormat(final String format, final Locale locale) {
-		NumberFormat result;
-		if (CheckUtil.isNull(locale)) {
-			result = NumberFormat.getInstance();
+	protected final long parseLongValue(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		final NumberFormatPool pool = AbstractNumberConverter.getFormat(format, locale);
+		long result;
+		AbstractNumberConverter.checkRange(value, start, end);
+		if (pool.isPlain(value, start, end)) {
+			result = pool.parsePlain(value, start, end);
 		} else {
-			result = NumberFormat.getInstance(locale);
+			result = AbstractNumberConverter.parse(pool, value, start, end).longValue();
 		}
-		if ((result instanceof DecimalFormat) && !StringUtil.isEmptyString(format)) {
-			final DecimalFormat decimalFormat = (DecimalFormat) result;
-			if (CheckUtil.isNull(locale)) {
-				decimalFormat.applyPattern(format);
-			} else {
-				decimalFormat.applyLocalizedPattern(format);
-			}
+		return result;
+	}
+
+	/**
+	 * Format a value.
+	 * 
+	 * @param value
+	 *            The value to format.
+	 * @param format
+	 *            The format, may be null.
+	 * @param locale
+	 *            The locale, may be null.
+	 * @return The formatted value.
+	 */
+	private String format(final T value, final String format, final Locale locale) {
+		String result = null;
+		if (!CheckUtil.isNull(value)) {
+			result = AbstractNumberConverter.getFormat(format, locale).format(this.toNumberType(value));
 		}
 		return result;
 	}
@@ -158,7 +353,7 @@ public abstract class AbstractNumberConverter<T>
 		T result = null;
 		if (!StringUtil.isEmptyString(stringValue)) {
 			try {
-				result = this.toResultType(this.getFormat(format, locale).parse(stringValue));
+				result = this.toResultType(AbstractNumberConverter.getFormat(format, locale).parse(stringValue));
 			} catch (final ParseException e) {
 				throw new ConverterException(AbstractNumberConverter.ERROR_MESSAGE, e);
 			}
@@ -183,4 +378,63 @@ public abstract class AbstractNumberConverter<T>
 	 * @return The result type.
 	 */
 	protected abstract T toResultType(Number number);
+
+	/**
+	 * A cache key for a format.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class FormatKey {
+
+		/** Hash prime. */
+		private static final int PRIME = 31;
+		/** The locale. */
+		private final Locale locale;
+		/** Whether the pattern is localized. */
+		private final boolean localized;
+		/** The pattern, may be null. */
+		private final String pattern;
+
+		/**
+		 * Constructs the key.
+		 * 
+		 * @param pattern
+		 *            The pattern.
+		 * @param locale
+		 *            The locale.
+		 * @param localized
+		 *            Whether the pattern is localized.
+		 */
+		public FormatKey(final String pattern, final Locale locale, final boolean localized) {
+			this.pattern = pattern;
+			this.locale = locale;
+			this.localized = localized;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean equals(final Object obj) {
+			boolean equal = false;
+			if (obj instanceof FormatKey) {
+				final FormatKey key = (FormatKey) obj;
+				equal = (this.localized == key.localized) && this.locale.equals(key.locale);
+				if (CheckUtil.isNull(this.pattern)) {
+					equal &= CheckUtil.isNull(key.pattern);
+				} else {
+					equal &= this.pattern.equals(key.pattern);
+				}
+			}
+			return equal;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int hashCode() {
+			int hashCode = (FormatKey.PRIME * this.locale.hashCode()) + Boolean.valueOf(this.localized).hashCode();
+			if (!CheckUtil.isNull(this.pattern)) {
+				hashCode = (FormatKey.PRIME * hashCode) + this.pattern.hashCode();
+			}
+			return hashCode;
+		}
+	}
 }
@@ -17,13 +17,19 @@
  */
 package org.lunarray.model.descriptor.converter.def.converters;
 
+import java.util.Locale;
+
+import org.lunarray.model.descriptor.converter.PrimitiveDoubleConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
 /**
  * Converter for {@link Double}.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public final class DoubleConverter
-		extends AbstractNumberConverter<Double> {
+		extends AbstractNumberConverter<Double>
+		implements PrimitiveDoubleConverter {
 
 	/**
 	 * Default constructor.
@@ -32,6 +38,31 @@ public final class DoubleConverter
 		super();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final double value) throws ConverterException {
+		this.appendDoubleValue(builder, value, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final double value, final Locale locale, final String format) throws ConverterException {
+		this.appendDoubleValue(builder, value, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double parseDouble(final CharSequence value, final int start, final int end) throws ConverterException {
+		return this.parseDoubleValue(value, start, end, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double parseDouble(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		return this.parseDoubleValue(value, start, end, locale, format);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	protected Number toNumberType(final Double number) {
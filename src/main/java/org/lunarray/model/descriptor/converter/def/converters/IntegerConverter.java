@@ -17,13 +17,19 @@
  */
 package org.lunarray.model.descriptor.converter.def.converters;
 
+import java.util.Locale;
+
+import org.lunarray.model.descriptor.converter.PrimitiveIntConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
 /**
  * Converter for {@link Integer}.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public final class IntegerConverter
-		extends AbstractNumberConverter<Integer> {
+		extends AbstractNumberConverter<Integer>
+		implements PrimitiveIntConverter {
 
 	/**
 	 * Default constructor.
@@ -32,6 +38,31 @@ public final class IntegerConverter
 		super();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final int value) throws ConverterException {
+		this.appendLongValue(builder, value, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final int value, final Locale locale, final String format) throws ConverterException {
+		this.appendLongValue(builder, value, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int parseInt(final CharSequence value, final int start, final int end) throws ConverterException {
+		return this.parseIntValue(value, start, end, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int parseInt(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		return this.parseIntValue(value, start, end, locale, format);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	protected Number toNumberType(final Integer number) {
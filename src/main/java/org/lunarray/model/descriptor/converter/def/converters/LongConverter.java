@@ -17,13 +17,19 @@
  */
 package org.lunarray.model.descriptor.converter.def.converters;
 
+import java.util.Locale;
+
+import org.lunarray.model.descriptor.converter.PrimitiveLongConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
 /**
  * Converter for {@link Long}.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public final class LongConverter
-		extends AbstractNumberConverter<Long> {
+		extends AbstractNumberConverter<Long>
+		implements PrimitiveLongConverter {
 
 	/**
 	 * Default constructor.
@@ -32,6 +38,31 @@ public final class LongConverter
 		super();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final long value) throws ConverterException {
+		this.appendLongValue(builder, value, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void appendTo(final StringBuilder builder, final long value, final Locale locale, final String format) throws ConverterException {
+		this.appendLongValue(builder, value, locale, format);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long parseLong(final CharSequence value, final int start, final int end) throws ConverterException {
+		return this.parseLongValue(value, start, end, null, null);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long parseLong(final CharSequence value, final int start, final int end, final Locale locale, final String format)
+			throws ConverterException {
+		return this.parseLongValue(value, start, end, locale, format);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	protected Number toNumberType(final Long number) {
@@ -0,0 +1,415 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def.converters;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * A pool of number formats cloned from a prototype. Each format is used by a
+ * single thread at a time. Plain integers, meaning digits with the format's
+ * prefix and suffix and no grouping, fraction or exponent, are parsed and
+ * formatted directly when the format allows it, without touching a format.
+ * The number of idle formats is bounded, formats returned to a full pool are
+ * dropped.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class NumberFormatPool {
+
+	/** The largest magnitude for which doubles are formatted as integers. */
+	private static final double MAX_PLAIN_DOUBLE = 1e15;
+	/** The maximum number of idle formats. */
+	private static final int MAX_IDLE = Math.max(2, Runtime.getRuntime().availableProcessors());
+	/** The maximum number of digits in a plain integer. */
+	private static final int MAX_PLAIN_DIGITS = 18;
+	/** The maximum number of integer digits a plain format should allow. */
+	private static final int MIN_INTEGER_DIGITS = 19;
+	/** The radix. */
+	private static final int RADIX = 10;
+	/** The grouping separator. */
+	private final char groupingSeparator;
+	/** The grouping size, 0 if not grouping. */
+	private final int groupingSize;
+	/** The idle formats. */
+	private final Queue<NumberFormat> idle;
+	/** The negative prefix. */
+	private final String negativePrefix;
+	/** The negative suffix. */
+	private final String negativeSuffix;
+	/** Whether plain integers are handled directly. */
+	private final boolean plain;
+	/** The positive prefix. */
+	private final String positivePrefix;
+	/** The positive suffix. */
+	private final String positiveSuffix;
+	/** The prototype. */
+	private final NumberFormat prototype;
+	/** The zero digit. */
+	private final char zeroDigit;
+
+	/**
+	 * Constructs the pool.
+	 * 
+	 * @param prototype
+	 *            The prototype. May not be null.
+	 */
+	public NumberFormatPool(final NumberFormat prototype) {
+		this.prototype = prototype;
+		this.idle = new ArrayBlockingQueue<NumberFormat>(NumberFormatPool.MAX_IDLE);
+		if (prototype instanceof DecimalFormat) {
+			final DecimalFormat decimalFormat = (DecimalFormat) prototype;
+			final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+			final boolean plain = (decimalFormat.getMultiplier() == 1) && (decimalFormat.getMinimumIntegerDigits() <= 1)
+					&& (decimalFormat.getMaximumIntegerDigits() >= NumberFormatPool.MIN_INTEGER_DIGITS)
+					&& (decimalFormat.getMinimumFractionDigits() == 0) && !decimalFormat.isDecimalSeparatorAlwaysShown()
+					&& !decimalFormat.isParseBigDecimal() && (decimalFormat.toPattern().indexOf('E') < 0);
+			if (decimalFormat.isGroupingUsed()) {
+				this.groupingSize = decimalFormat.getGroupingSize();
+			} else {
+				this.groupingSize = 0;
+			}
+			this.groupingSeparator = symbols.getGroupingSeparator();
+			this.zeroDigit = symbols.getZeroDigit();
+			this.negativePrefix = decimalFormat.getNegativePrefix();
+			this.negativeSuffix = decimalFormat.getNegativeSuffix();
+			this.positivePrefix = decimalFormat.getPositivePrefix();
+			this.positiveSuffix = decimalFormat.getPositiveSuffix();
+			this.plain = plain && NumberFormatPool.isLiteral(this.negativePrefix) && NumberFormatPool.isLiteral(this.negativeSuffix)
+					&& NumberFormatPool.isLiteral(this.positivePrefix) && NumberFormatPool.isLiteral(this.positiveSuffix);
+		} else {
+			this.plain = false;
+			this.groupingSize = 0;
+			this.groupingSeparator = ',';
+			this.zeroDigit = '0';
+			this.negativePrefix = "-";
+			this.negativeSuffix = "";
+			this.positivePrefix = "";
+			this.positiveSuffix = "";
+		}
+	}
+
+	/**
+	 * Tests whether an affix holds no digits, which a format would take to be
+	 * part of the number.
+	 * 
+	 * @param affix
+	 *            The affix.
+	 * @return True if and only if the affix holds no digits.
+	 */
+	private static boolean isLiteral(final String affix) {
+		boolean result = true;
+		for (int i = 0; result && (i < affix.length()); i++) {
+			result = !Character.isDigit(affix.charAt(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Formats a value and appends it.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 * @param value
+	 *            The value.
+	 */
+	public void appendTo(final StringBuilder builder, final double value) {
+		if (this.plain && (Math.abs(value) < NumberFormatPool.MAX_PLAIN_DOUBLE) && (value == Math.rint(value))
+				&& (Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0d))) {
+			this.appendPlain(builder, (long) value);
+		} else {
+			builder.append(this.format(Double.valueOf(value)));
+		}
+	}
+
+	/**
+	 * Formats a value and appends it.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 * @param value
+	 *            The value.
+	 */
+	public void appendTo(final StringBuilder builder, final long value) {
+		if (this.plain && (value != Long.MIN_VALUE)) {
+			this.appendPlain(builder, value);
+		} else {
+			builder.append(this.format(Long.valueOf(value)));
+		}
+	}
+
+	/**
+	 * Formats a number.
+	 * 
+	 * @param number
+	 *            The number.
+	 * @return The formatted number.
+	 */
+	public String format(final Number number) {
+		final NumberFormat format = this.acquire();
+		String result;
+		try {
+			result = format.format(number);
+		} finally {
+			this.idle.offer(format);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests whether a range is a plain integer that may be parsed with
+	 * {@link #parsePlain(CharSequence, int, int)}. Negative zero is not plain,
+	 * since a format parses it as a double.
+	 * 
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @return True if and only if the range is a plain integer.
+	 */
+	public boolean isPlain(final CharSequence value, final int start, final int end) {
+		boolean result = false;
+		if (this.plain) {
+			final boolean negative = this.isNegative(value, start, end);
+			final int from = start + this.prefix(negative).length();
+			final int to = end - this.suffix(negative).length();
+			result = negative || (this.startsWith(value, start, end, this.positivePrefix)
+					&& this.endsWith(value, start, end, this.positiveSuffix));
+			result &= (to > from) && ((to - from) <= NumberFormatPool.MAX_PLAIN_DIGITS);
+			boolean zero = true;
+			for (int i = from; result && (i < to); i++) {
+				final int digit = this.digit(value.charAt(i));
+				result = digit >= 0;
+				zero &= digit == 0;
+			}
+			result &= !(negative && zero);
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a number.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @return The number.
+	 * @throws ParseException
+	 *             Thrown if the value could not be parsed.
+	 */
+	public Number parse(final String value) throws ParseException {
+		final NumberFormat format = this.acquire();
+		Number result;
+		try {
+			result = format.parse(value);
+		} finally {
+			this.idle.offer(format);
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a plain integer. The range should be tested with
+	 * {@link #isPlain(CharSequence, int, int)}.
+	 * 
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @return The value.
+	 */
+	public long parsePlain(final CharSequence value, final int start, final int end) {
+		final boolean negative = this.isNegative(value, start, end);
+		final int to = end - this.suffix(negative).length();
+		long result = 0;
+		for (int i = start + this.prefix(negative).length(); i < to; i++) {
+			result = (result * NumberFormatPool.RADIX) + this.digit(value.charAt(i));
+		}
+		if (negative) {
+			result = -result;
+		}
+		return result;
+	}
+
+	/**
+	 * Acquires an idle format, or clones a new one.
+	 * 
+	 * @return The format.
+	 */
+	private NumberFormat acquire() {
+		NumberFormat format = this.idle.poll();
+		if (CheckUtil.isNull(format)) {
+			format = (NumberFormat) this.prototype.clone();
+		}
+		return format;
+	}
+
+	/**
+	 * Appends a plain integer, grouping digits as the format would.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 * @param value
+	 *            The value, may not be {@link Long#MIN_VALUE}.
+	 */
+	private void appendPlain(final StringBuilder builder, final long value) {
+		final boolean negative = value < 0;
+		final long magnitude = Math.abs(value);
+		builder.append(this.prefix(negative));
+		long divisor = 1;
+		int digits = 1;
+		while ((magnitude / divisor) >= NumberFormatPool.RADIX) {
+			divisor *= NumberFormatPool.RADIX;
+			digits++;
+		}
+		for (; divisor > 0; divisor /= NumberFormatPool.RADIX) {
+			builder.append((char) (this.zeroDigit + ((magnitude / divisor) % NumberFormatPool.RADIX)));
+			digits--;
+			if ((this.groupingSize > 0) && (digits > 0) && ((digits % this.groupingSize) == 0)) {
+				builder.append(this.groupingSeparator);
+			}
+		}
+		builder.append(this.suffix(negative));
+	}
+
+	/**
+	 * Gets the value of a digit.
+	 * 
+	 * @param character
+	 *            The character.
+	 * @return The value, or -1 if the character is not a digit.
+	 */
+	private int digit(final char character) {
+		int result = -1;
+		if ((character >= '0') && (character <= '9')) {
+			result = character - '0';
+		} else if ((character >= this.zeroDigit) && (character < (this.zeroDigit + NumberFormatPool.RADIX))) {
+			result = character - this.zeroDigit;
+		}
+		return result;
+	}
+
+	/**
+	 * Tests whether a range ends with a suffix.
+	 * 
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @param suffix
+	 *            The suffix.
+	 * @return True if and only if the range ends with the suffix.
+	 */
+	private boolean endsWith(final CharSequence value, final int start, final int end, final String suffix) {
+		final int offset = end - suffix.length();
+		boolean result = offset >= start;
+		for (int i = 0; result && (i < suffix.length()); i++) {
+			result = value.charAt(offset + i) == suffix.charAt(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests whether a range is a negative number, preferring the longest
+	 * matching affixes like a format does.
+	 * 
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @return True if and only if the range has negative affixes.
+	 */
+	private boolean isNegative(final CharSequence value, final int start, final int end) {
+		final int negativeLength = this.negativePrefix.length() + this.negativeSuffix.length();
+		final int positiveLength = this.positivePrefix.length() + this.positiveSuffix.length();
+		boolean result = (negativeLength <= (end - start)) && this.startsWith(value, start, end, this.negativePrefix)
+				&& this.endsWith(value, start, end, this.negativeSuffix);
+		if (result && (negativeLength <= positiveLength)) {
+			result = !(this.startsWith(value, start, end, this.positivePrefix) && this.endsWith(value, start, end, this.positiveSuffix));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the prefix.
+	 * 
+	 * @param negative
+	 *            Whether the number is negative.
+	 * @return The prefix.
+	 */
+	private String prefix(final boolean negative) {
+		String result;
+		if (negative) {
+			result = this.negativePrefix;
+		} else {
+			result = this.positivePrefix;
+		}
+		return result;
+	}
+
+	/**
+	 * Tests whether a range starts with a prefix.
+	 * 
+	 * @param value
+	 *            The characters.
+	 * @param start
+	 *            The start index, inclusive.
+	 * @param end
+	 *            The end index, exclusive.
+	 * @param prefix
+	 *            The prefix.
+	 * @return True if and only if the range starts with the prefix.
+	 */
+	private boolean startsWith(final CharSequence value, final int start, final int end, final String prefix) {
+		boolean result = (start + prefix.length()) <= end;
+		for (int i = 0; result && (i < prefix.length()); i++) {
+			result = value.charAt(start + i) == prefix.charAt(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the suffix.
+	 * 
+	 * @param negative
+	 *            Whether the number is negative.
+	 * @return The suffix.
+	 */
+	private String suffix(final boolean negative) {
+		String result;
+		if (negative) {
+			result = this.negativeSuffix;
+		} else {
+			result = this.positiveSuffix;
+		}
+		return result;
+	}
+}
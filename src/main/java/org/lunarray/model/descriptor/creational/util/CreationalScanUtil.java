@@ -46,12 +46,11 @@ public enum CreationalScanUtil {
 	 * @param <E>
 	 *            The entity type.
 	 */
-	@SuppressWarnings("unchecked")
 	public static <E> Constructor<E> findConstructor(final Class<E> source) {
 		Validate.notNull(source, "Source may not be null.");
 		Constructor<E> result = null;
 		if (!Modifier.isAbstract(source.getModifiers()) && !source.isSynthetic()) {
-			for (final Constructor<E> constructor : (Constructor<E>[]) source.getConstructors()) {
+			for (final Constructor<E> constructor : ReflectionUtil.getConstructors(source)) {
 				if (!constructor.isSynthetic() && (constructor.getParameterTypes().length == 0)) {
 					result = constructor;
 				}
@@ -19,6 +19,7 @@ package org.lunarray.model.descriptor.dictionary;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Map;
 
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
@@ -62,4 +63,25 @@ public interface Dictionary
 	 *             Thrown if the entity could not be looked up.
 	 */
 	<E, K extends Serializable> E lookup(KeyedEntityDescriptor<E, K> entityDescriptor, K key) throws DictionaryException;
+
+	/**
+	 * Look up the entities with the given keys in one go. Dictionaries without
+	 * a native bulk lookup may delegate to
+	 * {@link org.lunarray.model.descriptor.util.DictionaryUtil#lookupAll(Dictionary, KeyedEntityDescriptor, Collection)}
+	 * .
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param keys
+	 *            The keys. May not be null.
+	 * @return The entities by key. Keys without an entity are left out.
+	 * @throws DictionaryException
+	 *             Thrown if the entities could not be looked up.
+	 */
+	<E, K extends Serializable> Map<K, E> lookupAll(KeyedEntityDescriptor<E, K> entityDescriptor, Collection<K> keys)
+			throws DictionaryException;
 }
@@ -19,6 +19,8 @@ package org.lunarray.model.descriptor.dictionary;
 
 import java.util.List;
 
+import org.lunarray.model.descriptor.dictionary.cursor.ContinuationToken;
+import org.lunarray.model.descriptor.dictionary.cursor.DictionaryCursor;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 
@@ -59,4 +61,38 @@ public interface PaginatedDictionary
 	 *             Thrown if the totals could not be found.
 	 */
 	<E> int lookupTotals(EntityDescriptor<E> entityDescriptor) throws DictionaryException;
+
+	/**
+	 * Opens a cursor continuing from a token. Dictionaries without a native
+	 * cursor may delegate to
+	 * {@link org.lunarray.model.descriptor.util.DictionaryUtil#open(PaginatedDictionary, EntityDescriptor, ContinuationToken, java.util.concurrent.Executor)}
+	 * .
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param token
+	 *            The token to continue from. May not be null, and must be for
+	 *            the given entity.
+	 * @return The cursor.
+	 * @throws DictionaryException
+	 *             Thrown if the cursor could not be opened.
+	 */
+	<E> DictionaryCursor<E> open(EntityDescriptor<E> entityDescriptor, ContinuationToken token) throws DictionaryException;
+
+	/**
+	 * Opens a cursor over all entities.
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param pageSize
+	 *            The page size. Must be a positive value.
+	 * @return The cursor.
+	 * @throws DictionaryException
+	 *             Thrown if the cursor could not be opened.
+	 */
+	<E> DictionaryCursor<E> open(EntityDescriptor<E> entityDescriptor, int pageSize) throws DictionaryException;
 }
@@ -0,0 +1,136 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+
+/**
+ * An asynchronous dictionary running the lookups of a synchronous dictionary
+ * on an executor. Any executor will do, such as a thread pool sized for the
+ * backing store, or one starting a virtual thread per task on runtimes that
+ * have them.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <D>
+ *            The dictionary type.
+ */
+public abstract class AbstractExecutorAsyncDictionary<D extends Dictionary>
+		implements AsyncDictionary {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+	/** The dictionary. */
+	private final transient D dictionary;
+	/** The executor. */
+	private final transient Executor executor;
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to run. May not be null.
+	 * @param executor
+	 *            The executor to run on. May not be null.
+	 */
+	public AbstractExecutorAsyncDictionary(final D dictionary, final Executor executor) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(executor, "Executor may not be null.");
+		this.dictionary = dictionary;
+		this.executor = executor;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <E, K extends Serializable> Future<Map<K, E>> lookupAllAsync(final KeyedEntityDescriptor<E, K> entityDescriptor,
+			final Collection<K> keys) {
+		Validate.notNull(entityDescriptor, AbstractExecutorAsyncDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		return this.submit(new Callable<Map<K, E>>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public Map<K, E> call() throws DictionaryException {
+				return AbstractExecutorAsyncDictionary.this.dictionary.lookupAll(entityDescriptor, keys);
+			}
+		});
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <E> Future<Collection<E>> lookupAsync(final EntityDescriptor<E> entityDescriptor) {
+		Validate.notNull(entityDescriptor, AbstractExecutorAsyncDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.submit(new Callable<Collection<E>>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public Collection<E> call() throws DictionaryException {
+				return AbstractExecutorAsyncDictionary.this.dictionary.lookup(entityDescriptor);
+			}
+		});
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <E, K extends Serializable> Future<E> lookupAsync(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key) {
+		Validate.notNull(entityDescriptor, AbstractExecutorAsyncDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.submit(new Callable<E>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public E call() throws DictionaryException {
+				return AbstractExecutorAsyncDictionary.this.dictionary.lookup(entityDescriptor, key);
+			}
+		});
+	}
+
+	/**
+	 * Gets the value for the dictionary field.
+	 * 
+	 * @return The value for the dictionary field.
+	 */
+	protected final D getDictionary() {
+		return this.dictionary;
+	}
+
+	/**
+	 * Runs a lookup on the executor.
+	 * 
+	 * @param lookup
+	 *            The lookup.
+	 * @return The future result.
+	 * @param <T>
+	 *            The result type.
+	 */
+	protected final <T> Future<T> submit(final Callable<T> lookup) {
+		final FutureTask<T> task = new FutureTask<T>(lookup);
+		this.executor.execute(task);
+		return task;
+	}
+}
@@ -0,0 +1,80 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.Extension;
+
+/**
+ * Describes an asynchronous dictionary. Lookups return immediately, a failed
+ * lookup surfaces as an {@link java.util.concurrent.ExecutionException} caused
+ * by a {@link org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException}
+ * .
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public interface AsyncDictionary
+		extends Extension {
+
+	/**
+	 * Looks up all entities with the given keys.
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param keys
+	 *            The keys. May not be null.
+	 * @return The future entities by key. Keys without an entity are left out.
+	 */
+	<E, K extends Serializable> Future<Map<K, E>> lookupAllAsync(KeyedEntityDescriptor<E, K> entityDescriptor, Collection<K> keys);
+
+	/**
+	 * Looks up all entities.
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @return The future entities.
+	 */
+	<E> Future<Collection<E>> lookupAsync(EntityDescriptor<E> entityDescriptor);
+
+	/**
+	 * Looks up an entity by key.
+	 * 
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key.
+	 * @return The future entity.
+	 */
+	<E, K extends Serializable> Future<E> lookupAsync(KeyedEntityDescriptor<E, K> entityDescriptor, K key);
+}
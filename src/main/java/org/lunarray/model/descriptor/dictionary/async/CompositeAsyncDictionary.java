@@ -0,0 +1,152 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.dictionary.exceptions.UnknownEntityException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A composite asynchronous dictionary. Routes the lookups of every entity to
+ * its own dictionary, so lookups for different entities run concurrently on
+ * their own executors. Entities without a dictionary of their own go to the
+ * fallback dictionary, if any.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see FanOutLookup
+ */
+public final class CompositeAsyncDictionary
+		implements AsyncDictionary {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CompositeAsyncDictionary.class);
+	/** The dictionaries, by entity name. */
+	private final transient Map<String, AsyncDictionary> dictionaries;
+	/** The fallback dictionary, may be null. */
+	private final transient AsyncDictionary fallback;
+
+	/**
+	 * Constructs the composite dictionary.
+	 * 
+	 * @param dictionaries
+	 *            The dictionaries, by entity name. May not be null.
+	 * @param fallback
+	 *            The dictionary for other entities. May be null.
+	 */
+	public CompositeAsyncDictionary(final Map<String, AsyncDictionary> dictionaries, final AsyncDictionary fallback) {
+		Validate.notNull(dictionaries, "Dictionaries may not be null.");
+		this.dictionaries = new HashMap<String, AsyncDictionary>(dictionaries);
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Creates an already failed lookup.
+	 * 
+	 * @param exception
+	 *            The failure.
+	 * @return The failed lookup.
+	 * @param <T>
+	 *            The result type.
+	 */
+	private static <T> Future<T> fail(final DictionaryException exception) {
+		final FutureTask<T> task = new FutureTask<T>(new Callable<T>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public T call() throws DictionaryException {
+				throw exception;
+			}
+		});
+		task.run();
+		return task;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, K extends Serializable> Future<Map<K, E>> lookupAllAsync(final KeyedEntityDescriptor<E, K> entityDescriptor,
+			final Collection<K> keys) {
+		final AsyncDictionary dictionary = this.route(entityDescriptor);
+		Future<Map<K, E>> result;
+		if (CheckUtil.isNull(dictionary)) {
+			result = CompositeAsyncDictionary.fail(new UnknownEntityException(entityDescriptor));
+		} else {
+			result = dictionary.lookupAllAsync(entityDescriptor, keys);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> Future<Collection<E>> lookupAsync(final EntityDescriptor<E> entityDescriptor) {
+		final AsyncDictionary dictionary = this.route(entityDescriptor);
+		Future<Collection<E>> result;
+		if (CheckUtil.isNull(dictionary)) {
+			result = CompositeAsyncDictionary.fail(new UnknownEntityException(entityDescriptor));
+		} else {
+			result = dictionary.lookupAsync(entityDescriptor);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, K extends Serializable> Future<E> lookupAsync(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key) {
+		final AsyncDictionary dictionary = this.route(entityDescriptor);
+		Future<E> result;
+		if (CheckUtil.isNull(dictionary)) {
+			result = CompositeAsyncDictionary.fail(new UnknownEntityException(entityDescriptor));
+		} else {
+			result = dictionary.lookupAsync(entityDescriptor, key);
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the dictionary for an entity.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @return The dictionary, or null if there is none.
+	 */
+	private AsyncDictionary route(final EntityDescriptor<?> entityDescriptor) {
+		Validate.notNull(entityDescriptor, CompositeAsyncDictionary.ENTITY_DESCRIPTOR_NULL);
+		AsyncDictionary result = this.dictionaries.get(entityDescriptor.getName());
+		if (CheckUtil.isNull(result)) {
+			result = this.fallback;
+		}
+		if (CompositeAsyncDictionary.LOGGER.isDebugEnabled()) {
+			CompositeAsyncDictionary.LOGGER.debug("Routing {} to {}", entityDescriptor, result);
+		}
+		return result;
+	}
+}
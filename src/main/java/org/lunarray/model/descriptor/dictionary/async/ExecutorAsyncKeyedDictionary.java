@@ -0,0 +1,74 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.dictionary.KeyedDictionary;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * An asynchronous keyed dictionary running a synchronous keyed dictionary on
+ * an executor.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ExecutorAsyncKeyedDictionary
+		implements AsyncKeyedDictionary {
+
+	/** The dictionary. */
+	private final transient KeyedDictionary dictionary;
+	/** The executor. */
+	private final transient Executor executor;
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to run. May not be null.
+	 * @param executor
+	 *            The executor to run on. May not be null.
+	 */
+	public ExecutorAsyncKeyedDictionary(final KeyedDictionary dictionary, final Executor executor) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(executor, "Executor may not be null.");
+		this.dictionary = dictionary;
+		this.executor = executor;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> Future<Collection<E>> lookupAllAsync(final String dictionaryKey, final EntityDescriptor<E> entityDescriptor) {
+		Validate.notNull(entityDescriptor, "Entity descriptor may not be null.");
+		final FutureTask<Collection<E>> task = new FutureTask<Collection<E>>(new Callable<Collection<E>>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public Collection<E> call() {
+				return ExecutorAsyncKeyedDictionary.this.dictionary.lookupAll(dictionaryKey, entityDescriptor);
+			}
+		});
+		this.executor.execute(task);
+		return task;
+	}
+}
@@ -0,0 +1,82 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * An asynchronous paginated dictionary running a synchronous paginated
+ * dictionary on an executor.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ExecutorAsyncPaginatedDictionary
+		extends AbstractExecutorAsyncDictionary<PaginatedDictionary>
+		implements AsyncPaginatedDictionary {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to run. May not be null.
+	 * @param executor
+	 *            The executor to run on. May not be null.
+	 */
+	public ExecutorAsyncPaginatedDictionary(final PaginatedDictionary dictionary, final Executor executor) {
+		super(dictionary, executor);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> Future<List<E>> lookupPaginatedAsync(final EntityDescriptor<E> entityDescriptor, final int row, final int count) {
+		Validate.notNull(entityDescriptor, ExecutorAsyncPaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.submit(new Callable<List<E>>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public List<E> call() throws DictionaryException {
+				return ExecutorAsyncPaginatedDictionary.this.getDictionary().lookupPaginated(entityDescriptor, row, count);
+			}
+		});
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> Future<Integer> lookupTotalsAsync(final EntityDescriptor<E> entityDescriptor) {
+		Validate.notNull(entityDescriptor, ExecutorAsyncPaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.submit(new Callable<Integer>() {
+
+			/** {@inheritDoc} */
+			@Override
+			public Integer call() throws DictionaryException {
+				return ExecutorAsyncPaginatedDictionary.this.getDictionary().lookupTotals(entityDescriptor);
+			}
+		});
+	}
+}
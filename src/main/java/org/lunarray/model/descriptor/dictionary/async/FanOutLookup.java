@@ -0,0 +1,269 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+
+/**
+ * Resolves many references at once. Keys are collected per entity, and on
+ * execution every entity is looked up with a single bulk lookup, all entities
+ * at the same time. A screen with many reference fields thus waits for its
+ * slowest entity rather than for the sum of all lookups. A lookup is not
+ * thread safe and is executed once, its futures may be read from any thread.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class FanOutLookup {
+
+	/** The dictionary. */
+	private final AsyncDictionary dictionary;
+	/** Whether the lookup was executed. */
+	private boolean executed;
+	/** The lookups, by entity name. */
+	private final Map<String, EntityLookup<?, ?>> lookups;
+
+	/**
+	 * Constructs the lookup.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to look up with. May not be null.
+	 */
+	public FanOutLookup(final AsyncDictionary dictionary) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		this.dictionary = dictionary;
+		this.lookups = new LinkedHashMap<String, EntityLookup<?, ?>>();
+	}
+
+	/**
+	 * Executes the lookup if needed and waits for all entities.
+	 * 
+	 * @throws DictionaryException
+	 *             Thrown if any entity could not be looked up.
+	 */
+	public void await() throws DictionaryException {
+		this.execute();
+		for (final EntityLookup<?, ?> lookup : this.lookups.values()) {
+			lookup.getResult();
+		}
+	}
+
+	/**
+	 * Starts looking up all entities. Does nothing if already executed.
+	 */
+	public void execute() {
+		if (!this.executed) {
+			this.executed = true;
+			for (final EntityLookup<?, ?> lookup : this.lookups.values()) {
+				lookup.execute(this.dictionary);
+			}
+		}
+	}
+
+	/**
+	 * Adds a key to look up.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key. May not be null.
+	 * @return The future entity, available once the lookup is executed.
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	@SuppressWarnings("unchecked")
+	// Entity names are unique, so the lookup is for the entity.
+	public <E, K extends Serializable> Future<E> lookup(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key) {
+		Validate.notNull(entityDescriptor, "Entity descriptor may not be null.");
+		Validate.notNull(key, "Key may not be null.");
+		Validate.isTrue(!this.executed, "Lookup was already executed.");
+		EntityLookup<E, K> lookup = (EntityLookup<E, K>) this.lookups.get(entityDescriptor.getName());
+		if (CheckUtil.isNull(lookup)) {
+			lookup = new EntityLookup<E, K>(entityDescriptor);
+			this.lookups.put(entityDescriptor.getName(), lookup);
+		}
+		lookup.getKeys().add(key);
+		return new KeyFuture<E, K>(lookup, key);
+	}
+
+	/**
+	 * The lookup of a single entity.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	private static final class EntityLookup<E, K extends Serializable> {
+
+		/** The entity descriptor. */
+		private final KeyedEntityDescriptor<E, K> entityDescriptor;
+		/** The keys. */
+		private final Set<K> keys;
+		/** The bulk lookup, null until executed. */
+		private volatile Future<Map<K, E>> result;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param entityDescriptor
+		 *            The entity descriptor.
+		 */
+		public EntityLookup(final KeyedEntityDescriptor<E, K> entityDescriptor) {
+			this.entityDescriptor = entityDescriptor;
+			this.keys = new LinkedHashSet<K>();
+		}
+
+		/**
+		 * Starts the bulk lookup.
+		 * 
+		 * @param dictionary
+		 *            The dictionary.
+		 */
+		public void execute(final AsyncDictionary dictionary) {
+			this.result = dictionary.lookupAllAsync(this.entityDescriptor, this.keys);
+		}
+
+		/**
+		 * Gets the bulk lookup.
+		 * 
+		 * @return The bulk lookup.
+		 * @throws IllegalStateException
+		 *             Thrown if the lookup was not executed.
+		 */
+		public Future<Map<K, E>> getFuture() {
+			final Future<Map<K, E>> future = this.result;
+			if (CheckUtil.isNull(future)) {
+				throw new IllegalStateException("Lookup was not executed.");
+			}
+			return future;
+		}
+
+		/**
+		 * Gets the value for the keys field.
+		 * 
+		 * @return The value for the keys field.
+		 */
+		public Set<K> getKeys() {
+			return this.keys;
+		}
+
+		/**
+		 * Waits for the bulk lookup.
+		 * 
+		 * @return The entities by key.
+		 * @throws DictionaryException
+		 *             Thrown if the entities could not be looked up.
+		 */
+		public Map<K, E> getResult() throws DictionaryException {
+			try {
+				return this.getFuture().get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DictionaryException("Interrupted while waiting for a lookup.", e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof DictionaryException) {
+					throw (DictionaryException) cause;
+				} else {
+					throw new DictionaryException(String.format("Could not look up entity '%s'.", this.entityDescriptor.getName()), e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The future entity of a single key, backed by the bulk lookup of its
+	 * entity.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	private static final class KeyFuture<E, K extends Serializable>
+			implements Future<E> {
+
+		/** The key. */
+		private final K key;
+		/** The entity lookup. */
+		private final EntityLookup<E, K> lookup;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param lookup
+		 *            The entity lookup.
+		 * @param key
+		 *            The key.
+		 */
+		public KeyFuture(final EntityLookup<E, K> lookup, final K key) {
+			this.lookup = lookup;
+			this.key = key;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			// The bulk lookup is shared with other keys.
+			return false;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public E get() throws InterruptedException, ExecutionException {
+			return this.lookup.getFuture().get().get(this.key);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public E get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return this.lookup.getFuture().get(timeout, unit).get(this.key);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean isDone() {
+			final Future<Map<K, E>> future = this.lookup.result;
+			return !CheckUtil.isNull(future) && future.isDone();
+		}
+	}
+}
@@ -0,0 +1,459 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A dictionary caching the lookups of another dictionary. Every entity has its
+ * own bounded, least recently used cache. Keyed lookups are cached apart from
+ * derived lookups, such as the collection of all entities, and invalidating a
+ * key also invalidates the derived lookups of its entity. Failed lookups and
+ * lookups without a result are not cached.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <D>
+ *            The dictionary type.
+ */
+public abstract class AbstractCachingDictionary<D extends Dictionary>
+		implements Dictionary, DictionaryCache {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCachingDictionary.class);
+	/** The cached dictionary. */
+	private final transient D dictionary;
+	/** The cache regions, by entity name. */
+	private final transient ConcurrentMap<String, CacheRegion> regions;
+	/** The settings. */
+	private final transient DictionaryCacheSettings settings;
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to cache. May not be null.
+	 * @param settings
+	 *            The cache settings. May not be null.
+	 */
+	public AbstractCachingDictionary(final D dictionary, final DictionaryCacheSettings settings) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(settings, "Settings may not be null.");
+		this.dictionary = dictionary;
+		this.settings = settings;
+		this.regions = new ConcurrentHashMap<String, CacheRegion>();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final DictionaryCacheStatistics getStatistics() {
+		long hits = 0;
+		long misses = 0;
+		long evictions = 0;
+		int size = 0;
+		for (final CacheRegion region : this.regions.values()) {
+			final DictionaryCacheStatistics statistics = region.getStatistics();
+			hits += statistics.getHitCount();
+			misses += statistics.getMissCount();
+			evictions += statistics.getEvictionCount();
+			size += statistics.getSize();
+		}
+		return new DictionaryCacheStatistics(hits, misses, evictions, size);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final DictionaryCacheStatistics getStatistics(final EntityDescriptor<?> entityDescriptor) {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.getRegion(entityDescriptor).getStatistics();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final void invalidate(final EntityDescriptor<?> entityDescriptor) {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		final CacheRegion region = this.regions.get(entityDescriptor.getName());
+		if (!CheckUtil.isNull(region)) {
+			region.clear();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <K extends Serializable> void invalidate(final KeyedEntityDescriptor<?, K> entityDescriptor, final K key) {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(key, "Key may not be null.");
+		final CacheRegion region = this.regions.get(entityDescriptor.getName());
+		if (!CheckUtil.isNull(region)) {
+			region.invalidate(key);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final void invalidateAll() {
+		for (final CacheRegion region : this.regions.values()) {
+			region.clear();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	// Cannot be specified.
+	@Override
+	public final <E> Collection<E> lookup(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		Collection<E> result = (Collection<E>) this.getDerived(entityDescriptor, CacheMarker.ALL);
+		if (CheckUtil.isNull(result)) {
+			result = this.dictionary.lookup(entityDescriptor);
+			this.putDerived(entityDescriptor, CacheMarker.ALL, result);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <E, K extends Serializable> E lookup(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		final CacheRegion region = this.getRegion(entityDescriptor);
+		E result = entityDescriptor.getEntityType().cast(region.get(region.getEntries(), key));
+		if (CheckUtil.isNull(result)) {
+			if (AbstractCachingDictionary.LOGGER.isDebugEnabled()) {
+				AbstractCachingDictionary.LOGGER.debug("Cache miss for {} with key {}", entityDescriptor, key);
+			}
+			result = this.dictionary.lookup(entityDescriptor, key);
+			region.put(region.getEntries(), key, result);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public final <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, AbstractCachingDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		final CacheRegion region = this.getRegion(entityDescriptor);
+		final Class<E> entityType = entityDescriptor.getEntityType();
+		final Map<K, E> result = new LinkedHashMap<K, E>();
+		final List<K> missing = new LinkedList<K>();
+		for (final K key : keys) {
+			if (!CheckUtil.isNull(key) && !result.containsKey(key)) {
+				final E cached = entityType.cast(region.get(region.getEntries(), key));
+				result.put(key, cached);
+				if (CheckUtil.isNull(cached)) {
+					missing.add(key);
+				}
+			}
+		}
+		if (!missing.isEmpty()) {
+			if (AbstractCachingDictionary.LOGGER.isDebugEnabled()) {
+				AbstractCachingDictionary.LOGGER.debug("Cache miss for {} with {} keys", entityDescriptor, missing.size());
+			}
+			final Map<K, E> fetched = this.dictionary.lookupAll(entityDescriptor, missing);
+			for (final K key : missing) {
+				final E value = fetched.get(key);
+				if (CheckUtil.isNull(value)) {
+					result.remove(key);
+				} else {
+					result.put(key, value);
+					region.put(region.getEntries(), key, value);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets a cached derived lookup.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor.
+	 * @param key
+	 *            The lookup key, describing the lookup.
+	 * @return The cached result, or null.
+	 */
+	protected final Object getDerived(final EntityDescriptor<?> entityDescriptor, final Object key) {
+		final CacheRegion region = this.getRegion(entityDescriptor);
+		return region.get(region.getDerived(), key);
+	}
+
+	/**
+	 * Gets the value for the dictionary field.
+	 * 
+	 * @return The value for the dictionary field.
+	 */
+	protected final D getDictionary() {
+		return this.dictionary;
+	}
+
+	/**
+	 * Caches a derived lookup.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor.
+	 * @param key
+	 *            The lookup key, describing the lookup.
+	 * @param value
+	 *            The result. May be null, in which case nothing is cached.
+	 */
+	protected final void putDerived(final EntityDescriptor<?> entityDescriptor, final Object key, final Object value) {
+		final CacheRegion region = this.getRegion(entityDescriptor);
+		region.put(region.getDerived(), key, value);
+	}
+
+	/**
+	 * Gets the cache region of an entity, creating it if needed.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor.
+	 * @return The region.
+	 */
+	private CacheRegion getRegion(final EntityDescriptor<?> entityDescriptor) {
+		final String name = entityDescriptor.getName();
+		CacheRegion region = this.regions.get(name);
+		if (CheckUtil.isNull(region)) {
+			final CacheRegion created = new CacheRegion(this.settings.getMaximumSize(name), this.settings.getTimeToLive(name));
+			region = this.regions.putIfAbsent(name, created);
+			if (CheckUtil.isNull(region)) {
+				region = created;
+			}
+		}
+		return region;
+	}
+
+	/**
+	 * Markers for derived lookups.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	protected enum CacheMarker {
+		/** The lookup of all entities. */
+		ALL,
+		/** The lookup of the total number of entities. */
+		TOTALS;
+	}
+
+	/**
+	 * A cached value.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class CacheEntry {
+
+		/** The moment the entry expires, in nanoseconds. */
+		private final long expiry;
+		/** The value. */
+		private final Object value;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param value
+		 *            The value.
+		 * @param expiry
+		 *            The moment the entry expires, 0 for never.
+		 */
+		public CacheEntry(final Object value, final long expiry) {
+			this.value = value;
+			this.expiry = expiry;
+		}
+
+		/**
+		 * Gets the value for the value field.
+		 * 
+		 * @return The value for the value field.
+		 */
+		public Object getValue() {
+			return this.value;
+		}
+
+		/**
+		 * Tests if the entry expired.
+		 * 
+		 * @param now
+		 *            The current time, in nanoseconds.
+		 * @return True if and only if the entry expired.
+		 */
+		public boolean isExpired(final long now) {
+			return (this.expiry != 0) && ((now - this.expiry) >= 0);
+		}
+	}
+
+	/**
+	 * The cache of a single entity.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class CacheRegion {
+
+		/** The derived lookups, in access order. */
+		private final LinkedHashMap<Object, CacheEntry> derived;
+		/** The keyed entities, in access order. */
+		private final LinkedHashMap<Object, CacheEntry> entries;
+		/** The number of evictions. */
+		private long evictionCount;
+		/** The number of hits. */
+		private long hitCount;
+		/** The maximum size of either map. */
+		private final int maximumSize;
+		/** The number of misses. */
+		private long missCount;
+		/** The time to live, in nanoseconds. */
+		private final long timeToLive;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param maximumSize
+		 *            The maximum size.
+		 * @param timeToLive
+		 *            The time to live, 0 for never.
+		 */
+		public CacheRegion(final int maximumSize, final long timeToLive) {
+			this.maximumSize = maximumSize;
+			this.timeToLive = timeToLive;
+			this.entries = new LinkedHashMap<Object, CacheEntry>(16, 0.75f, true);
+			this.derived = new LinkedHashMap<Object, CacheEntry>(16, 0.75f, true);
+		}
+
+		/**
+		 * Clears the region.
+		 */
+		public synchronized void clear() {
+			this.entries.clear();
+			this.derived.clear();
+		}
+
+		/**
+		 * Gets a cached value.
+		 * 
+		 * @param map
+		 *            The map to get from.
+		 * @param key
+		 *            The key.
+		 * @return The value, or null if it is not cached or expired.
+		 */
+		public synchronized Object get(final Map<Object, CacheEntry> map, final Object key) {
+			Object result = null;
+			final CacheEntry entry = map.get(key);
+			if (!CheckUtil.isNull(entry)) {
+				if (entry.isExpired(System.nanoTime())) {
+					map.remove(key);
+					this.evictionCount++;
+				} else {
+					result = entry.getValue();
+				}
+			}
+			if (CheckUtil.isNull(result)) {
+				this.missCount++;
+			} else {
+				this.hitCount++;
+			}
+			return result;
+		}
+
+		/**
+		 * Gets the value for the derived field.
+		 * 
+		 * @return The value for the derived field.
+		 */
+		public Map<Object, CacheEntry> getDerived() {
+			return this.derived;
+		}
+
+		/**
+		 * Gets the value for the entries field.
+		 * 
+		 * @return The value for the entries field.
+		 */
+		public Map<Object, CacheEntry> getEntries() {
+			return this.entries;
+		}
+
+		/**
+		 * Gets the statistics.
+		 * 
+		 * @return The statistics.
+		 */
+		public synchronized DictionaryCacheStatistics getStatistics() {
+			return new DictionaryCacheStatistics(this.hitCount, this.missCount, this.evictionCount, this.entries.size()
+					+ this.derived.size());
+		}
+
+		/**
+		 * Invalidates a key and all derived lookups.
+		 * 
+		 * @param key
+		 *            The key.
+		 */
+		public synchronized void invalidate(final Object key) {
+			this.entries.remove(key);
+			this.derived.clear();
+		}
+
+		/**
+		 * Caches a value, evicting the least recently used values beyond the
+		 * maximum size.
+		 * 
+		 * @param map
+		 *            The map to put in.
+		 * @param key
+		 *            The key.
+		 * @param value
+		 *            The value. May be null, in which case nothing is cached.
+		 */
+		public synchronized void put(final Map<Object, CacheEntry> map, final Object key, final Object value) {
+			if (!CheckUtil.isNull(value) && (this.maximumSize > 0)) {
+				long expiry = 0;
+				if (this.timeToLive > 0) {
+					expiry = System.nanoTime() + this.timeToLive;
+					if (expiry == 0) {
+						expiry = 1;
+					}
+				}
+				map.put(key, new CacheEntry(value, expiry));
+				final Iterator<Object> keys = map.keySet().iterator();
+				while ((map.size() > this.maximumSize) && keys.hasNext()) {
+					keys.next();
+					keys.remove();
+					this.evictionCount++;
+				}
+			}
+		}
+	}
+}
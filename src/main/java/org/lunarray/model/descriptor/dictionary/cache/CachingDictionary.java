@@ -0,0 +1,51 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+
+/**
+ * A caching dictionary.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CachingDictionary
+		extends AbstractCachingDictionary<Dictionary> {
+
+	/**
+	 * Constructs the dictionary with the default settings.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to cache. May not be null.
+	 */
+	public CachingDictionary(final Dictionary dictionary) {
+		super(dictionary, DictionaryCacheSettings.createDefault());
+	}
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to cache. May not be null.
+	 * @param settings
+	 *            The cache settings. May not be null.
+	 */
+	public CachingDictionary(final Dictionary dictionary, final DictionaryCacheSettings settings) {
+		super(dictionary, settings);
+	}
+}
@@ -0,0 +1,182 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.io.Serializable;
+import java.util.List;
+
+import java.util.concurrent.Executor;
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
+import org.lunarray.model.descriptor.dictionary.cursor.ContinuationToken;
+import org.lunarray.model.descriptor.dictionary.cursor.DictionaryCursor;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.util.DictionaryUtil;
+
+/**
+ * A caching paginated dictionary. Pages and totals are cached as derived
+ * lookups.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CachingPaginatedDictionary
+		extends AbstractCachingDictionary<PaginatedDictionary>
+		implements PaginatedDictionary {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+	/** The executor to prefetch cursor pages on, null to look up on the calling thread. */
+	private transient Executor prefetchExecutor;
+
+	/**
+	 * Constructs the dictionary with the default settings.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to cache. May not be null.
+	 */
+	public CachingPaginatedDictionary(final PaginatedDictionary dictionary) {
+		super(dictionary, DictionaryCacheSettings.createDefault());
+	}
+
+	/**
+	 * Constructs the dictionary.
+	 * 
+	 * @param dictionary
+	 *            The dictionary to cache. May not be null.
+	 * @param settings
+	 *            The cache settings. May not be null.
+	 */
+	public CachingPaginatedDictionary(final PaginatedDictionary dictionary, final DictionaryCacheSettings settings) {
+		super(dictionary, settings);
+	}
+
+	/**
+	 * Gets the value for the prefetchExecutor field.
+	 * 
+	 * @return The value for the prefetchExecutor field.
+	 */
+	public Executor getPrefetchExecutor() {
+		return this.prefetchExecutor;
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	// Cannot be specified.
+	@Override
+	public <E> List<E> lookupPaginated(final EntityDescriptor<E> entityDescriptor, final int row, final int count)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, CachingPaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.isTrue(CheckUtil.checkPositive(count), "Count must be positive.");
+		Validate.isTrue(CheckUtil.checkPositive(row), "Row must be positive.");
+		final PageKey key = new PageKey(row, count);
+		List<E> result = (List<E>) this.getDerived(entityDescriptor, key);
+		if (CheckUtil.isNull(result)) {
+			result = this.getDictionary().lookupPaginated(entityDescriptor, row, count);
+			this.putDerived(entityDescriptor, key, result);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> int lookupTotals(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
+		Validate.notNull(entityDescriptor, CachingPaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		Integer result = (Integer) this.getDerived(entityDescriptor, CacheMarker.TOTALS);
+		if (CheckUtil.isNull(result)) {
+			result = this.getDictionary().lookupTotals(entityDescriptor);
+			this.putDerived(entityDescriptor, CacheMarker.TOTALS, result);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final ContinuationToken token)
+			throws DictionaryException {
+		// Pages are looked up through this dictionary, so they are cached.
+		return DictionaryUtil.open(this, entityDescriptor, token, this.prefetchExecutor);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final int pageSize) throws DictionaryException {
+		Validate.notNull(entityDescriptor, CachingPaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.open(entityDescriptor, new ContinuationToken(entityDescriptor.getName(), pageSize));
+	}
+
+	/**
+	 * Sets a new value for the prefetchExecutor field.
+	 * 
+	 * @param prefetchExecutor
+	 *            The new value for the prefetchExecutor field. May be null,
+	 *            to look up cursor pages on the calling thread.
+	 */
+	public void setPrefetchExecutor(final Executor prefetchExecutor) {
+		this.prefetchExecutor = prefetchExecutor;
+	}
+
+	/**
+	 * Describes a page lookup.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class PageKey
+			implements Serializable {
+
+		/** A prime number. */
+		private static final int PRIME = 31;
+		/** Serial id. */
+		private static final long serialVersionUID = 4160617436451862297L;
+		/** The count. */
+		private final int count;
+		/** The start row. */
+		private final int row;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param row
+		 *            The start row.
+		 * @param count
+		 *            The count.
+		 */
+		public PageKey(final int row, final int count) {
+			this.row = row;
+			this.count = count;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean equals(final Object obj) {
+			boolean result = false;
+			if (obj instanceof PageKey) {
+				final PageKey other = (PageKey) obj;
+				result = (this.row == other.row) && (this.count == other.count);
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int hashCode() {
+			return (PageKey.PRIME * this.row) + this.count;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.io.Serializable;
+
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.Extension;
+
+/**
+ * Describes a dictionary cache, its statistics and invalidation.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public interface DictionaryCache
+		extends Extension {
+
+	/**
+	 * Gets the statistics over all entities.
+	 * 
+	 * @return The statistics.
+	 */
+	DictionaryCacheStatistics getStatistics();
+
+	/**
+	 * Gets the statistics for an entity.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @return The statistics.
+	 */
+	DictionaryCacheStatistics getStatistics(EntityDescriptor<?> entityDescriptor);
+
+	/**
+	 * Invalidates everything cached for an entity.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 */
+	void invalidate(EntityDescriptor<?> entityDescriptor);
+
+	/**
+	 * Invalidates a single cached entity, and anything cached for the entity
+	 * type that is not keyed.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key. May not be null.
+	 * @param <K>
+	 *            The key type.
+	 */
+	<K extends Serializable> void invalidate(KeyedEntityDescriptor<?, K> entityDescriptor, K key);
+
+	/**
+	 * Invalidates everything.
+	 */
+	void invalidateAll();
+}
@@ -0,0 +1,213 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * The settings of a dictionary cache. Every entity has a maximum number of
+ * cached entries and a time to live, which default to the cache wide settings.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class DictionaryCacheSettings {
+
+	/** The default maximum size. */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+	/** Validation message. */
+	private static final String ENTITY_NAME_NULL = "Entity name may not be null.";
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates the default settings, without expiry.
+	 * 
+	 * @return The settings.
+	 */
+	public static DictionaryCacheSettings createDefault() {
+		return new DictionaryCacheSettings(new Builder());
+	}
+
+	/** The maximum sizes by entity name. */
+	private final Map<String, Integer> maximumSizes;
+	/** The default maximum size. */
+	private final int maximumSize;
+	/** The default time to live, in nanoseconds. */
+	private final long timeToLive;
+	/** The times to live by entity name, in nanoseconds. */
+	private final Map<String, Long> timesToLive;
+
+	/**
+	 * Constructs the settings.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private DictionaryCacheSettings(final Builder builder) {
+		this.maximumSize = builder.maximumSizeBuilder;
+		this.maximumSizes = new HashMap<String, Integer>(builder.maximumSizesBuilder);
+		this.timeToLive = builder.timeToLiveBuilder;
+		this.timesToLive = new HashMap<String, Long>(builder.timesToLiveBuilder);
+	}
+
+	/**
+	 * Gets the maximum number of cached entries for an entity.
+	 * 
+	 * @param entityName
+	 *            The entity name. May not be null.
+	 * @return The maximum size.
+	 */
+	public int getMaximumSize(final String entityName) {
+		Validate.notNull(entityName, DictionaryCacheSettings.ENTITY_NAME_NULL);
+		int result = this.maximumSize;
+		if (this.maximumSizes.containsKey(entityName)) {
+			result = this.maximumSizes.get(entityName);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the time to live for an entity.
+	 * 
+	 * @param entityName
+	 *            The entity name. May not be null.
+	 * @return The time to live in nanoseconds, 0 if entries do not expire.
+	 */
+	public long getTimeToLive(final String entityName) {
+		Validate.notNull(entityName, DictionaryCacheSettings.ENTITY_NAME_NULL);
+		long result = this.timeToLive;
+		if (this.timesToLive.containsKey(entityName)) {
+			result = this.timesToLive.get(entityName);
+		}
+		return result;
+	}
+
+	/**
+	 * The settings builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The default maximum size. */
+		private int maximumSizeBuilder;
+		/** The maximum sizes by entity name. */
+		private final Map<String, Integer> maximumSizesBuilder;
+		/** The default time to live. */
+		private long timeToLiveBuilder;
+		/** The times to live by entity name. */
+		private final Map<String, Long> timesToLiveBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.maximumSizeBuilder = DictionaryCacheSettings.DEFAULT_MAXIMUM_SIZE;
+			this.maximumSizesBuilder = new HashMap<String, Integer>();
+			this.timesToLiveBuilder = new HashMap<String, Long>();
+		}
+
+		/**
+		 * Builds the settings.
+		 * 
+		 * @return The settings.
+		 */
+		public DictionaryCacheSettings build() {
+			return new DictionaryCacheSettings(this);
+		}
+
+		/**
+		 * Sets the default maximum number of cached entries per entity.
+		 * 
+		 * @param maximumSize
+		 *            The maximum size. Must be 0 or positive, 0 disables
+		 *            caching.
+		 * @return The builder.
+		 */
+		public Builder maximumSize(final int maximumSize) {
+			Validate.isTrue(maximumSize >= 0, "Maximum size must be 0 or positive.");
+			this.maximumSizeBuilder = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of cached entries for an entity.
+		 * 
+		 * @param entityName
+		 *            The entity name. May not be null.
+		 * @param maximumSize
+		 *            The maximum size. Must be 0 or positive, 0 disables
+		 *            caching.
+		 * @return The builder.
+		 */
+		public Builder maximumSize(final String entityName, final int maximumSize) {
+			Validate.notNull(entityName, DictionaryCacheSettings.ENTITY_NAME_NULL);
+			Validate.isTrue(maximumSize >= 0, "Maximum size must be 0 or positive.");
+			this.maximumSizesBuilder.put(entityName, maximumSize);
+			return this;
+		}
+
+		/**
+		 * Sets the default time to live.
+		 * 
+		 * @param timeToLive
+		 *            The time to live. Must be 0 or positive, 0 means entries
+		 *            do not expire.
+		 * @param unit
+		 *            The time unit. May not be null.
+		 * @return The builder.
+		 */
+		public Builder timeToLive(final long timeToLive, final TimeUnit unit) {
+			Validate.isTrue(timeToLive >= 0, "Time to live must be 0 or positive.");
+			Validate.notNull(unit, "Unit may not be null.");
+			this.timeToLiveBuilder = unit.toNanos(timeToLive);
+			return this;
+		}
+
+		/**
+		 * Sets the time to live for an entity.
+		 * 
+		 * @param entityName
+		 *            The entity name. May not be null.
+		 * @param timeToLive
+		 *            The time to live. Must be 0 or positive, 0 means entries
+		 *            do not expire.
+		 * @param unit
+		 *            The time unit. May not be null.
+		 * @return The builder.
+		 */
+		public Builder timeToLive(final String entityName, final long timeToLive, final TimeUnit unit) {
+			Validate.notNull(entityName, DictionaryCacheSettings.ENTITY_NAME_NULL);
+			Validate.isTrue(timeToLive >= 0, "Time to live must be 0 or positive.");
+			Validate.notNull(unit, "Unit may not be null.");
+			this.timesToLiveBuilder.put(entityName, unit.toNanos(timeToLive));
+			return this;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.io.Serializable;
+
+/**
+ * A snapshot of dictionary cache statistics.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class DictionaryCacheStatistics
+		implements Serializable {
+
+	/** Serial id. */
+	private static final long serialVersionUID = -1254437707962604178L;
+	/** The number of evictions. */
+	private final long evictionCount;
+	/** The number of hits. */
+	private final long hitCount;
+	/** The number of misses. */
+	private final long missCount;
+	/** The number of cached entries. */
+	private final int size;
+
+	/**
+	 * Constructs the statistics.
+	 * 
+	 * @param hitCount
+	 *            The number of hits.
+	 * @param missCount
+	 *            The number of misses.
+	 * @param evictionCount
+	 *            The number of evictions, by size or age.
+	 * @param size
+	 *            The number of cached entries.
+	 */
+	public DictionaryCacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the value for the evictionCount field.
+	 * 
+	 * @return The value for the evictionCount field.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Gets the value for the hitCount field.
+	 * 
+	 * @return The value for the hitCount field.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Gets the hit ratio.
+	 * 
+	 * @return The ratio of hits to requests, 1 if there were no requests.
+	 */
+	public double getHitRatio() {
+		final long requests = this.hitCount + this.missCount;
+		double ratio = 1d;
+		if (requests > 0) {
+			ratio = (double) this.hitCount / requests;
+		}
+		return ratio;
+	}
+
+	/**
+	 * Gets the value for the missCount field.
+	 * 
+	 * @return The value for the missCount field.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Gets the value for the size field.
+	 * 
+	 * @return The value for the size field.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("DictionaryCacheStatistics[\n\tHits: ");
+		builder.append(this.hitCount);
+		builder.append("\n\tMisses: ");
+		builder.append(this.missCount);
+		builder.append("\n\tEvictions: ");
+		builder.append(this.evictionCount);
+		builder.append("\n\tSize: ");
+		builder.append(this.size);
+		builder.append("\n]\n");
+		return builder.toString();
+	}
+}
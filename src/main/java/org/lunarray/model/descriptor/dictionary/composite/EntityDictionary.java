@@ -19,6 +19,7 @@ package org.lunarray.model.descriptor.dictionary.composite;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Map;
 
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 
@@ -59,4 +60,18 @@ public interface EntityDictionary<E, K extends Serializable> {
 	 *             Thrown if the entity could not be found.
 	 */
 	E lookup(K key) throws DictionaryException;
+
+	/**
+	 * Look up the entities with the given keys in one go. Dictionaries without
+	 * a native bulk lookup may delegate to
+	 * {@link org.lunarray.model.descriptor.util.DictionaryUtil#lookupAll(EntityDictionary, Collection)}
+	 * .
+	 * 
+	 * @param keys
+	 *            The keys.
+	 * @return The entities by key. Keys without an entity are left out.
+	 * @throws DictionaryException
+	 *             Thrown if the entities could not be found.
+	 */
+	Map<K, E> lookupAll(Collection<K> keys) throws DictionaryException;
 }
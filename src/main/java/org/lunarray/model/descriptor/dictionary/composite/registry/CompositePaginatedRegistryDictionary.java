@@ -24,10 +24,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import java.util.concurrent.Executor;
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
 import org.lunarray.model.descriptor.dictionary.composite.PaginatedEntityDictionary;
+import org.lunarray.model.descriptor.dictionary.cursor.ContinuationToken;
+import org.lunarray.model.descriptor.dictionary.cursor.DictionaryCursor;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 import org.lunarray.model.descriptor.dictionary.exceptions.UnknownEntityException;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
@@ -35,6 +38,7 @@ import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
 import org.lunarray.model.descriptor.registry.Registry;
 import org.lunarray.model.descriptor.registry.RegistryAware;
 import org.lunarray.model.descriptor.registry.exceptions.RegistryException;
+import org.lunarray.model.descriptor.util.DictionaryUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +58,8 @@ public final class CompositePaginatedRegistryDictionary<N>
 	private static final Logger LOGGER = LoggerFactory.getLogger(CompositePaginatedRegistryDictionary.class);
 	/** The dictionaries. */
 	private transient Map<String, N> dictionaries;
+	/** The executor to prefetch cursor pages on, null to look up on the calling thread. */
+	private transient Executor prefetchExecutor;
 	/** The registry. */
 	private transient Registry<N> registry;
 
@@ -62,6 +68,15 @@ public final class CompositePaginatedRegistryDictionary<N>
 		// Default constructor.
 	}
 
+	/**
+	 * Gets the value for the prefetchExecutor field.
+	 * 
+	 * @return The value for the prefetchExecutor field.
+	 */
+	public Executor getPrefetchExecutor() {
+		return this.prefetchExecutor;
+	}
+
 	/**
 	 * Initializes the dictionaries.
 	 */
@@ -71,7 +86,9 @@ public final class CompositePaginatedRegistryDictionary<N>
 		try {
 			final Set<N> registryDictionaries = this.registry.lookupAll(PaginatedEntityDictionary.class);
 			for (final N dictionary : registryDictionaries) {
-				CompositePaginatedRegistryDictionary.LOGGER.debug("Found dictionary {}", dictionary);
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Found dictionary {}", dictionary);
+				}
 				this.dictionaries.put(this.registry.lookup(PaginatedEntityDictionary.class, dictionary).getEntityName(), dictionary);
 			}
 		} catch (final RegistryException e) {
@@ -88,7 +105,9 @@ public final class CompositePaginatedRegistryDictionary<N>
 		final String name = entityDescriptor.getName();
 		if (this.dictionaries.containsKey(name)) {
 			try {
-				CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up all for {}", entityDescriptor);
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up all for {}", entityDescriptor);
+				}
 				return this.registry.lookup(PaginatedEntityDictionary.class, this.dictionaries.get(name)).lookup();
 			} catch (final RegistryException e) {
 				throw new UnknownEntityException(entityDescriptor, e);
@@ -108,7 +127,9 @@ public final class CompositePaginatedRegistryDictionary<N>
 		if (this.dictionaries.containsKey(name)) {
 			Object obj;
 			try {
-				CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up {} with key {}", entityDescriptor, key);
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up {} with key {}", entityDescriptor, key);
+				}
 				obj = this.registry.lookup(PaginatedEntityDictionary.class, this.dictionaries.get(name)).lookup(key);
 				return entityDescriptor.getEntityType().cast(obj);
 			} catch (final RegistryException e) {
@@ -131,7 +152,9 @@ public final class CompositePaginatedRegistryDictionary<N>
 		final String name = entityDescriptor.getName();
 		if (this.dictionaries.containsKey(name)) {
 			try {
-				CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up {} from row {}, count {}", entityDescriptor, row, count);
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Looking up {} from row {}, count {}", entityDescriptor, row, count);
+				}
 				return this.registry.lookup(PaginatedEntityDictionary.class, this.dictionaries.get(name)).lookup(row, count);
 			} catch (final RegistryException e) {
 				throw new UnknownEntityException(entityDescriptor, e);
@@ -148,7 +171,9 @@ public final class CompositePaginatedRegistryDictionary<N>
 		final String name = entityDescriptor.getName();
 		if (this.dictionaries.containsKey(name)) {
 			try {
-				CompositePaginatedRegistryDictionary.LOGGER.debug("Counting total for {}", entityDescriptor);
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Counting total for {}", entityDescriptor);
+				}
 				return this.registry.lookup(PaginatedEntityDictionary.class, this.dictionaries.get(name)).total();
 			} catch (final RegistryException e) {
 				throw new UnknownEntityException(entityDescriptor, e);
@@ -158,6 +183,69 @@ public final class CompositePaginatedRegistryDictionary<N>
 		}
 	}
 
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	// Cannot be further specified.
+	@Override
+	public <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositePaginatedRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+			CompositePaginatedRegistryDictionary.LOGGER.debug("Lookup up {} for {} keys", entityDescriptor, keys.size());
+		}
+		final String name = entityDescriptor.getName();
+		if (this.dictionaries.containsKey(name)) {
+			try {
+				return this.registry.lookup(PaginatedEntityDictionary.class, this.dictionaries.get(name)).lookupAll(keys);
+			} catch (final RegistryException e) {
+				throw new UnknownEntityException(entityDescriptor, e);
+			}
+		} else {
+			throw new UnknownEntityException(entityDescriptor);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final ContinuationToken token)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositePaginatedRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
+		final String name = entityDescriptor.getName();
+		if (this.dictionaries.containsKey(name)) {
+			try {
+				if (CompositePaginatedRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositePaginatedRegistryDictionary.LOGGER.debug("Opening cursor for {} from {}", entityDescriptor, token);
+				}
+				final PaginatedEntityDictionary<?, ?> dictionary = this.registry.lookup(PaginatedEntityDictionary.class,
+						this.dictionaries.get(name));
+				return DictionaryUtil.open(this, dictionary, entityDescriptor, token, this.prefetchExecutor);
+			} catch (final RegistryException e) {
+				throw new UnknownEntityException(entityDescriptor, e);
+			}
+		} else {
+			throw new UnknownEntityException(entityDescriptor);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final int pageSize) throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositePaginatedRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.open(entityDescriptor, new ContinuationToken(entityDescriptor.getName(), pageSize));
+	}
+
+	/**
+	 * Sets a new value for the prefetchExecutor field.
+	 * 
+	 * @param prefetchExecutor
+	 *            The new value for the prefetchExecutor field. May be null,
+	 *            to look up cursor pages on the calling thread.
+	 */
+	public void setPrefetchExecutor(final Executor prefetchExecutor) {
+		this.prefetchExecutor = prefetchExecutor;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setRegistry(final Registry<N> registry) {
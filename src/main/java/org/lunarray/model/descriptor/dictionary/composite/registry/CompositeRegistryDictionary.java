@@ -69,7 +69,9 @@ public final class CompositeRegistryDictionary<N>
 		try {
 			final Set<N> registryDictionaries = this.registry.lookupAll(EntityDictionary.class);
 			for (final N dictionary : registryDictionaries) {
-				CompositeRegistryDictionary.LOGGER.debug("Found dictionary: {}", dictionary);
+				if (CompositeRegistryDictionary.LOGGER.isDebugEnabled()) {
+					CompositeRegistryDictionary.LOGGER.debug("Found dictionary: {}", dictionary);
+				}
 				this.dictionaries.put(this.registry.lookup(EntityDictionary.class, dictionary).getEntityName(), dictionary);
 			}
 		} catch (final RegistryException e) {
@@ -83,7 +85,9 @@ public final class CompositeRegistryDictionary<N>
 	@Override
 	public <E> Collection<E> lookup(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
 		Validate.notNull(entityDescriptor, CompositeRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
-		CompositeRegistryDictionary.LOGGER.debug("Lookup up all for {}", entityDescriptor);
+		if (CompositeRegistryDictionary.LOGGER.isDebugEnabled()) {
+			CompositeRegistryDictionary.LOGGER.debug("Lookup up all for {}", entityDescriptor);
+		}
 		final String name = entityDescriptor.getName();
 		if (this.dictionaries.containsKey(name)) {
 			try {
@@ -102,7 +106,9 @@ public final class CompositeRegistryDictionary<N>
 	@Override
 	public <E, K extends Serializable> E lookup(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key) throws DictionaryException {
 		Validate.notNull(entityDescriptor, CompositeRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
-		CompositeRegistryDictionary.LOGGER.debug("Lookup up all for {} with key {}", entityDescriptor, key);
+		if (CompositeRegistryDictionary.LOGGER.isDebugEnabled()) {
+			CompositeRegistryDictionary.LOGGER.debug("Lookup up all for {} with key {}", entityDescriptor, key);
+		}
 		final String name = entityDescriptor.getName();
 		if (this.dictionaries.containsKey(name)) {
 			Object obj;
@@ -117,6 +123,29 @@ public final class CompositeRegistryDictionary<N>
 		}
 	}
 
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	// Cannot be further specified.
+	@Override
+	public <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositeRegistryDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		if (CompositeRegistryDictionary.LOGGER.isDebugEnabled()) {
+			CompositeRegistryDictionary.LOGGER.debug("Lookup up {} for {} keys", entityDescriptor, keys.size());
+		}
+		final String name = entityDescriptor.getName();
+		if (this.dictionaries.containsKey(name)) {
+			try {
+				return this.registry.lookup(EntityDictionary.class, this.dictionaries.get(name)).lookupAll(keys);
+			} catch (final RegistryException e) {
+				throw new UnknownEntityException(entityDescriptor, e);
+			}
+		} else {
+			throw new UnknownEntityException(entityDescriptor);
+		}
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setRegistry(final Registry<N> registry) {
@@ -71,7 +71,9 @@ public abstract class AbstractCompositeDictionary<D extends EntityDictionary<?,
 	public final <E> Collection<E> lookup(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
 		Validate.notNull(entityDescriptor, AbstractCompositeDictionary.ENTITY_DESCRIPTOR_NULL);
 		final String name = entityDescriptor.getName();
-		AbstractCompositeDictionary.LOGGER.debug("Lookup up all for {}", entityDescriptor);
+		if (AbstractCompositeDictionary.LOGGER.isDebugEnabled()) {
+			AbstractCompositeDictionary.LOGGER.debug("Lookup up all for {}", entityDescriptor);
+		}
 		if (this.dictionaries.containsKey(name)) {
 			return (Collection<E>) this.dictionaries.get(name).lookup();
 		} else {
@@ -85,7 +87,9 @@ public abstract class AbstractCompositeDictionary<D extends EntityDictionary<?,
 			throws DictionaryException {
 		Validate.notNull(entityDescriptor, AbstractCompositeDictionary.ENTITY_DESCRIPTOR_NULL);
 		final String name = entityDescriptor.getName();
-		AbstractCompositeDictionary.LOGGER.debug("Looking up {} for key {}", entityDescriptor, key);
+		if (AbstractCompositeDictionary.LOGGER.isDebugEnabled()) {
+			AbstractCompositeDictionary.LOGGER.debug("Looking up {} for key {}", entityDescriptor, key);
+		}
 		if (this.dictionaries.containsKey(name)) {
 			@SuppressWarnings("unchecked")
 			final EntityDictionary<E, K> dictionary = (EntityDictionary<E, K>) this.getDictionaries().get(name);
@@ -95,6 +99,25 @@ public abstract class AbstractCompositeDictionary<D extends EntityDictionary<?,
 		}
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public final <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, AbstractCompositeDictionary.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		final String name = entityDescriptor.getName();
+		if (AbstractCompositeDictionary.LOGGER.isDebugEnabled()) {
+			AbstractCompositeDictionary.LOGGER.debug("Looking up {} for {} keys", entityDescriptor, keys.size());
+		}
+		if (this.dictionaries.containsKey(name)) {
+			@SuppressWarnings("unchecked")
+			final EntityDictionary<E, K> dictionary = (EntityDictionary<E, K>) this.getDictionaries().get(name);
+			return dictionary.lookupAll(keys);
+		} else {
+			throw new UnknownEntityException(entityDescriptor);
+		}
+	}
+
 	/**
 	 * Gets the value for the dictionaries field.
 	 * 
@@ -20,13 +20,17 @@ package org.lunarray.model.descriptor.dictionary.composite.simple;
 import java.util.List;
 import java.util.Map;
 
+import java.util.concurrent.Executor;
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
 import org.lunarray.model.descriptor.dictionary.composite.PaginatedEntityDictionary;
+import org.lunarray.model.descriptor.dictionary.cursor.ContinuationToken;
+import org.lunarray.model.descriptor.dictionary.cursor.DictionaryCursor;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 import org.lunarray.model.descriptor.dictionary.exceptions.UnknownEntityException;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.util.DictionaryUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +47,8 @@ public final class CompositePaginatedDictionary
 	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
 	/** The logger. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(CompositePaginatedDictionary.class);
+	/** The executor to prefetch cursor pages on, null to look up on the calling thread. */
+	private transient Executor prefetchExecutor;
 
 	/**
 	 * Constructs the composite dictionary.
@@ -54,14 +60,25 @@ public final class CompositePaginatedDictionary
 		super(dictionaries);
 	}
 
+	/**
+	 * Gets the value for the prefetchExecutor field.
+	 * 
+	 * @return The value for the prefetchExecutor field.
+	 */
+	public Executor getPrefetchExecutor() {
+		return this.prefetchExecutor;
+	}
+
 	/** {@inheritDoc} */
 	@SuppressWarnings("unchecked")
 	// Cannot be specified.
 	@Override
 	public <E> List<E> lookupPaginated(final EntityDescriptor<E> entityDescriptor, final int row, final int count)
 			throws DictionaryException {
-		CompositePaginatedDictionary.LOGGER.debug("Paginated lookup for entity descriptor {} from row {}, count {}", entityDescriptor, row,
-				count);
+		if (CompositePaginatedDictionary.LOGGER.isDebugEnabled()) {
+			CompositePaginatedDictionary.LOGGER.debug("Paginated lookup for entity descriptor {} from row {}, count {}", entityDescriptor, row,
+					count);
+		}
 		Validate.notNull(entityDescriptor, CompositePaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
 		Validate.isTrue(CheckUtil.checkPositive(count), "Count must be positive.");
 		Validate.isTrue(CheckUtil.checkPositive(row), "Row must be positive.");
@@ -77,7 +94,9 @@ public final class CompositePaginatedDictionary
 	/** {@inheritDoc} */
 	@Override
 	public <E> int lookupTotals(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
-		CompositePaginatedDictionary.LOGGER.debug("Total lookup for entity descriptor {}", entityDescriptor);
+		if (CompositePaginatedDictionary.LOGGER.isDebugEnabled()) {
+			CompositePaginatedDictionary.LOGGER.debug("Total lookup for entity descriptor {}", entityDescriptor);
+		}
 		Validate.notNull(entityDescriptor, CompositePaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
 		final String name = entityDescriptor.getName();
 		final Map<String, PaginatedEntityDictionary<?, ?>> dictionaries = this.getDictionaries();
@@ -87,4 +106,39 @@ public final class CompositePaginatedDictionary
 			throw new UnknownEntityException(entityDescriptor);
 		}
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final ContinuationToken token)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositePaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		if (CompositePaginatedDictionary.LOGGER.isDebugEnabled()) {
+			CompositePaginatedDictionary.LOGGER.debug("Opening cursor for entity descriptor {} from {}", entityDescriptor, token);
+		}
+		final String name = entityDescriptor.getName();
+		final Map<String, PaginatedEntityDictionary<?, ?>> dictionaries = this.getDictionaries();
+		if (dictionaries.containsKey(name)) {
+			return DictionaryUtil.open(this, dictionaries.get(name), entityDescriptor, token, this.prefetchExecutor);
+		} else {
+			throw new UnknownEntityException(entityDescriptor);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E> DictionaryCursor<E> open(final EntityDescriptor<E> entityDescriptor, final int pageSize) throws DictionaryException {
+		Validate.notNull(entityDescriptor, CompositePaginatedDictionary.ENTITY_DESCRIPTOR_NULL);
+		return this.open(entityDescriptor, new ContinuationToken(entityDescriptor.getName(), pageSize));
+	}
+
+	/**
+	 * Sets a new value for the prefetchExecutor field.
+	 * 
+	 * @param prefetchExecutor
+	 *            The new value for the prefetchExecutor field. May be null,
+	 *            to look up cursor pages on the calling thread.
+	 */
+	public void setPrefetchExecutor(final Executor prefetchExecutor) {
+		this.prefetchExecutor = prefetchExecutor;
+	}
 }
@@ -0,0 +1,164 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * The position of a cursor. Holds the row to continue from and, for keyset
+ * pagination, the key of the last entity seen, so lookups can continue after
+ * that key rather than skip rows.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ContinuationToken
+		implements Serializable {
+
+	/** A prime number. */
+	private static final int PRIME = 31;
+	/** Serial id. */
+	private static final long serialVersionUID = -2687003917270254021L;
+	/** The entity name. */
+	private final String entityName;
+	/** The key of the last entity seen, null if unknown. */
+	private final Serializable key;
+	/** The page size. */
+	private final int pageSize;
+	/** The row to continue from. */
+	private final int row;
+
+	/**
+	 * Constructs a token for the start of the entities.
+	 * 
+	 * @param entityName
+	 *            The entity name. May not be null.
+	 * @param pageSize
+	 *            The page size. Must be a positive value.
+	 */
+	public ContinuationToken(final String entityName, final int pageSize) {
+		this(entityName, pageSize, 0, null);
+	}
+
+	/**
+	 * Constructs a token.
+	 * 
+	 * @param entityName
+	 *            The entity name. May not be null.
+	 * @param pageSize
+	 *            The page size. Must be a positive value.
+	 * @param row
+	 *            The row to continue from. Must be 0 or a positive value.
+	 * @param key
+	 *            The key of the last entity seen. May be null.
+	 */
+	public ContinuationToken(final String entityName, final int pageSize, final int row, final Serializable key) {
+		Validate.notNull(entityName, "Entity name may not be null.");
+		Validate.isTrue(pageSize > 0, "Page size must be positive.");
+		Validate.isTrue(CheckUtil.checkPositive(row), "Row must be positive.");
+		this.entityName = entityName;
+		this.pageSize = pageSize;
+		this.row = row;
+		this.key = key;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean equals(final Object obj) {
+		boolean result = false;
+		if (obj instanceof ContinuationToken) {
+			final ContinuationToken other = (ContinuationToken) obj;
+			result = this.entityName.equals(other.entityName) && (this.pageSize == other.pageSize) && (this.row == other.row);
+			if (result) {
+				if (CheckUtil.isNull(this.key)) {
+					result = CheckUtil.isNull(other.key);
+				} else {
+					result = this.key.equals(other.key);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the value for the entityName field.
+	 * 
+	 * @return The value for the entityName field.
+	 */
+	public String getEntityName() {
+		return this.entityName;
+	}
+
+	/**
+	 * Gets the value for the key field.
+	 * 
+	 * @return The value for the key field.
+	 */
+	public Serializable getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Gets the value for the pageSize field.
+	 * 
+	 * @return The value for the pageSize field.
+	 */
+	public int getPageSize() {
+		return this.pageSize;
+	}
+
+	/**
+	 * Gets the value for the row field.
+	 * 
+	 * @return The value for the row field.
+	 */
+	public int getRow() {
+		return this.row;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int hashCode() {
+		int result = this.entityName.hashCode();
+		result = (ContinuationToken.PRIME * result) + this.pageSize;
+		result = (ContinuationToken.PRIME * result) + this.row;
+		if (!CheckUtil.isNull(this.key)) {
+			result = (ContinuationToken.PRIME * result) + this.key.hashCode();
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if the token can continue after a key.
+	 * 
+	 * @return True if and only if the token is at the start, or holds the key
+	 *         of the last entity seen.
+	 */
+	public boolean isKeyset() {
+		return (this.row == 0) || !CheckUtil.isNull(this.key);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return String.format("ContinuationToken [entityName=%s, pageSize=%s, row=%s, key=%s]", this.entityName, this.pageSize, this.row,
+				this.key);
+	}
+}
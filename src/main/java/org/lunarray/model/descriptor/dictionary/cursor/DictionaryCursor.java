@@ -0,0 +1,67 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+
+/**
+ * A cursor over the entities of a paginated dictionary. Entities are looked up
+ * a page at a time as they are requested, so a cursor can run over more
+ * entities than fit in memory. A cursor is not thread safe.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The entity type.
+ */
+public interface DictionaryCursor<E> {
+
+	/**
+	 * Closes the cursor. Stops any pending lookup and releases the pages.
+	 */
+	void close();
+
+	/**
+	 * Gets a token to continue from the next entity, possibly with another
+	 * cursor.
+	 * 
+	 * @return The continuation token.
+	 * @throws DictionaryException
+	 *             Thrown if the position could not be determined.
+	 */
+	ContinuationToken getContinuationToken() throws DictionaryException;
+
+	/**
+	 * Tests if there is another entity.
+	 * 
+	 * @return True if and only if there is another entity.
+	 * @throws DictionaryException
+	 *             Thrown if looking up the next page failed.
+	 */
+	boolean hasNext() throws DictionaryException;
+
+	/**
+	 * Gets the next entity.
+	 * 
+	 * @return The entity.
+	 * @throws DictionaryException
+	 *             Thrown if looking up the next page failed.
+	 * @throws java.util.NoSuchElementException
+	 *             Thrown if there are no more entities.
+	 */
+	E next() throws DictionaryException;
+}
@@ -0,0 +1,84 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.model.descriptor.dictionary.composite.KeysetPaginatedEntityDictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+
+/**
+ * Looks up pages after the key of the last entity seen, so the dictionary
+ * does not need to skip the rows before the page.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The entity type.
+ * @param <K>
+ *            The key type.
+ */
+public final class KeysetPageLoader<E, K extends Serializable>
+		implements PageLoader<E> {
+
+	/** The dictionary. */
+	private final KeysetPaginatedEntityDictionary<E, K> dictionary;
+	/** The key property. */
+	private final PropertyDescriptor<K, E> keyProperty;
+
+	/**
+	 * Constructs the loader.
+	 * 
+	 * @param dictionary
+	 *            The dictionary. May not be null.
+	 * @param keyProperty
+	 *            The key property. May not be null.
+	 */
+	public KeysetPageLoader(final KeysetPaginatedEntityDictionary<E, K> dictionary, final PropertyDescriptor<K, E> keyProperty) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(keyProperty, "Key property may not be null.");
+		this.dictionary = dictionary;
+		this.keyProperty = keyProperty;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ContinuationToken advance(final ContinuationToken token, final List<E> consumed) throws DictionaryException {
+		ContinuationToken result = token;
+		if (!consumed.isEmpty()) {
+			final E last = consumed.get(consumed.size() - 1);
+			try {
+				result = new ContinuationToken(token.getEntityName(), token.getPageSize(), token.getRow() + consumed.size(),
+						this.keyProperty.getValue(last));
+			} catch (final ValueAccessException e) {
+				throw new DictionaryException(String.format("Could not get key for entity '%s'.", token.getEntityName()), e);
+			}
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<E> load(final ContinuationToken token) throws DictionaryException {
+		final K key = this.keyProperty.getPropertyType().cast(token.getKey());
+		return this.dictionary.lookupAfter(key, token.getPageSize());
+	}
+}
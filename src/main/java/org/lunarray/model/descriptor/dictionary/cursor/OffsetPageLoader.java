@@ -0,0 +1,72 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * Looks up pages by row offset.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The entity type.
+ */
+public final class OffsetPageLoader<E>
+		implements PageLoader<E> {
+
+	/** The dictionary. */
+	private final PaginatedDictionary dictionary;
+	/** The entity descriptor. */
+	private final EntityDescriptor<E> entityDescriptor;
+
+	/**
+	 * Constructs the loader.
+	 * 
+	 * @param dictionary
+	 *            The dictionary. May not be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 */
+	public OffsetPageLoader(final PaginatedDictionary dictionary, final EntityDescriptor<E> entityDescriptor) {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(entityDescriptor, "Entity descriptor may not be null.");
+		this.dictionary = dictionary;
+		this.entityDescriptor = entityDescriptor;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ContinuationToken advance(final ContinuationToken token, final List<E> consumed) {
+		ContinuationToken result = token;
+		if (!consumed.isEmpty()) {
+			result = new ContinuationToken(token.getEntityName(), token.getPageSize(), token.getRow() + consumed.size(), null);
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<E> load(final ContinuationToken token) throws DictionaryException {
+		return this.dictionary.lookupPaginated(this.entityDescriptor, token.getRow(), token.getPageSize());
+	}
+}
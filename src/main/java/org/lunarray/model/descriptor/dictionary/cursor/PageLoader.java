@@ -0,0 +1,56 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.util.List;
+
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+
+/**
+ * Looks up the pages of a cursor.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The entity type.
+ */
+public interface PageLoader<E> {
+
+	/**
+	 * Calculates the token after the consumed entities.
+	 * 
+	 * @param token
+	 *            The token the entities were looked up with.
+	 * @param consumed
+	 *            The consumed entities, from the start of the page.
+	 * @return The token to continue with.
+	 * @throws DictionaryException
+	 *             Thrown if the position could not be determined.
+	 */
+	ContinuationToken advance(ContinuationToken token, List<E> consumed) throws DictionaryException;
+
+	/**
+	 * Looks up a page.
+	 * 
+	 * @param token
+	 *            The token to look up from.
+	 * @return The page, at most the page size of the token.
+	 * @throws DictionaryException
+	 *             Thrown if the page could not be looked up.
+	 */
+	List<E> load(ContinuationToken token) throws DictionaryException;
+}
@@ -0,0 +1,259 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+
+/**
+ * A cursor holding a single page. With an executor the next page is looked up
+ * in the background as soon as a full page arrives, so at most two pages are
+ * held at any time. Without an executor pages are looked up on the calling
+ * thread when needed.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The entity type.
+ */
+public final class PrefetchingDictionaryCursor<E>
+		implements DictionaryCursor<E> {
+
+	/**
+	 * Replaces a missing page by an empty one.
+	 * 
+	 * @param page
+	 *            The page. May be null.
+	 * @return The page, or an empty page.
+	 * @param <E>
+	 *            The entity type.
+	 */
+	private static <E> List<E> orEmpty(final List<E> page) {
+		List<E> result = page;
+		if (CheckUtil.isNull(result)) {
+			result = Collections.emptyList();
+		}
+		return result;
+	}
+
+	/** Whether the cursor is closed. */
+	private boolean closed;
+	/** The executor, null to look up on the calling thread. */
+	private final Executor executor;
+	/** The index of the next entity in the page. */
+	private int index;
+	/** The page loader. */
+	private final PageLoader<E> loader;
+	/** The current page, null if not yet looked up. */
+	private List<E> page;
+	/** The token the current page was looked up with. */
+	private ContinuationToken pageToken;
+	/** The lookup of the next page, null if none is pending. */
+	private FutureTask<List<E>> pending;
+	/** The token the pending page is looked up with. */
+	private ContinuationToken pendingToken;
+
+	/**
+	 * Constructs the cursor.
+	 * 
+	 * @param loader
+	 *            The page loader. May not be null.
+	 * @param token
+	 *            The token to start from. May not be null.
+	 * @param executor
+	 *            The executor to prefetch on. May be null, to look up on the
+	 *            calling thread.
+	 */
+	public PrefetchingDictionaryCursor(final PageLoader<E> loader, final ContinuationToken token, final Executor executor) {
+		Validate.notNull(loader, "Loader may not be null.");
+		Validate.notNull(token, "Token may not be null.");
+		this.loader = loader;
+		this.pageToken = token;
+		this.executor = executor;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		this.closed = true;
+		if (!CheckUtil.isNull(this.pending)) {
+			this.pending.cancel(true);
+			this.pending = null;
+		}
+		this.page = Collections.emptyList();
+		this.index = 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ContinuationToken getContinuationToken() throws DictionaryException {
+		ContinuationToken result = this.pageToken;
+		if (!CheckUtil.isNull(this.page)) {
+			result = this.loader.advance(this.pageToken, this.page.subList(0, this.index));
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasNext() throws DictionaryException {
+		if (CheckUtil.isNull(this.page)) {
+			this.page = this.load(this.pageToken);
+			this.prefetch();
+		} else if (!this.closed && (this.index >= this.page.size()) && this.isFull()) {
+			final ContinuationToken nextToken = this.nextToken();
+			if (CheckUtil.isNull(this.pending)) {
+				this.page = this.load(nextToken);
+			} else {
+				this.page = this.await();
+			}
+			this.pageToken = nextToken;
+			this.index = 0;
+			this.prefetch();
+		}
+		return this.index < this.page.size();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public E next() throws DictionaryException {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final E result = this.page.get(this.index);
+		this.index++;
+		return result;
+	}
+
+	/**
+	 * Waits for the pending page.
+	 * 
+	 * @return The page.
+	 * @throws DictionaryException
+	 *             Thrown if the page could not be looked up.
+	 */
+	private List<E> await() throws DictionaryException {
+		final FutureTask<List<E>> task = this.pending;
+		this.pending = null;
+		try {
+			return PrefetchingDictionaryCursor.orEmpty(task.get());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DictionaryException("Interrupted while waiting for a page.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof DictionaryException) {
+				throw (DictionaryException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new DictionaryException("Could not look up page.", e);
+			}
+		}
+	}
+
+	/**
+	 * Looks up a page on the calling thread.
+	 * 
+	 * @param token
+	 *            The token to look up with.
+	 * @return The page, never null.
+	 * @throws DictionaryException
+	 *             Thrown if the page could not be looked up.
+	 */
+	private List<E> load(final ContinuationToken token) throws DictionaryException {
+		return PrefetchingDictionaryCursor.orEmpty(this.loader.load(token));
+	}
+
+	/**
+	 * Tests if the current page is full, in which case there may be another.
+	 * 
+	 * @return True if and only if the page is full.
+	 */
+	private boolean isFull() {
+		return this.page.size() >= this.pageToken.getPageSize();
+	}
+
+	/**
+	 * Gets the token following the current page.
+	 * 
+	 * @return The token.
+	 * @throws DictionaryException
+	 *             Thrown if the position could not be determined.
+	 */
+	private ContinuationToken nextToken() throws DictionaryException {
+		ContinuationToken result = this.pendingToken;
+		if (CheckUtil.isNull(result)) {
+			result = this.loader.advance(this.pageToken, this.page);
+		}
+		this.pendingToken = null;
+		return result;
+	}
+
+	/**
+	 * Starts looking up the next page if there is an executor and there may be
+	 * another page.
+	 * 
+	 * @throws DictionaryException
+	 *             Thrown if the position could not be determined.
+	 */
+	private void prefetch() throws DictionaryException {
+		if (!CheckUtil.isNull(this.executor) && this.isFull()) {
+			final ContinuationToken nextToken = this.loader.advance(this.pageToken, this.page);
+			this.pendingToken = nextToken;
+			this.pending = new FutureTask<List<E>>(new PageLookup(nextToken));
+			this.executor.execute(this.pending);
+		}
+	}
+
+	/**
+	 * Looks up a page.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private final class PageLookup
+			implements Callable<List<E>> {
+
+		/** The token to look up with. */
+		private final ContinuationToken token;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param token
+		 *            The token to look up with.
+		 */
+		public PageLookup(final ContinuationToken token) {
+			this.token = token;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public List<E> call() throws DictionaryException {
+			return PrefetchingDictionaryCursor.this.loader.load(this.token);
+		}
+	}
+}
@@ -18,11 +18,15 @@
 package org.lunarray.model.descriptor.dictionary.enumeration;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
@@ -31,17 +35,28 @@ import org.lunarray.model.descriptor.dictionary.Dictionary;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A dictionary for enums.
+ * A dictionary for enums. The constants of every enum type, and their index
+ * by key, are computed once and shared by all enum dictionaries.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
 public final class EnumDictionary
 		implements Dictionary {
 
+	/** The enum indexes, by enum type. */
+	private static final ClassValue<EnumIndex> INDEXES = new ClassValue<EnumIndex>() {
+
+		/** {@inheritDoc} */
+		@Override
+		protected EnumIndex computeValue(final Class<?> type) {
+			return new EnumIndex(type.getEnumConstants());
+		}
+	};
 	/** The logger. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(EnumDictionary.class);
 	/** The delegate dictionary for non-enums. */
@@ -58,20 +73,17 @@ public final class EnumDictionary
 	}
 
 	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	// Deduced value, we know it's an enum.
 	@Override
 	public <E> Collection<E> lookup(final EntityDescriptor<E> entityDescriptor) throws DictionaryException {
 		final Class<E> entityType = entityDescriptor.getEntityType();
 		Collection<E> result = null;
 		if (Enum.class.isAssignableFrom(entityType)) {
-			EnumDictionary.LOGGER.debug("Looking up all for {}", entityDescriptor);
-			final E[] values = this.getValues(entityType);
-			if (!CheckUtil.isNull(values)) {
-				final List<E> valueList = new ArrayList<E>(values.length);
-				for (final E t : values) {
-					valueList.add(t);
-				}
-				result = valueList;
+			if (EnumDictionary.LOGGER.isDebugEnabled()) {
+				EnumDictionary.LOGGER.debug("Looking up all for {}", entityDescriptor);
 			}
+			result = (Collection<E>) EnumDictionary.INDEXES.get(entityType).getValues();
 		} else {
 			if (!CheckUtil.isNull(this.delegate)) {
 				result = this.delegate.lookup(entityDescriptor);
@@ -88,12 +100,11 @@ public final class EnumDictionary
 		final Class<E> entityType = entityDescriptor.getEntityType();
 		E result = null;
 		if (Enum.class.isAssignableFrom(entityType)) {
-			EnumDictionary.LOGGER.debug("Lookup up {} for key {}", entityDescriptor, identifier);
-			final E[] values = this.getValues(entityType);
-			if (!CheckUtil.isNull(values)) {
-				Validate.notNull(identifier, "Identifier may not be null.");
-				result = this.getEnumValue(entityDescriptor, identifier, values);
+			if (EnumDictionary.LOGGER.isDebugEnabled()) {
+				EnumDictionary.LOGGER.debug("Lookup up {} for key {}", entityDescriptor, identifier);
 			}
+			Validate.notNull(identifier, "Identifier may not be null.");
+			result = entityType.cast(EnumDictionary.INDEXES.get(entityType).getKeyIndex(entityDescriptor).get(identifier));
 		} else {
 			if (!CheckUtil.isNull(this.delegate)) {
 				result = this.delegate.lookup(entityDescriptor, identifier);
@@ -102,79 +113,97 @@ public final class EnumDictionary
 		return result;
 	}
 
-	/**
-	 * Creates an exception.
-	 * 
-	 * @param cause
-	 *            The original cause.
-	 * @param entityType
-	 *            The entity type.
-	 * @return An exception.
-	 */
-	private DictionaryException createException(final Exception cause, final Class<?> entityType) {
-		return new DictionaryException(String.format("Could not get values for '%s'.", entityType), cause);
-	}
-
-	/**
-	 * Gets the proper enum value.
-	 * 
-	 * @param <K>
-	 *            The enum key.
-	 * @param <E>
-	 *            The enum type.
-	 * @param entityDescriptor
-	 *            The entity descriptor.
-	 * @param identifier
-	 *            The enum identifier.
-	 * @param values
-	 *            The enum values.
-	 * @return The enum value matching the identifier.
-	 * @throws DictionaryException
-	 *             Thrown if the values could not be accessed.
-	 */
-	private <K extends Serializable, E> E getEnumValue(final KeyedEntityDescriptor<E, K> entityDescriptor, final K identifier,
-			final E[] values) throws DictionaryException {
-		E value = null;
-		for (final E type : values) {
-			try {
-				if (entityDescriptor.getKeyProperty().getValue(type).equals(identifier)) {
-					value = type;
+	/** {@inheritDoc} */
+	@Override
+	public <E, K extends Serializable> Map<K, E> lookupAll(final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(entityDescriptor, "Descriptor may not be null.");
+		Validate.notNull(keys, "Keys may not be null.");
+		final Class<E> entityType = entityDescriptor.getEntityType();
+		Map<K, E> result = new LinkedHashMap<K, E>();
+		if (Enum.class.isAssignableFrom(entityType)) {
+			if (EnumDictionary.LOGGER.isDebugEnabled()) {
+				EnumDictionary.LOGGER.debug("Lookup up {} for {} keys", entityDescriptor, keys.size());
+			}
+			final Map<Object, Object> index = EnumDictionary.INDEXES.get(entityType).getKeyIndex(entityDescriptor);
+			for (final K key : keys) {
+				if (!CheckUtil.isNull(key) && index.containsKey(key)) {
+					result.put(key, entityType.cast(index.get(key)));
 				}
-			} catch (final ValueAccessException e) {
-				throw new DictionaryException(String.format("Could not get value for entity '%s'.", entityDescriptor.getName()), e);
+			}
+		} else {
+			if (!CheckUtil.isNull(this.delegate)) {
+				result = this.delegate.lookupAll(entityDescriptor, keys);
 			}
 		}
-		return value;
+		return result;
 	}
 
 	/**
-	 * Gets the enum values.
+	 * The constants of an enum type, and their indexes by key property.
 	 * 
-	 * @param <E>
-	 *            The enum type.
-	 * @param entityType
-	 *            The entity type.
-	 * @return An erray of enum values.
-	 * @throws DictionaryException
-	 *             Thrown if the values could not be accessed.
+	 * @author Pal Hargitai (pal@lunarray.org)
 	 */
-	@SuppressWarnings("unchecked")
-	/* Deduced value, we know it's an enum. */
-	private <E> E[] getValues(final Class<E> entityType) throws DictionaryException {
-		Method method;
-		try {
-			method = entityType.getMethod("values");
-		} catch (final NoSuchMethodException e) {
-			throw this.createException(e, entityType);
+	private static final class EnumIndex {
+
+		/** The key indexes, by key property name. */
+		private final ConcurrentMap<String, Map<Object, Object>> keyIndexes;
+		/** The constants. */
+		private final List<Object> values;
+
+		/**
+		 * Constructs the index.
+		 * 
+		 * @param values
+		 *            The enum constants.
+		 */
+		public EnumIndex(final Object[] values) {
+			this.keyIndexes = new ConcurrentHashMap<String, Map<Object, Object>>();
+			this.values = Collections.unmodifiableList(Arrays.asList(values));
+		}
+
+		/**
+		 * Gets the index of the constants by the key of the entity, building
+		 * it on first use.
+		 * 
+		 * @param entityDescriptor
+		 *            The entity descriptor.
+		 * @return The constants by key.
+		 * @throws DictionaryException
+		 *             Thrown if a key could not be accessed.
+		 */
+		@SuppressWarnings("unchecked")
+		// Deduced value, the constants are the entities.
+		public Map<Object, Object> getKeyIndex(final KeyedEntityDescriptor<?, ?> entityDescriptor) throws DictionaryException {
+			final PropertyDescriptor<Object, Object> keyProperty = (PropertyDescriptor<Object, Object>) entityDescriptor.getKeyProperty();
+			Map<Object, Object> index = this.keyIndexes.get(keyProperty.getName());
+			if (CheckUtil.isNull(index)) {
+				final Map<Object, Object> created = new HashMap<Object, Object>();
+				for (final Object value : this.values) {
+					try {
+						final Object key = keyProperty.getValue(value);
+						if (!created.containsKey(key)) {
+							created.put(key, value);
+						}
+					} catch (final ValueAccessException e) {
+						throw new DictionaryException(String.format("Could not get value for entity '%s'.", entityDescriptor.getName()), e);
+					}
+				}
+				index = this.keyIndexes.putIfAbsent(keyProperty.getName(), created);
+				if (CheckUtil.isNull(index)) {
+					index = created;
+				}
+			}
+			return index;
 		}
-		try {
-			return (E[]) method.invoke(null);
-		} catch (final IllegalArgumentException e) {
-			throw this.createException(e, entityType);
-		} catch (final IllegalAccessException e) {
-			throw this.createException(e, entityType);
-		} catch (final InvocationTargetException e) {
-			throw this.createException(e, entityType);
+
+		/**
+		 * Gets the value for the values field.
+		 * 
+		 * @return The value for the values field.
+		 */
+		public List<Object> getValues() {
+			return this.values;
 		}
 	}
 }
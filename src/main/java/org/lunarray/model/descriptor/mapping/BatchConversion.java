@@ -0,0 +1,233 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * The settings of a batch conversion.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class BatchConversion {
+
+	/** The default parallelism threshold. */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates the default settings, sequential and failing fast.
+	 * 
+	 * @return The settings.
+	 */
+	public static BatchConversion createDefault() {
+		return new BatchConversion(new Builder());
+	}
+
+	/** The error policy. */
+	private final ConversionErrorPolicy errorPolicy;
+	/** The pool to convert in, null for sequential conversion. */
+	private final ForkJoinPool pool;
+	/** The parallelism threshold. */
+	private final int threshold;
+
+	/**
+	 * Constructs the settings.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private BatchConversion(final Builder builder) {
+		this.errorPolicy = builder.errorPolicyBuilder;
+		this.pool = builder.poolBuilder;
+		this.threshold = builder.thresholdBuilder;
+	}
+
+	/**
+	 * Gets the value for the errorPolicy field.
+	 * 
+	 * @return The value for the errorPolicy field.
+	 */
+	public ConversionErrorPolicy getErrorPolicy() {
+		return this.errorPolicy;
+	}
+
+	/**
+	 * Gets the value for the pool field.
+	 * 
+	 * @return The value for the pool field. Null if the conversion is
+	 *         sequential.
+	 */
+	public ForkJoinPool getPool() {
+		return this.pool;
+	}
+
+	/**
+	 * Gets the value for the threshold field.
+	 * 
+	 * @return The value for the threshold field.
+	 */
+	public int getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * Tests if the conversion may be split across threads.
+	 * 
+	 * @return True if and only if a pool is set.
+	 */
+	public boolean isParallel() {
+		return !CheckUtil.isNull(this.pool);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("BatchConversion[\n\tErrorPolicy: ");
+		builder.append(this.errorPolicy);
+		builder.append("\n\tParallel: ");
+		builder.append(this.isParallel());
+		builder.append("\n\tThreshold: ");
+		builder.append(this.threshold);
+		builder.append("\n]\n");
+		return builder.toString();
+	}
+
+	/**
+	 * The settings builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The error policy. */
+		private ConversionErrorPolicy errorPolicyBuilder;
+		/** The pool. */
+		private ForkJoinPool poolBuilder;
+		/** The threshold. */
+		private int thresholdBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.errorPolicyBuilder = ConversionErrorPolicy.FAIL_FAST;
+			this.thresholdBuilder = BatchConversion.DEFAULT_THRESHOLD;
+		}
+
+		/**
+		 * Builds the settings.
+		 * 
+		 * @return The settings.
+		 */
+		public BatchConversion build() {
+			return new BatchConversion(this);
+		}
+
+		/**
+		 * Sets the error policy.
+		 * 
+		 * @param errorPolicy
+		 *            The error policy. May not be null.
+		 * @return The builder.
+		 */
+		public Builder errorPolicy(final ConversionErrorPolicy errorPolicy) {
+			Validate.notNull(errorPolicy, "Error policy may not be null.");
+			this.errorPolicyBuilder = errorPolicy;
+			return this;
+		}
+
+		/**
+		 * Converts in parallel on a shared pool sized to the number of
+		 * processors.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder parallel() {
+			this.poolBuilder = SharedPool.POOL;
+			return this;
+		}
+
+		/**
+		 * Converts in parallel on the given pool.
+		 * 
+		 * @param pool
+		 *            The pool. May not be null.
+		 * @return The builder.
+		 */
+		public Builder parallel(final ForkJoinPool pool) {
+			Validate.notNull(pool, "Pool may not be null.");
+			this.poolBuilder = pool;
+			return this;
+		}
+
+		/**
+		 * Converts sequentially on the calling thread.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder sequential() {
+			this.poolBuilder = null;
+			return this;
+		}
+
+		/**
+		 * Sets the parallelism threshold, the number of elements below which
+		 * a part of the batch is no longer split.
+		 * 
+		 * @param threshold
+		 *            The threshold. Must be positive.
+		 * @return The builder.
+		 */
+		public Builder threshold(final int threshold) {
+			Validate.isTrue(threshold > 0, "Threshold must be positive.");
+			this.thresholdBuilder = threshold;
+			return this;
+		}
+	}
+
+	/**
+	 * Holds the shared pool, created on first use.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class SharedPool {
+
+		/** The pool. */
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+
+		/**
+		 * Default constructor.
+		 */
+		private SharedPool() {
+			// Holder.
+		}
+	}
+}
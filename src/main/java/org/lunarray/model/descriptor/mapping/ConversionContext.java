@@ -0,0 +1,229 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+
+/**
+ * The context of a single conversion. Remembers which source instances have
+ * already been converted, by identity, so shared references stay shared and
+ * cyclic graphs terminate. Also holds the referenced entities that were looked
+ * up ahead of time, by key. A context is not thread safe and should not
+ * outlive the conversion it was created for.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ConversionContext {
+
+	/** Validation message. */
+	private static final String ENTITY_DESCRIPTOR_NULL = "Entity descriptor may not be null.";
+	/** The converted instances, by source instance, then target type. */
+	private Map<Object, Map<Class<?>, Object>> converted;
+	/** The looked up references, by entity name, then key. */
+	private Map<String, Map<Serializable, Object>> references;
+
+	/**
+	 * Default constructor.
+	 */
+	public ConversionContext() {
+		// Default constructor.
+	}
+
+	/**
+	 * Forgets all converted instances.
+	 */
+	public void clear() {
+		this.converted = null;
+		this.references = null;
+	}
+
+	/**
+	 * Gets the converted instance.
+	 * 
+	 * @param source
+	 *            The source instance. May not be null.
+	 * @param targetType
+	 *            The target type. May not be null.
+	 * @return The converted instance, or null if the source has not been
+	 *         converted to the given type.
+	 * @param <F>
+	 *            The target type.
+	 */
+	public <F> F getConverted(final Object source, final Class<F> targetType) {
+		Validate.notNull(source, "Source may not be null.");
+		Validate.notNull(targetType, "Target type may not be null.");
+		Object result = null;
+		if (!CheckUtil.isNull(this.converted)) {
+			final Map<Class<?>, Object> targets = this.converted.get(source);
+			if (!CheckUtil.isNull(targets)) {
+				result = targets.get(targetType);
+			}
+		}
+		return targetType.cast(result);
+	}
+
+	/**
+	 * Gets a looked up reference.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key.
+	 * @return The reference, or null if it was not looked up or does not
+	 *         exist.
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	public <E, K extends Serializable> E getReference(final KeyedEntityDescriptor<E, K> entityDescriptor, final K key) {
+		Validate.notNull(entityDescriptor, ConversionContext.ENTITY_DESCRIPTOR_NULL);
+		Object result = null;
+		if (!CheckUtil.isNull(this.references)) {
+			final Map<Serializable, Object> entities = this.references.get(entityDescriptor.getName());
+			if (!CheckUtil.isNull(entities)) {
+				result = entities.get(key);
+			}
+		}
+		return entityDescriptor.getEntityType().cast(result);
+	}
+
+	/**
+	 * Tests if the reference with the given key has been looked up.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key.
+	 * @return True if and only if the key has been looked up, even if it
+	 *         resolved to no entity.
+	 */
+	public boolean hasReference(final KeyedEntityDescriptor<?, ?> entityDescriptor, final Serializable key) {
+		Validate.notNull(entityDescriptor, ConversionContext.ENTITY_DESCRIPTOR_NULL);
+		boolean result = false;
+		if (!CheckUtil.isNull(this.references) && !CheckUtil.isNull(key)) {
+			final Map<Serializable, Object> entities = this.references.get(entityDescriptor.getName());
+			result = !CheckUtil.isNull(entities) && entities.containsKey(key);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if the source has been converted to the given type.
+	 * 
+	 * @param source
+	 *            The source instance. May not be null.
+	 * @param targetType
+	 *            The target type. May not be null.
+	 * @return True if and only if the source has been converted.
+	 */
+	public boolean isConverted(final Object source, final Class<?> targetType) {
+		Validate.notNull(source, "Source may not be null.");
+		Validate.notNull(targetType, "Target type may not be null.");
+		boolean result = false;
+		if (!CheckUtil.isNull(this.converted)) {
+			final Map<Class<?>, Object> targets = this.converted.get(source);
+			result = !CheckUtil.isNull(targets) && targets.containsKey(targetType);
+		}
+		return result;
+	}
+
+	/**
+	 * Registers a converted instance. Should be called as soon as the target
+	 * instance exists, before its properties are converted, so that cycles
+	 * resolve to it.
+	 * 
+	 * @param source
+	 *            The source instance. May not be null.
+	 * @param targetType
+	 *            The target type. May not be null.
+	 * @param target
+	 *            The target instance.
+	 * @param <F>
+	 *            The target type.
+	 */
+	public <F> void registerConverted(final Object source, final Class<F> targetType, final F target) {
+		Validate.notNull(source, "Source may not be null.");
+		Validate.notNull(targetType, "Target type may not be null.");
+		if (CheckUtil.isNull(this.converted)) {
+			this.converted = new IdentityHashMap<Object, Map<Class<?>, Object>>();
+		}
+		Map<Class<?>, Object> targets = this.converted.get(source);
+		if (CheckUtil.isNull(targets)) {
+			targets = new HashMap<Class<?>, Object>(2);
+			this.converted.put(source, targets);
+		}
+		targets.put(targetType, target);
+	}
+
+	/**
+	 * Registers looked up references. Keys that were looked up but are absent
+	 * from the entities are remembered as resolving to no entity.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param keys
+	 *            The keys that were looked up. May not be null.
+	 * @param entities
+	 *            The entities found, by key. May not be null.
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	public <E, K extends Serializable> void registerReferences(final KeyedEntityDescriptor<E, K> entityDescriptor,
+			final Collection<K> keys, final Map<K, E> entities) {
+		Validate.notNull(entityDescriptor, ConversionContext.ENTITY_DESCRIPTOR_NULL);
+		Validate.notNull(keys, "Keys may not be null.");
+		Validate.notNull(entities, "Entities may not be null.");
+		if (CheckUtil.isNull(this.references)) {
+			this.references = new HashMap<String, Map<Serializable, Object>>();
+		}
+		Map<Serializable, Object> registered = this.references.get(entityDescriptor.getName());
+		if (CheckUtil.isNull(registered)) {
+			registered = new HashMap<Serializable, Object>();
+			this.references.put(entityDescriptor.getName(), registered);
+		}
+		for (final K key : keys) {
+			if (!CheckUtil.isNull(key)) {
+				registered.put(key, entities.get(key));
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of converted instances.
+	 * 
+	 * @return The number of source instances converted.
+	 */
+	public int size() {
+		int result = 0;
+		if (!CheckUtil.isNull(this.converted)) {
+			result = this.converted.size();
+		}
+		return result;
+	}
+}
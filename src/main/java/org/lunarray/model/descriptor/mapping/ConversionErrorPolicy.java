@@ -0,0 +1,30 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+/**
+ * Describes how a batch conversion handles failing elements.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public enum ConversionErrorPolicy {
+	/** Convert all elements and report every failure at the end. */
+	COLLECT,
+	/** Stop at the first failure. */
+	FAIL_FAST;
+}
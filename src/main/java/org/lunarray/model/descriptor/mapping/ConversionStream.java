@@ -0,0 +1,56 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+
+/**
+ * A stream of converted entities. Entities are converted as they are
+ * requested, so a stream can run over more entities than fit in memory.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <F>
+ *            The target entity type.
+ */
+public interface ConversionStream<F> {
+
+	/**
+	 * Closes the stream. Stops any pending conversion and releases the buffer.
+	 */
+	void close();
+
+	/**
+	 * Tests if there is another entity.
+	 * 
+	 * @return True if and only if there is another entity.
+	 * @throws ConversionException
+	 *             Thrown if converting the next entity failed.
+	 */
+	boolean hasNext() throws ConversionException;
+
+	/**
+	 * Gets the next converted entity.
+	 * 
+	 * @return The converted entity.
+	 * @throws ConversionException
+	 *             Thrown if converting the entity failed.
+	 * @throws java.util.NoSuchElementException
+	 *             Thrown if there are no more entities.
+	 */
+	F next() throws ConversionException;
+}
@@ -17,6 +17,9 @@
  */
 package org.lunarray.model.descriptor.mapping;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 
 /**
@@ -26,6 +29,46 @@ import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.Conversi
  */
 public interface ModelConversionTool {
 
+	/**
+	 * Convert a batch of entities sequentially, failing on the first element
+	 * that can not be converted. The batch shares a single conversion context.
+	 * 
+	 * @param entities
+	 *            The entities. May not be null.
+	 * @param targetType
+	 *            The target type.
+	 * @return The converted entities, in the order of the input.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 * @throws ConversionException
+	 *             Thrown if the conversion fails.
+	 */
+	<E, F> List<F> convertAll(Collection<? extends E> entities, Class<F> targetType) throws ConversionException;
+
+	/**
+	 * Convert a batch of entities. A parallel batch is split in parts no
+	 * smaller than the threshold, each part with its own conversion context.
+	 * 
+	 * @param entities
+	 *            The entities. May not be null.
+	 * @param targetType
+	 *            The target type.
+	 * @param batch
+	 *            The batch settings. May not be null.
+	 * @return The converted entities, in the order of the input.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 * @throws ConversionException
+	 *             Thrown if the conversion fails. If failures are collected,
+	 *             a BatchConversionException with all failures and the
+	 *             converted elements.
+	 */
+	<E, F> List<F> convertAll(Collection<? extends E> entities, Class<F> targetType, BatchConversion batch) throws ConversionException;
+
 	/**
 	 * Convert one entity to another.
 	 * 
@@ -42,4 +85,25 @@ public interface ModelConversionTool {
 	 *             Thrown if the conversion fails.
 	 */
 	<E, F> F convert(E entity, Class<F> targetType) throws ConversionException;
+
+	/**
+	 * Convert one entity to another within a conversion context. Every source
+	 * instance is converted at most once per target type within the context,
+	 * so shared references stay shared and cyclic graphs are copied as cycles.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param targetType
+	 *            The target type.
+	 * @param context
+	 *            The conversion context. May not be null.
+	 * @return A new entity, or the entity already converted in the context.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 * @throws ConversionException
+	 *             Thrown if the conversion fails.
+	 */
+	<E, F> F convert(E entity, Class<F> targetType, ConversionContext context) throws ConversionException;
 }
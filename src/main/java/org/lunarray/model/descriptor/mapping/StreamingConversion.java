@@ -0,0 +1,196 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.mapping.impl.BufferedConversionStreamImpl;
+import org.lunarray.model.descriptor.mapping.impl.LazyConversionStreamImpl;
+
+/**
+ * Streams entities through a conversion tool. Without an executor entities are
+ * converted on the calling thread as they are requested. With an executor they
+ * are converted ahead into a bounded buffer, and conversion waits while the
+ * buffer is full. Either way every entity is converted in its own context, so
+ * memory use does not grow with the number of entities.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class StreamingConversion {
+
+	/** The default buffer size. */
+	public static final int DEFAULT_BUFFER_SIZE = 256;
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
+	/** The buffer size. */
+	private final int bufferSize;
+	/** The executor, null to convert on the calling thread. */
+	private final Executor executor;
+	/** The conversion tool. */
+	private final ModelConversionTool tool;
+
+	/**
+	 * Constructs the streaming conversion.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private StreamingConversion(final Builder builder) {
+		this.bufferSize = builder.bufferSizeBuilder;
+		this.executor = builder.executorBuilder;
+		this.tool = builder.toolBuilder;
+	}
+
+	/**
+	 * Gets the value for the bufferSize field.
+	 * 
+	 * @return The value for the bufferSize field.
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Gets the value for the executor field.
+	 * 
+	 * @return The value for the executor field. Null if entities are
+	 *         converted on the calling thread.
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Gets the value for the tool field.
+	 * 
+	 * @return The value for the tool field.
+	 */
+	public ModelConversionTool getTool() {
+		return this.tool;
+	}
+
+	/**
+	 * Streams the entities.
+	 * 
+	 * @param entities
+	 *            The source entities. May not be null. Is only read by a
+	 *            single thread.
+	 * @param targetType
+	 *            The target type. May not be null.
+	 * @return The stream of converted entities.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	public <E, F> ConversionStream<F> stream(final Iterator<? extends E> entities, final Class<F> targetType) {
+		Validate.notNull(entities, "Entities may not be null.");
+		Validate.notNull(targetType, "Target type may not be null.");
+		ConversionStream<F> result;
+		if (CheckUtil.isNull(this.executor)) {
+			result = new LazyConversionStreamImpl<E, F>(this.tool, entities, targetType);
+		} else {
+			result = new BufferedConversionStreamImpl<E, F>(this.tool, entities, targetType, this.executor, this.bufferSize);
+		}
+		return result;
+	}
+
+	/**
+	 * The streaming conversion builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The buffer size. */
+		private int bufferSizeBuilder;
+		/** The executor. */
+		private Executor executorBuilder;
+		/** The conversion tool. */
+		private ModelConversionTool toolBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.bufferSizeBuilder = StreamingConversion.DEFAULT_BUFFER_SIZE;
+		}
+
+		/**
+		 * Sets the buffer size, the number of converted entities that may
+		 * wait to be consumed.
+		 * 
+		 * @param bufferSize
+		 *            The buffer size. Must be positive.
+		 * @return The builder.
+		 */
+		public Builder bufferSize(final int bufferSize) {
+			Validate.isTrue(bufferSize > 0, "Buffer size must be positive.");
+			this.bufferSizeBuilder = bufferSize;
+			return this;
+		}
+
+		/**
+		 * Builds the streaming conversion.
+		 * 
+		 * @return The streaming conversion.
+		 */
+		public StreamingConversion build() {
+			Validate.notNull(this.toolBuilder, "Tool may not be null.");
+			return new StreamingConversion(this);
+		}
+
+		/**
+		 * Sets the executor to convert ahead on. A converting task stops once
+		 * its stream is closed or no longer referenced.
+		 * 
+		 * @param executor
+		 *            The executor. May be null, to convert on the calling
+		 *            thread.
+		 * @return The builder.
+		 */
+		public Builder executor(final Executor executor) {
+			this.executorBuilder = executor;
+			return this;
+		}
+
+		/**
+		 * Sets the conversion tool.
+		 * 
+		 * @param tool
+		 *            The tool. May not be null.
+		 * @return The builder.
+		 */
+		public Builder tool(final ModelConversionTool tool) {
+			Validate.notNull(tool, "Tool may not be null.");
+			this.toolBuilder = tool;
+			return this;
+		}
+	}
+}
@@ -80,6 +80,9 @@ public final class EntityConversionBuilder<E, F> {
 	 * @return The entity converter.
 	 */
 	public EntityConversionImpl<E, F> build() {
+		for (final PropertyConversionStrategy<E, F> strategy : this.propertyStrategies) {
+			strategy.compile();
+		}
 		return new EntityConversionImpl<E, F>(this.propertyStrategies, this.sourceEntity, this.targetEntity);
 	}
 }
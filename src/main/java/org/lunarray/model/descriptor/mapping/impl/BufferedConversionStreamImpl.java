@@ -0,0 +1,287 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.mapping.ConversionStream;
+import org.lunarray.model.descriptor.mapping.ModelConversionTool;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+
+/**
+ * A conversion stream converting ahead on an executor into a bounded buffer.
+ * The converting task blocks while the buffer is full, so the source is never
+ * read further ahead than the buffer size. The task only holds the stream
+ * weakly, it stops when the stream is closed or no longer referenced, so an
+ * abandoned stream does not hold a thread of the executor. The end of the
+ * stream is always buffered, whatever the task fails with.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The source entity type.
+ * @param <F>
+ *            The target entity type.
+ */
+public final class BufferedConversionStreamImpl<E, F>
+		implements ConversionStream<F> {
+
+	/** Marks the end of the stream. */
+	private static final Object END = new Object();
+	/** Marks a null entity. */
+	private static final Object NULL = new Object();
+	/** The time to wait for room in the buffer before testing the stream. */
+	private static final long WAIT_MILLIS = 100;
+
+	/** The buffer. */
+	private final BlockingQueue<Object> buffer;
+	/** Whether the stream is closed. */
+	private volatile boolean closed;
+	/** The next element, null if not yet taken from the buffer. */
+	private Object nextElement;
+	/** The converting task. */
+	private final FutureTask<Void> producer;
+	/** The target type. */
+	private final Class<F> targetType;
+
+	/**
+	 * Constructs the stream and starts converting.
+	 * 
+	 * @param tool
+	 *            The conversion tool.
+	 * @param entities
+	 *            The source entities.
+	 * @param targetType
+	 *            The target type.
+	 * @param executor
+	 *            The executor to convert on.
+	 * @param bufferSize
+	 *            The buffer size.
+	 */
+	public BufferedConversionStreamImpl(final ModelConversionTool tool, final Iterator<? extends E> entities, final Class<F> targetType,
+			final Executor executor, final int bufferSize) {
+		this.targetType = targetType;
+		this.buffer = new ArrayBlockingQueue<Object>(bufferSize);
+		this.producer = new FutureTask<Void>(new Producer<E, F>(this, tool, entities, targetType), null);
+		executor.execute(this.producer);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.producer.cancel(true);
+		this.buffer.clear();
+		this.nextElement = BufferedConversionStreamImpl.END;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasNext() throws ConversionException {
+		if (CheckUtil.isNull(this.nextElement)) {
+			try {
+				this.nextElement = this.buffer.take();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ConversionException("Interrupted while waiting for a conversion.", e);
+			}
+		}
+		if (this.nextElement instanceof Failure) {
+			final ConversionException failure = ((Failure) this.nextElement).getException();
+			this.nextElement = BufferedConversionStreamImpl.END;
+			throw failure;
+		}
+		return BufferedConversionStreamImpl.END != this.nextElement;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public F next() throws ConversionException {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Object element = this.nextElement;
+		this.nextElement = null;
+		F result = null;
+		if (BufferedConversionStreamImpl.NULL != element) {
+			result = this.targetType.cast(element);
+		}
+		return result;
+	}
+
+	/**
+	 * A failed conversion.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class Failure {
+
+		/** The exception. */
+		private final ConversionException exception;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param exception
+		 *            The exception.
+		 */
+		public Failure(final ConversionException exception) {
+			this.exception = exception;
+		}
+
+		/**
+		 * Gets the value for the exception field.
+		 * 
+		 * @return The value for the exception field.
+		 */
+		public ConversionException getException() {
+			return this.exception;
+		}
+	}
+
+	/**
+	 * Reads and converts the source entities into the buffer.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	private static final class Producer<E, F>
+			implements Runnable {
+
+		/** The buffer. */
+		private final BlockingQueue<Object> buffer;
+		/** The source entities. */
+		private final Iterator<? extends E> entities;
+		/** The stream, held weakly. */
+		private final WeakReference<BufferedConversionStreamImpl<E, F>> stream;
+		/** The target type. */
+		private final Class<F> targetType;
+		/** The conversion tool. */
+		private final ModelConversionTool tool;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param stream
+		 *            The stream.
+		 * @param tool
+		 *            The conversion tool.
+		 * @param entities
+		 *            The source entities.
+		 * @param targetType
+		 *            The target type.
+		 */
+		public Producer(final BufferedConversionStreamImpl<E, F> stream, final ModelConversionTool tool,
+				final Iterator<? extends E> entities, final Class<F> targetType) {
+			this.buffer = stream.buffer;
+			this.stream = new WeakReference<BufferedConversionStreamImpl<E, F>>(stream);
+			this.tool = tool;
+			this.entities = entities;
+			this.targetType = targetType;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void run() {
+			Object last = BufferedConversionStreamImpl.END;
+			boolean interrupted = false;
+			try {
+				while (!this.isClosed() && this.entities.hasNext()) {
+					final F converted = this.tool.convert(this.entities.next(), this.targetType);
+					if (CheckUtil.isNull(converted)) {
+						this.put(BufferedConversionStreamImpl.NULL);
+					} else {
+						this.put(converted);
+					}
+				}
+			} catch (final ConversionException e) {
+				last = new Failure(e);
+			} catch (final InterruptedException e) {
+				interrupted = true;
+				last = new Failure(new ConversionException("Interrupted while converting.", e));
+			} catch (final RuntimeException e) {
+				last = new Failure(new ConversionException(e));
+			} catch (final Throwable e) {
+				// Errors end the stream like any other failure.
+				last = new Failure(new ConversionException(new ExecutionException(e)));
+			} finally {
+				interrupted = this.end(last) || interrupted;
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		/**
+		 * Buffers the end of the stream, unless the stream is closed.
+		 * 
+		 * @param last
+		 *            The end marker or failure.
+		 * @return True if and only if the thread was interrupted.
+		 */
+		private boolean end(final Object last) {
+			boolean interrupted = Thread.interrupted();
+			boolean done = false;
+			while (!done) {
+				try {
+					this.put(last);
+					done = true;
+				} catch (final InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			return interrupted;
+		}
+
+		/**
+		 * Tests if the stream is closed or no longer referenced.
+		 * 
+		 * @return True if and only if the stream is closed.
+		 */
+		private boolean isClosed() {
+			final BufferedConversionStreamImpl<E, F> current = this.stream.get();
+			return CheckUtil.isNull(current) || current.closed;
+		}
+
+		/**
+		 * Buffers an element, waiting for room while the stream is open.
+		 * 
+		 * @param element
+		 *            The element.
+		 * @throws InterruptedException
+		 *             Thrown if interrupted while waiting.
+		 */
+		private void put(final Object element) throws InterruptedException {
+			boolean offered = false;
+			while (!offered && !this.isClosed()) {
+				offered = this.buffer.offer(element, BufferedConversionStreamImpl.WAIT_MILLIS, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+}
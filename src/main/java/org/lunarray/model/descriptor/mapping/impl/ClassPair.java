@@ -101,10 +101,10 @@ public final class ClassPair
 	@Override
 	public int hashCode() {
 		int hashCode = 1;
-		if (CheckUtil.isNull(this.classOne)) {
+		if (!CheckUtil.isNull(this.classOne)) {
 			hashCode = (ClassPair.PRIME * hashCode) + this.classOne.hashCode();
 		}
-		if (CheckUtil.isNull(this.classTwo)) {
+		if (!CheckUtil.isNull(this.classTwo)) {
 			hashCode = (ClassPair.PRIME * hashCode) + this.classTwo.hashCode();
 		}
 		return hashCode;
@@ -17,11 +17,16 @@
  */
 package org.lunarray.model.descriptor.mapping.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.creational.CreationException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
@@ -41,6 +46,8 @@ public final class EntityConversionImpl<E, F>
 
 	/** Serial id. */
 	private static final long serialVersionUID = -3563375437007591459L;
+	/** The compiled plan. */
+	private transient PropertyConversionStrategy<E, F>[] plan;
 	/** The strategies. */
 	private List<PropertyConversionStrategy<E, F>> propertyStrategies;
 	/** The source entity. */
@@ -66,28 +73,61 @@ public final class EntityConversionImpl<E, F>
 		this.propertyStrategies = propertyStrategies;
 		this.sourceEntity = sourceEntity;
 		this.targetEntity = targetEntity;
+		this.plan = EntityConversionImpl.compilePlan(propertyStrategies);
 	}
 
 	/**
-	 * Converts from source to target.
+	 * Compiles the plan.
+	 * 
+	 * @param propertyStrategies
+	 *            The strategies. May be null.
+	 * @return The plan.
+	 * @param <E>
+	 *            The source entity.
+	 * @param <F>
+	 *            The target entity.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	// Generic arrays can only be created raw.
+	private static <E, F> PropertyConversionStrategy<E, F>[] compilePlan(final List<PropertyConversionStrategy<E, F>> propertyStrategies) {
+		PropertyConversionStrategy<E, F>[] result;
+		if (CheckUtil.isNull(propertyStrategies)) {
+			result = new PropertyConversionStrategy[0];
+		} else {
+			result = propertyStrategies.toArray(new PropertyConversionStrategy[propertyStrategies.size()]);
+		}
+		return result;
+	}
+
+	/**
+	 * Converts from source to target. The target instance is registered with
+	 * the context before its properties are converted, so references back to
+	 * the source resolve to it.
 	 * 
 	 * @param source
 	 *            The source.
+	 * @param targetType
+	 *            The requested target type.
 	 * @param conversionTool
 	 *            The conversion tool.
+	 * @param context
+	 *            The conversion context.
 	 * @return The target.
 	 * @throws ConversionException
 	 *             Thrown if the conversion failed.
 	 */
-	public F convert(final E source, final ModelConversionTool conversionTool) throws ConversionException {
+	public F convert(final E source, final Class<? super F> targetType, final ModelConversionTool conversionTool,
+			final ConversionContext context) throws ConversionException {
 		F instance;
 		try {
 			instance = this.targetEntity.createEntity();
 		} catch (final CreationException e) {
 			throw new ConversionException(e);
 		}
-		for (final PropertyConversionStrategy<E, F> conversion : this.propertyStrategies) {
-			conversion.apply(source, instance, conversionTool);
+		context.registerConverted(source, targetType, instance);
+		final PropertyConversionStrategy<E, F>[] strategies = this.plan;
+		for (int i = 0; i < strategies.length; i++) {
+			strategies[i].apply(source, instance, conversionTool, context);
 		}
 		return instance;
 	}
@@ -119,6 +159,22 @@ public final class EntityConversionImpl<E, F>
 		return this.targetEntity;
 	}
 
+	/**
+	 * Prefetches what the conversion of the given sources needs, such as
+	 * referenced entities, into the context.
+	 * 
+	 * @param sources
+	 *            The sources that are about to be converted. May not be null.
+	 * @param context
+	 *            The conversion context. May not be null.
+	 */
+	public void prefetch(final Collection<? extends E> sources, final ConversionContext context) {
+		final PropertyConversionStrategy<E, F>[] strategies = this.plan;
+		for (int i = 0; i < strategies.length; i++) {
+			strategies[i].prefetch(sources, context);
+		}
+	}
+
 	/**
 	 * Sets a new value for the propertyStrategies field.
 	 * 
@@ -127,6 +183,7 @@ public final class EntityConversionImpl<E, F>
 	 */
 	public void setPropertyStrategies(final List<PropertyConversionStrategy<E, F>> propertyStrategies) {
 		this.propertyStrategies = propertyStrategies;
+		this.plan = EntityConversionImpl.compilePlan(propertyStrategies);
 	}
 
 	/**
@@ -148,4 +205,19 @@ public final class EntityConversionImpl<E, F>
 	public void setTargetEntity(final EntityDescriptor<F> targetEntity) {
 		this.targetEntity = targetEntity;
 	}
+
+	/**
+	 * Restores the compiled plan.
+	 * 
+	 * @param stream
+	 *            The stream.
+	 * @throws IOException
+	 *             Thrown if the stream could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class could not be found.
+	 */
+	private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.plan = EntityConversionImpl.compilePlan(this.propertyStrategies);
+	}
 }
@@ -0,0 +1,84 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping.impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.lunarray.model.descriptor.mapping.ConversionStream;
+import org.lunarray.model.descriptor.mapping.ModelConversionTool;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+
+/**
+ * A conversion stream converting on the calling thread, one entity per call.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <E>
+ *            The source entity type.
+ * @param <F>
+ *            The target entity type.
+ */
+public final class LazyConversionStreamImpl<E, F>
+		implements ConversionStream<F> {
+
+	/** Whether the stream is closed. */
+	private boolean closed;
+	/** The source entities. */
+	private final Iterator<? extends E> entities;
+	/** The target type. */
+	private final Class<F> targetType;
+	/** The conversion tool. */
+	private final ModelConversionTool tool;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param tool
+	 *            The conversion tool.
+	 * @param entities
+	 *            The source entities.
+	 * @param targetType
+	 *            The target type.
+	 */
+	public LazyConversionStreamImpl(final ModelConversionTool tool, final Iterator<? extends E> entities, final Class<F> targetType) {
+		this.tool = tool;
+		this.entities = entities;
+		this.targetType = targetType;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		this.closed = true;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasNext() {
+		return !this.closed && this.entities.hasNext();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public F next() throws ConversionException {
+		if (this.closed) {
+			throw new NoSuchElementException("Stream is closed.");
+		}
+		return this.tool.convert(this.entities.next(), this.targetType);
+	}
+}
@@ -17,11 +17,29 @@
  */
 package org.lunarray.model.descriptor.mapping.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
+import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.mapping.BatchConversion;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
+import org.lunarray.model.descriptor.mapping.ConversionErrorPolicy;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.BatchConversionException;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 
 /**
@@ -32,10 +50,14 @@ import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.Conversi
 public final class ModelConversionToolImpl
 		implements ModelConversionTool, Serializable {
 
+	/** The default batch settings. */
+	private static final BatchConversion DEFAULT_BATCH = BatchConversion.createDefault();
 	/** Serial id. */
 	private static final long serialVersionUID = 2447268754927331701L;
 	/** The conversions. */
 	private Map<ClassPair, EntityConversionImpl<?, ?>> entityConversion;
+	/** The conversions indexed by target type, then source type. */
+	private transient Map<Class<?>, Map<Class<?>, EntityConversionImpl<?, ?>>> index;
 
 	/**
 	 * Constructs the tool.
@@ -45,24 +67,68 @@ public final class ModelConversionToolImpl
 	 */
 	public ModelConversionToolImpl(final Map<ClassPair, EntityConversionImpl<?, ?>> entityConversion) {
 		this.entityConversion = entityConversion;
+		this.index = ModelConversionToolImpl.createIndex(entityConversion);
+	}
+
+	/**
+	 * Indexes the conversions by target type, then source type.
+	 * 
+	 * @param entityConversion
+	 *            The conversion map. May be null.
+	 * @return The index.
+	 */
+	private static Map<Class<?>, Map<Class<?>, EntityConversionImpl<?, ?>>> createIndex(
+			final Map<ClassPair, EntityConversionImpl<?, ?>> entityConversion) {
+		final Map<Class<?>, Map<Class<?>, EntityConversionImpl<?, ?>>> result = new HashMap<Class<?>, Map<Class<?>, EntityConversionImpl<?, ?>>>();
+		if (!CheckUtil.isNull(entityConversion)) {
+			for (final Map.Entry<ClassPair, EntityConversionImpl<?, ?>> entry : entityConversion.entrySet()) {
+				final Class<?> targetType = entry.getKey().getClassOne();
+				Map<Class<?>, EntityConversionImpl<?, ?>> sources = result.get(targetType);
+				if (CheckUtil.isNull(sources)) {
+					sources = new HashMap<Class<?>, EntityConversionImpl<?, ?>>();
+					result.put(targetType, sources);
+				}
+				sources.put(entry.getKey().getClassTwo(), entry.getValue());
+			}
+		}
+		return result;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public <E, F> F convert(final E entity, final Class<F> targetType) throws ConversionException {
-		F result = null;
-		if (!CheckUtil.isNull(entity)) {
-			final Class<?> entityType = entity.getClass();
-			final ClassPair pair = new ClassPair(targetType, entityType);
-			if (this.entityConversion.containsKey(pair)) {
-				@SuppressWarnings("unchecked")
-				final EntityConversionImpl<E, F> converter = (EntityConversionImpl<E, F>) this.entityConversion.get(pair);
-				result = converter.convert(entity, this);
-			} else {
-				throw new ConversionException(String.format("Could not convert '%s' to '%s'.", entity, targetType));
-			}
+		return this.convert(entity, targetType, new ConversionContext());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, F> F convert(final E entity, final Class<F> targetType, final ConversionContext context) throws ConversionException {
+		Validate.notNull(context, "Context may not be null.");
+		return this.convert(entity, targetType, new ContextBoundConversionTool(this, context));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, F> List<F> convertAll(final Collection<? extends E> entities, final Class<F> targetType) throws ConversionException {
+		return this.convertAll(entities, targetType, ModelConversionToolImpl.DEFAULT_BATCH);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <E, F> List<F> convertAll(final Collection<? extends E> entities, final Class<F> targetType, final BatchConversion batch)
+			throws ConversionException {
+		Validate.notNull(entities, "Entities may not be null.");
+		Validate.notNull(targetType, "Target type may not be null.");
+		Validate.notNull(batch, "Batch may not be null.");
+		final BatchState<F> state = new BatchState<F>(entities.toArray(), targetType, batch.getErrorPolicy());
+		final int size = state.size();
+		if (batch.isParallel() && (size > batch.getThreshold())) {
+			batch.getPool().invoke(new BatchTask<F>(this, state, 0, size, batch.getThreshold()));
+		} else {
+			this.convertRange(state, 0, size);
 		}
-		return result;
+		state.complete();
+		return state.getResults();
 	}
 
 	/**
@@ -82,5 +148,452 @@ public final class ModelConversionToolImpl
 	 */
 	public void setEntityConversion(final Map<ClassPair, EntityConversionImpl<?, ?>> entityConversion) {
 		this.entityConversion = entityConversion;
+		this.index = ModelConversionToolImpl.createIndex(entityConversion);
+	}
+
+	/**
+	 * Converts within the context of the given tool.
+	 * 
+	 * @param entity
+	 *            The entity.
+	 * @param targetType
+	 *            The target type.
+	 * @param boundTool
+	 *            The context bound tool.
+	 * @return The converted entity.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 * @throws ConversionException
+	 *             Thrown if the conversion fails.
+	 */
+	private <E, F> F convert(final E entity, final Class<F> targetType, final ContextBoundConversionTool boundTool)
+			throws ConversionException {
+		F result = null;
+		if (!CheckUtil.isNull(entity)) {
+			result = this.convert(entity, targetType, boundTool, this.resolve(targetType, entity.getClass()));
+		}
+		return result;
+	}
+
+	/**
+	 * Converts with a resolved conversion within the context of the given
+	 * tool.
+	 * 
+	 * @param entity
+	 *            The entity. May not be null.
+	 * @param targetType
+	 *            The target type.
+	 * @param boundTool
+	 *            The context bound tool.
+	 * @param conversion
+	 *            The conversion for the entity type. May be null.
+	 * @return The converted entity.
+	 * @param <E>
+	 *            The source entity type.
+	 * @param <F>
+	 *            The target entity type.
+	 * @throws ConversionException
+	 *             Thrown if the conversion fails.
+	 */
+	private <E, F> F convert(final E entity, final Class<F> targetType, final ContextBoundConversionTool boundTool,
+			final EntityConversionImpl<?, ?> conversion) throws ConversionException {
+		final ConversionContext context = boundTool.getContext();
+		F result = context.getConverted(entity, targetType);
+		if (CheckUtil.isNull(result)) {
+			@SuppressWarnings("unchecked")
+			final EntityConversionImpl<E, F> converter = (EntityConversionImpl<E, F>) conversion;
+			if (!CheckUtil.isNull(converter)) {
+				result = converter.convert(entity, targetType, boundTool, context);
+			} else {
+				throw new ConversionException(String.format("Could not convert '%s' to '%s'.", entity, targetType));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a range of a batch in a single conversion context. The
+	 * conversion is resolved once for every run of elements of the same type,
+	 * references are prefetched once for every type in the range.
+	 * 
+	 * @param state
+	 *            The batch state.
+	 * @param from
+	 *            The first index, inclusive.
+	 * @param to
+	 *            The last index, exclusive.
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	private <F> void convertRange(final BatchState<F> state, final int from, final int to) {
+		final ContextBoundConversionTool boundTool = new ContextBoundConversionTool(this, new ConversionContext());
+		final Class<F> targetType = state.getTargetType();
+		this.prefetchRange(state, from, to, boundTool.getContext());
+		Class<?> sourceType = null;
+		EntityConversionImpl<?, ?> conversion = null;
+		for (int i = from; (i < to) && !state.isStopped(); i++) {
+			final Object source = state.getSource(i);
+			if (!CheckUtil.isNull(source)) {
+				if (source.getClass() != sourceType) {
+					sourceType = source.getClass();
+					conversion = this.resolve(targetType, sourceType);
+				}
+				try {
+					state.setResult(i, this.convert(source, targetType, boundTool, conversion));
+				} catch (final ConversionException e) {
+					state.fail(i, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Prefetches the references of a range of a batch, grouping the sources by
+	 * type so every conversion prefetches in a single round trip per
+	 * referenced entity type.
+	 * 
+	 * @param state
+	 *            The batch state.
+	 * @param from
+	 *            The first index, inclusive.
+	 * @param to
+	 *            The last index, exclusive.
+	 * @param context
+	 *            The conversion context of the range.
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	@SuppressWarnings("unchecked")
+	// Sources are grouped by their exact type, matching the conversion.
+	private <F> void prefetchRange(final BatchState<F> state, final int from, final int to, final ConversionContext context) {
+		final Map<Class<?>, List<Object>> groups = new LinkedHashMap<Class<?>, List<Object>>();
+		for (int i = from; i < to; i++) {
+			final Object source = state.getSource(i);
+			if (!CheckUtil.isNull(source)) {
+				List<Object> group = groups.get(source.getClass());
+				if (CheckUtil.isNull(group)) {
+					group = new ArrayList<Object>();
+					groups.put(source.getClass(), group);
+				}
+				group.add(source);
+			}
+		}
+		for (final Map.Entry<Class<?>, List<Object>> group : groups.entrySet()) {
+			final EntityConversionImpl<Object, ?> conversion = (EntityConversionImpl<Object, ?>) this.resolve(state.getTargetType(),
+					group.getKey());
+			if (!CheckUtil.isNull(conversion)) {
+				conversion.prefetch(group.getValue(), context);
+			}
+		}
+	}
+
+	/**
+	 * Restores the index.
+	 * 
+	 * @param stream
+	 *            The stream.
+	 * @throws IOException
+	 *             Thrown if the stream could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class could not be found.
+	 */
+	private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.index = ModelConversionToolImpl.createIndex(this.entityConversion);
+	}
+
+	/**
+	 * Resolves the conversion.
+	 * 
+	 * @param targetType
+	 *            The target type.
+	 * @param sourceType
+	 *            The source type.
+	 * @return The conversion, or null if there is none.
+	 */
+	private EntityConversionImpl<?, ?> resolve(final Class<?> targetType, final Class<?> sourceType) {
+		final Map<Class<?>, EntityConversionImpl<?, ?>> sources = this.index.get(targetType);
+		EntityConversionImpl<?, ?> conversion = null;
+		if (!CheckUtil.isNull(sources)) {
+			conversion = sources.get(sourceType);
+		}
+		return conversion;
+	}
+
+	/**
+	 * The state of a batch conversion, shared by the tasks converting its
+	 * parts.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	private static final class BatchState<F> {
+
+		/** The first failure, when failing fast. */
+		private ConversionException failure;
+		/** The index of the first failure. */
+		private int failureIndex;
+		/** The collected failures. */
+		private final SortedMap<Integer, ConversionException> failures;
+		/** The error policy. */
+		private final ConversionErrorPolicy policy;
+		/** The results. */
+		private final Object[] results;
+		/** The sources. */
+		private final Object[] sources;
+		/** Whether the conversion should stop. */
+		private volatile boolean stopped;
+		/** The target type. */
+		private final Class<F> targetType;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param sources
+		 *            The sources.
+		 * @param targetType
+		 *            The target type.
+		 * @param policy
+		 *            The error policy.
+		 */
+		public BatchState(final Object[] sources, final Class<F> targetType, final ConversionErrorPolicy policy) {
+			this.sources = sources;
+			this.targetType = targetType;
+			this.policy = policy;
+			this.results = new Object[sources.length];
+			this.failures = new ConcurrentSkipListMap<Integer, ConversionException>();
+		}
+
+		/**
+		 * Completes the batch.
+		 * 
+		 * @throws ConversionException
+		 *             Thrown if an element failed.
+		 */
+		public synchronized void complete() throws ConversionException {
+			if (!CheckUtil.isNull(this.failure)) {
+				throw this.failure;
+			}
+			if (!this.failures.isEmpty()) {
+				throw new BatchConversionException(new TreeMap<Integer, ConversionException>(this.failures), Arrays.asList(this.results));
+			}
+		}
+
+		/**
+		 * Records a failure.
+		 * 
+		 * @param index
+		 *            The index of the failed element.
+		 * @param exception
+		 *            The failure.
+		 */
+		public void fail(final int index, final ConversionException exception) {
+			if (ConversionErrorPolicy.FAIL_FAST == this.policy) {
+				synchronized (this) {
+					if (CheckUtil.isNull(this.failure) || (index < this.failureIndex)) {
+						this.failure = exception;
+						this.failureIndex = index;
+					}
+				}
+				this.stopped = true;
+			} else {
+				this.failures.put(index, exception);
+			}
+		}
+
+		/**
+		 * Gets the results.
+		 * 
+		 * @return The results.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<F> getResults() {
+			return (List<F>) (List<?>) Arrays.asList(this.results);
+		}
+
+		/**
+		 * Gets a source.
+		 * 
+		 * @param index
+		 *            The index.
+		 * @return The source.
+		 */
+		public Object getSource(final int index) {
+			return this.sources[index];
+		}
+
+		/**
+		 * Gets the value for the targetType field.
+		 * 
+		 * @return The value for the targetType field.
+		 */
+		public Class<F> getTargetType() {
+			return this.targetType;
+		}
+
+		/**
+		 * Tests if the conversion should stop.
+		 * 
+		 * @return True if and only if an element failed while failing fast.
+		 */
+		public boolean isStopped() {
+			return this.stopped;
+		}
+
+		/**
+		 * Sets a result.
+		 * 
+		 * @param index
+		 *            The index.
+		 * @param result
+		 *            The result.
+		 */
+		public void setResult(final int index, final F result) {
+			this.results[index] = result;
+		}
+
+		/**
+		 * Gets the batch size.
+		 * 
+		 * @return The number of elements.
+		 */
+		public int size() {
+			return this.sources.length;
+		}
+	}
+
+	/**
+	 * Converts a part of a batch, splitting it while it exceeds the threshold.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 * @param <F>
+	 *            The target entity type.
+	 */
+	private static final class BatchTask<F>
+			extends RecursiveAction {
+
+		/** Serial id. */
+		private static final long serialVersionUID = -2818004412850447419L;
+		/** The first index, inclusive. */
+		private final int from;
+		/** The batch state. */
+		private final transient BatchState<F> state;
+		/** The threshold. */
+		private final int threshold;
+		/** The last index, exclusive. */
+		private final int to;
+		/** The tool. */
+		private final ModelConversionToolImpl tool;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param tool
+		 *            The tool.
+		 * @param state
+		 *            The batch state.
+		 * @param from
+		 *            The first index, inclusive.
+		 * @param to
+		 *            The last index, exclusive.
+		 * @param threshold
+		 *            The threshold.
+		 */
+		public BatchTask(final ModelConversionToolImpl tool, final BatchState<F> state, final int from, final int to, final int threshold) {
+			super();
+			this.tool = tool;
+			this.state = state;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void compute() {
+			if (((this.to - this.from) <= this.threshold) || this.state.isStopped()) {
+				this.tool.convertRange(this.state, this.from, this.to);
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				ForkJoinTask.invokeAll(new BatchTask<F>(this.tool, this.state, this.from, middle, this.threshold), new BatchTask<F>(
+						this.tool, this.state, middle, this.to, this.threshold));
+			}
+		}
+	}
+
+	/**
+	 * A conversion tool bound to a conversion context, handed to the property
+	 * strategies so nested conversions share the context.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class ContextBoundConversionTool
+			implements ModelConversionTool {
+
+		/** The context. */
+		private final ConversionContext context;
+		/** The tool. */
+		private final ModelConversionToolImpl tool;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param tool
+		 *            The tool.
+		 * @param context
+		 *            The context.
+		 */
+		public ContextBoundConversionTool(final ModelConversionToolImpl tool, final ConversionContext context) {
+			this.tool = tool;
+			this.context = context;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public <E, F> F convert(final E entity, final Class<F> targetType) throws ConversionException {
+			return this.tool.convert(entity, targetType, this);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public <E, F> F convert(final E entity, final Class<F> targetType, final ConversionContext context) throws ConversionException {
+			F result;
+			if (this.context == context) {
+				result = this.tool.convert(entity, targetType, this);
+			} else {
+				result = this.tool.convert(entity, targetType, context);
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public <E, F> List<F> convertAll(final Collection<? extends E> entities, final Class<F> targetType) throws ConversionException {
+			Validate.notNull(entities, "Entities may not be null.");
+			final List<F> result = new ArrayList<F>(entities.size());
+			for (final E entity : entities) {
+				result.add(this.tool.convert(entity, targetType, this));
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public <E, F> List<F> convertAll(final Collection<? extends E> entities, final Class<F> targetType, final BatchConversion batch)
+				throws ConversionException {
+			return this.tool.convertAll(entities, targetType, batch);
+		}
+
+		/**
+		 * Gets the value for the context field.
+		 * 
+		 * @return The value for the context field.
+		 */
+		public ConversionContext getContext() {
+			return this.context;
+		}
 	}
 }
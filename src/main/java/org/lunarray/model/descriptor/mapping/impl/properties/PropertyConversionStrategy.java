@@ -18,7 +18,9 @@
 package org.lunarray.model.descriptor.mapping.impl.properties;
 
 import java.io.Serializable;
+import java.util.Collection;
 
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 
@@ -43,8 +45,28 @@ public interface PropertyConversionStrategy<E, F>
 	 *            The source.
 	 * @param conversionTool
 	 *            The conversion tool.
+	 * @param context
+	 *            The conversion context.
 	 * @throws ConversionException
 	 *             Thrown if the conversion failed.
 	 */
-	void apply(E source, F target, ModelConversionTool conversionTool) throws ConversionException;
+	void apply(E source, F target, ModelConversionTool conversionTool, ConversionContext context) throws ConversionException;
+
+	/**
+	 * Compiles the strategy. Resolves the descriptors, extensions and
+	 * converters the conversion needs once, so applying it does no lookups.
+	 */
+	void compile();
+
+	/**
+	 * Prefetches what the conversion of the given sources needs, in as few
+	 * lookups as possible, and registers it with the context. This is a best
+	 * effort, anything that fails is left for {@link #apply} to report.
+	 * 
+	 * @param sources
+	 *            The sources that are about to be converted.
+	 * @param context
+	 *            The conversion context.
+	 */
+	void prefetch(Collection<? extends E> sources, ConversionContext context);
 }
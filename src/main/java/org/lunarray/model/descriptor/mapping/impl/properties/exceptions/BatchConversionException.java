@@ -0,0 +1,71 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping.impl.properties.exceptions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * An exception if elements of a batch conversion failed.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public class BatchConversionException
+		extends ConversionException {
+
+	/** Serial id. */
+	private static final long serialVersionUID = 3925417318402651784L;
+	/** The failures, by element index. */
+	private final SortedMap<Integer, ConversionException> failures;
+	/** The results, null where an element failed. */
+	private final List<?> results;
+
+	/**
+	 * Constructs the exception.
+	 * 
+	 * @param failures
+	 *            The failures, by element index. May not be empty.
+	 * @param results
+	 *            The results, null where an element failed.
+	 */
+	public BatchConversionException(final SortedMap<Integer, ConversionException> failures, final List<?> results) {
+		super(String.format("Could not convert %s element(s), first at index %s.", failures.size(), failures.firstKey()), failures
+				.get(failures.firstKey()));
+		this.failures = Collections.unmodifiableSortedMap(failures);
+		this.results = Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Gets the value for the failures field.
+	 * 
+	 * @return The value for the failures field.
+	 */
+	public SortedMap<Integer, ConversionException> getFailures() {
+		return this.failures;
+	}
+
+	/**
+	 * Gets the value for the results field.
+	 * 
+	 * @return The value for the results field.
+	 */
+	public List<?> getResults() {
+		return this.results;
+	}
+}
@@ -17,10 +17,27 @@
  */
 package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The property strategy that uses the key to look up the other entity.
@@ -42,6 +59,8 @@ import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 public abstract class AbstractPropertyConversionStrategyImpl<S, T, E, F, P, Q>
 		implements PropertyConversionStrategy<E, F> {
 
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractPropertyConversionStrategyImpl.class);
 	/** The serial id. */
 	private static final long serialVersionUID = -6255328303343433208L;
 	/** The source model. */
@@ -75,6 +94,137 @@ public abstract class AbstractPropertyConversionStrategyImpl<S, T, E, F, P, Q>
 		this.sourceModel = sourceModel;
 	}
 
+	/**
+	 * Binds the converter of a model for a type.
+	 * 
+	 * @param model
+	 *            The model. May not be null.
+	 * @param type
+	 *            The type. May not be null.
+	 * @param <X>
+	 *            The type.
+	 * @return The converter binding.
+	 */
+	protected static <X> ConverterBinding<X> bind(final Model<?> model, final Class<X> type) {
+		return ConverterBinding.bind(model.getExtensionRef(ConverterTool.class), type, null);
+	}
+
+	/**
+	 * Converts a value from one model to another, through its string value.
+	 * 
+	 * @param value
+	 *            The value.
+	 * @param sourceConverter
+	 *            The source model converter. May not be null.
+	 * @param targetConverter
+	 *            The target model converter. May not be null.
+	 * @param <X>
+	 *            The source type.
+	 * @param <Y>
+	 *            The target type.
+	 * @return The converted value.
+	 * @throws ConverterException
+	 *             Thrown if the value could not be converted.
+	 */
+	protected static <X, Y> Y convert(final X value, final ConverterBinding<X> sourceConverter, final ConverterBinding<Y> targetConverter)
+			throws ConverterException {
+		return targetConverter.convertToInstance(sourceConverter.convertToString(value));
+	}
+
+	/**
+	 * Gets the dictionary from its reference.
+	 * 
+	 * @param dictionaryRef
+	 *            The dictionary reference. May be null.
+	 * @return The dictionary.
+	 * @throws ConversionException
+	 *             Thrown if there is no dictionary.
+	 */
+	protected static Dictionary getDictionary(final ExtensionRef<Dictionary> dictionaryRef) throws ConversionException {
+		Dictionary result = null;
+		if (!CheckUtil.isNull(dictionaryRef)) {
+			result = dictionaryRef.get();
+		}
+		if (CheckUtil.isNull(result)) {
+			throw new ConversionException("Could not find dictionary.");
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up a reference, preferring the references prefetched into the
+	 * context.
+	 * 
+	 * @param dictionaryRef
+	 *            The dictionary reference. May be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param key
+	 *            The key.
+	 * @param context
+	 *            The conversion context. May not be null.
+	 * @param <X>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @return The reference.
+	 * @throws ConversionException
+	 *             Thrown if there is no dictionary.
+	 * @throws DictionaryException
+	 *             Thrown if the reference could not be looked up.
+	 */
+	protected static <X, K extends Serializable> X lookup(final ExtensionRef<Dictionary> dictionaryRef,
+			final KeyedEntityDescriptor<X, K> entityDescriptor, final K key, final ConversionContext context) throws ConversionException,
+			DictionaryException {
+		X result;
+		if (context.hasReference(entityDescriptor, key)) {
+			result = context.getReference(entityDescriptor, key);
+		} else {
+			result = AbstractPropertyConversionStrategyImpl.getDictionary(dictionaryRef).lookup(entityDescriptor, key);
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up references in a single bulk lookup and registers them with the
+	 * context. Keys already known to the context are not looked up again.
+	 * Failures are logged and otherwise ignored, the conversion itself will
+	 * look up and report them.
+	 * 
+	 * @param dictionaryRef
+	 *            The dictionary reference. May be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param keys
+	 *            The keys. May not be null.
+	 * @param context
+	 *            The conversion context. May not be null.
+	 * @param <X>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 */
+	protected static <X, K extends Serializable> void prefetchReferences(final ExtensionRef<Dictionary> dictionaryRef,
+			final KeyedEntityDescriptor<X, K> entityDescriptor, final Collection<K> keys, final ConversionContext context) {
+		final Iterator<K> keyIt = keys.iterator();
+		while (keyIt.hasNext()) {
+			if (context.hasReference(entityDescriptor, keyIt.next())) {
+				keyIt.remove();
+			}
+		}
+		if (!keys.isEmpty()) {
+			try {
+				final Map<K, X> entities = AbstractPropertyConversionStrategyImpl.getDictionary(dictionaryRef).lookupAll(entityDescriptor,
+						keys);
+				context.registerReferences(entityDescriptor, keys, entities);
+			} catch (final ConversionException e) {
+				AbstractPropertyConversionStrategyImpl.LOGGER.debug("Could not prefetch references.", e);
+			} catch (final DictionaryException e) {
+				AbstractPropertyConversionStrategyImpl.LOGGER.debug("Could not prefetch references.", e);
+			}
+		}
+	}
+
 	/**
 	 * Gets the value for the sourceModel field.
 	 * 
@@ -111,6 +261,12 @@ public abstract class AbstractPropertyConversionStrategyImpl<S, T, E, F, P, Q>
 		return this.targetProperty;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void prefetch(final Collection<? extends E> sources, final ConversionContext context) {
+		// Nothing to prefetch by default.
+	}
+
 	/**
 	 * Sets a new value for the sourceModel field.
 	 * 
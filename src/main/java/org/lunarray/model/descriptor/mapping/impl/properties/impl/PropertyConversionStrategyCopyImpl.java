@@ -18,10 +18,10 @@
 package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 
 import org.apache.commons.lang.Validate;
-import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
-import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
@@ -52,6 +52,10 @@ public final class PropertyConversionStrategyCopyImpl<S, T, E, F, P>
 	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyConversionStrategyCopyImpl.class);
 	/** Serial id. */
 	private static final long serialVersionUID = 4476629092424343541L;
+	/** The source converter. */
+	private ConverterBinding<P> sourceConverter;
+	/** The target converter. */
+	private ConverterBinding<P> targetConverter;
 
 	/**
 	 * Creates the strategy.
@@ -107,22 +111,18 @@ public final class PropertyConversionStrategyCopyImpl<S, T, E, F, P>
 
 	/** {@inheritDoc} */
 	@Override
-	public void apply(final E source, final F target, final ModelConversionTool conversionTool) throws ConversionException {
+	public void apply(final E source, final F target, final ModelConversionTool conversionTool, final ConversionContext context)
+			throws ConversionException {
+		final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
+		final PropertyDescriptor<P, F> targetPropertyDescriptor = this.getTargetProperty();
+		if (PropertyConversionStrategyCopyImpl.LOGGER.isDebugEnabled()) {
+			PropertyConversionStrategyCopyImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}", sourcePropertyDescriptor,
+					targetPropertyDescriptor, source, target);
+		}
 		try {
-			final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
-			final PropertyDescriptor<P, F> targetPropertyDescriptor = this.getTargetProperty();
-			PropertyConversionStrategyCopyImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
-					sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
 			P value = sourcePropertyDescriptor.getValue(source);
 			if (!targetPropertyDescriptor.isAssignable(value)) {
-				final ConverterTool sourceConverter = this.getSourceModel().getExtension(ConverterTool.class);
-				final ConverterTool targetConverter = this.getTargetModel().getExtension(ConverterTool.class);
-				if (CheckUtil.isNull(sourceConverter) || CheckUtil.isNull(targetConverter)) {
-					throw new ConversionException("Could not find converter.");
-				} else {
-					final String stringValue = sourceConverter.convertToString(sourcePropertyDescriptor.getPropertyType(), value);
-					value = targetConverter.convertToInstance(targetPropertyDescriptor.getPropertyType(), stringValue);
-				}
+				value = AbstractPropertyConversionStrategyImpl.convert(value, this.sourceConverter, this.targetConverter);
 			}
 			targetPropertyDescriptor.setValue(target, value);
 		} catch (final ValueAccessException e) {
@@ -131,4 +131,11 @@ public final class PropertyConversionStrategyCopyImpl<S, T, E, F, P>
 			throw new ConversionException(e);
 		}
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void compile() {
+		this.sourceConverter = AbstractPropertyConversionStrategyImpl.bind(this.getSourceModel(), this.getSourceProperty().getPropertyType());
+		this.targetConverter = AbstractPropertyConversionStrategyImpl.bind(this.getTargetModel(), this.getTargetProperty().getPropertyType());
+	}
 }
@@ -18,6 +18,7 @@
 package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
@@ -85,12 +86,15 @@ public final class PropertyConversionStrategyDeepCopyImpl<E, F, P, Q>
 
 	/** {@inheritDoc} */
 	@Override
-	public void apply(final E source, final F target, final ModelConversionTool conversionTool) throws ConversionException {
+	public void apply(final E source, final F target, final ModelConversionTool conversionTool, final ConversionContext context)
+			throws ConversionException {
 		try {
 			final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
 			final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
-			PropertyConversionStrategyDeepCopyImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
-					sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
+			if (PropertyConversionStrategyDeepCopyImpl.LOGGER.isDebugEnabled()) {
+				PropertyConversionStrategyDeepCopyImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
+						sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
+			}
 			final P value = sourcePropertyDescriptor.getValue(source);
 			final Q entityValue = conversionTool.convert(value, targetPropertyDescriptor.getPropertyType());
 			targetPropertyDescriptor.setValue(target, entityValue);
@@ -98,4 +102,10 @@ public final class PropertyConversionStrategyDeepCopyImpl<E, F, P, Q>
 			throw new ConversionException(e);
 		}
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void compile() {
+		// Nothing to resolve, the conversion tool picks the entity conversion.
+	}
 }
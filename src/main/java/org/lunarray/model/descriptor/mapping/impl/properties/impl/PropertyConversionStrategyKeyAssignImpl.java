@@ -20,10 +20,10 @@ package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 import java.io.Serializable;
 
 import org.apache.commons.lang.Validate;
-import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
-import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
@@ -58,6 +58,12 @@ public final class PropertyConversionStrategyKeyAssignImpl<S, T, E, F, P extends
 	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyConversionStrategyKeyAssignImpl.class);
 	/** Serial id. */
 	private static final long serialVersionUID = 689325609234636990L;
+	/** The key converter. */
+	private ConverterBinding<Q> keyConverter;
+	/** The key property of the source entity. */
+	private PropertyDescriptor<Q, P> keyProperty;
+	/** The target converter. */
+	private ConverterBinding<Q> targetConverter;
 
 	/**
 	 * Create the strategy.
@@ -115,33 +121,36 @@ public final class PropertyConversionStrategyKeyAssignImpl<S, T, E, F, P extends
 
 	/** {@inheritDoc} */
 	@Override
-	public void apply(final E source, final F target, final ModelConversionTool conversionTool) throws ConversionException {
-		try {
-			final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
-			final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+	public void apply(final E source, final F target, final ModelConversionTool conversionTool, final ConversionContext context)
+			throws ConversionException {
+		final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
+		final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+		if (PropertyConversionStrategyKeyAssignImpl.LOGGER.isDebugEnabled()) {
 			PropertyConversionStrategyKeyAssignImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
 					sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
-			final P value = this.getSourceProperty().getValue(source);
-			final EntityDescriptor<P> sourceDescriptor = this.getSourceModel().getEntity(this.getSourceProperty().getPropertyType());
-			@SuppressWarnings("unchecked")
-			final KeyedEntityDescriptor<P, Q> keyedTarget = sourceDescriptor.adapt(KeyedEntityDescriptor.class);
-			final PropertyDescriptor<Q, P> keyProperty = keyedTarget.getKeyProperty();
-			Q keyValue = keyProperty.getValue(value);
-			if (!this.getTargetProperty().isAssignable(keyValue)) {
-				final ConverterTool sourceConverter = this.getSourceModel().getExtension(ConverterTool.class);
-				final ConverterTool targetConverter = this.getTargetModel().getExtension(ConverterTool.class);
-				if (CheckUtil.isNull(sourceConverter) || CheckUtil.isNull(targetConverter)) {
-					throw new ConversionException("Could not find converter.");
-				} else {
-					final String stringValue = sourceConverter.convertToString(keyProperty.getPropertyType(), keyValue);
-					keyValue = targetConverter.convertToInstance(this.getTargetProperty().getPropertyType(), stringValue);
-				}
+		}
+		try {
+			final P value = sourcePropertyDescriptor.getValue(source);
+			Q keyValue = this.keyProperty.getValue(value);
+			if (!targetPropertyDescriptor.isAssignable(keyValue)) {
+				keyValue = AbstractPropertyConversionStrategyImpl.convert(keyValue, this.keyConverter, this.targetConverter);
 			}
-			this.getTargetProperty().setValue(target, keyValue);
+			targetPropertyDescriptor.setValue(target, keyValue);
 		} catch (final ValueAccessException e) {
 			throw new ConversionException(e);
 		} catch (final ConverterException e) {
 			throw new ConversionException(e);
 		}
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void compile() {
+		final EntityDescriptor<P> sourceDescriptor = this.getSourceModel().getEntity(this.getSourceProperty().getPropertyType());
+		@SuppressWarnings("unchecked")
+		final KeyedEntityDescriptor<P, Q> keyedSource = sourceDescriptor.adapt(KeyedEntityDescriptor.class);
+		this.keyProperty = keyedSource.getKeyProperty();
+		this.keyConverter = AbstractPropertyConversionStrategyImpl.bind(this.getSourceModel(), this.keyProperty.getPropertyType());
+		this.targetConverter = AbstractPropertyConversionStrategyImpl.bind(this.getTargetModel(), this.getTargetProperty().getPropertyType());
+	}
 }
@@ -18,20 +18,25 @@
 package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
-import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
 import org.lunarray.model.descriptor.dictionary.Dictionary;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +65,16 @@ public final class PropertyConversionStrategyLookupAssignImpl<S, T, E, F extends
 	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyConversionStrategyLookupAssignImpl.class);
 	/** Serial id. */
 	private static final long serialVersionUID = -7506552168109833919L;
+	/** The dictionary of the target model. */
+	private ExtensionRef<Dictionary> dictionaryRef;
+	/** The keyed target entity. */
+	private KeyedEntityDescriptor<Q, P> keyedTarget;
+	/** The source converter. */
+	private ConverterBinding<P> sourceConverter;
+	/** The target key converter. */
+	private ConverterBinding<P> targetKeyConverter;
+	/** The key property of the target entity. */
+	private PropertyDescriptor<P, Q> targetKeyProperty;
 
 	/**
 	 * Creates the strategy.
@@ -116,54 +131,74 @@ public final class PropertyConversionStrategyLookupAssignImpl<S, T, E, F extends
 
 	/** {@inheritDoc} */
 	@Override
-	public void apply(final E source, final F target, final ModelConversionTool conversionTool) throws ConversionException {
-		try {
-			final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
-			final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+	public void apply(final E source, final F target, final ModelConversionTool conversionTool, final ConversionContext context)
+			throws ConversionException {
+		final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
+		final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+		if (PropertyConversionStrategyLookupAssignImpl.LOGGER.isDebugEnabled()) {
 			PropertyConversionStrategyLookupAssignImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
 					sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
-			final P value = sourcePropertyDescriptor.getValue(source);
-			final Dictionary dictionary = this.getTargetModel().getExtension(Dictionary.class);
-			final EntityDescriptor<Q> targetDescriptor = this.getTargetModel().getEntity(targetPropertyDescriptor.getPropertyType());
-			@SuppressWarnings("unchecked")
-			final KeyedEntityDescriptor<Q, P> keyedTarget = targetDescriptor.adapt(KeyedEntityDescriptor.class);
-			final PropertyDescriptor<P, Q> targetKeyProperty = keyedTarget.getKeyProperty();
-			final Q entityValue = dictionary.lookup(keyedTarget, this.convertValue(value, targetKeyProperty));
+		}
+		try {
+			final P value = this.getKey(source);
+			final Q entityValue = AbstractPropertyConversionStrategyImpl.lookup(this.dictionaryRef, this.keyedTarget, value, context);
 			targetPropertyDescriptor.setValue(target, entityValue);
 		} catch (final DictionaryException e) {
 			throw new ConversionException(e);
 		} catch (final ValueAccessException e) {
 			throw new ConversionException(e);
+		} catch (final ConverterException e) {
+			throw new ConversionException(e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void compile() {
+		final EntityDescriptor<Q> targetDescriptor = this.getTargetModel().getEntity(this.getTargetProperty().getPropertyType());
+		this.keyedTarget = targetDescriptor.adapt(KeyedEntityDescriptor.class);
+		this.targetKeyProperty = this.keyedTarget.getKeyProperty();
+		this.dictionaryRef = this.getTargetModel().getExtensionRef(Dictionary.class);
+		this.sourceConverter = AbstractPropertyConversionStrategyImpl.bind(this.getSourceModel(), this.getSourceProperty().getPropertyType());
+		this.targetKeyConverter = AbstractPropertyConversionStrategyImpl.bind(this.getTargetModel(), this.targetKeyProperty.getPropertyType());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void prefetch(final Collection<? extends E> sources, final ConversionContext context) {
+		final Set<P> keys = new LinkedHashSet<P>();
+		for (final E source : sources) {
+			try {
+				final P key = this.getKey(source);
+				if (!CheckUtil.isNull(key)) {
+					keys.add(key);
+				}
+			} catch (final ValueAccessException e) {
+				PropertyConversionStrategyLookupAssignImpl.LOGGER.debug("Could not prefetch key.", e);
+			} catch (final ConverterException e) {
+				PropertyConversionStrategyLookupAssignImpl.LOGGER.debug("Could not prefetch key.", e);
+			}
 		}
+		AbstractPropertyConversionStrategyImpl.prefetchReferences(this.dictionaryRef, this.keyedTarget, keys, context);
 	}
 
 	/**
-	 * Convert the value.
+	 * Gets the key of the target entity from the source.
 	 * 
-	 * @param value
-	 *            The value to convert.
-	 * @param targetKeyProperty
-	 *            The target property.
-	 * @return The converter value.
-	 * @throws ConversionException
-	 *             Thrown if the conversion fails.
+	 * @param source
+	 *            The source.
+	 * @return The key, converted to the target key type if needed.
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 * @throws ConverterException
+	 *             Thrown if the key could not be converted.
 	 */
-	private P convertValue(final P value, final PropertyDescriptor<P, Q> targetKeyProperty) throws ConversionException {
-		P result = value;
-		try {
-			if (!targetKeyProperty.isAssignable(result)) {
-				final ConverterTool sourceConverter = this.getSourceModel().getExtension(ConverterTool.class);
-				final ConverterTool targetConverter = this.getTargetModel().getExtension(ConverterTool.class);
-				if (CheckUtil.isNull(sourceConverter) || CheckUtil.isNull(targetConverter)) {
-					throw new ConversionException("Could not find converter.");
-				} else {
-					final String stringValue = sourceConverter.convertToString(this.getSourceProperty().getPropertyType(), result);
-					result = targetConverter.convertToInstance(targetKeyProperty.getPropertyType(), stringValue);
-				}
-			}
-		} catch (final ConverterException e) {
-			throw new ConversionException(e);
+	private P getKey(final E source) throws ValueAccessException, ConverterException {
+		P value = this.getSourceProperty().getValue(source);
+		if (!this.targetKeyProperty.isAssignable(value)) {
+			value = AbstractPropertyConversionStrategyImpl.convert(value, this.sourceConverter, this.targetKeyConverter);
 		}
-		return result;
+		return value;
 	}
 }
@@ -18,20 +18,25 @@
 package org.lunarray.model.descriptor.mapping.impl.properties.impl;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.accessor.exceptions.ValueAccessException;
-import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
 import org.lunarray.model.descriptor.dictionary.Dictionary;
 import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.mapping.ConversionContext;
 import org.lunarray.model.descriptor.mapping.ModelConversionTool;
 import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
 import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
 import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +67,18 @@ public final class PropertyConversionStrategyLookupKeyImpl<S, T, E, F, P extends
 	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyConversionStrategyLookupKeyImpl.class);
 	/** Serial id. */
 	private static final long serialVersionUID = -5765437540798987693L;
+	/** The dictionary of the target model. */
+	private ExtensionRef<Dictionary> dictionaryRef;
+	/** The key property of the source entity. */
+	private PropertyDescriptor<U, P> keyPropertySource;
+	/** The key property of the target entity. */
+	private PropertyDescriptor<U, Q> keyPropertyTarget;
+	/** The keyed target entity. */
+	private KeyedEntityDescriptor<Q, U> keyedTarget;
+	/** The source key converter. */
+	private ConverterBinding<U> sourceKeyConverter;
+	/** The target key converter. */
+	private ConverterBinding<U> targetKeyConverter;
 
 	/**
 	 * Creates the strategy.
@@ -120,66 +137,81 @@ public final class PropertyConversionStrategyLookupKeyImpl<S, T, E, F, P extends
 
 	/** {@inheritDoc} */
 	@Override
-	public void apply(final E source, final F target, final ModelConversionTool conversionTool) throws ConversionException {
-		try {
-			final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
-			final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+	public void apply(final E source, final F target, final ModelConversionTool conversionTool, final ConversionContext context)
+			throws ConversionException {
+		final PropertyDescriptor<P, E> sourcePropertyDescriptor = this.getSourceProperty();
+		final PropertyDescriptor<Q, F> targetPropertyDescriptor = this.getTargetProperty();
+		if (PropertyConversionStrategyLookupKeyImpl.LOGGER.isDebugEnabled()) {
 			PropertyConversionStrategyLookupKeyImpl.LOGGER.debug("Converting from property {} to {} for entity {} to {}",
 					sourcePropertyDescriptor, targetPropertyDescriptor, source, target);
-			final P value = sourcePropertyDescriptor.getValue(source);
-			final EntityDescriptor<P> sourceDescriptor = this.getSourceModel().getEntity(sourcePropertyDescriptor.getPropertyType());
-			@SuppressWarnings("unchecked")
-			final KeyedEntityDescriptor<P, U> keyedSource = sourceDescriptor.adapt(KeyedEntityDescriptor.class);
-			final PropertyDescriptor<U, P> keyPropertySource = keyedSource.getKeyProperty();
-			final U keyValue = keyPropertySource.getValue(value);
-
-			final Dictionary dictionary = this.getTargetModel().getExtension(Dictionary.class);
-			final EntityDescriptor<Q> targetDescriptor = this.getTargetModel().getEntity(targetPropertyDescriptor.getPropertyType());
-			@SuppressWarnings("unchecked")
-			final KeyedEntityDescriptor<Q, U> keyedTarget = targetDescriptor.adapt(KeyedEntityDescriptor.class);
-			final PropertyDescriptor<U, Q> keyPropertyTarget = keyedTarget.getKeyProperty();
-
-			final Q entityValue = dictionary.lookup(keyedTarget, this.convertValue(value, keyPropertySource, keyValue, keyPropertyTarget));
+		}
+		try {
+			final U keyValue = this.getKey(source);
+			final Q entityValue = AbstractPropertyConversionStrategyImpl.lookup(this.dictionaryRef, this.keyedTarget, keyValue, context);
 			targetPropertyDescriptor.setValue(target, entityValue);
 		} catch (final DictionaryException e) {
 			throw new ConversionException(e);
 		} catch (final ValueAccessException e) {
 			throw new ConversionException(e);
+		} catch (final ConverterException e) {
+			throw new ConversionException(e);
 		}
 	}
 
+	/** {@inheritDoc} */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void compile() {
+		final EntityDescriptor<P> sourceDescriptor = this.getSourceModel().getEntity(this.getSourceProperty().getPropertyType());
+		final KeyedEntityDescriptor<P, U> keyedSource = sourceDescriptor.adapt(KeyedEntityDescriptor.class);
+		this.keyPropertySource = keyedSource.getKeyProperty();
+		final EntityDescriptor<Q> targetDescriptor = this.getTargetModel().getEntity(this.getTargetProperty().getPropertyType());
+		this.keyedTarget = targetDescriptor.adapt(KeyedEntityDescriptor.class);
+		this.keyPropertyTarget = this.keyedTarget.getKeyProperty();
+		this.dictionaryRef = this.getTargetModel().getExtensionRef(Dictionary.class);
+		this.sourceKeyConverter = AbstractPropertyConversionStrategyImpl.bind(this.getSourceModel(), this.keyPropertySource.getPropertyType());
+		this.targetKeyConverter = AbstractPropertyConversionStrategyImpl.bind(this.getTargetModel(), this.keyPropertyTarget.getPropertyType());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void prefetch(final Collection<? extends E> sources, final ConversionContext context) {
+		final Set<U> keys = new LinkedHashSet<U>();
+		for (final E source : sources) {
+			try {
+				if (!CheckUtil.isNull(this.getSourceProperty().getValue(source))) {
+					final U key = this.getKey(source);
+					if (!CheckUtil.isNull(key)) {
+						keys.add(key);
+					}
+				}
+			} catch (final ValueAccessException e) {
+				PropertyConversionStrategyLookupKeyImpl.LOGGER.debug("Could not prefetch key.", e);
+			} catch (final ConverterException e) {
+				PropertyConversionStrategyLookupKeyImpl.LOGGER.debug("Could not prefetch key.", e);
+			}
+		}
+		AbstractPropertyConversionStrategyImpl.prefetchReferences(this.dictionaryRef, this.keyedTarget, keys, context);
+	}
+
 	/**
-	 * Convert the value.
+	 * Gets the key of the target entity from the source.
 	 * 
-	 * @param value
-	 *            The value.
-	 * @param keyPropertySource
-	 *            The property source.
-	 * @param keyValue
-	 *            The keyvalue.
-	 * @param keyPropertyTarget
-	 *            The property target.
-	 * @return The value.
-	 * @throws ConversionException
-	 *             Thrown if conversion fails.
+	 * @param source
+	 *            The source.
+	 * @return The key of the referenced entity, converted to the target key
+	 *         type if needed.
+	 * @throws ValueAccessException
+	 *             Thrown if the value could not be accessed.
+	 * @throws ConverterException
+	 *             Thrown if the key could not be converted.
 	 */
-	private U convertValue(final P value, final PropertyDescriptor<U, P> keyPropertySource, final U keyValue,
-			final PropertyDescriptor<U, Q> keyPropertyTarget) throws ConversionException {
-		U result = keyValue;
-		try {
-			if (!keyPropertyTarget.isAssignable(value)) {
-				final ConverterTool sourceConverter = this.getSourceModel().getExtension(ConverterTool.class);
-				final ConverterTool targetConverter = this.getTargetModel().getExtension(ConverterTool.class);
-				if (CheckUtil.isNull(sourceConverter) || CheckUtil.isNull(targetConverter)) {
-					throw new ConversionException("Could not find converter.");
-				} else {
-					final String keyString = sourceConverter.convertToString(keyPropertySource.getPropertyType(), result);
-					result = targetConverter.convertToInstance(keyPropertyTarget.getPropertyType(), keyString);
-				}
-			}
-		} catch (final ConverterException e) {
-			throw new ConversionException(e);
+	private U getKey(final E source) throws ValueAccessException, ConverterException {
+		final P value = this.getSourceProperty().getValue(source);
+		U keyValue = this.keyPropertySource.getValue(value);
+		if (!this.keyPropertyTarget.isAssignable(keyValue)) {
+			keyValue = AbstractPropertyConversionStrategyImpl.convert(keyValue, this.sourceKeyConverter, this.targetKeyConverter);
 		}
-		return result;
+		return keyValue;
 	}
 }
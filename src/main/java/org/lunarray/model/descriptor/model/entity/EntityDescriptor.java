@@ -83,7 +83,7 @@ public interface EntityDescriptor<E>
 	/**
 	 * Gets the entities members.
 	 * 
-	 * @return The members.
+	 * @return The members, an unmodifiable view.
 	 */
 	Set<MemberDescriptor<E>> getMembers();
 
@@ -106,17 +106,30 @@ public interface EntityDescriptor<E>
 	/**
 	 * Gets the entities operations.
 	 * 
-	 * @return The operations.
+	 * @return The operations, an unmodifiable view.
 	 */
 	Set<OperationDescriptor<E>> getOperations();
 
 	/**
 	 * Gets the entities properties.
 	 * 
-	 * @return The properties.
+	 * @return The properties, an unmodifiable view iterating in ordinal order.
 	 */
 	Set<PropertyDescriptor<?, E>> getProperties();
 
+	/**
+	 * Gets a property by its ordinal. Ordinals are assigned when the entity
+	 * is built, are stable for its lifetime and range from zero up to
+	 * {@link #getPropertyCount()}.
+	 * 
+	 * @param index
+	 *            The property ordinal.
+	 * @return The property.
+	 * @throws IndexOutOfBoundsException
+	 *             Thrown if the ordinal is out of range.
+	 */
+	PropertyDescriptor<?, E> getProperty(int index);
+
 	/**
 	 * Gets a property by name.
 	 * 
@@ -138,4 +151,11 @@ public interface EntityDescriptor<E>
 	 * @return The property.
 	 */
 	<P> PropertyDescriptor<P, E> getProperty(String name, Class<P> propertyType);
+
+	/**
+	 * Gets the number of properties.
+	 * 
+	 * @return The number of properties.
+	 */
+	int getPropertyCount();
 }
@@ -28,10 +28,12 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
 import org.lunarray.model.descriptor.model.extension.Extension;
 import org.lunarray.model.descriptor.model.extension.ExtensionContainer;
 import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.model.extension.HardExtensionRef;
+import org.lunarray.model.descriptor.util.ExtensionSlotUtil;
 import org.lunarray.model.descriptor.util.ExtensionUtil;
 import org.lunarray.model.descriptor.util.StringUtil;
 
@@ -53,6 +55,8 @@ public final class ExtensionContainerImpl
 	private transient Map<Class<? extends Extension>, ExtensionRef<?>> extensionReferences;
 	/** Indicates the container has been initialized. */
 	private transient boolean initialized;
+	/** The extension references, indexed by extension slot. */
+	private transient volatile Object[] referenceTable;
 
 	/**
 	 * Default constructor.
@@ -70,6 +74,7 @@ public final class ExtensionContainerImpl
 	public ExtensionContainerImpl(final Map<Class<? extends Extension>, ExtensionRef<? extends Extension>> extensions) {
 		Validate.notNull(extensions, ExtensionContainerImpl.EXTENSIONS_NULL);
 		this.extensionReferences = extensions;
+		this.referenceTable = ExtensionSlotUtil.createTable(extensions);
 		this.initialized = true;
 	}
 
@@ -77,16 +82,17 @@ public final class ExtensionContainerImpl
 	@Override
 	public boolean contains(final Class<? extends Extension> extension) {
 		Validate.notNull(extension, ExtensionContainerImpl.TYPE_NULL);
-		return this.extensionReferences.containsKey(extension);
+		return !CheckUtil.isNull(ExtensionSlotUtil.lookup(this.referenceTable, extension));
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public <X extends Extension> X getExtension(final Class<X> type) {
 		Validate.notNull(type, ExtensionContainerImpl.TYPE_NULL);
+		final ExtensionRef<?> reference = (ExtensionRef<?>) ExtensionSlotUtil.lookup(this.referenceTable, type);
 		X result = null;
-		if (this.extensionReferences.containsKey(type)) {
-			result = type.cast(this.extensionReferences.get(type).get());
+		if (!CheckUtil.isNull(reference)) {
+			result = type.cast(reference.get());
 		}
 		return result;
 	}
@@ -96,11 +102,7 @@ public final class ExtensionContainerImpl
 	@SuppressWarnings("unchecked")
 	public <X extends Extension> ExtensionRef<X> getExtensionRef(final Class<? super X> type) {
 		Validate.notNull(type, ExtensionContainerImpl.TYPE_NULL);
-		ExtensionRef<X> result = null;
-		if (this.extensionReferences.containsKey(type)) {
-			result = (ExtensionRef<X>) this.extensionReferences.get(type);
-		}
-		return result;
+		return (ExtensionRef<X>) ExtensionSlotUtil.lookup(this.referenceTable, type);
 	}
 
 	/** {@inheritDoc} */
@@ -116,6 +118,7 @@ public final class ExtensionContainerImpl
 		Validate.notNull(input, "Input stream may not be null.");
 		this.initialized = false;
 		this.extensionReferences = (Map<Class<? extends Extension>, ExtensionRef<? extends Extension>>) input.readObject();
+		this.referenceTable = ExtensionSlotUtil.createTable(this.extensionReferences);
 	}
 
 	/** {@inheritDoc} */
@@ -151,6 +154,7 @@ public final class ExtensionContainerImpl
 				this.extensionReferences.put(key, extension.getValue());
 			}
 		}
+		this.referenceTable = ExtensionSlotUtil.createTable(this.extensionReferences);
 	}
 
 	/** {@inheritDoc} */
@@ -17,6 +17,7 @@
  */
 package org.lunarray.model.descriptor.presentation;
 
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.operation.parameters.ParameterDescriptor;
 
 /**
@@ -29,6 +30,15 @@ import org.lunarray.model.descriptor.model.operation.parameters.ParameterDescrip
 public interface PresentationParameterDescriptor<P>
 		extends ParameterDescriptor<P>, Described {
 
+	/**
+	 * Gets the converter bound to this parameter and its format. A collection
+	 * parameter binds its declared collection type here, its elements have a
+	 * binding of their own.
+	 * 
+	 * @return The converter binding.
+	 */
+	ConverterBinding<P> getConverterBinding();
+
 	/**
 	 * Gets the property format.
 	 * 
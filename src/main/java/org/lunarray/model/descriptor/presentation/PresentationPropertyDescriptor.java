@@ -17,6 +17,7 @@
  */
 package org.lunarray.model.descriptor.presentation;
 
+import org.lunarray.model.descriptor.converter.ConverterBinding;
 import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 
 /**
@@ -31,6 +32,15 @@ import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 public interface PresentationPropertyDescriptor<P, E>
 		extends PropertyDescriptor<P, E>, Described {
 
+	/**
+	 * Gets the converter bound to this property and its format. A collection
+	 * property binds its declared collection type here, its elements have a
+	 * binding of their own.
+	 * 
+	 * @return The converter binding.
+	 */
+	ConverterBinding<P> getConverterBinding();
+
 	/**
 	 * Gets the property format.
 	 * 
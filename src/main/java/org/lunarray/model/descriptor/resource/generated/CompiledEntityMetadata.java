@@ -0,0 +1,234 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.resource.generated;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * The attributes of an entity and its properties, resolved at compile time by
+ * the model annotation processor. The builder consumes these instead of
+ * reading the annotations of an entity at runtime.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledEntityMetadata {
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @param entityType
+	 *            The entity type. May not be null.
+	 * @return The builder.
+	 */
+	public static Builder createBuilder(final Class<?> entityType) {
+		return new Builder(entityType);
+	}
+
+	/** The entity type. */
+	private final transient Class<?> entityType;
+	/** The presentation hint. */
+	private final transient CompiledHint hint;
+	/** The entity name. */
+	private final transient String name;
+	/** The properties, by property name. */
+	private final transient Map<String, CompiledPropertyMetadata> properties;
+	/** The qualified hints. */
+	private final transient CompiledQualifiers qualifiers;
+
+	/**
+	 * Constructs the metadata.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private CompiledEntityMetadata(final Builder builder) {
+		this.entityType = builder.entityTypeBuilder;
+		this.hint = builder.hintBuilder;
+		this.name = builder.nameBuilder;
+		this.qualifiers = new CompiledQualifiers(builder.qualifierNamesBuilder, builder.qualifierHintsBuilder, this.entityType);
+		this.properties = new HashMap<String, CompiledPropertyMetadata>();
+		for (final CompiledPropertyMetadata.Builder property : builder.propertiesBuilder) {
+			final CompiledPropertyMetadata metadata = property.build(this.entityType);
+			this.properties.put(metadata.getProperty(), metadata);
+		}
+	}
+
+	/**
+	 * Gets the value for the entityType field.
+	 * 
+	 * @return The value for the entityType field.
+	 */
+	public Class<?> getEntityType() {
+		return this.entityType;
+	}
+
+	/**
+	 * Gets the value for the hint field.
+	 * 
+	 * @return The value for the hint field.
+	 */
+	public CompiledHint getHint() {
+		return this.hint;
+	}
+
+	/**
+	 * Gets the hint for a qualifier.
+	 * 
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint, or the empty hint if the qualifier has none.
+	 */
+	public CompiledHint getHint(final Class<?> qualifier) {
+		return this.qualifiers.getHint(qualifier);
+	}
+
+	/**
+	 * Gets the entity name.
+	 * 
+	 * @return The name, or null if the entity isn't named.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the metadata of a property.
+	 * 
+	 * @param property
+	 *            The property name.
+	 * @return The metadata, or null if the property wasn't compiled.
+	 */
+	public CompiledPropertyMetadata getProperty(final String property) {
+		return this.properties.get(property);
+	}
+
+	/**
+	 * Gets the qualifiers.
+	 * 
+	 * @return The qualifiers, in declaration order.
+	 */
+	public List<Class<?>> getQualifiers() {
+		return this.qualifiers.getQualifiers();
+	}
+
+	/**
+	 * The entity metadata builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The entity type. */
+		private final transient Class<?> entityTypeBuilder;
+		/** The presentation hint. */
+		private transient CompiledHint hintBuilder;
+		/** The entity name. */
+		private transient String nameBuilder;
+		/** The properties. */
+		private final transient List<CompiledPropertyMetadata.Builder> propertiesBuilder;
+		/** The qualified hints. */
+		private final transient List<CompiledHint> qualifierHintsBuilder;
+		/** The qualifier names. */
+		private final transient List<String> qualifierNamesBuilder;
+
+		/**
+		 * Constructs the builder.
+		 * 
+		 * @param entityType
+		 *            The entity type. May not be null.
+		 */
+		protected Builder(final Class<?> entityType) {
+			Validate.notNull(entityType, "Entity type may not be null.");
+			this.entityTypeBuilder = entityType;
+			this.hintBuilder = CompiledHint.EMPTY;
+			this.propertiesBuilder = new ArrayList<CompiledPropertyMetadata.Builder>();
+			this.qualifierHintsBuilder = new ArrayList<CompiledHint>();
+			this.qualifierNamesBuilder = new ArrayList<String>();
+		}
+
+		/**
+		 * Builds the metadata, loading the named qualifiers and references.
+		 * 
+		 * @return The metadata.
+		 */
+		public CompiledEntityMetadata build() {
+			return new CompiledEntityMetadata(this);
+		}
+
+		/**
+		 * Sets the presentation hint.
+		 * 
+		 * @param hint
+		 *            The hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder hint(final CompiledHint hint) {
+			Validate.notNull(hint, "Hint may not be null.");
+			this.hintBuilder = hint;
+			return this;
+		}
+
+		/**
+		 * Sets the entity name.
+		 * 
+		 * @param name
+		 *            The name. May not be null.
+		 * @return The builder.
+		 */
+		public Builder name(final String name) {
+			Validate.notNull(name, "Name may not be null.");
+			this.nameBuilder = name;
+			return this;
+		}
+
+		/**
+		 * Adds a property.
+		 * 
+		 * @param property
+		 *            The property. May not be null.
+		 * @return The builder.
+		 */
+		public Builder property(final CompiledPropertyMetadata.Builder property) {
+			Validate.notNull(property, "Property may not be null.");
+			this.propertiesBuilder.add(property);
+			return this;
+		}
+
+		/**
+		 * Adds a qualifier.
+		 * 
+		 * @param qualifier
+		 *            The binary name of the qualifier. May not be null.
+		 * @param hint
+		 *            The hint for the qualifier. May not be null.
+		 * @return The builder.
+		 */
+		public Builder qualifier(final String qualifier, final CompiledHint hint) {
+			Validate.notNull(qualifier, "Qualifier may not be null.");
+			Validate.notNull(hint, "Hint may not be null.");
+			this.qualifierNamesBuilder.add(qualifier);
+			this.qualifierHintsBuilder.add(hint);
+			return this;
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.resource.generated;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.presentation.RenderType;
+import org.lunarray.model.descriptor.util.BooleanInherit;
+
+/**
+ * A presentation hint resolved at compile time. Where several hints apply to a
+ * member, the first value that differs from the default is kept, the way the
+ * default presentation resolvers would.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledHint {
+
+	/** The hint without values. */
+	public static final CompiledHint EMPTY = new Builder().build();
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
+	/** The format. */
+	private final transient String format;
+	/** The immutable hint. */
+	private final transient BooleanInherit immutable;
+	/** The in line hint. */
+	private final transient BooleanInherit inLine;
+	/** The label key. */
+	private final transient String labelKey;
+	/** The name hint. */
+	private final transient BooleanInherit name;
+	/** The order. */
+	private final transient int order;
+	/** The render type. */
+	private final transient RenderType render;
+	/** The required hint. */
+	private final transient BooleanInherit required;
+	/** The resource bundle. */
+	private final transient String resourceBundle;
+	/** The visible hint. */
+	private final transient BooleanInherit visible;
+
+	/**
+	 * Constructs the hint.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private CompiledHint(final Builder builder) {
+		this.format = builder.formatBuilder;
+		this.immutable = builder.immutableBuilder;
+		this.inLine = builder.inLineBuilder;
+		this.labelKey = builder.labelKeyBuilder;
+		this.name = builder.nameBuilder;
+		this.order = builder.orderBuilder;
+		this.render = builder.renderBuilder;
+		this.required = builder.requiredBuilder;
+		this.resourceBundle = builder.resourceBundleBuilder;
+		this.visible = builder.visibleBuilder;
+	}
+
+	/**
+	 * Gets the value for the format field.
+	 * 
+	 * @return The value for the format field.
+	 */
+	public String getFormat() {
+		return this.format;
+	}
+
+	/**
+	 * Gets the value for the immutable field.
+	 * 
+	 * @return The value for the immutable field.
+	 */
+	public BooleanInherit getImmutable() {
+		return this.immutable;
+	}
+
+	/**
+	 * Gets the value for the inLine field.
+	 * 
+	 * @return The value for the inLine field.
+	 */
+	public BooleanInherit getInLine() {
+		return this.inLine;
+	}
+
+	/**
+	 * Gets the value for the labelKey field.
+	 * 
+	 * @return The value for the labelKey field.
+	 */
+	public String getLabelKey() {
+		return this.labelKey;
+	}
+
+	/**
+	 * Gets the value for the name field.
+	 * 
+	 * @return The value for the name field.
+	 */
+	public BooleanInherit getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the value for the order field.
+	 * 
+	 * @return The value for the order field.
+	 */
+	public int getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Gets the value for the render field.
+	 * 
+	 * @return The value for the render field.
+	 */
+	public RenderType getRender() {
+		return this.render;
+	}
+
+	/**
+	 * Gets the value for the required field.
+	 * 
+	 * @return The value for the required field.
+	 */
+	public BooleanInherit getRequired() {
+		return this.required;
+	}
+
+	/**
+	 * Gets the value for the resourceBundle field.
+	 * 
+	 * @return The value for the resourceBundle field.
+	 */
+	public String getResourceBundle() {
+		return this.resourceBundle;
+	}
+
+	/**
+	 * Gets the value for the visible field.
+	 * 
+	 * @return The value for the visible field.
+	 */
+	public BooleanInherit getVisible() {
+		return this.visible;
+	}
+
+	/**
+	 * The hint builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The format. */
+		private transient String formatBuilder;
+		/** The immutable hint. */
+		private transient BooleanInherit immutableBuilder;
+		/** The in line hint. */
+		private transient BooleanInherit inLineBuilder;
+		/** The label key. */
+		private transient String labelKeyBuilder;
+		/** The name hint. */
+		private transient BooleanInherit nameBuilder;
+		/** The order. */
+		private transient int orderBuilder;
+		/** The render type. */
+		private transient RenderType renderBuilder;
+		/** The required hint. */
+		private transient BooleanInherit requiredBuilder;
+		/** The resource bundle. */
+		private transient String resourceBundleBuilder;
+		/** The visible hint. */
+		private transient BooleanInherit visibleBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.formatBuilder = "";
+			this.immutableBuilder = BooleanInherit.INHERIT;
+			this.inLineBuilder = BooleanInherit.INHERIT;
+			this.labelKeyBuilder = "";
+			this.nameBuilder = BooleanInherit.INHERIT;
+			this.orderBuilder = Integer.MIN_VALUE;
+			this.renderBuilder = RenderType.DEFAULT;
+			this.requiredBuilder = BooleanInherit.INHERIT;
+			this.resourceBundleBuilder = "";
+			this.visibleBuilder = BooleanInherit.INHERIT;
+		}
+
+		/**
+		 * Builds the hint.
+		 * 
+		 * @return The hint.
+		 */
+		public CompiledHint build() {
+			return new CompiledHint(this);
+		}
+
+		/**
+		 * Sets the format.
+		 * 
+		 * @param format
+		 *            The format. May not be null.
+		 * @return The builder.
+		 */
+		public Builder format(final String format) {
+			Validate.notNull(format, "Format may not be null.");
+			this.formatBuilder = format;
+			return this;
+		}
+
+		/**
+		 * Sets the immutable hint.
+		 * 
+		 * @param immutable
+		 *            The immutable hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder immutable(final BooleanInherit immutable) {
+			Validate.notNull(immutable, "Immutable may not be null.");
+			this.immutableBuilder = immutable;
+			return this;
+		}
+
+		/**
+		 * Sets the in line hint.
+		 * 
+		 * @param inLine
+		 *            The in line hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder inLine(final BooleanInherit inLine) {
+			Validate.notNull(inLine, "In line may not be null.");
+			this.inLineBuilder = inLine;
+			return this;
+		}
+
+		/**
+		 * Sets the label key.
+		 * 
+		 * @param labelKey
+		 *            The label key. May not be null.
+		 * @return The builder.
+		 */
+		public Builder labelKey(final String labelKey) {
+			Validate.notNull(labelKey, "Label key may not be null.");
+			this.labelKeyBuilder = labelKey;
+			return this;
+		}
+
+		/**
+		 * Sets the name hint.
+		 * 
+		 * @param name
+		 *            The name hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder name(final BooleanInherit name) {
+			Validate.notNull(name, "Name may not be null.");
+			this.nameBuilder = name;
+			return this;
+		}
+
+		/**
+		 * Sets the order.
+		 * 
+		 * @param order
+		 *            The order.
+		 * @return The builder.
+		 */
+		public Builder order(final int order) {
+			this.orderBuilder = order;
+			return this;
+		}
+
+		/**
+		 * Sets the render type.
+		 * 
+		 * @param render
+		 *            The render type. May not be null.
+		 * @return The builder.
+		 */
+		public Builder render(final RenderType render) {
+			Validate.notNull(render, "Render type may not be null.");
+			this.renderBuilder = render;
+			return this;
+		}
+
+		/**
+		 * Sets the required hint.
+		 * 
+		 * @param required
+		 *            The required hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder required(final BooleanInherit required) {
+			Validate.notNull(required, "Required may not be null.");
+			this.requiredBuilder = required;
+			return this;
+		}
+
+		/**
+		 * Sets the resource bundle.
+		 * 
+		 * @param resourceBundle
+		 *            The resource bundle. May not be null.
+		 * @return The builder.
+		 */
+		public Builder resourceBundle(final String resourceBundle) {
+			Validate.notNull(resourceBundle, "Resource bundle may not be null.");
+			this.resourceBundleBuilder = resourceBundle;
+			return this;
+		}
+
+		/**
+		 * Sets the visible hint.
+		 * 
+		 * @param visible
+		 *            The visible hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder visible(final BooleanInherit visible) {
+			Validate.notNull(visible, "Visible may not be null.");
+			this.visibleBuilder = visible;
+			return this;
+		}
+	}
+}
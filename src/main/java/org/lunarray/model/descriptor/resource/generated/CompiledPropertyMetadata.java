@@ -0,0 +1,338 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.resource.generated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * The attributes of a property, resolved at compile time from the annotations
+ * on its field, accessor and mutator.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class CompiledPropertyMetadata {
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @param property
+	 *            The property name, as resolved from its field. May not be
+	 *            null.
+	 * @return The builder.
+	 */
+	public static Builder createBuilder(final String property) {
+		return new Builder(property);
+	}
+
+	/** The alias. */
+	private final transient String alias;
+	/** Whether the property is embedded. */
+	private final transient boolean embedded;
+	/** The presentation hint. */
+	private final transient CompiledHint hint;
+	/** Whether the property is ignored. */
+	private final transient boolean ignore;
+	/** Whether the property is a key. */
+	private final transient boolean key;
+	/** The member name. */
+	private final transient String name;
+	/** The property name. */
+	private final transient String property;
+	/** The qualified hints. */
+	private final transient CompiledQualifiers qualifiers;
+	/** The reference relation. */
+	private final transient Class<?> reference;
+
+	/**
+	 * Constructs the metadata.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 * @param entityType
+	 *            The entity type.
+	 */
+	private CompiledPropertyMetadata(final Builder builder, final Class<?> entityType) {
+		this.alias = builder.aliasBuilder;
+		this.embedded = builder.embeddedBuilder;
+		this.hint = builder.hintBuilder;
+		this.ignore = builder.ignoreBuilder;
+		this.key = builder.keyBuilder;
+		this.property = builder.propertyBuilder;
+		this.qualifiers = new CompiledQualifiers(builder.qualifierNamesBuilder, builder.qualifierHintsBuilder, entityType);
+		if (CheckUtil.isNull(builder.nameBuilder)) {
+			this.name = builder.propertyBuilder;
+		} else {
+			this.name = builder.nameBuilder;
+		}
+		if (CheckUtil.isNull(builder.referenceBuilder)) {
+			this.reference = null;
+		} else {
+			this.reference = CompiledQualifiers.load(builder.referenceBuilder, entityType);
+		}
+	}
+
+	/**
+	 * Gets the value for the alias field.
+	 * 
+	 * @return The alias, or null if the property isn't an alias.
+	 */
+	public String getAlias() {
+		return this.alias;
+	}
+
+	/**
+	 * Gets the value for the hint field.
+	 * 
+	 * @return The value for the hint field.
+	 */
+	public CompiledHint getHint() {
+		return this.hint;
+	}
+
+	/**
+	 * Gets the hint for a qualifier.
+	 * 
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint, or the empty hint if the qualifier has none.
+	 */
+	public CompiledHint getHint(final Class<?> qualifier) {
+		return this.qualifiers.getHint(qualifier);
+	}
+
+	/**
+	 * Gets the member name.
+	 * 
+	 * @return The member name, or the property name if none was given.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the value for the property field.
+	 * 
+	 * @return The value for the property field.
+	 */
+	public String getProperty() {
+		return this.property;
+	}
+
+	/**
+	 * Gets the qualifiers.
+	 * 
+	 * @return The qualifiers, in declaration order.
+	 */
+	public List<Class<?>> getQualifiers() {
+		return this.qualifiers.getQualifiers();
+	}
+
+	/**
+	 * Gets the value for the reference field.
+	 * 
+	 * @return The reference relation, or null if the property isn't a
+	 *         reference.
+	 */
+	public Class<?> getReference() {
+		return this.reference;
+	}
+
+	/**
+	 * Gets the value for the embedded field.
+	 * 
+	 * @return The value for the embedded field.
+	 */
+	public boolean isEmbedded() {
+		return this.embedded;
+	}
+
+	/**
+	 * Gets the value for the ignore field.
+	 * 
+	 * @return The value for the ignore field.
+	 */
+	public boolean isIgnore() {
+		return this.ignore;
+	}
+
+	/**
+	 * Gets the value for the key field.
+	 * 
+	 * @return The value for the key field.
+	 */
+	public boolean isKey() {
+		return this.key;
+	}
+
+	/**
+	 * The property metadata builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The alias. */
+		private transient String aliasBuilder;
+		/** Whether the property is embedded. */
+		private transient boolean embeddedBuilder;
+		/** The presentation hint. */
+		private transient CompiledHint hintBuilder;
+		/** Whether the property is ignored. */
+		private transient boolean ignoreBuilder;
+		/** Whether the property is a key. */
+		private transient boolean keyBuilder;
+		/** The member name. */
+		private transient String nameBuilder;
+		/** The property name. */
+		private final transient String propertyBuilder;
+		/** The qualified hints. */
+		private final transient List<CompiledHint> qualifierHintsBuilder;
+		/** The qualifier names. */
+		private final transient List<String> qualifierNamesBuilder;
+		/** The reference relation name. */
+		private transient String referenceBuilder;
+
+		/**
+		 * Constructs the builder.
+		 * 
+		 * @param property
+		 *            The property name. May not be null.
+		 */
+		protected Builder(final String property) {
+			Validate.notNull(property, "Property may not be null.");
+			this.propertyBuilder = property;
+			this.hintBuilder = CompiledHint.EMPTY;
+			this.qualifierHintsBuilder = new ArrayList<CompiledHint>();
+			this.qualifierNamesBuilder = new ArrayList<String>();
+		}
+
+		/**
+		 * Sets the alias.
+		 * 
+		 * @param alias
+		 *            The alias. May not be null.
+		 * @return The builder.
+		 */
+		public Builder alias(final String alias) {
+			Validate.notNull(alias, "Alias may not be null.");
+			this.aliasBuilder = alias;
+			return this;
+		}
+
+		/**
+		 * Marks the property embedded.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder embedded() {
+			this.embeddedBuilder = true;
+			return this;
+		}
+
+		/**
+		 * Sets the presentation hint.
+		 * 
+		 * @param hint
+		 *            The hint. May not be null.
+		 * @return The builder.
+		 */
+		public Builder hint(final CompiledHint hint) {
+			Validate.notNull(hint, "Hint may not be null.");
+			this.hintBuilder = hint;
+			return this;
+		}
+
+		/**
+		 * Marks the property ignored.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder ignore() {
+			this.ignoreBuilder = true;
+			return this;
+		}
+
+		/**
+		 * Marks the property a key.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder key() {
+			this.keyBuilder = true;
+			return this;
+		}
+
+		/**
+		 * Sets the member name.
+		 * 
+		 * @param name
+		 *            The member name. May not be null.
+		 * @return The builder.
+		 */
+		public Builder name(final String name) {
+			Validate.notNull(name, "Name may not be null.");
+			this.nameBuilder = name;
+			return this;
+		}
+
+		/**
+		 * Adds a qualifier.
+		 * 
+		 * @param qualifier
+		 *            The binary name of the qualifier. May not be null.
+		 * @param hint
+		 *            The hint for the qualifier. May not be null.
+		 * @return The builder.
+		 */
+		public Builder qualifier(final String qualifier, final CompiledHint hint) {
+			Validate.notNull(qualifier, "Qualifier may not be null.");
+			Validate.notNull(hint, "Hint may not be null.");
+			this.qualifierNamesBuilder.add(qualifier);
+			this.qualifierHintsBuilder.add(hint);
+			return this;
+		}
+
+		/**
+		 * Sets the reference relation.
+		 * 
+		 * @param reference
+		 *            The binary name of the related type. May not be null.
+		 * @return The builder.
+		 */
+		public Builder reference(final String reference) {
+			Validate.notNull(reference, "Reference may not be null.");
+			this.referenceBuilder = reference;
+			return this;
+		}
+
+		/**
+		 * Builds the metadata.
+		 * 
+		 * @param entityType
+		 *            The entity type, loading the named classes.
+		 * @return The metadata.
+		 */
+		protected CompiledPropertyMetadata build(final Class<?> entityType) {
+			return new CompiledPropertyMetadata(this, entityType);
+		}
+	}
+}
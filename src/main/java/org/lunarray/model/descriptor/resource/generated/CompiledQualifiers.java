@@ -0,0 +1,107 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.resource.generated;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lunarray.common.check.CheckUtil;
+
+/**
+ * The qualified presentation hints of an entity or property, resolved at
+ * compile time. Qualifiers are named by class name and loaded through the
+ * loader of the entity type.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+final class CompiledQualifiers {
+
+	/**
+	 * Loads a class named in the metadata of an entity.
+	 * 
+	 * @param name
+	 *            The binary class name.
+	 * @param entityType
+	 *            The entity type.
+	 * @return The class.
+	 * @throws TypeNotPresentException
+	 *             Thrown if the class could not be loaded, as reading the
+	 *             annotation would have.
+	 */
+	static Class<?> load(final String name, final Class<?> entityType) {
+		final Class<?> result;
+		try {
+			result = Class.forName(name, false, entityType.getClassLoader());
+		} catch (final ClassNotFoundException e) {
+			throw new TypeNotPresentException(name, e);
+		}
+		return result;
+	}
+
+	/** The hints, per qualifier. */
+	private final transient Map<Class<?>, CompiledHint> hints;
+	/** The qualifiers, in declaration order. */
+	private final transient List<Class<?>> qualifiers;
+
+	/**
+	 * Constructs the qualifiers.
+	 * 
+	 * @param names
+	 *            The qualifier names, in declaration order.
+	 * @param hints
+	 *            The hint for every name.
+	 * @param entityType
+	 *            The entity type.
+	 */
+	protected CompiledQualifiers(final List<String> names, final List<CompiledHint> hints, final Class<?> entityType) {
+		final List<Class<?>> resolved = new ArrayList<Class<?>>(names.size());
+		this.hints = new HashMap<Class<?>, CompiledHint>();
+		for (int i = 0; i < names.size(); i++) {
+			final Class<?> qualifier = CompiledQualifiers.load(names.get(i), entityType);
+			resolved.add(qualifier);
+			if (!this.hints.containsKey(qualifier)) {
+				this.hints.put(qualifier, hints.get(i));
+			}
+		}
+		this.qualifiers = Collections.unmodifiableList(resolved);
+	}
+
+	/**
+	 * Gets the hint for a qualifier.
+	 * 
+	 * @param qualifier
+	 *            The qualifier.
+	 * @return The hint, or the empty hint if the qualifier has none.
+	 */
+	public CompiledHint getHint(final Class<?> qualifier) {
+		final CompiledHint hint = this.hints.get(qualifier);
+		return CheckUtil.isNull(hint) ? CompiledHint.EMPTY : hint;
+	}
+
+	/**
+	 * Gets the qualifiers.
+	 * 
+	 * @return The qualifiers, in declaration order.
+	 */
+	public List<Class<?>> getQualifiers() {
+		return this.qualifiers;
+	}
+}
@@ -0,0 +1,102 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.resource.generated;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.resource.Resource;
+import org.lunarray.model.descriptor.resource.ResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A resource discovering the generated models through the service loader. Only
+ * entity types assignable to the marker type are resolved, so no class path
+ * scanning is needed.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @param <S>
+ *            The marker type.
+ */
+public final class GeneratedModelResource<S>
+		implements Resource<Class<? extends S>> {
+
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedModelResource.class);
+	/** The class loader. */
+	private final transient ClassLoader loader;
+	/** The marker type. */
+	private final transient Class<S> markerType;
+
+	/**
+	 * Constructs the resource, using the loader of the marker type.
+	 * 
+	 * @param markerType
+	 *            The marker type. May not be null.
+	 */
+	public GeneratedModelResource(final Class<S> markerType) {
+		this(markerType, null);
+	}
+
+	/**
+	 * Constructs the resource.
+	 * 
+	 * @param markerType
+	 *            The marker type. May not be null.
+	 * @param loader
+	 *            The class loader, the loader of the marker type is used if
+	 *            null.
+	 */
+	public GeneratedModelResource(final Class<S> markerType, final ClassLoader loader) {
+		Validate.notNull(markerType, "Marker type may not be null.");
+		this.markerType = markerType;
+		if (CheckUtil.isNull(loader)) {
+			this.loader = markerType.getClassLoader();
+		} else {
+			this.loader = loader;
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Collection<Class<? extends S>> getResources() throws ResourceException {
+		final Set<Class<? extends S>> resources = new LinkedHashSet<Class<? extends S>>();
+		try {
+			for (final GeneratedModel model : ServiceLoader.load(GeneratedModel.class, this.loader)) {
+				for (final Class<?> entityType : model.getEntityTypes()) {
+					if (this.markerType.isAssignableFrom(entityType)) {
+						resources.add(entityType.asSubclass(this.markerType));
+					} else {
+						GeneratedModelResource.LOGGER.debug("Skipping {} of {}, not a {}.", entityType, model, this.markerType);
+					}
+				}
+			}
+		} catch (final ServiceConfigurationError e) {
+			final ResourceException exception = new ResourceException("Could not load generated models.");
+			exception.initCause(e);
+			throw exception;
+		}
+		return resources;
+	}
+}
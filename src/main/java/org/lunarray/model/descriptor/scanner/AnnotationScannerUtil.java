@@ -25,6 +25,7 @@ import java.util.Queue;
 import java.util.Set;
 
 import org.apache.commons.lang.Validate;
+import org.lunarray.model.descriptor.util.ReflectionUtil;
 
 /**
  * An annotation scanner utility.
@@ -67,7 +68,7 @@ public enum AnnotationScannerUtil {
 	public static List<Annotation> getMarked(final Class<? extends Annotation> marker, final Class<?> entityType, final boolean transitive) {
 		Validate.notNull(entityType, "Entity type may not be null.");
 		final List<Annotation> markedList = new LinkedList<Annotation>();
-		for (final Annotation a : entityType.getAnnotations()) {
+		for (final Annotation a : ReflectionUtil.getAnnotations(entityType)) {
 			INSTANCE.getMarkedProcessInner(marker, a, transitive, markedList, AnnotationScannerUtil.createSet());
 		}
 		return markedList;
@@ -160,7 +161,7 @@ public enum AnnotationScannerUtil {
 	private void getMarkedTransitive(final Class<? extends Annotation> marker, final Annotation annotation, final List<Annotation> tail,
 			final Set<Class<? extends Annotation>> processed) {
 		Validate.notNull(annotation, "Annotation may not be null.");
-		for (final Annotation a : annotation.annotationType().getAnnotations()) {
+		for (final Annotation a : ReflectionUtil.getAnnotations(annotation.annotationType())) {
 			this.getMarkedProcessInner(marker, a, true, tail, processed);
 		}
 	}
@@ -213,7 +214,7 @@ public enum AnnotationScannerUtil {
 				marked = true;
 				process.clear();
 			} else {
-				for (final Annotation annotation : poll.getAnnotations()) {
+				for (final Annotation annotation : ReflectionUtil.getAnnotations(poll)) {
 					final Class<? extends Annotation> annotationType = annotation.annotationType();
 					if (!processed.contains(annotationType)) {
 						process.add(annotationType);
@@ -0,0 +1,52 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.serialization;
+
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * Describes the record of an entity in a model snapshot. The entity is only
+ * read once it is requested.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public interface EntityRecord {
+
+	/**
+	 * Gets the entity type.
+	 * 
+	 * @return The entity type.
+	 */
+	Class<?> getEntityType();
+
+	/**
+	 * Gets the entity name.
+	 * 
+	 * @return The entity name.
+	 */
+	String getName();
+
+	/**
+	 * Reads the entity.
+	 * 
+	 * @return The entity descriptor.
+	 * @throws IllegalStateException
+	 *             Thrown if the record could not be read.
+	 */
+	EntityDescriptor<?> read();
+}
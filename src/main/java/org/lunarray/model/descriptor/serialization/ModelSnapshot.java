@@ -0,0 +1,1223 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.serialization;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.ModelProcessor;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.Extension;
+import org.lunarray.model.descriptor.model.extension.ExtensionContainer;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
+import org.lunarray.model.descriptor.model.operation.OperationDescriptor;
+import org.lunarray.model.descriptor.model.operation.parameters.CollectionParameterDescriptor;
+import org.lunarray.model.descriptor.model.operation.parameters.ParameterDescriptor;
+import org.lunarray.model.descriptor.model.operation.result.CollectionResultDescriptor;
+import org.lunarray.model.descriptor.model.operation.result.ResultDescriptor;
+import org.lunarray.model.descriptor.model.property.CollectionPropertyDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary model snapshot. The header holds the builder key, the stamps of all
+ * classes the model depends on, a class table and an index of entity records.
+ * A class is stamped with the last modified time of its class file, or of the
+ * archive it is loaded from, so validating the snapshot never reads a class
+ * file. Every record holds one serialized entity descriptor, its classes are
+ * written as indices in the class table and the extension references of the
+ * model as their extension types. Records are read when their entity is first
+ * requested, bound to the extensions of the builder. A snapshot is only used
+ * if the builder, the runtime, the entity types and the stamps of all classes
+ * are unchanged. Records only resolve the classes of the JDK collections and
+ * values, of this library, of the entities and their members and of
+ * extensions and processors. Any failure to read the header is treated as a
+ * stale snapshot.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public final class ModelSnapshot {
+
+	/** The packages of classes that may be read. */
+	private static final String[] ALLOWED_PACKAGES = { "java.lang.", "java.math.", "java.sql.", "java.text.", "java.util.",
+			"org.lunarray." };
+	/** Buffer size. */
+	private static final int BUFFER_SIZE = 8192;
+	/** The class file suffix. */
+	private static final String CLASS_FILE = ".class";
+	/** The packages of classes that may never be read. */
+	private static final String[] DENIED_PACKAGES = { "java.lang.invoke.", "java.lang.reflect." };
+	/** The protocol of file locations. */
+	private static final String FILE_PROTOCOL = "file:";
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(ModelSnapshot.class);
+	/** The file marker. */
+	private static final int MAGIC = 0x4C4D5331;
+	/** The location index of classes without a location. */
+	private static final int NO_LOCATION = -1;
+	/** The primitive types. */
+	private static final Class<?>[] PRIMITIVES = { Boolean.TYPE, Byte.TYPE, Character.TYPE, Double.TYPE, Float.TYPE, Integer.TYPE,
+			Long.TYPE, Short.TYPE, Void.TYPE };
+	/** The protocol of runtime image locations. */
+	private static final String RUNTIME_PROTOCOL = "jrt:";
+	/** The format version. */
+	private static final int VERSION = 2;
+
+	/**
+	 * Creates a builder.
+	 * 
+	 * @return The builder.
+	 */
+	public static Builder createBuilder() {
+		return new Builder();
+	}
+
+	/**
+	 * Computes the stamp of a class. That is the last modified time of the
+	 * class file for a class loaded from a directory, and of the archive for a
+	 * class loaded from an archive. Classes of the runtime have no stamp, the
+	 * runtime version is checked instead. Classes without a file are stamped
+	 * with the checksum of their member signatures.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @return The stamp.
+	 */
+	public static long stamp(final Class<?> type) {
+		Validate.notNull(type, "Type may not be null.");
+		return ModelSnapshot.stamp(type, ModelSnapshot.location(type), new HashMap<String, Long>());
+	}
+
+	/**
+	 * Adds the types of annotations to the stamped types.
+	 * 
+	 * @param types
+	 *            The stamped types.
+	 * @param annotations
+	 *            The annotations.
+	 */
+	private static void addAnnotations(final Map<String, Class<?>> types, final Annotation[] annotations) {
+		for (final Annotation annotation : annotations) {
+			ModelSnapshot.addSupertype(types, annotation.annotationType());
+		}
+	}
+
+	/**
+	 * Adds the types a model depends on to the stamped types. These are the
+	 * entity types, the property, parameter and result types and the library.
+	 * 
+	 * @param types
+	 *            The stamped types.
+	 * @param model
+	 *            The model.
+	 */
+	private static void addModel(final Map<String, Class<?>> types, final Model<?> model) {
+		ModelSnapshot.addType(types, ModelSnapshot.class);
+		for (final EntityDescriptor<?> entity : model.getEntities()) {
+			ModelSnapshot.addType(types, entity.getEntityType());
+			for (final PropertyDescriptor<?, ?> property : entity.getProperties()) {
+				ModelSnapshot.addType(types, property.getPropertyType());
+				if (property instanceof CollectionPropertyDescriptor) {
+					ModelSnapshot.addType(types, ((CollectionPropertyDescriptor<?, ?, ?>) property).getCollectionType());
+				}
+			}
+			for (final OperationDescriptor<?> operation : entity.getOperations()) {
+				for (final ParameterDescriptor<?> parameter : operation.getParameters()) {
+					ModelSnapshot.addType(types, parameter.getType());
+					if (parameter instanceof CollectionParameterDescriptor) {
+						ModelSnapshot.addType(types, ((CollectionParameterDescriptor<?, ?>) parameter).getCollectionType());
+					}
+				}
+				final ResultDescriptor<?> result = operation.getResultDescriptor();
+				if (!CheckUtil.isNull(result)) {
+					ModelSnapshot.addType(types, result.getResultType());
+					if (result instanceof CollectionResultDescriptor) {
+						ModelSnapshot.addType(types, ((CollectionResultDescriptor<?, ?>) result).getCollectionType());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds a super type or annotation type to the stamped types, unless it is
+	 * a class of the runtime.
+	 * 
+	 * @param types
+	 *            The stamped types.
+	 * @param type
+	 *            The type, may be null.
+	 */
+	private static void addSupertype(final Map<String, Class<?>> types, final Class<?> type) {
+		if (!CheckUtil.isNull(type) && !CheckUtil.isNull(type.getClassLoader())) {
+			ModelSnapshot.addType(types, type);
+		}
+	}
+
+	/**
+	 * Adds a type to the stamped types. Unless the type is a class of the
+	 * runtime, its super class, interfaces and the annotation types of the
+	 * class and its members are added as well.
+	 * 
+	 * @param types
+	 *            The stamped types.
+	 * @param type
+	 *            The type to add.
+	 */
+	private static void addType(final Map<String, Class<?>> types, final Class<?> type) {
+		Class<?> current = type;
+		while (current.isArray()) {
+			current = current.getComponentType();
+		}
+		if (!types.containsKey(current.getName())) {
+			types.put(current.getName(), current);
+			if (!CheckUtil.isNull(current.getClassLoader())) {
+				ModelSnapshot.addSupertype(types, current.getSuperclass());
+				for (final Class<?> superInterface : current.getInterfaces()) {
+					ModelSnapshot.addSupertype(types, superInterface);
+				}
+				ModelSnapshot.addAnnotations(types, current.getDeclaredAnnotations());
+				for (final Field field : current.getDeclaredFields()) {
+					ModelSnapshot.addAnnotations(types, field.getDeclaredAnnotations());
+				}
+				for (final Method method : current.getDeclaredMethods()) {
+					ModelSnapshot.addAnnotations(types, method.getDeclaredAnnotations());
+					for (final Annotation[] annotations : method.getParameterAnnotations()) {
+						ModelSnapshot.addAnnotations(types, annotations);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes a stream, quietly.
+	 * 
+	 * @param stream
+	 *            The stream.
+	 */
+	private static void close(final Closeable stream) {
+		try {
+			stream.close();
+		} catch (final IOException e) {
+			ModelSnapshot.LOGGER.debug("Could not close stream.", e);
+		}
+	}
+
+	/**
+	 * Gets the file of a location.
+	 * 
+	 * @param location
+	 *            The location, may be null.
+	 * @return The file, or null if the location is not a file.
+	 */
+	private static File file(final String location) {
+		File file = null;
+		if (!CheckUtil.isNull(location) && location.startsWith(ModelSnapshot.FILE_PROTOCOL)) {
+			try {
+				file = new File(new URI(location));
+			} catch (final URISyntaxException e) {
+				ModelSnapshot.LOGGER.debug("Could not resolve location {}.", location, e);
+			} catch (final IllegalArgumentException e) {
+				ModelSnapshot.LOGGER.debug("Could not resolve location {}.", location, e);
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Tests if a class may be read from a snapshot.
+	 * 
+	 * @param type
+	 *            The class.
+	 * @param allowed
+	 *            The names of the classes the model was built from.
+	 * @return True if and only if the class may be read.
+	 */
+	private static boolean isAllowed(final Class<?> type, final Set<String> allowed) {
+		Class<?> componentType = type;
+		while (componentType.isArray()) {
+			componentType = componentType.getComponentType();
+		}
+		final String name = componentType.getName();
+		boolean result = componentType.isPrimitive() || allowed.contains(name) || Extension.class.isAssignableFrom(componentType)
+				|| ExtensionRef.class.isAssignableFrom(componentType) || ModelProcessor.class.isAssignableFrom(componentType);
+		for (int i = 0; !result && (i < ModelSnapshot.ALLOWED_PACKAGES.length); i++) {
+			result = name.startsWith(ModelSnapshot.ALLOWED_PACKAGES[i]);
+		}
+		for (int i = 0; result && (i < ModelSnapshot.DENIED_PACKAGES.length); i++) {
+			result = !name.startsWith(ModelSnapshot.DENIED_PACKAGES[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests if a loader is a parent of another loader.
+	 * 
+	 * @param parent
+	 *            The possible parent.
+	 * @param loader
+	 *            The loader.
+	 * @return True if and only if the parent is an ancestor of the loader.
+	 */
+	private static boolean isParent(final ClassLoader parent, final ClassLoader loader) {
+		ClassLoader current = loader.getParent();
+		while (!CheckUtil.isNull(current) && (current != parent)) {
+			current = current.getParent();
+		}
+		return !CheckUtil.isNull(current);
+	}
+
+	/**
+	 * Gets the code source location of a class.
+	 * 
+	 * @param type
+	 *            The class.
+	 * @return The location, or null if the class is a class of the runtime or
+	 *         has no location.
+	 */
+	private static String location(final Class<?> type) {
+		String location = null;
+		if (!CheckUtil.isNull(type.getClassLoader())) {
+			try {
+				final CodeSource source = type.getProtectionDomain().getCodeSource();
+				if (!CheckUtil.isNull(source) && !CheckUtil.isNull(source.getLocation())) {
+					location = source.getLocation().toExternalForm();
+				}
+			} catch (final SecurityException e) {
+				ModelSnapshot.LOGGER.debug("Could not get the location of {}.", type, e);
+			}
+		}
+		return location;
+	}
+
+	/**
+	 * Gets the sorted names of types.
+	 * 
+	 * @param types
+	 *            The types.
+	 * @return The names.
+	 */
+	private static Set<String> names(final Collection<? extends Class<?>> types) {
+		final Set<String> names = new TreeSet<String>();
+		for (final Class<?> type : types) {
+			names.add(type.getName());
+		}
+		return names;
+	}
+
+	/**
+	 * Gets the class loaders of types, followed by a given loader. A loader
+	 * comes before its parents, since it finds all classes they find.
+	 * 
+	 * @param types
+	 *            The types.
+	 * @param loader
+	 *            The loader to end with.
+	 * @return The distinct loaders.
+	 */
+	private static List<ClassLoader> loaders(final Collection<? extends Class<?>> types, final ClassLoader loader) {
+		final List<ClassLoader> loaders = new ArrayList<ClassLoader>();
+		for (final Class<?> type : types) {
+			final ClassLoader typeLoader = type.getClassLoader();
+			if (!CheckUtil.isNull(typeLoader) && !loaders.contains(typeLoader)) {
+				int index = 0;
+				while ((index < loaders.size()) && !ModelSnapshot.isParent(loaders.get(index), typeLoader)) {
+					index++;
+				}
+				loaders.add(index, typeLoader);
+			}
+		}
+		if (!loaders.contains(loader)) {
+			loaders.add(loader);
+		}
+		return loaders;
+	}
+
+	/**
+	 * Resolves a class with the first loader that finds it.
+	 * 
+	 * @param name
+	 *            The class name.
+	 * @param loaders
+	 *            The class loaders.
+	 * @param resolved
+	 *            The classes resolved so far, by name.
+	 * @return The class.
+	 * @throws ClassNotFoundException
+	 *             Thrown if no loader finds the class.
+	 */
+	private static Class<?> resolve(final String name, final List<ClassLoader> loaders, final Map<String, Class<?>> resolved)
+			throws ClassNotFoundException {
+		Class<?> type = resolved.get(name);
+		if (CheckUtil.isNull(type)) {
+			final Iterator<ClassLoader> loaderIterator = loaders.iterator();
+			while (CheckUtil.isNull(type)) {
+				try {
+					type = Class.forName(name, false, loaderIterator.next());
+				} catch (final ClassNotFoundException e) {
+					if (!loaderIterator.hasNext()) {
+						throw e;
+					}
+				}
+			}
+			resolved.put(name, type);
+		}
+		return type;
+	}
+
+	/**
+	 * Gets the runtime version.
+	 * 
+	 * @return The runtime version.
+	 */
+	private static String runtime() {
+		return String.valueOf(System.getProperty("java.runtime.version"));
+	}
+
+	/**
+	 * Computes the checksum of the member signatures of a class.
+	 * 
+	 * @param type
+	 *            The class.
+	 * @return The checksum.
+	 */
+	private static long signature(final Class<?> type) {
+		final StringBuilder signature = new StringBuilder(type.getName());
+		for (final Field field : type.getDeclaredFields()) {
+			signature.append(field.toGenericString());
+		}
+		for (final Method method : type.getDeclaredMethods()) {
+			signature.append(method.toGenericString());
+		}
+		final CRC32 checksum = new CRC32();
+		checksum.update(signature.toString().getBytes());
+		return checksum.getValue();
+	}
+
+	/**
+	 * Computes the stamp of a class.
+	 * 
+	 * @param type
+	 *            The class.
+	 * @param location
+	 *            The location of the class, may be null.
+	 * @param archives
+	 *            The stamps of the archives seen so far, by location.
+	 * @return The stamp.
+	 */
+	private static long stamp(final Class<?> type, final String location, final Map<String, Long> archives) {
+		long stamp = 0;
+		final boolean runtime = CheckUtil.isNull(type.getClassLoader())
+				|| (!CheckUtil.isNull(location) && location.startsWith(ModelSnapshot.RUNTIME_PROTOCOL));
+		if (!runtime) {
+			final File file = ModelSnapshot.file(location);
+			if (CheckUtil.isNull(file)) {
+				stamp = ModelSnapshot.signature(type);
+			} else if (location.endsWith("/")) {
+				final String classFile = type.getName().replace('.', File.separatorChar).concat(ModelSnapshot.CLASS_FILE);
+				stamp = new File(file, classFile).lastModified();
+			} else {
+				Long archive = archives.get(location);
+				if (CheckUtil.isNull(archive)) {
+					archive = Long.valueOf(file.lastModified());
+					archives.put(location, archive);
+				}
+				stamp = archive.longValue();
+			}
+		}
+		return stamp;
+	}
+
+	/** The snapshot file. */
+	private final transient File file;
+	/** Whether or not to map the file to read it. */
+	private final transient boolean memoryMapped;
+
+	/**
+	 * Constructs the snapshot.
+	 * 
+	 * @param builder
+	 *            The builder.
+	 */
+	private ModelSnapshot(final Builder builder) {
+		this.file = builder.fileBuilder;
+		this.memoryMapped = builder.memoryMappedBuilder;
+	}
+
+	/**
+	 * Gets the value for the file field.
+	 * 
+	 * @return The value for the file field.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Gets the value for the memoryMapped field.
+	 * 
+	 * @return The value for the memoryMapped field.
+	 */
+	public boolean isMemoryMapped() {
+		return this.memoryMapped;
+	}
+
+	/**
+	 * Loads the entity records, if the snapshot exists and is current. Only
+	 * the header is read, the records read their entity on request.
+	 * 
+	 * @param key
+	 *            The key of the builder that built the model. May not be
+	 *            null.
+	 * @param types
+	 *            The entity types the model is built from. May not be null.
+	 * @param loader
+	 *            The class loader to resolve classes with that the loaders of
+	 *            the entity types don't find. May not be null.
+	 * @param extensions
+	 *            The extensions to bind the entities to. May not be null.
+	 * @return The records, or null if there is no current snapshot.
+	 */
+	public List<EntityRecord> load(final String key, final Collection<? extends Class<?>> types, final ClassLoader loader,
+			final ExtensionContainer extensions) {
+		Validate.notNull(key, "Key may not be null.");
+		Validate.notNull(types, "Types may not be null.");
+		Validate.notNull(loader, "Loader may not be null.");
+		Validate.notNull(extensions, "Extensions may not be null.");
+		List<EntityRecord> records = null;
+		if (this.file.isFile()) {
+			try {
+				records = this.read(this.open(), key, types, loader, extensions);
+			} catch (final IOException e) {
+				ModelSnapshot.LOGGER.info("Could not read model snapshot {}, rebuilding.", this.file, e);
+			} catch (final ClassNotFoundException e) {
+				ModelSnapshot.LOGGER.info("Model snapshot {} refers to a missing class, rebuilding.", this.file, e);
+			} catch (final RuntimeException e) {
+				ModelSnapshot.LOGGER.info("Model snapshot {} could not be restored, rebuilding.", this.file, e);
+			}
+		}
+		return records;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("ModelSnapshot[\n\tFile: ");
+		builder.append(this.file);
+		builder.append("\n\tMemory mapped: ");
+		builder.append(this.memoryMapped);
+		builder.append("\n]\n");
+		return builder.toString();
+	}
+
+	/**
+	 * Writes the model. The snapshot is written to a temporary file first, and
+	 * then replaces the snapshot.
+	 * 
+	 * @param key
+	 *            The key of the builder that built the model. May not be
+	 *            null.
+	 * @param types
+	 *            The entity types the model is built from. May not be null.
+	 * @param model
+	 *            The model. May not be null.
+	 * @throws IOException
+	 *             Thrown if the snapshot could not be written.
+	 */
+	public void write(final String key, final Collection<? extends Class<?>> types, final Model<?> model) throws IOException {
+		Validate.notNull(key, "Key may not be null.");
+		Validate.notNull(types, "Types may not be null.");
+		Validate.notNull(model, "Model may not be null.");
+		final Map<Object, Class<?>> extensions = new IdentityHashMap<Object, Class<?>>();
+		final ExtensionContainer container = model.getExtensionContainer();
+		for (final Class<? extends Extension> extensionType : container.getExtensionTypes()) {
+			extensions.put(container.getExtensionRef(extensionType), extensionType);
+		}
+		final List<Class<?>> classes = new ArrayList<Class<?>>();
+		final Map<Class<?>, Integer> indices = new HashMap<Class<?>, Integer>();
+		final Map<String, EntityDescriptor<?>> entities = new TreeMap<String, EntityDescriptor<?>>();
+		for (final EntityDescriptor<?> entity : model.getEntities()) {
+			entities.put(entity.getName(), entity);
+		}
+		final ByteArrayOutputStream records = new ByteArrayOutputStream();
+		final int[] lengths = new int[entities.size()];
+		int index = 0;
+		for (final EntityDescriptor<?> entity : entities.values()) {
+			final int start = records.size();
+			final ObjectOutputStream recordOutput = new RecordOutputStream(records, classes, indices, extensions);
+			recordOutput.writeObject(entity);
+			recordOutput.flush();
+			lengths[index] = records.size() - start;
+			index++;
+		}
+		final Map<String, Class<?>> stamped = new TreeMap<String, Class<?>>();
+		for (final Class<?> type : types) {
+			ModelSnapshot.addType(stamped, type);
+		}
+		ModelSnapshot.addModel(stamped, model);
+		for (final Class<?> type : classes) {
+			ModelSnapshot.addType(stamped, type);
+		}
+		final File parent = this.file.getAbsoluteFile().getParentFile();
+		if (!CheckUtil.isNull(parent) && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException(String.format("Could not create directory '%s'.", parent));
+		}
+		final File temporary = new File(parent, this.file.getName().concat(".tmp"));
+		final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary),
+				ModelSnapshot.BUFFER_SIZE));
+		try {
+			output.writeInt(ModelSnapshot.MAGIC);
+			output.writeInt(ModelSnapshot.VERSION);
+			output.writeUTF(key);
+			output.writeUTF(ModelSnapshot.runtime());
+			final Set<String> names = ModelSnapshot.names(types);
+			output.writeInt(names.size());
+			for (final String name : names) {
+				output.writeUTF(name);
+			}
+			this.writeStamps(output, stamped.values());
+			output.writeInt(classes.size());
+			for (final Class<?> type : classes) {
+				output.writeUTF(type.getName());
+			}
+			output.writeInt(entities.size());
+			index = 0;
+			for (final EntityDescriptor<?> entity : entities.values()) {
+				output.writeUTF(entity.getName());
+				output.writeUTF(entity.getEntityType().getName());
+				output.writeInt(lengths[index]);
+				index++;
+			}
+			records.writeTo(output);
+		} finally {
+			ModelSnapshot.close(output);
+		}
+		if (!temporary.renameTo(this.file) && !(this.file.delete() && temporary.renameTo(this.file))) {
+			throw new IOException(String.format("Could not replace snapshot '%s'.", this.file));
+		}
+	}
+
+	/**
+	 * Opens the snapshot file.
+	 * 
+	 * @return The content.
+	 * @throws IOException
+	 *             Thrown if the file could not be read.
+	 */
+	private ByteBuffer open() throws IOException {
+		ByteBuffer content;
+		final RandomAccessFile randomAccess = new RandomAccessFile(this.file, "r");
+		try {
+			if (this.memoryMapped) {
+				final FileChannel channel = randomAccess.getChannel();
+				content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} else {
+				final byte[] bytes = new byte[(int) randomAccess.length()];
+				randomAccess.readFully(bytes);
+				content = ByteBuffer.wrap(bytes);
+			}
+		} finally {
+			// The mapping stays valid once the file is closed.
+			randomAccess.close();
+		}
+		return content;
+	}
+
+	/**
+	 * Reads the snapshot header.
+	 * 
+	 * @param content
+	 *            The snapshot content.
+	 * @param key
+	 *            The builder key.
+	 * @param types
+	 *            The entity types.
+	 * @param loader
+	 *            The class loader.
+	 * @param extensions
+	 *            The extensions to bind the entities to.
+	 * @return The records, or null if the snapshot is stale.
+	 * @throws IOException
+	 *             Thrown if the snapshot could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if the snapshot refers to a missing class.
+	 */
+	private List<EntityRecord> read(final ByteBuffer content, final String key, final Collection<? extends Class<?>> types,
+			final ClassLoader loader, final ExtensionContainer extensions) throws IOException, ClassNotFoundException {
+		final List<ClassLoader> loaders = ModelSnapshot.loaders(types, loader);
+		final Map<String, Class<?>> resolved = new HashMap<String, Class<?>>();
+		for (final Class<?> primitive : ModelSnapshot.PRIMITIVES) {
+			resolved.put(primitive.getName(), primitive);
+		}
+		for (final Class<?> type : types) {
+			resolved.put(type.getName(), type);
+		}
+		final ByteBuffer header = content.duplicate();
+		final DataInputStream input = new DataInputStream(new ByteBufferInputStream(header));
+		boolean current = (input.readInt() == ModelSnapshot.MAGIC) && (input.readInt() == ModelSnapshot.VERSION);
+		current = current && key.equals(input.readUTF()) && ModelSnapshot.runtime().equals(input.readUTF());
+		if (current) {
+			final int nameCount = input.readInt();
+			final Set<String> names = new TreeSet<String>();
+			for (int i = 0; i < nameCount; i++) {
+				names.add(input.readUTF());
+			}
+			current = names.equals(ModelSnapshot.names(types));
+		}
+		final Set<String> allowed = new HashSet<String>();
+		current = current && this.readStamps(input, loaders, resolved, allowed);
+		Class<?>[] classes = null;
+		if (current) {
+			classes = new Class<?>[input.readInt()];
+			for (int i = 0; current && (i < classes.length); i++) {
+				classes[i] = ModelSnapshot.resolve(input.readUTF(), loaders, resolved);
+				current = ModelSnapshot.isAllowed(classes[i], allowed);
+			}
+		}
+		List<EntityRecord> records = null;
+		if (current) {
+			final int recordCount = input.readInt();
+			final String[] recordNames = new String[recordCount];
+			final Class<?>[] recordTypes = new Class<?>[recordCount];
+			final int[] lengths = new int[recordCount];
+			long total = 0;
+			for (int i = 0; i < recordCount; i++) {
+				recordNames[i] = input.readUTF();
+				recordTypes[i] = ModelSnapshot.resolve(input.readUTF(), loaders, resolved);
+				lengths[i] = input.readInt();
+				total += lengths[i];
+			}
+			current = total == header.remaining();
+			if (current) {
+				records = new ArrayList<EntityRecord>(recordCount);
+				int offset = header.position();
+				for (int i = 0; i < recordCount; i++) {
+					records.add(new SnapshotRecord(content, offset, lengths[i], recordNames[i], recordTypes[i], classes, extensions));
+					offset += lengths[i];
+				}
+			}
+		}
+		if (!current) {
+			ModelSnapshot.LOGGER.info("Model snapshot {} is stale, rebuilding.", this.file);
+		}
+		return records;
+	}
+
+	/**
+	 * Reads and checks the stamps of the classes the model depends on.
+	 * 
+	 * @param input
+	 *            The input.
+	 * @param loaders
+	 *            The class loaders.
+	 * @param resolved
+	 *            The classes resolved so far, by name.
+	 * @param names
+	 *            The names of the stamped classes, filled while reading.
+	 * @return True if and only if all stamps are current.
+	 * @throws IOException
+	 *             Thrown if the stamps could not be read.
+	 * @throws ClassNotFoundException
+	 *             Thrown if a class is missing.
+	 */
+	private boolean readStamps(final DataInputStream input, final List<ClassLoader> loaders, final Map<String, Class<?>> resolved,
+			final Set<String> names) throws IOException, ClassNotFoundException {
+		final String[] locations = new String[input.readInt()];
+		for (int i = 0; i < locations.length; i++) {
+			locations[i] = input.readUTF();
+		}
+		final Map<String, Long> archives = new HashMap<String, Long>();
+		final int typeCount = input.readInt();
+		boolean current = true;
+		for (int i = 0; current && (i < typeCount); i++) {
+			final String name = input.readUTF();
+			final int locationIndex = input.readInt();
+			final long stamp = input.readLong();
+			final Class<?> type = ModelSnapshot.resolve(name, loaders, resolved);
+			final String location = ModelSnapshot.location(type);
+			if (locationIndex == ModelSnapshot.NO_LOCATION) {
+				current = CheckUtil.isNull(location);
+			} else {
+				current = locations[locationIndex].equals(location);
+			}
+			current = current && (stamp == ModelSnapshot.stamp(type, location, archives));
+			names.add(name);
+		}
+		return current;
+	}
+
+	/**
+	 * Writes the locations and stamps of the classes the model depends on.
+	 * 
+	 * @param output
+	 *            The output.
+	 * @param types
+	 *            The stamped classes.
+	 * @throws IOException
+	 *             Thrown if the stamps could not be written.
+	 */
+	private void writeStamps(final DataOutputStream output, final Collection<Class<?>> types) throws IOException {
+		final Map<String, Integer> locations = new TreeMap<String, Integer>();
+		final List<String> typeLocations = new ArrayList<String>(types.size());
+		for (final Class<?> type : types) {
+			final String location = ModelSnapshot.location(type);
+			if (!CheckUtil.isNull(location) && !locations.containsKey(location)) {
+				locations.put(location, Integer.valueOf(locations.size()));
+			}
+			typeLocations.add(location);
+		}
+		final String[] locationTable = new String[locations.size()];
+		for (final Map.Entry<String, Integer> location : locations.entrySet()) {
+			locationTable[location.getValue().intValue()] = location.getKey();
+		}
+		output.writeInt(locationTable.length);
+		for (final String location : locationTable) {
+			output.writeUTF(location);
+		}
+		output.writeInt(types.size());
+		final Map<String, Long> archives = new HashMap<String, Long>();
+		int index = 0;
+		for (final Class<?> type : types) {
+			final String location = typeLocations.get(index);
+			output.writeUTF(type.getName());
+			if (CheckUtil.isNull(location)) {
+				output.writeInt(ModelSnapshot.NO_LOCATION);
+			} else {
+				output.writeInt(locations.get(location).intValue());
+			}
+			output.writeLong(ModelSnapshot.stamp(type, location, archives));
+			index++;
+		}
+	}
+
+	/**
+	 * The snapshot builder.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Builder {
+
+		/** The snapshot file. */
+		private transient File fileBuilder;
+		/** Whether or not to map the file to read it. */
+		private transient boolean memoryMappedBuilder;
+
+		/**
+		 * Default constructor.
+		 */
+		protected Builder() {
+			this.memoryMappedBuilder = false;
+		}
+
+		/**
+		 * Builds the snapshot.
+		 * 
+		 * @return The snapshot.
+		 */
+		public ModelSnapshot build() {
+			Validate.notNull(this.fileBuilder, "File may not be null.");
+			return new ModelSnapshot(this);
+		}
+
+		/**
+		 * Sets the snapshot file.
+		 * 
+		 * @param file
+		 *            The file. May not be null.
+		 * @return The builder.
+		 */
+		public Builder file(final File file) {
+			Validate.notNull(file, "File may not be null.");
+			this.fileBuilder = file;
+			return this;
+		}
+
+		/**
+		 * Reads the snapshot through a memory mapping of the file.
+		 * 
+		 * @return The builder.
+		 */
+		public Builder memoryMapped() {
+			this.memoryMappedBuilder = true;
+			return this;
+		}
+	}
+	/**
+	 * A stream over a byte buffer.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class ByteBufferInputStream
+			extends InputStream {
+
+		/** Mask to read unsigned bytes. */
+		private static final int BYTE_MASK = 0xFF;
+		/** The buffer. */
+		private final transient ByteBuffer buffer;
+
+		/**
+		 * Constructs the stream.
+		 * 
+		 * @param buffer
+		 *            The buffer.
+		 */
+		public ByteBufferInputStream(final ByteBuffer buffer) {
+			super();
+			this.buffer = buffer;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int read() {
+			int result = -1;
+			if (this.buffer.hasRemaining()) {
+				result = this.buffer.get() & ByteBufferInputStream.BYTE_MASK;
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) {
+			int result = -1;
+			if (length == 0) {
+				result = 0;
+			} else if (this.buffer.hasRemaining()) {
+				result = Math.min(length, this.buffer.remaining());
+				this.buffer.get(bytes, offset, result);
+			}
+			return result;
+		}
+	}
+
+
+	/**
+	 * Stands in for an extension reference of the model in a record.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class ExtensionToken
+			implements Serializable {
+
+		/** Serial id. */
+		private static final long serialVersionUID = -4139262917396480113L;
+		/** The extension type. */
+		private final Class<?> type;
+
+		/**
+		 * Constructs the token.
+		 * 
+		 * @param type
+		 *            The extension type.
+		 */
+		public ExtensionToken(final Class<?> type) {
+			this.type = type;
+		}
+
+		/**
+		 * Gets the value for the type field.
+		 * 
+		 * @return The value for the type field.
+		 */
+		public Class<?> getType() {
+			return this.type;
+		}
+	}
+
+	/**
+	 * An object stream reading a record. Classes are read as indices in the
+	 * class table of the snapshot, which has been checked when reading the
+	 * header.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class RecordInputStream
+			extends ObjectInputStream {
+
+		/** The class table. */
+		private final transient Class<?>[] classes;
+		/** The extensions to bind to. */
+		private final transient ExtensionContainer extensions;
+
+		/**
+		 * Constructs the stream.
+		 * 
+		 * @param input
+		 *            The input.
+		 * @param classes
+		 *            The class table.
+		 * @param extensions
+		 *            The extensions to bind to.
+		 * @throws IOException
+		 *             Thrown if the stream could not be opened.
+		 */
+		public RecordInputStream(final InputStream input, final Class<?>[] classes, final ExtensionContainer extensions) throws IOException {
+			super(input);
+			this.classes = classes;
+			this.extensions = extensions;
+			this.enableResolveObject(true);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected ObjectStreamClass readClassDescriptor() throws IOException {
+			final int index = this.readInt();
+			if ((index < 0) || (index >= this.classes.length)) {
+				throw new InvalidClassException(String.format("Class %d is not in the class table.", Integer.valueOf(index)));
+			}
+			return ObjectStreamClass.lookupAny(this.classes[index]);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void readStreamHeader() {
+			// The snapshot header identifies the stream.
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected Class<?> resolveClass(final ObjectStreamClass description) {
+			return description.forClass();
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected Object resolveObject(final Object object) throws IOException {
+			Object result = object;
+			if (object instanceof ExtensionToken) {
+				@SuppressWarnings("unchecked")
+				// Only extension types are written as tokens.
+				final Class<? extends Extension> type = (Class<? extends Extension>) ((ExtensionToken) object).getType();
+				result = this.extensions.getExtensionRef(type);
+				if (CheckUtil.isNull(result)) {
+					throw new InvalidObjectException(String.format("Extension '%s' is not available.", type.getName()));
+				}
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected Class<?> resolveProxyClass(final String[] interfaces) throws InvalidClassException {
+			throw new InvalidClassException("Proxies may not be read from a model snapshot.");
+		}
+	}
+
+	/**
+	 * An object stream writing a record. Classes are written as indices in the
+	 * class table of the snapshot, the extension references of the model as
+	 * their extension types.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class RecordOutputStream
+			extends ObjectOutputStream {
+
+		/** The class table. */
+		private final transient List<Class<?>> classes;
+		/** The extension types, by extension reference. */
+		private final transient Map<Object, Class<?>> extensions;
+		/** The indices in the class table. */
+		private final transient Map<Class<?>, Integer> indices;
+
+		/**
+		 * Constructs the stream.
+		 * 
+		 * @param output
+		 *            The output.
+		 * @param classes
+		 *            The class table.
+		 * @param indices
+		 *            The indices in the class table.
+		 * @param extensions
+		 *            The extension types, by extension reference.
+		 * @throws IOException
+		 *             Thrown if the stream could not be opened.
+		 */
+		public RecordOutputStream(final OutputStream output, final List<Class<?>> classes, final Map<Class<?>, Integer> indices,
+				final Map<Object, Class<?>> extensions) throws IOException {
+			super(output);
+			this.classes = classes;
+			this.indices = indices;
+			this.extensions = extensions;
+			this.enableReplaceObject(true);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected Object replaceObject(final Object object) {
+			Object result = object;
+			final Class<?> extensionType = this.extensions.get(object);
+			if (!CheckUtil.isNull(extensionType)) {
+				result = new ExtensionToken(extensionType);
+			}
+			return result;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void writeClassDescriptor(final ObjectStreamClass description) throws IOException {
+			final Class<?> type = description.forClass();
+			Integer index = this.indices.get(type);
+			if (CheckUtil.isNull(index)) {
+				index = Integer.valueOf(this.classes.size());
+				this.classes.add(type);
+				this.indices.put(type, index);
+			}
+			this.writeInt(index.intValue());
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void writeStreamHeader() {
+			// The snapshot header identifies the stream.
+		}
+	}
+
+	/**
+	 * The record of an entity in a snapshot.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class SnapshotRecord
+			implements EntityRecord {
+
+		/** The class table. */
+		private final transient Class<?>[] classes;
+		/** The snapshot content. */
+		private final transient ByteBuffer content;
+		/** The entity type. */
+		private final transient Class<?> entityType;
+		/** The extensions to bind to. */
+		private final transient ExtensionContainer extensions;
+		/** The record length. */
+		private final transient int length;
+		/** The entity name. */
+		private final transient String name;
+		/** The record offset. */
+		private final transient int offset;
+
+		/**
+		 * Constructs the record.
+		 * 
+		 * @param content
+		 *            The snapshot content.
+		 * @param offset
+		 *            The record offset.
+		 * @param length
+		 *            The record length.
+		 * @param name
+		 *            The entity name.
+		 * @param entityType
+		 *            The entity type.
+		 * @param classes
+		 *            The class table.
+		 * @param extensions
+		 *            The extensions to bind to.
+		 */
+		public SnapshotRecord(final ByteBuffer content, final int offset, final int length, final String name, final Class<?> entityType,
+				final Class<?>[] classes, final ExtensionContainer extensions) {
+			this.content = content;
+			this.offset = offset;
+			this.length = length;
+			this.name = name;
+			this.entityType = entityType;
+			this.classes = classes;
+			this.extensions = extensions;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Class<?> getEntityType() {
+			return this.entityType;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public EntityDescriptor<?> read() {
+			final ByteBuffer record = this.content.duplicate();
+			record.limit(this.offset + this.length);
+			record.position(this.offset);
+			Object entity;
+			try {
+				entity = new RecordInputStream(new ByteBufferInputStream(record), this.classes, this.extensions).readObject();
+			} catch (final IOException e) {
+				throw new IllegalStateException(String.format("Could not read entity '%s' from the model snapshot.", this.name), e);
+			} catch (final ClassNotFoundException e) {
+				throw new IllegalStateException(String.format("Could not read entity '%s' from the model snapshot.", this.name), e);
+			}
+			if (!(entity instanceof EntityDescriptor)) {
+				throw new IllegalStateException(String.format("Record of entity '%s' does not hold an entity.", this.name));
+			}
+			return (EntityDescriptor<?>) entity;
+		}
+	}
+}
@@ -21,14 +21,25 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
 
 /**
- * Date format utility.
+ * Date format utility. Formats are resolved once per pattern, locale and type
+ * and pooled, since date formats are costly to create and may not be shared
+ * between threads. Both the number of cached formats and the number of idle
+ * formats per pool are bounded, and a borrowed format always uses the current
+ * default time zone.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
@@ -44,6 +55,10 @@ public enum DateFormatUtil {
 	public static final String DEFAULT_TIME_KEY = "time.format";
 	/** Validation message. */
 	private static final String FORMAT_EMPTY = "Format may not be empty.";
+	/** The maximum number of cached formats. */
+	private static final int MAX_FORMATS = 256;
+	/** The maximum number of idle formats per pool. */
+	private static final int MAX_IDLE = Math.max(2, Runtime.getRuntime().availableProcessors());
 	/** Validation message. */
 	private static final String VALUE_NULL = "Value may not be null.";
 
@@ -84,15 +99,7 @@ public enum DateFormatUtil {
 	public static String format(final String format, final Date date, final Locale locale) {
 		Validate.notEmpty(format, DateFormatUtil.FORMAT_EMPTY);
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		SimpleDateFormat dateFormat;
-		Locale realLocale;
-		if (CheckUtil.isNull(locale)) {
-			realLocale = Locale.getDefault();
-		} else {
-			realLocale = locale;
-		}
-		dateFormat = new SimpleDateFormat(format, realLocale);
-		return dateFormat.format(date);
+		return INSTANCE.resolvePattern(format, null, locale).format(date);
 	}
 
 	/**
@@ -106,7 +113,7 @@ public enum DateFormatUtil {
 	 */
 	public static String formatDate(final Date date, final Locale locale) {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return INSTANCE.resolveDateFormat(locale).format(date);
+		return INSTANCE.resolve(DateTimeType.DATE, locale).format(date);
 	}
 
 	/**
@@ -120,7 +127,7 @@ public enum DateFormatUtil {
 	 */
 	public static String formatDateTime(final Date date, final Locale locale) {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return INSTANCE.resolveDateTimeFormat(locale).format(date);
+		return INSTANCE.resolve(DateTimeType.DATE_TIME, locale).format(date);
 	}
 
 	/**
@@ -134,7 +141,7 @@ public enum DateFormatUtil {
 	 */
 	public static String formatTime(final Date date, final Locale locale) {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return INSTANCE.resolveTimeFormat(locale).format(date);
+		return INSTANCE.resolve(DateTimeType.TIME, locale).format(date);
 	}
 
 	/**
@@ -177,15 +184,7 @@ public enum DateFormatUtil {
 	 */
 	public static Date parse(final String format, final String date, final Locale locale) throws ParseException {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		SimpleDateFormat dateFormat;
-		Locale realLocale;
-		if (CheckUtil.isNull(locale)) {
-			realLocale = Locale.getDefault();
-		} else {
-			realLocale = locale;
-		}
-		dateFormat = new SimpleDateFormat(format, realLocale);
-		return dateFormat.parse(date);
+		return INSTANCE.resolvePattern(format, null, locale).parse(date);
 	}
 
 	/**
@@ -201,7 +200,7 @@ public enum DateFormatUtil {
 	 */
 	public static Date parseDate(final String date, final Locale locale) throws ParseException {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return DateFormatUtil.parse(INSTANCE.resolveDateFormat(locale), date);
+		return DateFormatUtil.parse(INSTANCE.resolve(DateTimeType.DATE, locale), date);
 	}
 
 	/**
@@ -217,7 +216,7 @@ public enum DateFormatUtil {
 	 */
 	public static Date parseDateTime(final String date, final Locale locale) throws ParseException {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return DateFormatUtil.parse(INSTANCE.resolveDateTimeFormat(locale), date);
+		return DateFormatUtil.parse(INSTANCE.resolve(DateTimeType.DATE_TIME, locale), date);
 	}
 
 	/**
@@ -233,7 +232,7 @@ public enum DateFormatUtil {
 	 */
 	public static Date parseTime(final String date, final Locale locale) throws ParseException {
 		Validate.notNull(date, DateFormatUtil.VALUE_NULL);
-		return DateFormatUtil.parse(INSTANCE.resolveTimeFormat(locale), date);
+		return DateFormatUtil.parse(INSTANCE.resolve(DateTimeType.TIME, locale), date);
 	}
 
 	/**
@@ -258,7 +257,7 @@ public enum DateFormatUtil {
 	 * @throws ParseException
 	 *             If the date could not be parsed.
 	 */
-	private static Date parse(final DateFormat format, final String date) throws ParseException {
+	private static Date parse(final FormatPool format, final String date) throws ParseException {
 		Date result = null;
 		if (!StringUtil.isEmptyString(date)) {
 			result = format.parse(date);
@@ -269,14 +268,18 @@ public enum DateFormatUtil {
 	/** The configuration file. */
 	private String configuration;
 
-	/** The configuration properties. */
-	private Properties properties;
+	/** The resolved formats. */
+	private final ConcurrentMap<FormatKey, FormatPool> formats;
+
+	/** The configured patterns. */
+	private volatile Map<DateTimeType, String> patterns;
 
 	/**
 	 * Default constructor.
 	 */
 	private DateFormatUtil() {
 		this.configuration = "/META-INF/date-configuration.properties";
+		this.formats = new ConcurrentHashMap<FormatKey, FormatPool>();
 		this.reset();
 	}
 
@@ -286,84 +289,243 @@ public enum DateFormatUtil {
 	private void reset() {
 		final Properties tmpProperties = new Properties();
 		ConfigurationUtil.loadProperties(this.configuration, tmpProperties);
-		this.properties = tmpProperties;
+		final Map<DateTimeType, String> tmpPatterns = new EnumMap<DateTimeType, String>(DateTimeType.class);
+		tmpPatterns.put(DateTimeType.DATE, tmpProperties.getProperty(DateFormatUtil.DEFAULT_DATE_KEY));
+		tmpPatterns.put(DateTimeType.DATE_TIME, tmpProperties.getProperty(DateFormatUtil.DEFAULT_DATE_TIME_KEY));
+		tmpPatterns.put(DateTimeType.TIME, tmpProperties.getProperty(DateFormatUtil.DEFAULT_TIME_KEY));
+		this.patterns = tmpPatterns;
+		this.formats.clear();
 	}
 
 	/**
-	 * Resolves a format.
+	 * Resolves the format for a type. The configured pattern is used, if any,
+	 * otherwise the full style format of the locale.
 	 * 
-	 * @param key
-	 *            The format key.
-	 * @param defaultValue
-	 *            The format default value.
+	 * @param type
+	 *            The type.
 	 * @param locale
-	 *            The locale.
+	 *            The (optional) locale.
 	 * @return The format.
 	 */
-	private DateFormat resolve(final String key, final DateFormat defaultValue, final Locale locale) {
-		Locale realLocale;
-		if (CheckUtil.isNull(locale)) {
-			realLocale = Locale.getDefault();
+	private FormatPool resolve(final DateTimeType type, final Locale locale) {
+		final String pattern = this.patterns.get(type);
+		FormatPool format;
+		if (CheckUtil.isNull(pattern)) {
+			Locale realLocale;
+			if (CheckUtil.isNull(locale)) {
+				realLocale = Locale.getDefault(Locale.Category.FORMAT);
+			} else {
+				realLocale = locale;
+			}
+			final FormatKey key = new FormatKey(null, realLocale, type);
+			format = this.formats.get(key);
+			if (CheckUtil.isNull(format)) {
+				DateFormat prototype;
+				if (DateTimeType.DATE_TIME == type) {
+					prototype = DateFormat.getDateTimeInstance(DateFormat.FULL, DateFormat.FULL, realLocale);
+				} else if (DateTimeType.TIME == type) {
+					prototype = DateFormat.getTimeInstance(DateFormat.FULL, realLocale);
+				} else {
+					prototype = DateFormat.getDateInstance(DateFormat.FULL, realLocale);
+				}
+				format = this.register(key, prototype);
+			}
 		} else {
-			realLocale = locale;
-		}
-		DateFormat format;
-		if (this.properties.containsKey(key)) {
-			format = new SimpleDateFormat(this.properties.getProperty(key), realLocale);
-		} else {
-			format = defaultValue;
+			format = this.resolvePattern(pattern, type, locale);
 		}
 		return format;
 	}
 
 	/**
-	 * Resolves the date format.
+	 * Resolves the format for a pattern.
 	 * 
+	 * @param pattern
+	 *            The pattern.
+	 * @param type
+	 *            The type the pattern is configured for, or null for an
+	 *            explicit pattern.
 	 * @param locale
 	 *            The (optional) locale.
 	 * @return The format.
 	 */
-	private DateFormat resolveDateFormat(final Locale locale) {
-		DateFormat defaultValue;
+	private FormatPool resolvePattern(final String pattern, final DateTimeType type, final Locale locale) {
+		Locale realLocale;
 		if (CheckUtil.isNull(locale)) {
-			defaultValue = DateFormat.getDateInstance(DateFormat.FULL);
+			realLocale = Locale.getDefault();
 		} else {
-			defaultValue = DateFormat.getDateInstance(DateFormat.FULL, locale);
+			realLocale = locale;
+		}
+		final FormatKey key = new FormatKey(pattern, realLocale, type);
+		FormatPool format = this.formats.get(key);
+		if (CheckUtil.isNull(format)) {
+			format = this.register(key, new SimpleDateFormat(pattern, realLocale));
 		}
-		return this.resolve(DateFormatUtil.DEFAULT_DATE_KEY, defaultValue, locale);
+		return format;
 	}
 
 	/**
-	 * Resolves the date time format.
+	 * Registers a format. Once the cache is full, formats are no longer
+	 * cached.
 	 * 
-	 * @param locale
-	 *            The (optional) locale.
-	 * @return The format.
+	 * @param key
+	 *            The key.
+	 * @param prototype
+	 *            The format prototype.
+	 * @return The registered format.
 	 */
-	private DateFormat resolveDateTimeFormat(final Locale locale) {
-		DateFormat defaultValue;
-		if (CheckUtil.isNull(locale)) {
-			defaultValue = DateFormat.getDateTimeInstance(DateFormat.FULL, DateFormat.FULL);
-		} else {
-			defaultValue = DateFormat.getDateTimeInstance(DateFormat.FULL, DateFormat.FULL, locale);
+	private FormatPool register(final FormatKey key, final DateFormat prototype) {
+		final FormatPool format = new FormatPool(prototype);
+		FormatPool result = format;
+		if (this.formats.size() < DateFormatUtil.MAX_FORMATS) {
+			final FormatPool existing = this.formats.putIfAbsent(key, format);
+			if (!CheckUtil.isNull(existing)) {
+				result = existing;
+			}
 		}
-		return this.resolve(DateFormatUtil.DEFAULT_DATE_TIME_KEY, defaultValue, locale);
+		return result;
 	}
 
 	/**
-	 * Resolves the time format.
+	 * A cache key for a format.
 	 * 
-	 * @param locale
-	 *            The (optional) locale.
-	 * @return The format.
+	 * @author Pal Hargitai (pal@lunarray.org)
 	 */
-	private DateFormat resolveTimeFormat(final Locale locale) {
-		DateFormat defaultValue;
-		if (CheckUtil.isNull(locale)) {
-			defaultValue = DateFormat.getTimeInstance(DateFormat.FULL);
-		} else {
-			defaultValue = DateFormat.getTimeInstance(DateFormat.FULL, locale);
+	private static final class FormatKey {
+
+		/** Hash prime. */
+		private static final int PRIME = 31;
+
+		/** The locale. */
+		private final Locale locale;
+
+		/** The pattern, null for a style format. */
+		private final String pattern;
+
+		/** The type, null for an explicit pattern. */
+		private final DateTimeType type;
+
+		/**
+		 * Constructs the key.
+		 * 
+		 * @param pattern
+		 *            The pattern.
+		 * @param locale
+		 *            The locale.
+		 * @param type
+		 *            The type.
+		 */
+		public FormatKey(final String pattern, final Locale locale, final DateTimeType type) {
+			this.pattern = pattern;
+			this.locale = locale;
+			this.type = type;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public boolean equals(final Object obj) {
+			boolean equal = false;
+			if (obj instanceof FormatKey) {
+				final FormatKey key = (FormatKey) obj;
+				equal = (this.type == key.type) && this.locale.equals(key.locale);
+				if (CheckUtil.isNull(this.pattern)) {
+					equal &= CheckUtil.isNull(key.pattern);
+				} else {
+					equal &= this.pattern.equals(key.pattern);
+				}
+			}
+			return equal;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int hashCode() {
+			int hashCode = this.locale.hashCode();
+			if (!CheckUtil.isNull(this.pattern)) {
+				hashCode = (FormatKey.PRIME * hashCode) + this.pattern.hashCode();
+			}
+			if (!CheckUtil.isNull(this.type)) {
+				hashCode = (FormatKey.PRIME * hashCode) + this.type.hashCode();
+			}
+			return hashCode;
+		}
+	}
+
+	/**
+	 * A pool of formats cloned from a prototype. Each format is used by a
+	 * single thread at a time. Formats returned to a full pool are dropped.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class FormatPool {
+
+		/** The idle formats. */
+		private final Queue<DateFormat> idle;
+
+		/** The prototype. */
+		private final DateFormat prototype;
+
+		/**
+		 * Constructs the pool.
+		 * 
+		 * @param prototype
+		 *            The prototype.
+		 */
+		public FormatPool(final DateFormat prototype) {
+			this.prototype = prototype;
+			this.idle = new ArrayBlockingQueue<DateFormat>(DateFormatUtil.MAX_IDLE);
+		}
+
+		/**
+		 * Formats a date.
+		 * 
+		 * @param date
+		 *            The date.
+		 * @return The formatted date.
+		 */
+		public String format(final Date date) {
+			final DateFormat format = this.acquire();
+			String result;
+			try {
+				result = format.format(date);
+			} finally {
+				this.idle.offer(format);
+			}
+			return result;
+		}
+
+		/**
+		 * Parses a date.
+		 * 
+		 * @param date
+		 *            The date.
+		 * @return The parsed date.
+		 * @throws ParseException
+		 *             If the date could not be parsed.
+		 */
+		public Date parse(final String date) throws ParseException {
+			final DateFormat format = this.acquire();
+			Date result;
+			try {
+				result = format.parse(date);
+			} finally {
+				this.idle.offer(format);
+			}
+			return result;
+		}
+
+		/**
+		 * Acquires an idle format, or clones a new one. The format is set to
+		 * the current default time zone.
+		 * 
+		 * @return The format.
+		 */
+		private DateFormat acquire() {
+			DateFormat format = this.idle.poll();
+			if (CheckUtil.isNull(format)) {
+				format = (DateFormat) this.prototype.clone();
+			}
+			format.setTimeZone(TimeZone.getDefault());
+			return format;
 		}
-		return this.resolve(DateFormatUtil.DEFAULT_TIME_KEY, defaultValue, locale);
 	}
 }
@@ -0,0 +1,209 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.util;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang.Validate;
+import org.lunarray.common.check.CheckUtil;
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.dictionary.PaginatedDictionary;
+import org.lunarray.model.descriptor.dictionary.composite.EntityDictionary;
+import org.lunarray.model.descriptor.dictionary.composite.KeysetPaginatedEntityDictionary;
+import org.lunarray.model.descriptor.dictionary.composite.PaginatedEntityDictionary;
+import org.lunarray.model.descriptor.dictionary.cursor.ContinuationToken;
+import org.lunarray.model.descriptor.dictionary.cursor.DictionaryCursor;
+import org.lunarray.model.descriptor.dictionary.cursor.KeysetPageLoader;
+import org.lunarray.model.descriptor.dictionary.cursor.OffsetPageLoader;
+import org.lunarray.model.descriptor.dictionary.cursor.PageLoader;
+import org.lunarray.model.descriptor.dictionary.cursor.PrefetchingDictionaryCursor;
+import org.lunarray.model.descriptor.dictionary.exceptions.DictionaryException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+
+/**
+ * Dictionary utility. Holds the default bulk lookups, looking up key by key,
+ * for dictionaries without a native bulk lookup, and the default cursors for
+ * paginated dictionaries.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public enum DictionaryUtil {
+
+	/** Instance. */
+	INSTANCE;
+
+	/** Validation message. */
+	private static final String KEYS_NULL = "Keys may not be null.";
+
+	/**
+	 * Looks up entities key by key.
+	 * 
+	 * @param dictionary
+	 *            The dictionary. May not be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param keys
+	 *            The keys. May not be null.
+	 * @return The entities by key, keys without an entity are left out.
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @throws DictionaryException
+	 *             Thrown if an entity could not be looked up.
+	 */
+	public static <E, K extends Serializable> Map<K, E> lookupAll(final Dictionary dictionary,
+			final KeyedEntityDescriptor<E, K> entityDescriptor, final Collection<K> keys) throws DictionaryException {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(keys, DictionaryUtil.KEYS_NULL);
+		final Map<K, E> result = new LinkedHashMap<K, E>(DictionaryUtil.capacity(keys.size()));
+		for (final K key : keys) {
+			if (!CheckUtil.isNull(key) && !result.containsKey(key)) {
+				final E entity = dictionary.lookup(entityDescriptor, key);
+				if (!CheckUtil.isNull(entity)) {
+					result.put(key, entity);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up entities key by key.
+	 * 
+	 * @param dictionary
+	 *            The entity dictionary. May not be null.
+	 * @param keys
+	 *            The keys. May not be null.
+	 * @return The entities by key, keys without an entity are left out.
+	 * @param <E>
+	 *            The entity type.
+	 * @param <K>
+	 *            The key type.
+	 * @throws DictionaryException
+	 *             Thrown if an entity could not be looked up.
+	 */
+	public static <E, K extends Serializable> Map<K, E> lookupAll(final EntityDictionary<E, K> dictionary, final Collection<K> keys)
+			throws DictionaryException {
+		Validate.notNull(dictionary, "Dictionary may not be null.");
+		Validate.notNull(keys, DictionaryUtil.KEYS_NULL);
+		final Map<K, E> result = new LinkedHashMap<K, E>(DictionaryUtil.capacity(keys.size()));
+		for (final K key : keys) {
+			if (!CheckUtil.isNull(key) && !result.containsKey(key)) {
+				final E entity = dictionary.lookup(key);
+				if (!CheckUtil.isNull(entity)) {
+					result.put(key, entity);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Opens a cursor that looks up pages by row offset.
+	 * 
+	 * @param dictionary
+	 *            The dictionary. May not be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param token
+	 *            The token to continue from. May not be null.
+	 * @param executor
+	 *            The executor to prefetch pages on. May be null, to look up
+	 *            pages on the calling thread.
+	 * @return The cursor.
+	 * @param <E>
+	 *            The entity type.
+	 */
+	public static <E> DictionaryCursor<E> open(final PaginatedDictionary dictionary, final EntityDescriptor<E> entityDescriptor,
+			final ContinuationToken token, final Executor executor) {
+		DictionaryUtil.checkToken(entityDescriptor, token);
+		return new PrefetchingDictionaryCursor<E>(new OffsetPageLoader<E>(dictionary, entityDescriptor), token, executor);
+	}
+
+	/**
+	 * Opens a cursor for an entity dictionary. Pages are looked up after the
+	 * last key if the entity dictionary supports it, the entity is keyed and
+	 * the token holds a key, and by row offset otherwise.
+	 * 
+	 * @param dictionary
+	 *            The paginated dictionary the entity dictionary is part of.
+	 *            May not be null.
+	 * @param entityDictionary
+	 *            The entity dictionary. May not be null.
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param token
+	 *            The token to continue from. May not be null.
+	 * @param executor
+	 *            The executor to prefetch pages on. May be null, to look up
+	 *            pages on the calling thread.
+	 * @return The cursor.
+	 * @param <E>
+	 *            The entity type.
+	 */
+	@SuppressWarnings("unchecked")
+	// Cannot be further specified, the entity dictionary is for the entity.
+	public static <E> DictionaryCursor<E> open(final PaginatedDictionary dictionary, final PaginatedEntityDictionary<?, ?> entityDictionary,
+			final EntityDescriptor<E> entityDescriptor, final ContinuationToken token, final Executor executor) {
+		DictionaryUtil.checkToken(entityDescriptor, token);
+		Validate.notNull(entityDictionary, "Entity dictionary may not be null.");
+		PageLoader<E> loader = null;
+		if ((entityDictionary instanceof KeysetPaginatedEntityDictionary) && token.isKeyset()) {
+			final KeyedEntityDescriptor<E, Serializable> keyed = entityDescriptor.adapt(KeyedEntityDescriptor.class);
+			if (!CheckUtil.isNull(keyed)) {
+				loader = new KeysetPageLoader<E, Serializable>((KeysetPaginatedEntityDictionary<E, Serializable>) entityDictionary,
+						keyed.getKeyProperty());
+			}
+		}
+		if (CheckUtil.isNull(loader)) {
+			loader = new OffsetPageLoader<E>(dictionary, entityDescriptor);
+		}
+		return new PrefetchingDictionaryCursor<E>(loader, token, executor);
+	}
+
+	/**
+	 * Calculates a map capacity that holds the given size without rehashing.
+	 * 
+	 * @param size
+	 *            The size.
+	 * @return The capacity.
+	 */
+	private static int capacity(final int size) {
+		return (size + (size / 3)) + 1;
+	}
+
+	/**
+	 * Checks that a token is for the given entity.
+	 * 
+	 * @param entityDescriptor
+	 *            The entity descriptor. May not be null.
+	 * @param token
+	 *            The token. May not be null.
+	 */
+	private static void checkToken(final EntityDescriptor<?> entityDescriptor, final ContinuationToken token) {
+		Validate.notNull(entityDescriptor, "Entity descriptor may not be null.");
+		Validate.notNull(token, "Token may not be null.");
+		Validate.isTrue(entityDescriptor.getName().equals(token.getEntityName()), "Token must be for the entity.");
+	}
+}
@@ -0,0 +1,139 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.util;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Assigns every extension type a dense slot, so extensions can be looked up
+ * from a per-descriptor table with a single array load instead of a map
+ * lookup. Slots are only assigned to types put in a table, looking up any
+ * other type does not use up a slot. Slots are kept through a
+ * {@link ClassValue} and only live as long as the running virtual machine,
+ * tables should therefore never be serialized but recreated.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ */
+public enum ExtensionSlotUtil {
+
+	/** Instance. */
+	INSTANCE;
+
+	/** The next free slot. */
+	private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+	/** Denotes a type without a slot. */
+	private static final int NO_SLOT = -1;
+	/** The slot per type. */
+	private static final ClassValue<Slot> SLOTS = new ClassValue<Slot>() {
+
+		/** {@inheritDoc} */
+		@Override
+		protected Slot computeValue(final Class<?> type) {
+			return new Slot();
+		}
+	};
+
+	/**
+	 * Creates a slot table, assigning slots to the types that have none.
+	 * 
+	 * @param values
+	 *            The values by type. May not be null.
+	 * @return The table, indexed by slot.
+	 */
+	public static Object[] createTable(final Map<? extends Class<?>, ?> values) {
+		Validate.notNull(values, "Values may not be null.");
+		int length = 0;
+		for (final Class<?> type : values.keySet()) {
+			length = Math.max(length, ExtensionSlotUtil.SLOTS.get(type).assign() + 1);
+		}
+		final Object[] table = new Object[length];
+		for (final Map.Entry<? extends Class<?>, ?> entry : values.entrySet()) {
+			table[ExtensionSlotUtil.getSlot(entry.getKey())] = entry.getValue();
+		}
+		return table;
+	}
+
+	/**
+	 * Gets the slot of a type.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @return The slot, or -1 if the type was never put in a table.
+	 */
+	public static int getSlot(final Class<?> type) {
+		return ExtensionSlotUtil.SLOTS.get(type).index;
+	}
+
+	/**
+	 * Looks up a value in a slot table.
+	 * 
+	 * @param table
+	 *            The table. May not be null.
+	 * @param type
+	 *            The type. May not be null.
+	 * @return The value, or null.
+	 */
+	public static Object lookup(final Object[] table, final Class<?> type) {
+		final int slot = ExtensionSlotUtil.getSlot(type);
+		Object result = null;
+		if ((slot != ExtensionSlotUtil.NO_SLOT) && (slot < table.length)) {
+			result = table[slot];
+		}
+		return result;
+	}
+
+	/**
+	 * The slot of a type.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class Slot {
+
+		/** The slot index, or no slot if not yet assigned. */
+		private volatile int index;
+
+		/**
+		 * Default constructor.
+		 */
+		public Slot() {
+			this.index = ExtensionSlotUtil.NO_SLOT;
+		}
+
+		/**
+		 * Assigns the slot if needed.
+		 * 
+		 * @return The slot index.
+		 */
+		public int assign() {
+			int result = this.index;
+			if (result == ExtensionSlotUtil.NO_SLOT) {
+				synchronized (this) {
+					result = this.index;
+					if (result == ExtensionSlotUtil.NO_SLOT) {
+						result = ExtensionSlotUtil.NEXT_SLOT.getAndIncrement();
+						this.index = result;
+					}
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.util;
+
+import java.io.Serializable;
+
+/**
+ * A snapshot of reflection metadata cache statistics.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see ReflectionUtil#getCacheStatistics()
+ */
+public final class ReflectionCacheStatistics
+		implements Serializable {
+
+	/** Serial id. */
+	private static final long serialVersionUID = 4203519937284467761L;
+	/** The number of classes metadata was created for. */
+	private final long classCount;
+	/** The number of hits. */
+	private final long hitCount;
+	/** The number of misses. */
+	private final long missCount;
+
+	/**
+	 * Constructs the statistics.
+	 * 
+	 * @param hitCount
+	 *            The number of hits.
+	 * @param missCount
+	 *            The number of misses, lookups that had to reflect.
+	 * @param classCount
+	 *            The number of classes metadata was created for.
+	 */
+	public ReflectionCacheStatistics(final long hitCount, final long missCount, final long classCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.classCount = classCount;
+	}
+
+	/**
+	 * Gets the value for the classCount field.
+	 * 
+	 * @return The value for the classCount field.
+	 */
+	public long getClassCount() {
+		return this.classCount;
+	}
+
+	/**
+	 * Gets the value for the hitCount field.
+	 * 
+	 * @return The value for the hitCount field.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Gets the hit ratio.
+	 * 
+	 * @return The ratio of hits to requests, 1 if there were no requests.
+	 */
+	public double getHitRatio() {
+		final long requests = this.hitCount + this.missCount;
+		double ratio = 1d;
+		if (requests > 0) {
+			ratio = (double) this.hitCount / requests;
+		}
+		return ratio;
+	}
+
+	/**
+	 * Gets the value for the missCount field.
+	 * 
+	 * @return The value for the missCount field.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("ReflectionCacheStatistics[\n\tHits: ");
+		builder.append(this.hitCount);
+		builder.append("\n\tMisses: ");
+		builder.append(this.missCount);
+		builder.append("\n\tClasses: ");
+		builder.append(this.classCount);
+		builder.append("\n]\n");
+		return builder.toString();
+	}
+}
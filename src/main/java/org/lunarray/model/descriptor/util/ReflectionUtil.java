@@ -17,16 +17,32 @@
  */
 package org.lunarray.model.descriptor.util;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.lang.Validate;
 import org.lunarray.common.check.CheckUtil;
+import org.lunarray.common.generics.GenericsUtil;
 
 /**
- * A general reflection utility.
+ * A general reflection utility. Reflected metadata is cached process wide
+ * per class. The cache is held by the classes themselves, through a
+ * {@link ClassValue}, and holds only platform types, so it never keeps a class
+ * loader from being collected.
  * 
  * @author Pal Hargitai (pal@lunarray.org)
  */
@@ -35,15 +51,159 @@ public enum ReflectionUtil {
 	/** Instance. */
 	INSTANCE;
 
+	/** The number of classes metadata was created for. */
+	private static final AtomicLong CLASSES = new AtomicLong();
+	/** The number of cache hits. */
+	private static final AtomicLong HITS = new AtomicLong();
 	/** Java.lang package name. */
 	private static final String JAVA_LANG = "java.lang";
+	/** The metadata per class, by slot. */
+	private static final ClassValue<AtomicReferenceArray<Object>> METADATA = new ClassValue<AtomicReferenceArray<Object>>() {
+
+		/** {@inheritDoc} */
+		@Override
+		protected AtomicReferenceArray<Object> computeValue(final Class<?> type) {
+			ReflectionUtil.CLASSES.incrementAndGet();
+			final AtomicReferenceArray<Object> metadata = new AtomicReferenceArray<Object>(ReflectionUtil.SLOT_COUNT);
+			metadata.set(ReflectionUtil.SLOT_GENERICS, new ConcurrentHashMap<Class<?>, ConcurrentMap<Integer, Type>>());
+			return metadata;
+		}
+	};
+	/** The number of cache misses. */
+	private static final AtomicLong MISSES = new AtomicLong();
+	/** The slot of the annotations. */
+	private static final int SLOT_ANNOTATIONS = 4;
+	/** The slot of the public constructors. */
+	private static final int SLOT_CONSTRUCTORS = 5;
+	/** The number of slots, four method slots and the other metadata. */
+	private static final int SLOT_COUNT = 8;
+	/** The slot of the fields. */
+	private static final int SLOT_FIELDS = 6;
+	/** The slot of the generic type arguments. */
+	private static final int SLOT_GENERICS = 7;
 	/** Validation message. */
 	private static final String TAIL_NULL = "Tail may not be null.";
 	/** Validation message. */
 	private static final String TYPE_NULL = "Type may not be null.";
 
 	/**
-	 * Gets all the fields of a type. Uses tail recursion.
+	 * Drops the cached metadata of a type.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 */
+	public static void clearCache(final Class<?> type) {
+		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		ReflectionUtil.METADATA.remove(type);
+	}
+
+	/**
+	 * Gets the annotations of a type, including inherited annotations.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @return The annotations, unmodifiable.
+	 */
+	public static List<Annotation> getAnnotations(final Class<?> type) {
+		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		final AtomicReferenceArray<Object> metadata = ReflectionUtil.METADATA.get(type);
+		List<Annotation> annotations = ReflectionUtil.getCached(metadata, ReflectionUtil.SLOT_ANNOTATIONS);
+		if (CheckUtil.isNull(annotations)) {
+			annotations = Collections.unmodifiableList(Arrays.asList(type.getAnnotations()));
+			metadata.set(ReflectionUtil.SLOT_ANNOTATIONS, annotations);
+		}
+		return annotations;
+	}
+
+	/**
+	 * Gets the cache statistics, accumulated over all types.
+	 * 
+	 * @return The statistics.
+	 */
+	public static ReflectionCacheStatistics getCacheStatistics() {
+		return new ReflectionCacheStatistics(ReflectionUtil.HITS.get(), ReflectionUtil.MISSES.get(), ReflectionUtil.CLASSES.get());
+	}
+
+	/**
+	 * Gets the public constructors of a type.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @param <E>
+	 *            The type.
+	 * @return The constructors, unmodifiable.
+	 */
+	@SuppressWarnings("unchecked")
+	// Constructors are those of the type.
+	public static <E> List<Constructor<E>> getConstructors(final Class<E> type) {
+		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		final AtomicReferenceArray<Object> metadata = ReflectionUtil.METADATA.get(type);
+		List<Constructor<E>> constructors = ReflectionUtil.getCached(metadata, ReflectionUtil.SLOT_CONSTRUCTORS);
+		if (CheckUtil.isNull(constructors)) {
+			constructors = Collections.unmodifiableList(Arrays.asList((Constructor<E>[]) type.getConstructors()));
+			metadata.set(ReflectionUtil.SLOT_CONSTRUCTORS, constructors);
+		}
+		return constructors;
+	}
+
+	/**
+	 * Gets the type argument a type binds for a generic super type.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @param index
+	 *            The index of the type argument.
+	 * @param generic
+	 *            The generic super type. May not be null.
+	 * @return The type argument, or null.
+	 * @see GenericsUtil#getEntityGenericType(Class, int, Class)
+	 */
+	public static Type getEntityGenericType(final Class<?> type, final int index, final Class<?> generic) {
+		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		Validate.notNull(generic, "Generic type may not be null.");
+		@SuppressWarnings("unchecked")
+		// The slot holds the generics map.
+		final ConcurrentMap<Class<?>, ConcurrentMap<Integer, Type>> generics = (ConcurrentMap<Class<?>, ConcurrentMap<Integer, Type>>) ReflectionUtil.METADATA
+				.get(type).get(ReflectionUtil.SLOT_GENERICS);
+		if (!generics.containsKey(generic)) {
+			generics.putIfAbsent(generic, new ConcurrentHashMap<Integer, Type>());
+		}
+		final ConcurrentMap<Integer, Type> arguments = generics.get(generic);
+		Type result = arguments.get(index);
+		if (CheckUtil.isNull(result)) {
+			ReflectionUtil.MISSES.incrementAndGet();
+			result = GenericsUtil.getEntityGenericType(type, index, generic);
+			if (!CheckUtil.isNull(result)) {
+				arguments.putIfAbsent(index, result);
+			}
+		} else {
+			ReflectionUtil.HITS.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets all the fields of a type, including those of its super types.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @return The fields, unmodifiable.
+	 */
+	public static List<Field> getFields(final Class<?> type) {
+		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		final AtomicReferenceArray<Object> metadata = ReflectionUtil.METADATA.get(type);
+		List<Field> fields = ReflectionUtil.getCached(metadata, ReflectionUtil.SLOT_FIELDS);
+		if (CheckUtil.isNull(fields)) {
+			final List<Field> tail = new ArrayList<Field>();
+			ReflectionUtil.collectFields(tail, type);
+			fields = Collections.unmodifiableList(tail);
+			metadata.set(ReflectionUtil.SLOT_FIELDS, fields);
+		}
+		return fields;
+	}
+
+	/**
+	 * Gets all the fields of a type.
 	 * 
 	 * @param fields
 	 *            The tail. May not be null.
@@ -52,18 +212,44 @@ public enum ReflectionUtil {
 	 */
 	public static void getFields(final List<Field> fields, final Class<?> type) {
 		Validate.notNull(fields, ReflectionUtil.TAIL_NULL);
+		fields.addAll(ReflectionUtil.getFields(type));
+	}
+
+	/**
+	 * Gets all methods in a type, without duplicates.
+	 * 
+	 * @param type
+	 *            The type. May not be null.
+	 * @param findStatic
+	 *            Set to true to find static methods, otherwise, only none
+	 *            static.
+	 * @param excludeJavaLang
+	 *            Whether or not to exclude methods from java.lang.*.
+	 * @return The methods, unmodifiable.
+	 */
+	public static List<Method> getMethods(final Class<?> type, final boolean findStatic, final boolean excludeJavaLang) {
 		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
-		for (final Field field : type.getDeclaredFields()) {
-			ReflectionUtil.matchField(fields, type, field);
+		final AtomicReferenceArray<Object> metadata = ReflectionUtil.METADATA.get(type);
+		// Slots 0 to 3, by the two flags.
+		int slot = 0;
+		if (findStatic) {
+			slot += 2;
 		}
-		final Class<?> superClass = type.getSuperclass();
-		if (!CheckUtil.isNull(superClass)) {
-			ReflectionUtil.getFields(fields, superClass);
+		if (excludeJavaLang) {
+			slot++;
 		}
+		List<Method> methods = ReflectionUtil.getCached(metadata, slot);
+		if (CheckUtil.isNull(methods)) {
+			final List<Method> tail = new LinkedList<Method>();
+			ReflectionUtil.collectMethods(tail, type, findStatic, excludeJavaLang);
+			methods = Collections.unmodifiableList(new ArrayList<Method>(new LinkedHashSet<Method>(tail)));
+			metadata.set(slot, methods);
+		}
+		return methods;
 	}
 
 	/**
-	 * Gets all methods in a type, using tail recursion.
+	 * Gets all methods in a type, without duplicates.
 	 * 
 	 * @param methods
 	 *            The tail. May not be null.
@@ -77,7 +263,42 @@ public enum ReflectionUtil {
 	 */
 	public static void getMethods(final List<Method> methods, final Class<?> type, final boolean findStatic, final boolean excludeJavaLang) {
 		Validate.notNull(methods, ReflectionUtil.TAIL_NULL);
-		Validate.notNull(type, ReflectionUtil.TYPE_NULL);
+		methods.addAll(ReflectionUtil.getMethods(type, findStatic, excludeJavaLang));
+	}
+
+	/**
+	 * Collects all the fields of a type. Uses tail recursion.
+	 * 
+	 * @param fields
+	 *            The tail.
+	 * @param type
+	 *            The type.
+	 */
+	private static void collectFields(final List<Field> fields, final Class<?> type) {
+		for (final Field field : type.getDeclaredFields()) {
+			ReflectionUtil.matchField(fields, type, field);
+		}
+		final Class<?> superClass = type.getSuperclass();
+		if (!CheckUtil.isNull(superClass)) {
+			ReflectionUtil.collectFields(fields, superClass);
+		}
+	}
+
+	/**
+	 * Collects all methods in a type, using tail recursion.
+	 * 
+	 * @param methods
+	 *            The tail.
+	 * @param type
+	 *            The type.
+	 * @param findStatic
+	 *            Set to true to find static methods, otherwise, only none
+	 *            static.
+	 * @param excludeJavaLang
+	 *            Whether or not to exclude methods from java.lang.*.
+	 */
+	private static void collectMethods(final List<Method> methods, final Class<?> type, final boolean findStatic,
+			final boolean excludeJavaLang) {
 		for (final Method method : type.getMethods()) {
 			if ((findStatic == Modifier.isStatic(method.getModifiers())) && !method.isBridge()
 					&& ReflectionUtil.testPackage(method.getDeclaringClass(), ReflectionUtil.JAVA_LANG, excludeJavaLang)) {
@@ -88,11 +309,35 @@ public enum ReflectionUtil {
 		if (!CheckUtil.isNull(superClass)) {
 			final String packageName = superClass.getPackage().getName();
 			if (excludeJavaLang != ReflectionUtil.JAVA_LANG.equals(packageName)) {
-				ReflectionUtil.getMethods(methods, superClass, findStatic, excludeJavaLang);
+				ReflectionUtil.collectMethods(methods, superClass, findStatic, excludeJavaLang);
 			}
 		}
 	}
 
+	/**
+	 * Gets a cached value and counts the hit or miss. Values are computed on
+	 * demand, two threads may compute the same value, either result is kept.
+	 * 
+	 * @param metadata
+	 *            The metadata of a class.
+	 * @param slot
+	 *            The slot.
+	 * @param <V>
+	 *            The value type.
+	 * @return The value, or null if it was not yet computed.
+	 */
+	@SuppressWarnings("unchecked")
+	// Slots hold the type they are documented with.
+	private static <V> V getCached(final AtomicReferenceArray<Object> metadata, final int slot) {
+		final V value = (V) metadata.get(slot);
+		if (CheckUtil.isNull(value)) {
+			ReflectionUtil.MISSES.incrementAndGet();
+		} else {
+			ReflectionUtil.HITS.incrementAndGet();
+		}
+		return value;
+	}
+
 	/**
 	 * Tests if the field is a match.
 	 * 
@@ -0,0 +1,130 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.annotation.resolver.matchers;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the member index.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see MemberIndex
+ */
+public class MemberIndexTest {
+
+	/** The accessor matcher. */
+	private PropertyMatcher<Method> accessorMatcher;
+	/** The mutator matcher. */
+	private PropertyMatcher<Method> mutatorMatcher;
+	/** The methods. */
+	private List<Method> methods;
+
+	/**
+	 * Sets up the matchers.
+	 */
+	@Before
+	public void init() {
+		this.accessorMatcher = new AccessorMatcher().addPrefix("get").addPrefix("is");
+		this.mutatorMatcher = new MutatorMatcher().addPrefix("set");
+		this.methods = Arrays.asList(Sample.class.getDeclaredMethods());
+	}
+
+	/**
+	 * Test the lookup by name and type.
+	 * 
+	 * @throws Exception
+	 *             Thrown if a sample method could not be found.
+	 */
+	@Test
+	public void testLookup() throws Exception {
+		final MemberIndex<Method> accessors = this.accessorMatcher.index(this.methods);
+		final MemberIndex<Method> mutators = this.mutatorMatcher.index(this.methods);
+		Assert.assertEquals(Arrays.asList(Sample.class.getDeclaredMethod("getName")), accessors.lookup("name", String.class));
+		Assert.assertEquals(Arrays.asList(Sample.class.getDeclaredMethod("isValid")), accessors.lookup("valid", Boolean.TYPE));
+		Assert.assertEquals(Arrays.asList(Sample.class.getDeclaredMethod("setName", String.class)),
+				mutators.lookup("name", String.class));
+		Assert.assertTrue(accessors.lookup("name", Integer.class).isEmpty());
+		Assert.assertTrue(accessors.lookup("unknown", String.class).isEmpty());
+		Assert.assertTrue(mutators.lookup("valid", Boolean.TYPE).isEmpty());
+	}
+
+	/**
+	 * Test the index agrees with scanning all members.
+	 */
+	@Test
+	public void testScanEquivalent() {
+		final MemberIndex<Method> accessors = this.accessorMatcher.index(this.methods);
+		for (final Method method : this.methods) {
+			if (this.accessorMatcher.matches(method)) {
+				final String name = this.accessorMatcher.extractName(method);
+				final Class<?> type = this.accessorMatcher.extractType(method);
+				for (final Method candidate : this.methods) {
+					Assert.assertEquals(this.accessorMatcher.matches(candidate, name, type),
+							accessors.lookup(name, type).contains(candidate));
+				}
+			}
+		}
+	}
+
+	/**
+	 * A sample bean.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	public static final class Sample {
+
+		/** The name. */
+		private String name;
+		/** The valid flag. */
+		private boolean valid;
+
+		/**
+		 * Gets the value for the name field.
+		 * 
+		 * @return The value for the name field.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Gets the value for the valid field.
+		 * 
+		 * @return The value for the valid field.
+		 */
+		public boolean isValid() {
+			return this.valid;
+		}
+
+		/**
+		 * Sets a new value for the name field.
+		 * 
+		 * @param name
+		 *            The new value for the name field.
+		 */
+		public void setName(final String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.builder.properties;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
+import org.lunarray.model.descriptor.accessor.reference.property.impl.DirectPropertyValueReference;
+import org.lunarray.model.descriptor.accessor.reference.property.impl.MethodHandlePropertyAccess;
+import org.lunarray.model.descriptor.accessor.reference.property.impl.PropertyAccess;
+import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.context.DefaultConfiguration;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.property.AbstractPropertyDescriptor;
+import org.lunarray.model.descriptor.builder.annotation.simple.ModelImpl;
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
+import org.lunarray.model.descriptor.resource.Resource;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.test.SampleEnum;
+import org.lunarray.model.descriptor.test.domain.ModelMarker;
+import org.lunarray.model.descriptor.test.domain.SampleEntity07;
+import org.lunarray.model.descriptor.test.domain.SampleEntity08;
+import org.lunarray.model.descriptor.test.domain.SampleEntity09;
+
+public class CompiledAccessorTest {
+
+	private Model<ModelMarker> model;
+
+	@Before
+	public void init() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity07.class,
+				SampleEntity08.class, SampleEntity09.class);
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+		builder.configuration(DefaultConfiguration.createBuilder().accessorMode(AccessorMode.COMPILED).build());
+		this.model = builder.resources(resource).build();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testAccessor() throws Exception {
+		final EntityDescriptor<SampleEntity08> entity = this.model.getEntity(SampleEntity08.class);
+		final SampleEntity08 instance = new SampleEntity08();
+		final PropertyDescriptor<Boolean, SampleEntity08> field = (PropertyDescriptor<Boolean, SampleEntity08>) entity
+				.getProperty("field");
+		final PropertyDescriptor<String, SampleEntity08> field2 = (PropertyDescriptor<String, SampleEntity08>) entity
+				.getProperty("field2");
+		field.setValue(instance, Boolean.TRUE);
+		field2.setValue(instance, "value");
+		Assert.assertTrue(instance.isField());
+		Assert.assertEquals(Boolean.TRUE, field.getValue(instance));
+		Assert.assertEquals("value", instance.getField2());
+		Assert.assertEquals("value", field2.getValue(instance));
+		Assert.assertTrue(this.getAccess(field) instanceof MethodHandlePropertyAccess);
+		Assert.assertTrue(this.getAccess(field).isReadable());
+		Assert.assertTrue(this.getAccess(field).isWritable());
+		Assert.assertTrue(this.getAccess(field2) instanceof MethodHandlePropertyAccess);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testEnum() throws Exception {
+		final Builder<Class<? extends Object>, Object, ModelImpl<Object>, ?> builder = SimpleBuilder.createBuilder();
+		builder.configuration(DefaultConfiguration.createBuilder().accessorMode(AccessorMode.COMPILED).build());
+		final Model<Object> enumModel = builder.resources(new SimpleClazzResource<Object>(SampleEnum.class)).build();
+		final EntityDescriptor<SampleEnum> entity = enumModel.getEntity(SampleEnum.class);
+		final PropertyDescriptor<String, SampleEnum> someField = (PropertyDescriptor<String, SampleEnum>) entity.getProperty("someField");
+		Assert.assertEquals("somefield", someField.getValue(SampleEnum.TEST02));
+		Assert.assertTrue(this.getAccess(someField) instanceof MethodHandlePropertyAccess);
+		// The name field lives in a module that isn't open, it stays reflective.
+		final PropertyAccess<?, ?> name = this.getAccess(entity.getProperty("name"));
+		Assert.assertTrue((name == null) || !name.isReadable());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testField() throws Exception {
+		final EntityDescriptor<SampleEntity08> entity = this.model.getEntity(SampleEntity08.class);
+		final SampleEntity08 instance = new SampleEntity08();
+		final PropertyDescriptor<Integer, SampleEntity08> field3 = (PropertyDescriptor<Integer, SampleEntity08>) entity
+				.getProperty("field3");
+		final PropertyDescriptor<String, SampleEntity08> field4 = (PropertyDescriptor<String, SampleEntity08>) entity
+				.getProperty("field4");
+		field4.setValue(instance, "value");
+		Assert.assertEquals(Integer.valueOf(5), field3.getValue(instance));
+		Assert.assertEquals("value", instance.getField4());
+		Assert.assertEquals("value", field4.getValue(instance));
+		Assert.assertTrue(this.getAccess(field3) instanceof MethodHandlePropertyAccess);
+		Assert.assertTrue(this.getAccess(field4) instanceof MethodHandlePropertyAccess);
+	}
+
+	private PropertyAccess<?, ?> getAccess(final PropertyDescriptor<?, ?> property) {
+		final AbstractPropertyDescriptor<?, ?> descriptor = (AbstractPropertyDescriptor<?, ?>) property;
+		final DirectPropertyValueReference<?, ?> reference = (DirectPropertyValueReference<?, ?>) descriptor.getValueReference();
+		return reference.getPropertyAccessor().getAccess();
+	}
+}
@@ -22,13 +22,16 @@ import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
 import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
 import org.lunarray.model.descriptor.builder.annotation.simple.ModelImpl;
 import org.lunarray.model.descriptor.model.Model;
 import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
 import org.lunarray.model.descriptor.model.member.Cardinality;
 import org.lunarray.model.descriptor.model.property.CollectionPropertyDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 import org.lunarray.model.descriptor.model.relation.RelationDescriptor;
+import org.lunarray.model.descriptor.qualifier.QualifierEntityDescriptor;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
 import org.lunarray.model.descriptor.test.domain.DecoratedSampleEntity07;
@@ -37,6 +40,7 @@ import org.lunarray.model.descriptor.test.domain.ModelMarker;
 import org.lunarray.model.descriptor.test.domain.SampleEntity07;
 import org.lunarray.model.descriptor.test.domain.SampleEntity08;
 import org.lunarray.model.descriptor.test.domain.SampleEntity09;
+import org.lunarray.model.descriptor.test.domain.SampleEntity20;
 
 public class SimpleFieldTest {
 
@@ -99,6 +103,54 @@ public class SimpleFieldTest {
 		Assert.assertEquals(SampleEntity07.class, entity.getProperty("sampleEntity07").getPropertyType());
 	}
 
+	@Test
+	public void testIndexed() {
+		final EntityDescriptor<SampleEntity08> entity = this.model.getEntity(SampleEntity08.class);
+		Assert.assertEquals(entity.getProperties().size(), entity.getPropertyCount());
+		Assert.assertSame(entity.getProperties(), entity.getProperties());
+		int index = 0;
+		String previous = "";
+		for (final PropertyDescriptor<?, SampleEntity08> property : entity.getProperties()) {
+			Assert.assertSame(property, entity.getProperty(index));
+			Assert.assertTrue(previous.compareTo(property.getName()) < 0);
+			previous = property.getName();
+			index++;
+		}
+		try {
+			entity.getProperties().clear();
+			Assert.fail();
+		} catch (final UnsupportedOperationException e) {
+			Assert.assertEquals(index, entity.getPropertyCount());
+		}
+	}
+
+	@Test
+	public void testIndexedQualifier() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity20.class);
+		final Model<ModelMarker> qualifierModel = PresQualBuilder.<ModelMarker> createBuilder().resources(resource).build();
+		@SuppressWarnings("unchecked")
+		final QualifierEntityDescriptor<SampleEntity20> qualifierEntity = qualifierModel.getEntity(SampleEntity20.class).adapt(
+				QualifierEntityDescriptor.class);
+		Assert.assertFalse(qualifierEntity.getQualifiers().isEmpty());
+		for (final Class<?> qualifier : qualifierEntity.getQualifiers()) {
+			final EntityDescriptor<SampleEntity20> entity = qualifierEntity.getQualifierEntity(qualifier);
+			Assert.assertEquals(entity.getProperties().size(), entity.getPropertyCount());
+			int index = 0;
+			for (final PropertyDescriptor<?, SampleEntity20> property : entity.getProperties()) {
+				Assert.assertSame(property, entity.getProperty(index));
+				Assert.assertSame(property, entity.getProperty(property.getName()));
+				index++;
+			}
+			try {
+				entity.getProperty(index);
+				Assert.fail();
+			} catch (final IndexOutOfBoundsException e) {
+				Assert.assertEquals(index, entity.getPropertyCount());
+			}
+		}
+	}
+
 	/** Tests FR-05. Tests FR-06. Tests FR-07. */
 	@Test
 	public void testImmutable() {
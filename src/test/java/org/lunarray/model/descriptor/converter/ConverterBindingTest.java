@@ -0,0 +1,107 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.builder.annotation.presentation.property.PresQualCollectionPropertyDescriptor;
+import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
+import org.lunarray.model.descriptor.converter.def.DelegatingEnumConverterTool;
+import org.lunarray.model.descriptor.converter.def.EnumConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
+import org.lunarray.model.descriptor.model.extension.HardExtensionRef;
+import org.lunarray.model.descriptor.qualifier.QualifierEntityDescriptor;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.test.SampleEnum;
+import org.lunarray.model.descriptor.test.domain.Qualifier01;
+import org.lunarray.model.descriptor.test.domain.SampleEntity32;
+
+/**
+ * Tests the converter binding.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see ConverterBinding
+ */
+public class ConverterBindingTest {
+
+	private final ExtensionRef<ConverterTool> converterToolRef = new HardExtensionRef<ConverterTool>(new DelegatingEnumConverterTool(
+			new DefaultConverterTool()));
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testCollection() throws Exception {
+		final Model<Object> model = PresQualBuilder.createBuilder().resources(new SimpleClazzResource<Object>(SampleEntity32.class))
+				.extensions(new DelegatingEnumConverterTool(new DefaultConverterTool())).build();
+		final EntityDescriptor<SampleEntity32> entity = model.getEntity(SampleEntity32.class);
+		final PresQualCollectionPropertyDescriptor<Date, List<Date>, SampleEntity32> dates = entity.getProperty("dates").adapt(
+				PresQualCollectionPropertyDescriptor.class);
+		Assert.assertEquals(List.class, dates.getConverterBinding().getType());
+		final ConverterBinding<Date> binding = dates.getElementConverterBinding();
+		Assert.assertEquals(Date.class, binding.getType());
+		Assert.assertEquals("yyyy-MM-dd", binding.getFormat());
+		final Date date = new GregorianCalendar(2013, Calendar.MARCH, 14).getTime();
+		Assert.assertEquals("2013-03-14", binding.convertToString(date));
+		Assert.assertEquals(date, binding.convertToInstance("2013-03-14"));
+		final EntityDescriptor<SampleEntity32> qualified = entity.adapt(QualifierEntityDescriptor.class).getQualifierEntity(
+				Qualifier01.class);
+		final ConverterBinding<Date> qualifiedBinding = qualified.getProperty("dates").adapt(PresQualCollectionPropertyDescriptor.class)
+				.getElementConverterBinding();
+		Assert.assertSame(binding.getConverter(), qualifiedBinding.getConverter());
+		Assert.assertEquals("14.03.2013", qualifiedBinding.convertToString(date));
+		Assert.assertEquals(date, qualifiedBinding.convertToInstance("14.03.2013"));
+	}
+
+	@Test
+	public void testEnum() throws Exception {
+		final ConverterBinding<SampleEnum> binding = ConverterBinding.bind(this.converterToolRef, SampleEnum.class, null);
+		Assert.assertTrue(binding.getConverter() instanceof EnumConverter);
+		Assert.assertEquals("TEST02", binding.convertToString(SampleEnum.TEST02));
+		Assert.assertEquals(SampleEnum.TEST02, binding.convertToInstance("TEST02", Locale.GERMAN));
+	}
+
+	@Test
+	public void testFormat() throws Exception {
+		final ConverterBinding<Integer> binding = ConverterBinding.bind(this.converterToolRef, Integer.TYPE, null);
+		final ConverterBinding<Integer> formatted = binding.withFormat("000");
+		Assert.assertSame(binding.getConverter(), formatted.getConverter());
+		Assert.assertEquals("12", binding.convertToString(12));
+		Assert.assertEquals("012", formatted.convertToString(12, Locale.ENGLISH));
+		Assert.assertEquals(Integer.valueOf(12), formatted.convertToInstance("012", Locale.ENGLISH));
+	}
+
+	@Test(expected = ConverterException.class)
+	public void testNoTool() throws Exception {
+		ConverterBinding.bind(null, Integer.class, null).convertToString(12);
+	}
+
+	@Test(expected = ConverterException.class)
+	public void testUnknownType() throws Exception {
+		ConverterBinding.bind(this.converterToolRef, Object.class, null).getConverter();
+	}
+}
@@ -472,6 +472,16 @@ public class ConverterFormatTest {
 		Assert.assertEquals("test10", this.converterTool.convertToString(Integer.class, Integer.valueOf(10), Locale.GERMAN, "test"));
 	}
 
+	@Test
+	public void testIntegerManyFormats() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			final String format = String.format("'p%s'#", Integer.valueOf(i));
+			final String value = String.format("p%s10", Integer.valueOf(i));
+			Assert.assertEquals(value, this.converterTool.convertToString(Integer.class, Integer.valueOf(10), format));
+			Assert.assertEquals(Integer.valueOf(10), this.converterTool.convertToInstance(Integer.class, value, format));
+		}
+	}
+
 	@Test
 	public void testIntegerToConvert() throws Exception {
 		Assert.assertEquals(Integer.valueOf(10), this.converterTool.convertToInstance(Integer.class, "test10", "test"));
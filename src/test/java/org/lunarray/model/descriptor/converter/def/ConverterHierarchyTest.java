@@ -0,0 +1,86 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def;
+
+import java.util.Date;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.lunarray.model.descriptor.converter.Converter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * Tests resolving converters through the type hierarchy.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see AbstractDefaultConverterTool
+ */
+public class ConverterHierarchyTest {
+
+	private final DefaultConverterTool converterTool = new DefaultConverterTool();
+
+	@Test
+	public void testAddAfterMiss() throws Exception {
+		final StringBuilder value = new StringBuilder("value");
+		try {
+			this.converterTool.convertToString(StringBuilder.class, value);
+			Assert.fail();
+		} catch (final ConverterException e) {
+			// Expected, no converter for any super type.
+		}
+		@SuppressWarnings("unchecked")
+		final Converter<CharSequence> converter = EasyMock.createMock(Converter.class);
+		EasyMock.expect(converter.convertToString(value)).andReturn("value");
+		EasyMock.replay(converter);
+		this.converterTool.addConverter(CharSequence.class, converter);
+		Assert.assertEquals("value", this.converterTool.convertToString(StringBuilder.class, value));
+		EasyMock.verify(converter);
+	}
+
+	@Test
+	public void testExact() throws Exception {
+		Assert.assertFalse(this.converterTool.resolveConverter(java.sql.Timestamp.class) instanceof InheritedConverter);
+		Assert.assertSame(this.converterTool.resolveConverter(Integer.TYPE), this.converterTool.resolveConverter(Integer.TYPE));
+	}
+
+	@Test
+	public void testSubclassFormat() throws Exception {
+		final SubDate date = new SubDate(0);
+		Assert.assertEquals(this.converterTool.convertToString(Date.class, date, "yyyy"),
+				this.converterTool.convertToString(SubDate.class, date, "yyyy"));
+		Assert.assertTrue(this.converterTool.resolveConverter(SubDate.class) instanceof InheritedConverter);
+	}
+
+	@Test(expected = ConverterException.class)
+	public void testSubclassParse() throws Exception {
+		final String value = this.converterTool.convertToString(Date.class, new Date(0), "yyyy");
+		this.converterTool.convertToInstance(SubDate.class, value, "yyyy");
+	}
+
+	public static class SubDate
+			extends Date {
+
+		private static final long serialVersionUID = 1L;
+
+		public SubDate(final long date) {
+			super(date);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.converter.def;
+
+import java.nio.CharBuffer;
+import java.util.Locale;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveDoubleConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveIntConverter;
+import org.lunarray.model.descriptor.converter.PrimitiveLongConverter;
+import org.lunarray.model.descriptor.converter.exceptions.ConverterException;
+
+/**
+ * Tests the primitive converters against the boxed converters.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see PrimitiveConverterTool
+ */
+public class PrimitiveConverterTest {
+
+	private static final Locale[] LOCALES = { Locale.ENGLISH, Locale.GERMAN, Locale.FRENCH, new Locale("ar", "EG"),
+			new Locale("th", "TH", "TH") };
+	private static final long[] VALUES = { 0, 1, -1, 999, 1000, -123456, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE,
+			Long.MIN_VALUE };
+	private final PrimitiveConverterTool converterTool = new DelegatingEnumConverterTool(new DefaultConverterTool());
+
+	@Test
+	public void testAppendDouble() throws Exception {
+		final PrimitiveDoubleConverter converter = this.converterTool.getDoubleConverter();
+		final double[] values = { 0d, -0d, 1.5d, -1234.25d, 1e20d, Double.NaN };
+		for (final Locale locale : PrimitiveConverterTest.LOCALES) {
+			for (final double value : values) {
+				final StringBuilder builder = new StringBuilder();
+				converter.appendTo(builder, value, locale, null);
+				Assert.assertEquals(this.converterTool.convertToString(Double.class, value, locale), builder.toString());
+			}
+		}
+	}
+
+	@Test
+	public void testAppendInt() throws Exception {
+		final PrimitiveIntConverter converter = this.converterTool.getIntConverter();
+		for (final long value : PrimitiveConverterTest.VALUES) {
+			final StringBuilder builder = new StringBuilder("prefix");
+			converter.appendTo(builder, (int) value);
+			Assert.assertEquals("prefix" + this.converterTool.convertToString(Integer.class, (int) value), builder.toString());
+		}
+	}
+
+	@Test
+	public void testAppendLong() throws Exception {
+		final PrimitiveLongConverter converter = this.converterTool.getLongConverter();
+		for (final Locale locale : PrimitiveConverterTest.LOCALES) {
+			for (final long value : PrimitiveConverterTest.VALUES) {
+				final StringBuilder builder = new StringBuilder();
+				converter.appendTo(builder, value, locale, "000");
+				Assert.assertEquals(this.converterTool.convertToString(Long.class, value, locale, "000"), builder.toString());
+				builder.setLength(0);
+				converter.appendTo(builder, value, locale, null);
+				Assert.assertEquals(this.converterTool.convertToString(Long.class, value, locale), builder.toString());
+			}
+		}
+	}
+
+	@Test(expected = ConverterException.class)
+	public void testParseEmpty() throws Exception {
+		this.converterTool.getIntConverter().parseInt("", 0, 0);
+	}
+
+	@Test
+	public void testParseLong() throws Exception {
+		final PrimitiveLongConverter converter = this.converterTool.getLongConverter();
+		for (final Locale locale : PrimitiveConverterTest.LOCALES) {
+			for (final long value : PrimitiveConverterTest.VALUES) {
+				final String formatted = this.converterTool.convertToString(Long.class, value, locale);
+				final String wrapped = "[" + formatted + "]";
+				Assert.assertEquals(this.converterTool.convertToInstance(Long.class, formatted, locale).longValue(),
+						converter.parseLong(CharBuffer.wrap(wrapped.toCharArray()), 1, wrapped.length() - 1, locale, null));
+			}
+		}
+	}
+
+	@Test
+	public void testParseRange() throws Exception {
+		final String value = "a12345b-678c";
+		Assert.assertEquals(12345, this.converterTool.getIntConverter().parseInt(value, 1, 6, Locale.ENGLISH, null));
+		Assert.assertEquals(-678L, this.converterTool.getLongConverter().parseLong(value, 7, 11, Locale.ENGLISH, null));
+		Assert.assertEquals(1.5d, this.converterTool.getDoubleConverter().parseDouble("1.5", 0, 3, Locale.ENGLISH, null), 0d);
+	}
+
+	@Test(expected = ConverterException.class)
+	public void testUnsupportedDelegate() throws Exception {
+		final ConverterTool delegate = EasyMock.createMock(ConverterTool.class);
+		EasyMock.replay(delegate);
+		new DelegatingEnumConverterTool(delegate).getIntConverter();
+	}
+}
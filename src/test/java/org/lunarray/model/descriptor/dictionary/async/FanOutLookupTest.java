@@ -0,0 +1,140 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.async;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
+import org.lunarray.model.descriptor.dictionary.enumeration.EnumDictionary;
+import org.lunarray.model.descriptor.dictionary.exceptions.UnknownEntityException;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.test.KeyedEntity01;
+import org.lunarray.model.descriptor.test.SampleEnum;
+
+/**
+ * Tests the fan out lookup.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see FanOutLookup
+ * @see CompositeAsyncDictionary
+ */
+public class FanOutLookupTest {
+
+	/** The dictionary. */
+	private AsyncDictionary dictionary;
+	/** The executor. */
+	private ExecutorService executor;
+	/** The model. */
+	private Model<Object> model;
+
+	/** Tears down the test. */
+	@After
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	/** Sets up the test. */
+	@SuppressWarnings("unchecked")
+	@Before
+	public void init() throws Exception {
+		this.model = SimpleBuilder.createBuilder()
+				.resources(new SimpleClazzResource<Object>(SampleEnum.class, KeyedEntity01.class)).build();
+		this.executor = Executors.newFixedThreadPool(2);
+		final Map<String, AsyncDictionary> dictionaries = new HashMap<String, AsyncDictionary>();
+		dictionaries.put(this.model.getEntity(SampleEnum.class).getName(), new ExecutorAsyncDictionary(new EnumDictionary(null),
+				this.executor));
+		this.dictionary = new CompositeAsyncDictionary(dictionaries, null);
+	}
+
+	/**
+	 * Test looking up several keys at once.
+	 * 
+	 * @see FanOutLookup#lookup(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testLookup() throws Exception {
+		final KeyedEntityDescriptor<SampleEnum, String> keyed = this.getKeyed(SampleEnum.class);
+		final FanOutLookup lookup = new FanOutLookup(this.dictionary);
+		final Future<SampleEnum> first = lookup.lookup(keyed, SampleEnum.TEST01.name());
+		final Future<SampleEnum> third = lookup.lookup(keyed, SampleEnum.TEST03.name());
+		final Future<SampleEnum> unknown = lookup.lookup(keyed, "UNKNOWN");
+		lookup.await();
+		Assert.assertEquals(SampleEnum.TEST01, first.get());
+		Assert.assertEquals(SampleEnum.TEST03, third.get());
+		Assert.assertNull(unknown.get());
+	}
+
+	/**
+	 * Test getting a key before the lookup is executed.
+	 * 
+	 * @see FanOutLookup#lookup(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testNotExecuted() throws Exception {
+		final FanOutLookup lookup = new FanOutLookup(this.dictionary);
+		final Future<SampleEnum> first = lookup.lookup(this.getKeyed(SampleEnum.class), SampleEnum.TEST01.name());
+		Assert.assertFalse(first.isDone());
+		try {
+			first.get();
+			Assert.fail();
+		} catch (final IllegalStateException e) {
+			Assert.assertFalse(first.isDone());
+		}
+	}
+
+	/**
+	 * Test looking up an entity without a dictionary.
+	 * 
+	 * @see CompositeAsyncDictionary#lookupAsync(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testUnknownEntity() throws Exception {
+		final KeyedEntityDescriptor<KeyedEntity01, String> keyed = this.getKeyed(KeyedEntity01.class);
+		try {
+			this.dictionary.lookupAsync(keyed, "test").get();
+			Assert.fail();
+		} catch (final ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof UnknownEntityException);
+		}
+	}
+
+	/**
+	 * Gets the keyed descriptor of an entity.
+	 * 
+	 * @param type
+	 *            The entity type.
+	 * @return The keyed descriptor.
+	 * @param <E>
+	 *            The entity type.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> KeyedEntityDescriptor<E, String> getKeyed(final Class<E> type) {
+		return this.model.getEntity(type).adapt(KeyedEntityDescriptor.class);
+	}
+}
@@ -0,0 +1,124 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.dictionary.Dictionary;
+import org.lunarray.model.descriptor.model.entity.KeyedEntityDescriptor;
+
+/**
+ * Tests the caching dictionary.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see CachingDictionary
+ */
+public class CachingDictionaryTest {
+
+	/** The cached dictionary. */
+	private Dictionary delegate;
+	/** The descriptor. */
+	private KeyedEntityDescriptor<String, String> descriptor;
+
+	/** Sets up the test. */
+	@SuppressWarnings("unchecked")
+	@Before
+	public void init() throws Exception {
+		this.delegate = EasyMock.createMock(Dictionary.class);
+		this.descriptor = EasyMock.createMock(KeyedEntityDescriptor.class);
+		EasyMock.expect(this.descriptor.getName()).andReturn("entity").anyTimes();
+		EasyMock.expect(this.descriptor.getEntityType()).andReturn(String.class).anyTimes();
+		EasyMock.replay(this.descriptor);
+	}
+
+	/**
+	 * Test a cached lookup.
+	 * 
+	 * @see CachingDictionary#lookup(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testHit() throws Exception {
+		EasyMock.expect(this.delegate.lookup(this.descriptor, "a")).andReturn("A").times(1);
+		EasyMock.replay(this.delegate);
+		final CachingDictionary dictionary = new CachingDictionary(this.delegate);
+		Assert.assertEquals("A", dictionary.lookup(this.descriptor, "a"));
+		Assert.assertEquals("A", dictionary.lookup(this.descriptor, "a"));
+		final DictionaryCacheStatistics statistics = dictionary.getStatistics(this.descriptor);
+		Assert.assertEquals(1, statistics.getHitCount());
+		Assert.assertEquals(1, statistics.getMissCount());
+		Assert.assertEquals(1, statistics.getSize());
+		EasyMock.verify(this.delegate);
+	}
+
+	/**
+	 * Test invalidating a key.
+	 * 
+	 * @see CachingDictionary#invalidate(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testInvalidate() throws Exception {
+		EasyMock.expect(this.delegate.lookup(this.descriptor, "a")).andReturn("A").times(2);
+		EasyMock.replay(this.delegate);
+		final CachingDictionary dictionary = new CachingDictionary(this.delegate);
+		dictionary.lookup(this.descriptor, "a");
+		dictionary.invalidate(this.descriptor, "a");
+		dictionary.lookup(this.descriptor, "a");
+		EasyMock.verify(this.delegate);
+	}
+
+	/**
+	 * Test the size limit.
+	 * 
+	 * @see DictionaryCacheSettings.Builder#maximumSize(String, int)
+	 */
+	@Test
+	public void testMaximumSize() throws Exception {
+		EasyMock.expect(this.delegate.lookup(this.descriptor, "a")).andReturn("A").times(2);
+		EasyMock.expect(this.delegate.lookup(this.descriptor, "b")).andReturn("B").times(1);
+		EasyMock.replay(this.delegate);
+		final CachingDictionary dictionary = new CachingDictionary(this.delegate, DictionaryCacheSettings.createBuilder()
+				.maximumSize("entity", 1).build());
+		dictionary.lookup(this.descriptor, "a");
+		dictionary.lookup(this.descriptor, "b");
+		dictionary.lookup(this.descriptor, "a");
+		Assert.assertEquals(2, dictionary.getStatistics().getEvictionCount());
+		EasyMock.verify(this.delegate);
+	}
+
+	/**
+	 * Test the time to live.
+	 * 
+	 * @see DictionaryCacheSettings.Builder#timeToLive(long, TimeUnit)
+	 */
+	@Test
+	public void testTimeToLive() throws Exception {
+		EasyMock.expect(this.delegate.lookup(this.descriptor, "a")).andReturn("A").times(2);
+		EasyMock.replay(this.delegate);
+		final CachingDictionary dictionary = new CachingDictionary(this.delegate, DictionaryCacheSettings.createBuilder()
+				.timeToLive(10, TimeUnit.MILLISECONDS).build());
+		dictionary.lookup(this.descriptor, "a");
+		Thread.sleep(50);
+		dictionary.lookup(this.descriptor, "a");
+		Assert.assertEquals(1, dictionary.getStatistics().getEvictionCount());
+		EasyMock.verify(this.delegate);
+	}
+}
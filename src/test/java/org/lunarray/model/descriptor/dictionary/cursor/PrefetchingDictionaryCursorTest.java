@@ -0,0 +1,186 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.dictionary.cursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the prefetching cursor.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see PrefetchingDictionaryCursor
+ */
+public class PrefetchingDictionaryCursorTest {
+
+	/** The entity name. */
+	private static final String NAME = "entity";
+	/** The number of entities. */
+	private static final int SIZE = 95;
+
+	/** The executor. */
+	private ExecutorService executor;
+	/** The page loader. */
+	private ListPageLoader loader;
+
+	/** Tears down the test. */
+	@After
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	/** Sets up the test. */
+	@Before
+	public void init() {
+		final List<Integer> entities = new ArrayList<Integer>();
+		for (int i = 0; i < PrefetchingDictionaryCursorTest.SIZE; i++) {
+			entities.add(i);
+		}
+		this.loader = new ListPageLoader(entities);
+		this.executor = Executors.newSingleThreadExecutor();
+	}
+
+	/**
+	 * Test closing the cursor.
+	 * 
+	 * @see DictionaryCursor#close()
+	 */
+	@Test
+	public void testClose() throws Exception {
+		final DictionaryCursor<Integer> cursor = new PrefetchingDictionaryCursor<Integer>(this.loader, new ContinuationToken(
+				PrefetchingDictionaryCursorTest.NAME, 10), this.executor);
+		Assert.assertTrue(cursor.hasNext());
+		cursor.close();
+		Assert.assertFalse(cursor.hasNext());
+	}
+
+	/**
+	 * Test continuing from a token.
+	 * 
+	 * @see DictionaryCursor#getContinuationToken()
+	 */
+	@Test
+	public void testContinue() throws Exception {
+		final DictionaryCursor<Integer> cursor = new PrefetchingDictionaryCursor<Integer>(this.loader, new ContinuationToken(
+				PrefetchingDictionaryCursorTest.NAME, 10), null);
+		for (int i = 0; i < 25; i++) {
+			cursor.next();
+		}
+		final ContinuationToken token = cursor.getContinuationToken();
+		Assert.assertEquals(25, token.getRow());
+		cursor.close();
+		this.assertEntities(new PrefetchingDictionaryCursor<Integer>(this.loader, token, null), 25);
+	}
+
+	/**
+	 * Test iterating with prefetching.
+	 * 
+	 * @see DictionaryCursor#next()
+	 */
+	@Test
+	public void testPrefetch() throws Exception {
+		this.assertEntities(new PrefetchingDictionaryCursor<Integer>(this.loader, new ContinuationToken(PrefetchingDictionaryCursorTest.NAME,
+				10), this.executor), 0);
+		Assert.assertEquals(10, this.loader.getLoads());
+	}
+
+	/**
+	 * Test iterating on the calling thread.
+	 * 
+	 * @see DictionaryCursor#next()
+	 */
+	@Test
+	public void testSequential() throws Exception {
+		this.assertEntities(new PrefetchingDictionaryCursor<Integer>(this.loader, new ContinuationToken(PrefetchingDictionaryCursorTest.NAME,
+				10), null), 0);
+		Assert.assertEquals(10, this.loader.getLoads());
+	}
+
+	/**
+	 * Asserts the cursor holds the entities from the given one.
+	 * 
+	 * @param cursor
+	 *            The cursor.
+	 * @param from
+	 *            The first entity.
+	 */
+	private void assertEntities(final DictionaryCursor<Integer> cursor, final int from) throws Exception {
+		int expected = from;
+		while (cursor.hasNext()) {
+			Assert.assertEquals(Integer.valueOf(expected), cursor.next());
+			expected++;
+		}
+		Assert.assertEquals(PrefetchingDictionaryCursorTest.SIZE, expected);
+		cursor.close();
+	}
+
+	/**
+	 * A page loader over a list.
+	 * 
+	 * @author Pal Hargitai (pal@lunarray.org)
+	 */
+	private static final class ListPageLoader
+			implements PageLoader<Integer> {
+
+		/** The entities. */
+		private final List<Integer> entities;
+		/** The number of loads. */
+		private volatile int loads;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param entities
+		 *            The entities.
+		 */
+		public ListPageLoader(final List<Integer> entities) {
+			this.entities = entities;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public ContinuationToken advance(final ContinuationToken token, final List<Integer> consumed) {
+			return new ContinuationToken(token.getEntityName(), token.getPageSize(), token.getRow() + consumed.size(), null);
+		}
+
+		/**
+		 * Gets the value for the loads field.
+		 * 
+		 * @return The value for the loads field.
+		 */
+		public int getLoads() {
+			return this.loads;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public List<Integer> load(final ContinuationToken token) {
+			this.loads++;
+			final int from = Math.min(token.getRow(), this.entities.size());
+			final int to = Math.min(from + token.getPageSize(), this.entities.size());
+			return new ArrayList<Integer>(this.entities.subList(from, to));
+		}
+	}
+}
@@ -17,7 +17,9 @@
  */
 package org.lunarray.model.descriptor.dictionary.enumeration;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -81,4 +83,35 @@ public class EnumDictionaryTest {
 		Assert.assertTrue(c.contains(SampleEnum.TEST02));
 		Assert.assertTrue(c.contains(SampleEnum.TEST03));
 	}
+
+	/**
+	 * Test bulk lookup.
+	 * 
+	 * @see Dictionary#lookupAll(KeyedEntityDescriptor, Collection)
+	 */
+	@Test
+	public void testLookupKeys() throws Exception {
+		final EntityDescriptor<SampleEnum> ed = this.model.getEntity(SampleEnum.class);
+		@SuppressWarnings("unchecked")
+		final KeyedEntityDescriptor<SampleEnum, String> keyed = ed.adapt(KeyedEntityDescriptor.class);
+		final Map<String, SampleEnum> result = this.dictionary.lookupAll(keyed,
+				Arrays.asList(SampleEnum.TEST03.name(), "UNKNOWN", SampleEnum.TEST01.name()));
+		Assert.assertEquals(2, result.size());
+		Assert.assertEquals(SampleEnum.TEST03, result.get(SampleEnum.TEST03.name()));
+		Assert.assertEquals(SampleEnum.TEST01, result.get(SampleEnum.TEST01.name()));
+		Assert.assertFalse(result.containsKey("UNKNOWN"));
+	}
+
+	/**
+	 * Test lookup of an unknown key.
+	 * 
+	 * @see Dictionary#lookup(KeyedEntityDescriptor, java.io.Serializable)
+	 */
+	@Test
+	public void testLookupUnknown() throws Exception {
+		final EntityDescriptor<SampleEnum> ed = this.model.getEntity(SampleEnum.class);
+		@SuppressWarnings("unchecked")
+		final KeyedEntityDescriptor<SampleEnum, String> keyed = ed.adapt(KeyedEntityDescriptor.class);
+		Assert.assertNull(this.dictionary.lookup(keyed, "UNKNOWN"));
+	}
 }
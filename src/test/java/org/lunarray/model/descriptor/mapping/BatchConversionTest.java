@@ -0,0 +1,186 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.mapping.impl.ClassPair;
+import org.lunarray.model.descriptor.mapping.impl.EntityConversionImpl;
+import org.lunarray.model.descriptor.mapping.impl.ModelConversionToolImpl;
+import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.BatchConversionException;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * Tests batch conversion.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see BatchConversion
+ */
+public class BatchConversionTest {
+
+	private static final int SIZE = 10000;
+
+	private ModelConversionTool conversionTool;
+	private List<Row> rows;
+	private RowStrategy strategy;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void init() throws Exception {
+		final EntityDescriptor<Row> descriptor = EasyMock.createMock(EntityDescriptor.class);
+		EasyMock.expect(descriptor.createEntity()).andAnswer(new IAnswer<Row>() {
+			@Override
+			public Row answer() throws Throwable {
+				return new Row();
+			}
+		}).anyTimes();
+		EasyMock.replay(descriptor);
+		final List<PropertyConversionStrategy<Row, Row>> strategies = new LinkedList<PropertyConversionStrategy<Row, Row>>();
+		this.strategy = new RowStrategy();
+		strategies.add(this.strategy);
+		final Map<ClassPair, EntityConversionImpl<?, ?>> conversions = new HashMap<ClassPair, EntityConversionImpl<?, ?>>();
+		conversions.put(new ClassPair(Row.class, Row.class), new EntityConversionImpl<Row, Row>(strategies, descriptor, descriptor));
+		this.conversionTool = new ModelConversionToolImpl(conversions);
+		final Row shared = new Row();
+		this.rows = new ArrayList<Row>(BatchConversionTest.SIZE);
+		for (int i = 0; i < BatchConversionTest.SIZE; i++) {
+			final Row row = new Row();
+			row.value = i;
+			row.shared = shared;
+			this.rows.add(row);
+		}
+	}
+
+	@Test
+	public void testCollect() throws Exception {
+		this.rows.get(10).failing = true;
+		this.rows.get(9000).failing = true;
+		try {
+			this.conversionTool.convertAll(this.rows, Row.class,
+					BatchConversion.createBuilder().parallel().threshold(100).errorPolicy(ConversionErrorPolicy.COLLECT).build());
+			Assert.fail();
+		} catch (final BatchConversionException e) {
+			Assert.assertEquals(2, e.getFailures().size());
+			Assert.assertTrue(e.getFailures().containsKey(10));
+			Assert.assertTrue(e.getFailures().containsKey(9000));
+			Assert.assertNull(e.getResults().get(10));
+			Assert.assertEquals(11, ((Row) e.getResults().get(11)).value);
+		}
+	}
+
+	@Test
+	public void testFailFast() throws Exception {
+		this.rows.get(10).failing = true;
+		try {
+			this.conversionTool.convertAll(this.rows, Row.class);
+			Assert.fail();
+		} catch (final BatchConversionException e) {
+			Assert.fail();
+		} catch (final ConversionException e) {
+			// Expected, first failure.
+		}
+	}
+
+	@Test
+	public void testNulls() throws Exception {
+		this.rows.set(5, null);
+		final List<Row> result = this.conversionTool.convertAll(this.rows, Row.class);
+		Assert.assertNull(result.get(5));
+		Assert.assertEquals(6, result.get(6).value);
+	}
+
+	@Test
+	public void testParallel() throws Exception {
+		final List<Row> result = this.conversionTool.convertAll(this.rows, Row.class,
+				BatchConversion.createBuilder().parallel().threshold(100).build());
+		this.assertOrdered(result);
+	}
+
+	@Test
+	public void testPrefetch() throws Exception {
+		this.rows.set(5, null);
+		this.conversionTool.convertAll(this.rows, Row.class);
+		Assert.assertEquals(1, this.strategy.prefetches.get());
+		Assert.assertEquals(BatchConversionTest.SIZE - 1, this.strategy.prefetched.get());
+	}
+
+	@Test
+	public void testSequential() throws Exception {
+		final List<Row> result = this.conversionTool.convertAll(this.rows, Row.class);
+		this.assertOrdered(result);
+		Assert.assertSame(result.get(0).shared, result.get(BatchConversionTest.SIZE - 1).shared);
+	}
+
+	private void assertOrdered(final List<Row> result) {
+		Assert.assertEquals(BatchConversionTest.SIZE, result.size());
+		for (int i = 0; i < BatchConversionTest.SIZE; i++) {
+			Assert.assertEquals(i, result.get(i).value);
+			Assert.assertNotSame(this.rows.get(i), result.get(i));
+		}
+	}
+
+	public static class Row {
+		private boolean failing;
+		private Row shared;
+		private int value;
+	}
+
+	private static class RowStrategy
+			implements PropertyConversionStrategy<Row, Row> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final AtomicInteger prefetched = new AtomicInteger();
+		private final AtomicInteger prefetches = new AtomicInteger();
+
+		@Override
+		public void apply(final Row source, final Row target, final ModelConversionTool conversionTool, final ConversionContext context)
+				throws ConversionException {
+			if (source.failing) {
+				throw new ConversionException("Failing row.");
+			}
+			target.value = source.value;
+			target.shared = conversionTool.convert(source.shared, Row.class);
+		}
+
+		@Override
+		public void compile() {
+			// Nothing to compile.
+		}
+
+		@Override
+		public void prefetch(final Collection<? extends Row> sources, final ConversionContext context) {
+			this.prefetches.incrementAndGet();
+			this.prefetched.addAndGet(sources.size());
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.mapping.impl.ClassPair;
+import org.lunarray.model.descriptor.mapping.impl.EntityConversionImpl;
+import org.lunarray.model.descriptor.mapping.impl.ModelConversionToolImpl;
+import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * Tests identity aware conversion.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see ConversionContext
+ */
+public class ConversionContextTest {
+
+	private ModelConversionTool conversionTool;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void init() throws Exception {
+		final EntityDescriptor<Node> descriptor = EasyMock.createMock(EntityDescriptor.class);
+		EasyMock.expect(descriptor.createEntity()).andAnswer(new IAnswer<Node>() {
+			@Override
+			public Node answer() throws Throwable {
+				return new Node();
+			}
+		}).anyTimes();
+		EasyMock.replay(descriptor);
+		final List<PropertyConversionStrategy<Node, Node>> strategies = new LinkedList<PropertyConversionStrategy<Node, Node>>();
+		strategies.add(new NodeStrategy(false));
+		strategies.add(new NodeStrategy(true));
+		final Map<ClassPair, EntityConversionImpl<?, ?>> conversions = new HashMap<ClassPair, EntityConversionImpl<?, ?>>();
+		conversions.put(new ClassPair(Node.class, Node.class), new EntityConversionImpl<Node, Node>(strategies, descriptor, descriptor));
+		this.conversionTool = new ModelConversionToolImpl(conversions);
+	}
+
+	@Test
+	public void testContextReuse() throws Exception {
+		final Node node = new Node();
+		final ConversionContext context = new ConversionContext();
+		final Node copy = this.conversionTool.convert(node, Node.class, context);
+		Assert.assertSame(copy, this.conversionTool.convert(node, Node.class, context));
+		Assert.assertSame(copy, context.getConverted(node, Node.class));
+		Assert.assertEquals(1, context.size());
+		Assert.assertNotSame(copy, this.conversionTool.convert(node, Node.class));
+	}
+
+	@Test
+	public void testCycle() throws Exception {
+		final Node first = new Node();
+		final Node second = new Node();
+		first.next = second;
+		second.next = first;
+		final Node copy = this.conversionTool.convert(first, Node.class);
+		Assert.assertNotSame(first, copy);
+		Assert.assertNotSame(second, copy.next);
+		Assert.assertSame(copy, copy.next.next);
+	}
+
+	@Test
+	public void testSelfReference() throws Exception {
+		final Node node = new Node();
+		node.next = node;
+		node.other = node;
+		final Node copy = this.conversionTool.convert(node, Node.class);
+		Assert.assertSame(copy, copy.next);
+		Assert.assertSame(copy, copy.other);
+	}
+
+	@Test
+	public void testSharedReference() throws Exception {
+		final Node shared = new Node();
+		final Node node = new Node();
+		node.next = shared;
+		node.other = shared;
+		final Node copy = this.conversionTool.convert(node, Node.class);
+		Assert.assertNotSame(shared, copy.next);
+		Assert.assertSame(copy.next, copy.other);
+	}
+
+	public static class Node {
+		private Node next;
+		private Node other;
+	}
+
+	private static class NodeStrategy
+			implements PropertyConversionStrategy<Node, Node> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final boolean other;
+
+		public NodeStrategy(final boolean other) {
+			this.other = other;
+		}
+
+		@Override
+		public void apply(final Node source, final Node target, final ModelConversionTool conversionTool,
+				final ConversionContext context) throws ConversionException {
+			if (this.other) {
+				target.other = conversionTool.convert(source.other, Node.class);
+			} else {
+				target.next = conversionTool.convert(source.next, Node.class);
+			}
+		}
+
+		@Override
+		public void compile() {
+			// Nothing to compile.
+		}
+
+		@Override
+		public void prefetch(final Collection<? extends Node> sources, final ConversionContext context) {
+			// Nothing to prefetch.
+		}
+	}
+}
@@ -22,6 +22,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.converter.ConverterTool;
 import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
 import org.lunarray.model.descriptor.dictionary.Dictionary;
 import org.lunarray.model.descriptor.mapping.builder.ModelConversionStrategyBuilder;
@@ -68,6 +69,12 @@ public class MappingTest {
 		EasyMock.reset(this.dictionary);
 	}
 
+	@Test
+	public void testConverterTool() {
+		Assert.assertNotNull(this.model1.getExtension(ConverterTool.class));
+		Assert.assertTrue(this.model1.getExtension(ConverterTool.class) instanceof DefaultConverterTool);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testNoDictionary() throws Exception {
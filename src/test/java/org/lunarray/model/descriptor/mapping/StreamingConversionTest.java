@@ -0,0 +1,229 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.mapping;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.mapping.impl.ClassPair;
+import org.lunarray.model.descriptor.mapping.impl.EntityConversionImpl;
+import org.lunarray.model.descriptor.mapping.impl.ModelConversionToolImpl;
+import org.lunarray.model.descriptor.mapping.impl.properties.PropertyConversionStrategy;
+import org.lunarray.model.descriptor.mapping.impl.properties.exceptions.ConversionException;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+
+/**
+ * Tests streaming conversion.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see StreamingConversion
+ */
+public class StreamingConversionTest {
+
+	private static final int SIZE = 100000;
+
+	private ModelConversionTool conversionTool;
+	private ExecutorService executor;
+
+	@After
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void init() throws Exception {
+		final EntityDescriptor<Row> descriptor = EasyMock.createMock(EntityDescriptor.class);
+		EasyMock.expect(descriptor.createEntity()).andAnswer(new IAnswer<Row>() {
+			@Override
+			public Row answer() throws Throwable {
+				return new Row();
+			}
+		}).anyTimes();
+		EasyMock.replay(descriptor);
+		final List<PropertyConversionStrategy<Row, Row>> strategies = new LinkedList<PropertyConversionStrategy<Row, Row>>();
+		strategies.add(new RowStrategy());
+		final Map<ClassPair, EntityConversionImpl<?, ?>> conversions = new HashMap<ClassPair, EntityConversionImpl<?, ?>>();
+		conversions.put(new ClassPair(Row.class, Row.class), new EntityConversionImpl<Row, Row>(strategies, descriptor, descriptor));
+		this.conversionTool = new ModelConversionToolImpl(conversions);
+		this.executor = Executors.newSingleThreadExecutor();
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		final RowSource source = new RowSource(-1);
+		final ConversionStream<Row> stream = StreamingConversion.createBuilder().tool(this.conversionTool).executor(this.executor)
+				.bufferSize(16).build().stream(source, Row.class);
+		Assert.assertEquals(0, stream.next().value);
+		Thread.sleep(100);
+		Assert.assertTrue(source.read <= 18);
+		stream.close();
+		Assert.assertFalse(stream.hasNext());
+	}
+
+	@Test
+	public void testBuffered() throws Exception {
+		final ConversionStream<Row> stream = StreamingConversion.createBuilder().tool(this.conversionTool).executor(this.executor)
+				.bufferSize(16).build().stream(new RowSource(-1), Row.class);
+		this.assertStream(stream);
+	}
+
+	@Test
+	public void testError() throws Exception {
+		final ConversionStream<Row> stream = StreamingConversion.createBuilder().tool(this.conversionTool).executor(this.executor)
+				.bufferSize(16).build().stream(new ErrorSource(10), Row.class);
+		int count = 0;
+		try {
+			while (stream.hasNext()) {
+				stream.next();
+				count++;
+			}
+			Assert.fail();
+		} catch (final ConversionException e) {
+			Assert.assertEquals(10, count);
+		}
+		Assert.assertFalse(stream.hasNext());
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		final ConversionStream<Row> stream = StreamingConversion.createBuilder().tool(this.conversionTool).executor(this.executor)
+				.bufferSize(16).build().stream(new RowSource(10), Row.class);
+		int count = 0;
+		try {
+			while (stream.hasNext()) {
+				stream.next();
+				count++;
+			}
+			Assert.fail();
+		} catch (final ConversionException e) {
+			Assert.assertEquals(10, count);
+		}
+		Assert.assertFalse(stream.hasNext());
+	}
+
+	@Test
+	public void testLazy() throws Exception {
+		final RowSource source = new RowSource(-1);
+		final ConversionStream<Row> stream = StreamingConversion.createBuilder().tool(this.conversionTool).build().stream(source, Row.class);
+		Assert.assertEquals(0, source.read);
+		this.assertStream(stream);
+	}
+
+	private void assertStream(final ConversionStream<Row> stream) throws Exception {
+		int count = 0;
+		while (stream.hasNext()) {
+			Assert.assertEquals(count, stream.next().value);
+			count++;
+		}
+		Assert.assertEquals(StreamingConversionTest.SIZE, count);
+	}
+
+	private static class ErrorSource
+			extends RowSource {
+
+		private final int error;
+
+		public ErrorSource(final int error) {
+			super(-1);
+			this.error = error;
+		}
+
+		@Override
+		public Row next() {
+			final Row row = super.next();
+			if (row.value == this.error) {
+				throw new AssertionError("Failing source.");
+			}
+			return row;
+		}
+	}
+
+	public static class Row {
+		private boolean failing;
+		private int value;
+	}
+
+	private static class RowSource
+			implements Iterator<Row> {
+
+		private final int failing;
+		private volatile int read;
+
+		public RowSource(final int failing) {
+			this.failing = failing;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.read < StreamingConversionTest.SIZE;
+		}
+
+		@Override
+		public Row next() {
+			final Row row = new Row();
+			row.value = this.read;
+			row.failing = this.read == this.failing;
+			this.read++;
+			return row;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static class RowStrategy
+			implements PropertyConversionStrategy<Row, Row> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void apply(final Row source, final Row target, final ModelConversionTool conversionTool, final ConversionContext context)
+				throws ConversionException {
+			if (source.failing) {
+				throw new ConversionException("Failing row.");
+			}
+			target.value = source.value;
+		}
+
+		@Override
+		public void compile() {
+			// Nothing to compile.
+		}
+
+		@Override
+		public void prefetch(final Collection<? extends Row> sources, final ConversionContext context) {
+			// Nothing to prefetch.
+		}
+	}
+}
@@ -17,13 +17,36 @@
  */
 package org.lunarray.model.descriptor.model;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.base.builders.model.AbstractModel;
 import org.lunarray.model.descriptor.builder.annotation.simple.SimpleBuilder;
 import org.lunarray.model.descriptor.builder.annotation.simple.ModelImpl;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveConverterTool;
+import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
+import org.lunarray.model.descriptor.converter.def.DelegatingEnumConverterTool;
 import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.entity.EntityDescriptor;
+import org.lunarray.model.descriptor.model.operation.OperationDescriptor;
+import org.lunarray.model.descriptor.model.property.PropertyDescriptor;
 import org.lunarray.model.descriptor.resource.Resource;
 import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
 import org.lunarray.model.descriptor.test.domain.ModelMarker;
@@ -32,6 +55,14 @@ import org.lunarray.model.descriptor.test.domain.SampleEntity02;
 import org.lunarray.model.descriptor.test.domain.SampleEntity03;
 import org.lunarray.model.descriptor.test.domain.SampleEntity04;
 import org.lunarray.model.descriptor.test.domain.SampleEntity05;
+import org.lunarray.model.descriptor.test.domain.SampleEntity07;
+import org.lunarray.model.descriptor.test.domain.SampleEntity08;
+import org.lunarray.model.descriptor.test.domain.SampleEntity09;
+import org.lunarray.model.descriptor.test.domain.SampleEntity12;
+import org.lunarray.model.descriptor.test.domain.SampleEntity13;
+import org.lunarray.model.descriptor.test.domain.SampleEntity14;
+import org.lunarray.model.descriptor.test.domain.SampleEntity15;
+import org.lunarray.model.descriptor.test.domain.SampleEntity29;
 
 /**
  * Tests MR-01. Tests MR-02. Tests MR-03. Tests MR-04. Tests MR-05.
@@ -42,6 +73,29 @@ public class SimpleModelTest {
 
 	private Model<ModelMarker> model;
 
+	/** Tests MR-01. Tests MR-02. */
+	@Test
+	public void compareParallel() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class,
+				SampleEntity02.class, SampleEntity03.class, SampleEntity04.class, SampleEntity07.class, SampleEntity08.class,
+				SampleEntity09.class, SampleEntity12.class, SampleEntity13.class, SampleEntity14.class, SampleEntity15.class,
+				SampleEntity29.class);
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> sequentialBuilder = SimpleBuilder
+				.createBuilder();
+		final Map<String, Set<String>> expected = this.describe(sequentialBuilder.resources(resource).build());
+		Assert.assertEquals(12, expected.size());
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (int i = 0; i < 20; i++) {
+				final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+				Assert.assertEquals(expected, this.describe(builder.parallel(executor).resources(resource).build()));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/** Tests MR-04. */
 	@Test
 	public void denyExtensionImpl() {
@@ -58,6 +112,18 @@ public class SimpleModelTest {
 		Assert.assertTrue(this.model.getEntities().contains(this.model.getEntity(SampleEntity04.class)));
 	}
 
+	/** Tests MR-04. */
+	@Test
+	public void findConverterTool() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class);
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+		builder.extensions(new DelegatingEnumConverterTool(new DefaultConverterTool()));
+		final Model<ModelMarker> converterModel = builder.resources(resource).build();
+		Assert.assertNotNull(converterModel.getExtension(ConverterTool.class));
+		Assert.assertSame(converterModel.getExtension(ConverterTool.class), converterModel.getExtension(PrimitiveConverterTool.class));
+	}
+
 	/** Tests MR-04. */
 	@Test
 	public void findExtension() {
@@ -87,6 +153,79 @@ public class SimpleModelTest {
 		Assert.assertNotNull(this.model.getEntity("entity04"));
 	}
 
+	/** Tests MR-01. Tests MR-02. */
+	@Test
+	public void findLazy() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class,
+				SampleEntity02.class, SampleEntity03.class, SampleEntity04.class);
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+		final ModelImpl<ModelMarker> lazy = builder.lazy().resources(resource).build();
+		Assert.assertNull(lazy.getEntity(SampleEntity05.class));
+		final EntityDescriptor<SampleEntity01> entity = lazy.getEntity(SampleEntity01.class);
+		Assert.assertNotNull(entity);
+		Assert.assertSame(entity, lazy.getEntity(SampleEntity01.class));
+		Assert.assertNotNull(lazy.getEntity("entity03"));
+		Assert.assertEquals(4, lazy.getEntities().size());
+		Assert.assertSame(entity, lazy.getEntity(SampleEntity01.class));
+	}
+
+	/** Tests MR-01. */
+	@Test
+	public void findLazyConcurrent() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class,
+				SampleEntity02.class, SampleEntity03.class, SampleEntity04.class);
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int i = 0; i < 20; i++) {
+				final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+				final ModelImpl<ModelMarker> lazy = builder.lazy().resources(resource).build();
+				final CountDownLatch start = new CountDownLatch(1);
+				final List<Future<EntityDescriptor<SampleEntity01>>> results = new ArrayList<Future<EntityDescriptor<SampleEntity01>>>();
+				for (int j = 0; j < threads; j++) {
+					results.add(executor.submit(new Callable<EntityDescriptor<SampleEntity01>>() {
+						@Override
+						public EntityDescriptor<SampleEntity01> call() throws Exception {
+							start.await();
+							return lazy.getEntity(SampleEntity01.class);
+						}
+					}));
+				}
+				start.countDown();
+				final EntityDescriptor<SampleEntity01> entity = results.get(0).get();
+				Assert.assertNotNull(entity);
+				for (final Future<EntityDescriptor<SampleEntity01>> result : results) {
+					Assert.assertSame(entity, result.get());
+				}
+				Assert.assertSame(entity, lazy.getEntity(SampleEntity01.class));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/** Tests MR-01. Tests MR-02. */
+	@Test
+	public void findParallel() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class,
+				SampleEntity02.class, SampleEntity03.class, SampleEntity04.class);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+			final Model<ModelMarker> parallel = builder.parallel(executor).resources(resource).build();
+			Assert.assertEquals(4, parallel.getEntities().size());
+			Assert.assertNotNull(parallel.getEntity(SampleEntity01.class));
+			Assert.assertNotNull(parallel.getEntity("SampleEntity02"));
+			Assert.assertNotNull(parallel.getEntity("entity03"));
+			Assert.assertNotNull(parallel.getEntity(SampleEntity04.class));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/** Tests MR-01. */
 	@Test
 	public void findUnknownsByClazz() {
@@ -99,6 +238,23 @@ public class SimpleModelTest {
 		Assert.assertNull(this.model.getEntity("Testentity"));
 	}
 
+	/** Tests MR-03. */
+	@Test
+	public void findWarmUp() throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends ModelMarker>> resource = new SimpleClazzResource<ModelMarker>(SampleEntity01.class,
+				SampleEntity02.class, SampleEntity03.class, SampleEntity04.class);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final Builder<Class<? extends ModelMarker>, ModelMarker, ModelImpl<ModelMarker>, ?> builder = SimpleBuilder.createBuilder();
+		final ModelImpl<ModelMarker> warm = builder.warmUp(executor).resources(resource).build();
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		Assert.assertTrue(this.isComplete(warm));
+		Assert.assertEquals(4, warm.getEntities().size());
+		Assert.assertNotNull(warm.getEntity(SampleEntity01.class));
+		Assert.assertNotNull(warm.getEntity("entity03"));
+	}
+
 	@Before
 	public void init() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -108,4 +264,31 @@ public class SimpleModelTest {
 		builder.extensions(new TestExtensionImpl());
 		this.model = builder.resources(resource).build();
 	}
+
+	private Map<String, Set<String>> describe(final Model<ModelMarker> describedModel) {
+		final Map<String, Set<String>> result = new TreeMap<String, Set<String>>();
+		for (final EntityDescriptor<? extends ModelMarker> entity : describedModel.getEntities()) {
+			final Set<String> members = new TreeSet<String>();
+			for (final PropertyDescriptor<?, ?> property : entity.getProperties()) {
+				members.add(String.format("property %s %s %s %s", property.getName(), property.getPropertyType().getName(),
+						property.getCardinality(), Boolean.valueOf(property.isImmutable())));
+			}
+			for (final OperationDescriptor<?> operation : entity.getOperations()) {
+				members.add(String.format("operation %s %s %s", operation.getName(), Integer.valueOf(operation.getParameterCount()),
+						operation.getResultDescriptor().getResultType().getName()));
+			}
+			members.add(String.format("properties %s", Integer.valueOf(entity.getPropertyCount())));
+			result.put(entity.getName(), members);
+		}
+		return result;
+	}
+
+	private boolean isComplete(final Model<ModelMarker> lazyModel) throws Exception {
+		final Field field = AbstractModel.class.getDeclaredField("lazyEntities");
+		field.setAccessible(true);
+		final Object lazyEntities = field.get(lazyModel);
+		final Method method = lazyEntities.getClass().getDeclaredMethod("isComplete");
+		method.setAccessible(true);
+		return ((Boolean) method.invoke(lazyEntities)).booleanValue();
+	}
 }
@@ -0,0 +1,288 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lunarray.model.descriptor.accessor.reference.AccessorMode;
+import org.lunarray.model.descriptor.builder.Builder;
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.PresQualBuilder;
+import org.lunarray.model.descriptor.builder.annotation.presentation.builder.model.ModelImpl;
+import org.lunarray.model.descriptor.model.Model;
+import org.lunarray.model.descriptor.model.TestExtensionImpl;
+import org.lunarray.model.descriptor.model.extension.Extension;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
+import org.lunarray.model.descriptor.model.extension.impl.ExtensionContainerImpl;
+import org.lunarray.model.descriptor.resource.Resource;
+import org.lunarray.model.descriptor.resource.simpleresource.SimpleClazzResource;
+import org.lunarray.model.descriptor.test.Entity01;
+import org.lunarray.model.descriptor.test.Entity02;
+import org.lunarray.model.descriptor.test.Entity03;
+import org.lunarray.model.descriptor.test.Entity04;
+
+/**
+ * Tests model snapshots.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see ModelSnapshot
+ */
+public class ModelSnapshotTest {
+
+	/** The snapshot file. */
+	private File file;
+
+	/** Removes the snapshot. */
+	@After
+	public void destroy() {
+		Assert.assertTrue(!this.file.exists() || this.file.delete());
+	}
+
+	/** Setup test. */
+	@Before
+	public void init() throws Exception {
+		this.file = File.createTempFile("model", ".snapshot");
+		Assert.assertTrue(this.file.delete());
+	}
+
+	/** Test stamps follow the class file. */
+	@Test
+	public void testStamp() throws Exception {
+		final File classFile = new File(Entity01.class.getResource("Entity01.class").toURI());
+		Assert.assertEquals(classFile.lastModified(), ModelSnapshot.stamp(Entity01.class));
+		Assert.assertEquals(0, ModelSnapshot.stamp(String.class));
+	}
+
+	/** Test a snapshot is written, then loaded. */
+	@Test
+	public void testLoad() throws Exception {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		final Model<Object> built = this.build(snapshot);
+		Assert.assertTrue(this.file.isFile());
+		final Model<Object> loaded = this.build(ModelSnapshot.createBuilder().file(this.file).memoryMapped().build());
+		Assert.assertNotSame(built, loaded);
+		Assert.assertEquals(built.getEntities().size(), loaded.getEntities().size());
+		Assert.assertNotNull(loaded.getEntity(Entity01.class).getProperty("embedded.identity", String.class));
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends Object>> resource = new SimpleClazzResource<Object>(Entity01.class, Entity02.class, Entity03.class,
+				Entity04.class);
+		final Builder<Class<? extends Object>, Object, ModelImpl<Object>, ?> builder = PresQualBuilder.createBuilder();
+		final Model<Object> lazy = builder.snapshot(snapshot).resources(resource).lazy().build();
+		Assert.assertNotNull(lazy.getEntity(Entity02.class.getSimpleName()));
+		Assert.assertSame(lazy.getEntity(Entity02.class), lazy.getEntity(Entity02.class.getSimpleName()));
+		Assert.assertEquals(built.getEntities().size(), lazy.getEntities().size());
+	}
+
+	/** Test a snapshot is stale once a class file changes. */
+	@Test
+	public void testModified() throws Exception {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		this.build(snapshot);
+		Assert.assertNotNull(this.load(this.key()));
+		final File classFile = new File(Entity04.class.getResource("Entity04.class").toURI());
+		final long modified = classFile.lastModified();
+		try {
+			Assert.assertTrue(classFile.setLastModified(modified + 2000));
+			Assert.assertNull(this.load(this.key()));
+		} finally {
+			Assert.assertTrue(classFile.setLastModified(modified));
+		}
+		Assert.assertNotNull(this.load(this.key()));
+	}
+
+	/** Test a stale snapshot is rebuilt. */
+	@Test
+	public void testStale() throws Exception {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		this.build(snapshot);
+		final RandomAccessFile randomAccess = new RandomAccessFile(this.file, "rw");
+		try {
+			// Corrupt the format version.
+			randomAccess.seek(4);
+			randomAccess.writeInt(-1);
+		} finally {
+			randomAccess.close();
+		}
+		Assert.assertNull(this.load(this.key()));
+		Assert.assertNotNull(this.build(snapshot).getEntity(Entity01.class));
+		Assert.assertNotNull(this.load(this.key()));
+	}
+
+	/** Test a snapshot holding classes a model doesn't consist of is rebuilt. */
+	@Test
+	public void testDenied() throws Exception {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		this.build(snapshot);
+		final String key = this.key();
+		final byte[] content = this.read();
+		final DataInputStream input = new DataInputStream(new ByteArrayInputStream(content));
+		ModelSnapshotTest.skipStamps(input);
+		final int stamps = content.length - input.available();
+		final int classCount = input.readInt();
+		for (int i = 0; i < classCount; i++) {
+			input.readUTF();
+		}
+		final int classes = content.length - input.available();
+		final DataOutputStream output = new DataOutputStream(new FileOutputStream(this.file));
+		try {
+			// Add a class to the class table.
+			output.write(content, 0, stamps);
+			output.writeInt(classCount + 1);
+			output.write(content, stamps + 4, classes - stamps - 4);
+			output.writeUTF(URL.class.getName());
+			output.write(content, classes, content.length - classes);
+		} finally {
+			output.close();
+		}
+		Assert.assertNull(this.load(key));
+		Assert.assertNotNull(this.build(snapshot).getEntity(Entity01.class));
+		Assert.assertNotNull(this.load(key));
+	}
+
+	/** Test the key describes the configuration and extensions. */
+	@Test
+	public void testKey() throws Exception {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		this.build(snapshot);
+		final String key = this.key();
+		Assert.assertTrue(key.startsWith(PresQualBuilder.class.getName()));
+		Assert.assertTrue(key.contains(AccessorMode.REFLECTION.toString()));
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends Object>> resource = new SimpleClazzResource<Object>(Entity01.class, Entity02.class, Entity03.class,
+				Entity04.class);
+		final Builder<Class<? extends Object>, Object, ModelImpl<Object>, ?> builder = PresQualBuilder.createBuilder();
+		builder.extensions(new TestExtensionImpl());
+		Assert.assertNotNull(builder.snapshot(snapshot).resources(resource).build().getEntity(Entity01.class));
+		final String extensionKey = this.key();
+		Assert.assertFalse(key.equals(extensionKey));
+		Assert.assertTrue(extensionKey.contains(TestExtensionImpl.class.getName()));
+		Assert.assertNull(this.load(key));
+		Assert.assertNotNull(this.load(extensionKey));
+	}
+
+	/**
+	 * Skips the snapshot header up to the class table.
+	 * 
+	 * @param input
+	 *            The input.
+	 * @return The key.
+	 * @throws Exception
+	 *             Thrown if the header could not be read.
+	 */
+	private static String skipStamps(final DataInputStream input) throws Exception {
+		input.readInt();
+		input.readInt();
+		final String key = input.readUTF();
+		input.readUTF();
+		final int nameCount = input.readInt();
+		for (int i = 0; i < nameCount; i++) {
+			input.readUTF();
+		}
+		final int locationCount = input.readInt();
+		for (int i = 0; i < locationCount; i++) {
+			input.readUTF();
+		}
+		final int typeCount = input.readInt();
+		for (int i = 0; i < typeCount; i++) {
+			input.readUTF();
+			input.readInt();
+			input.readLong();
+		}
+		return key;
+	}
+
+	/**
+	 * Gets the entity types.
+	 * 
+	 * @return The types.
+	 */
+	private static List<Class<?>> types() {
+		return Arrays.<Class<?>> asList(Entity01.class, Entity02.class, Entity03.class, Entity04.class);
+	}
+
+	/**
+	 * Builds the model through the snapshot.
+	 * 
+	 * @param snapshot
+	 *            The snapshot.
+	 * @return The model.
+	 * @throws Exception
+	 *             Thrown if the resources could not be resolved.
+	 */
+	private Model<Object> build(final ModelSnapshot snapshot) throws Exception {
+		@SuppressWarnings("unchecked")
+		final Resource<Class<? extends Object>> resource = new SimpleClazzResource<Object>(Entity01.class, Entity02.class, Entity03.class,
+				Entity04.class);
+		final Builder<Class<? extends Object>, Object, ModelImpl<Object>, ?> builder = PresQualBuilder.createBuilder();
+		return builder.snapshot(snapshot).resources(resource).build();
+	}
+
+	/**
+	 * Gets the key of the snapshot.
+	 * 
+	 * @return The key.
+	 * @throws Exception
+	 *             Thrown if the snapshot could not be read.
+	 */
+	private String key() throws Exception {
+		return ModelSnapshotTest.skipStamps(new DataInputStream(new ByteArrayInputStream(this.read())));
+	}
+
+	/**
+	 * Loads the records of the snapshot.
+	 * 
+	 * @param key
+	 *            The key.
+	 * @return The records, or null if the snapshot is stale.
+	 */
+	private List<EntityRecord> load(final String key) {
+		final ModelSnapshot snapshot = ModelSnapshot.createBuilder().file(this.file).build();
+		return snapshot.load(key, ModelSnapshotTest.types(), this.getClass().getClassLoader(), new ExtensionContainerImpl(
+				new HashMap<Class<? extends Extension>, ExtensionRef<? extends Extension>>()));
+	}
+
+	/**
+	 * Reads the snapshot.
+	 * 
+	 * @return The content.
+	 * @throws Exception
+	 *             Thrown if the snapshot could not be read.
+	 */
+	private byte[] read() throws Exception {
+		final RandomAccessFile randomAccess = new RandomAccessFile(this.file, "r");
+		try {
+			final byte[] content = new byte[(int) randomAccess.length()];
+			randomAccess.readFully(content);
+			return content;
+		} finally {
+			randomAccess.close();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.test.domain;
+
+import java.util.Date;
+import java.util.List;
+
+import org.lunarray.model.descriptor.presentation.annotations.EntityPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.EntityQualifierPresentationHints;
+import org.lunarray.model.descriptor.presentation.annotations.PresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHint;
+import org.lunarray.model.descriptor.presentation.annotations.QualifierPresentationHints;
+
+@EntityQualifierPresentationHints({ @EntityQualifierPresentationHint(name = Qualifier01.class, hint = @EntityPresentationHint()) })
+public class SampleEntity32
+		implements ModelMarker {
+
+	@PresentationHint(format = "yyyy-MM-dd")
+	@QualifierPresentationHints({ @QualifierPresentationHint(name = Qualifier01.class, hint = @PresentationHint(format = "dd.MM.yyyy")) })
+	private List<Date> dates;
+
+	/**
+	 * Gets the value for the dates field.
+	 * 
+	 * @return The value for the dates field.
+	 */
+	public List<Date> getDates() {
+		return this.dates;
+	}
+
+	/**
+	 * Sets a new value for the dates field.
+	 * 
+	 * @param dates
+	 *            The new value for the dates field.
+	 */
+	public void setDates(final List<Date> dates) {
+		this.dates = dates;
+	}
+}
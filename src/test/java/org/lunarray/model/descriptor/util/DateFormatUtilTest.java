@@ -19,6 +19,7 @@ package org.lunarray.model.descriptor.util;
 
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -145,4 +146,24 @@ public class DateFormatUtilTest {
 				DateFormatUtil.parse("EEEE, MMMMM d, yyyy H:mm:ss a z", "Sunday, September 9, 2001 3:46:40 AM CEST", null));
 		Assert.assertEquals(new Date(6400000l), DateFormatUtil.parse(DateTimeType.TIME, "3:46:40 AM CEST", null));
 	}
+
+	/**
+	 * Test a format follows the default time zone.
+	 * 
+	 * @see DateFormatUtil#format(String, Date, Locale)
+	 */
+	@Test
+	public void testTimeZone() throws Exception {
+		final TimeZone timeZone = TimeZone.getDefault();
+		final Date date = new Date(1000000000000l);
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+			Assert.assertEquals("2001-09-09 01:46:40", DateFormatUtil.format("yyyy-MM-dd HH:mm:ss", date, Locale.ENGLISH));
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT+02:00"));
+			Assert.assertEquals("2001-09-09 03:46:40", DateFormatUtil.format("yyyy-MM-dd HH:mm:ss", date, Locale.ENGLISH));
+			Assert.assertEquals(date, DateFormatUtil.parse("yyyy-MM-dd HH:mm:ss", "2001-09-09 03:46:40", Locale.ENGLISH));
+		} finally {
+			TimeZone.setDefault(timeZone);
+		}
+	}
 }
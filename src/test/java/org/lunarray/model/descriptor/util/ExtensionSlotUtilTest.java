@@ -0,0 +1,97 @@
+/* 
+ * Model Tools.
+ * Copyright (C) 2013 Pal Hargitai (pal@lunarray.org)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.lunarray.model.descriptor.util;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.model.extension.Extension;
+import org.lunarray.model.descriptor.model.extension.ExtensionRef;
+import org.lunarray.model.descriptor.model.extension.HardExtensionRef;
+import org.lunarray.model.descriptor.model.extension.impl.ExtensionContainerImpl;
+import org.lunarray.model.descriptor.objectfactory.ObjectFactory;
+import org.lunarray.model.descriptor.objectfactory.simple.SimpleObjectFactory;
+
+/**
+ * Tests the extension slot util.
+ * 
+ * @author Pal Hargitai (pal@lunarray.org)
+ * @see ExtensionSlotUtil
+ */
+public class ExtensionSlotUtilTest {
+
+	/**
+	 * Test the container lookups.
+	 * 
+	 * @see ExtensionContainerImpl#getExtension(Class)
+	 */
+	@Test
+	public void testContainer() {
+		final ObjectFactory extension = new SimpleObjectFactory();
+		final List<ExtensionRef<?>> extensionRefs = new LinkedList<ExtensionRef<?>>();
+		extensionRefs.add(new HardExtensionRef<Extension>(extension));
+		final ExtensionContainerImpl container = new ExtensionContainerImpl(ExtensionUtil.loadExtensions(extensionRefs,
+				new LinkedList<Extension>()));
+		Assert.assertTrue(container.contains(ObjectFactory.class));
+		Assert.assertSame(extension, container.getExtension(ObjectFactory.class));
+		Assert.assertSame(extension, container.getExtensionRef(ObjectFactory.class).get());
+		Assert.assertFalse(container.contains(ConverterTool.class));
+		Assert.assertNull(container.getExtension(ConverterTool.class));
+	}
+
+	/**
+	 * Test slot assignment.
+	 * 
+	 * @see ExtensionSlotUtil#getSlot(Class)
+	 */
+	@Test
+	public void testSlot() {
+		final Map<Class<?>, Extension> values = new HashMap<Class<?>, Extension>();
+		values.put(ObjectFactory.class, new SimpleObjectFactory());
+		ExtensionSlotUtil.createTable(values);
+		final int slot = ExtensionSlotUtil.getSlot(ObjectFactory.class);
+		Assert.assertTrue(slot >= 0);
+		Assert.assertEquals(slot, ExtensionSlotUtil.getSlot(ObjectFactory.class));
+		ExtensionSlotUtil.createTable(values);
+		Assert.assertEquals(slot, ExtensionSlotUtil.getSlot(ObjectFactory.class));
+		Assert.assertEquals(-1, ExtensionSlotUtil.getSlot(ExtensionSlotUtilTest.class));
+	}
+
+	/**
+	 * Test table lookups.
+	 * 
+	 * @see ExtensionSlotUtil#createTable(Map)
+	 * @see ExtensionSlotUtil#lookup(Object[], Class)
+	 */
+	@Test
+	public void testTable() {
+		final ObjectFactory extension = new SimpleObjectFactory();
+		final Map<Class<?>, Extension> values = new HashMap<Class<?>, Extension>();
+		values.put(ObjectFactory.class, extension);
+		final Object[] table = ExtensionSlotUtil.createTable(values);
+		Assert.assertSame(extension, ExtensionSlotUtil.lookup(table, ObjectFactory.class));
+		Assert.assertNull(ExtensionSlotUtil.lookup(table, ConverterTool.class));
+		Assert.assertNull(ExtensionSlotUtil.lookup(table, ExtensionSlotUtilTest.class));
+		Assert.assertEquals(-1, ExtensionSlotUtil.getSlot(ExtensionSlotUtilTest.class));
+	}
+}
@@ -25,6 +25,9 @@ import java.util.Map;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
+import org.lunarray.model.descriptor.converter.ConverterTool;
+import org.lunarray.model.descriptor.converter.PrimitiveConverterTool;
+import org.lunarray.model.descriptor.converter.def.DefaultConverterTool;
 import org.lunarray.model.descriptor.model.extension.Extension;
 import org.lunarray.model.descriptor.model.extension.ExtensionRef;
 import org.lunarray.model.descriptor.model.extension.HardExtensionRef;
@@ -84,6 +87,22 @@ public class ExtensionUtilTest {
 		Assert.assertEquals(extensions.get("objectFactory"), result.get(ObjectFactory.class).get());
 	}
 
+	/**
+	 * Test loading of the default converter tool under both tool interfaces.
+	 * 
+	 * @see ExtensionUtil#loadExtensions(Iterable, Iterable)
+	 */
+	@Test
+	public void testLoadConverterTool() {
+		final List<Extension> extensions = new LinkedList<Extension>();
+		final ConverterTool extension = new DefaultConverterTool();
+		extensions.add(extension);
+		final Map<Class<? extends Extension>, ExtensionRef<? extends Extension>> result = ExtensionUtil.loadExtensions(
+				new LinkedList<ExtensionRef<?>>(), extensions);
+		Assert.assertEquals(extension, result.get(ConverterTool.class).get());
+		Assert.assertEquals(extension, result.get(PrimitiveConverterTool.class).get());
+	}
+
 	/**
 	 * Test loading of extensions.
 	 * 
@@ -132,4 +132,34 @@ public class ReflectionUtilTest {
 			Assert.assertTrue(methodNames.contains(methodName));
 		}
 	}
+
+	/**
+	 * Tests the cache.
+	 * 
+	 * @see ReflectionUtil#getMethods(Class, boolean, boolean)
+	 * @see ReflectionUtil#getCacheStatistics()
+	 */
+	@Test
+	public void resolveMethodsCached() {
+		ReflectionUtil.clearCache(Entity01.class);
+		final List<Method> first = ReflectionUtil.getMethods(Entity01.class, false, true);
+		final long hits = ReflectionUtil.getCacheStatistics().getHitCount();
+		final List<Method> second = ReflectionUtil.getMethods(Entity01.class, false, true);
+		Assert.assertSame(first, second);
+		Assert.assertEquals(hits + 1, ReflectionUtil.getCacheStatistics().getHitCount());
+		Assert.assertEquals(new HashSet<Method>(first).size(), first.size());
+		ReflectionUtil.clearCache(Entity01.class);
+		Assert.assertNotSame(first, ReflectionUtil.getMethods(Entity01.class, false, true));
+		Assert.assertEquals(first, ReflectionUtil.getMethods(Entity01.class, false, true));
+	}
+
+	/**
+	 * Tests the cached fields can not be modified.
+	 * 
+	 * @see ReflectionUtil#getFields(Class)
+	 */
+	@Test(expected = UnsupportedOperationException.class)
+	public void resolveFieldsUnmodifiable() {
+		ReflectionUtil.getFields(Entity01.class).clear();
+	}
 }